@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.bloom.BloomFilterFactory;
+import org.apache.hudi.common.util.StringUtils;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks adding and probing keys on each {@link BloomFilter} type, as done by the writers
+ * and the bloom index. Half of the probed keys are absent from the filter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class BloomFilterBenchmark {
+  private static final int NUM_KEYS = 100000;
+  private static final int NUM_PROBED_KEYS = 2 * NUM_KEYS;
+
+  @Param({"SIMPLE", "DYNAMIC_V0", "BLOCKED_V0"})
+  private String typeCode;
+
+  private String[] keys;
+  private String[] probedKeys;
+  private byte[][] probedKeyBytes;
+  private BloomFilter filter;
+  private BitSet matches;
+
+  @Setup
+  public void setUp() {
+    keys = new String[NUM_KEYS];
+    probedKeys = new String[NUM_PROBED_KEYS];
+    for (int i = 0; i < NUM_KEYS; i++) {
+      keys[i] = UUID.randomUUID().toString();
+      probedKeys[2 * i] = keys[i];
+      probedKeys[2 * i + 1] = UUID.randomUUID().toString();
+    }
+    probedKeyBytes = Arrays.stream(probedKeys).map(StringUtils::getUTF8Bytes).toArray(byte[][]::new);
+    filter = createFilter();
+    for (String key : keys) {
+      filter.add(key);
+    }
+    matches = new BitSet(NUM_PROBED_KEYS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_KEYS)
+  public BloomFilter add() {
+    BloomFilter newFilter = createFilter();
+    for (String key : keys) {
+      newFilter.add(key);
+    }
+    return newFilter;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_PROBED_KEYS)
+  public void mightContain(Blackhole blackhole) {
+    for (String key : probedKeys) {
+      blackhole.consume(filter.mightContain(key));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_PROBED_KEYS)
+  public BitSet mightContainAll() {
+    filter.mightContainAll(probedKeyBytes, matches);
+    return matches;
+  }
+
+  @Benchmark
+  public BloomFilter serDe() {
+    return BloomFilterFactory.fromString(filter.serializeToString(), typeCode);
+  }
+
+  private BloomFilter createFilter() {
+    // The dynamic filter is bounded at the same number of entries, so that it does not grow
+    return BloomFilterFactory.createBloomFilter(NUM_KEYS, 0.000000001, NUM_KEYS, typeCode);
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.serialization.DefaultSerializer;
+import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
+import org.apache.hudi.common.util.DefaultSizeEstimator;
+import org.apache.hudi.common.util.FileIOUtils;
+import org.apache.hudi.common.util.HoodieRecordSizeEstimator;
+import org.apache.hudi.common.util.collection.ExternalSpillableMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+
+/**
+ * Benchmarks {@link ExternalSpillableMap} puts and gets with each {@link ExternalSpillableMap.DiskMapType},
+ * as used to buffer the log records when merging a file group. With the default memory budget,
+ * roughly half of the records are spilled to the disk-based map.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ExternalSpillableMapBenchmark {
+  private static final int NUM_RECORDS = 20000;
+
+  @Param({"BITCASK", "ROCKS_DB", "OFF_HEAP"})
+  private ExternalSpillableMap.DiskMapType diskMapType;
+
+  @Param({"false", "true"})
+  private boolean isCompressionEnabled;
+
+  @Param({"4194304"})
+  private long maxInMemorySizeInBytes;
+
+  private File spillDir;
+  private List<HoodieRecord> records;
+  // Map filled up in the trial setup for the gets
+  private ExternalSpillableMap<String, HoodieRecord> filledMap;
+  // Map created empty before each invocation for the puts
+  private ExternalSpillableMap<String, HoodieRecord> emptyMap;
+
+  @Setup
+  public void setUp() throws IOException {
+    spillDir = Files.createTempDirectory("hudi-benchmark-spillable-map").toFile();
+    records = new HoodieTestDataGenerator(0xDEEDL).generateInserts("001", NUM_RECORDS);
+    filledMap = createMap();
+    for (HoodieRecord record : records) {
+      filledMap.put(record.getRecordKey(), record);
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    filledMap.close();
+    FileIOUtils.deleteDirectory(spillDir);
+  }
+
+  @Setup(Level.Invocation)
+  public void createEmptyMap() throws IOException {
+    emptyMap = createMap();
+  }
+
+  @TearDown(Level.Invocation)
+  public void closeEmptyMap() {
+    emptyMap.close();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void put() {
+    for (HoodieRecord record : records) {
+      emptyMap.put(record.getRecordKey(), record);
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void get(Blackhole blackhole) {
+    for (HoodieRecord record : records) {
+      blackhole.consume(filledMap.get(record.getRecordKey()));
+    }
+  }
+
+  private ExternalSpillableMap<String, HoodieRecord> createMap() throws IOException {
+    return new ExternalSpillableMap<>(maxInMemorySizeInBytes, spillDir.getAbsolutePath(), new DefaultSizeEstimator<>(),
+        new HoodieRecordSizeEstimator<>(AVRO_SCHEMA), diskMapType, new DefaultSerializer<>(), isCompressionEnabled,
+        ExternalSpillableMapBenchmark.class.getSimpleName());
+  }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.common.util.FileIOUtils;
+import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
+import org.apache.hudi.io.ByteArraySeekableDataInputStream;
+import org.apache.hudi.io.hfile.HFileReader;
+import org.apache.hudi.io.hfile.HFileReaderImpl;
+import org.apache.hudi.io.hfile.Key;
+import org.apache.hudi.io.hfile.KeyValue;
+import org.apache.hudi.io.hfile.UTF8StringKey;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.hbase.io.compress.Compression;
+import org.apache.hadoop.hbase.io.hfile.CacheConfig;
+import org.apache.hadoop.hbase.io.hfile.HFile;
+import org.apache.hadoop.hbase.io.hfile.HFileContext;
+import org.apache.hadoop.hbase.io.hfile.HFileContextBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
+/**
+ * Benchmarks the native {@link HFileReaderImpl} on a synthetic HFile written with the HBase
+ * writer, as the metadata table base files: a full scan, forward seeks to a sorted sample of keys
+ * as done by the metadata lookups, and the batched multi-key lookup of the same sample.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HFileReaderBenchmark {
+  private static final int NUM_ENTRIES = 200000;
+  private static final int LOOKUP_STEP = 100;
+
+  @Param({"16384", "65536"})
+  private int blockSize;
+
+  @Param({"NONE", "GZ"})
+  private String compression;
+
+  private byte[] content;
+  private HFileReader reader;
+  private List<Key> lookupKeys;
+
+  @Setup
+  public void setUp() throws IOException {
+    File dir = Files.createTempDirectory("hudi-benchmark-hfile").toFile();
+    try {
+      File file = new File(dir, "benchmark.hfile");
+      writeHFile(new Path(file.getAbsolutePath()));
+      content = Files.readAllBytes(file.toPath());
+    } finally {
+      FileIOUtils.deleteDirectory(dir);
+    }
+    reader = new HFileReaderImpl(
+        new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(content)), content.length);
+    reader.initializeMetadata();
+    lookupKeys = new ArrayList<>();
+    for (int i = 0; i < NUM_ENTRIES; i += LOOKUP_STEP) {
+      lookupKeys.add(new UTF8StringKey(key(i)));
+    }
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    reader.close();
+  }
+
+  @Benchmark
+  public void scan(Blackhole blackhole) throws IOException {
+    if (reader.seekTo()) {
+      do {
+        blackhole.consume(reader.getKeyValue());
+      } while (reader.next());
+    }
+  }
+
+  @Benchmark
+  public void seekSortedKeys(Blackhole blackhole) throws IOException {
+    reader.seekTo();
+    for (Key key : lookupKeys) {
+      blackhole.consume(reader.seekTo(key));
+      blackhole.consume(reader.getKeyValue());
+    }
+  }
+
+  @Benchmark
+  public void seekBatchedKeys(Blackhole blackhole) throws IOException {
+    Iterator<KeyValue> iterator = reader.seekTo(lookupKeys);
+    while (iterator.hasNext()) {
+      blackhole.consume(iterator.next());
+    }
+  }
+
+  @Benchmark
+  public void openAndSeekKeys(Blackhole blackhole) throws IOException {
+    // Includes reading the trailer, the file info and the block index, as done per lookup on the metadata table
+    try (HFileReader newReader = new HFileReaderImpl(
+        new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(content)), content.length)) {
+      newReader.initializeMetadata();
+      Iterator<KeyValue> iterator = newReader.seekTo(lookupKeys.subList(0, 10));
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+
+  private void writeHFile(Path filePath) throws IOException {
+    HFileContext context = new HFileContextBuilder()
+        .withBlockSize(blockSize)
+        .withCompression(Compression.Algorithm.valueOf(compression))
+        .build();
+    Configuration conf = new Configuration();
+    FileSystem fs = filePath.getFileSystem(conf);
+    try (HFile.Writer writer = HFile.getWriterFactory(conf, new CacheConfig(conf))
+        .withPath(fs, filePath)
+        .withFileContext(context)
+        .create()) {
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+        writer.append(new org.apache.hadoop.hbase.KeyValue(
+            getUTF8Bytes(key(i)), null, null, getUTF8Bytes(String.format("value%010d-%s", i, key(i)))));
+      }
+    }
+  }
+
+  private static String key(int i) {
+    return String.format("key%010d", i);
+  }
+}
@@ -0,0 +1,101 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.avro.HoodieAvroUtils;
+import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+
+/**
+ * Benchmarks the Avro record rewriting and conversions of {@link HoodieAvroUtils}, which are on
+ * the path of every record written or merged through the Avro record representation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HoodieAvroUtilsBenchmark {
+  private static final int NUM_RECORDS = 1000;
+
+  private final Schema schemaWithMetaFields = HoodieAvroUtils.addMetadataFields(AVRO_SCHEMA);
+  private List<GenericRecord> records;
+  private List<byte[]> serializedRecords;
+
+  @Setup
+  public void setUp() {
+    records = new HoodieTestDataGenerator(0xDEEDL).generateGenericRecords(NUM_RECORDS);
+    serializedRecords = records.stream().map(HoodieAvroUtils::avroToBytes).collect(Collectors.toList());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void rewriteRecordWithNewSchema(Blackhole blackhole) {
+    for (GenericRecord record : records) {
+      blackhole.consume(HoodieAvroUtils.rewriteRecordWithNewSchema(record, schemaWithMetaFields));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void rewriteRecord(Blackhole blackhole) {
+    for (GenericRecord record : records) {
+      blackhole.consume(HoodieAvroUtils.rewriteRecord(record, schemaWithMetaFields));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void avroToBytes(Blackhole blackhole) {
+    for (GenericRecord record : records) {
+      blackhole.consume(HoodieAvroUtils.avroToBytes(record));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void bytesToAvro(Blackhole blackhole) throws IOException {
+    for (byte[] bytes : serializedRecords) {
+      blackhole.consume(HoodieAvroUtils.bytesToAvro(bytes, AVRO_SCHEMA));
+    }
+  }
+}
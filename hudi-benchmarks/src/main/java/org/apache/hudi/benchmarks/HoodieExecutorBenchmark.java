@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
+import org.apache.hudi.common.util.queue.AdaptiveExecutor;
+import org.apache.hudi.common.util.queue.BoundedInMemoryExecutor;
+import org.apache.hudi.common.util.queue.DisruptorExecutor;
+import org.apache.hudi.common.util.queue.ExecutorType;
+import org.apache.hudi.common.util.queue.HoodieConsumer;
+import org.apache.hudi.common.util.queue.HoodieExecutor;
+import org.apache.hudi.common.util.queue.SimpleExecutor;
+import org.apache.hudi.common.util.queue.WaitStrategyFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Benchmarks the {@link HoodieExecutor}s of each {@link ExecutorType} handing the records over
+ * from the input iterator to the consumer, as done by the write handles. The consumer burns a
+ * configurable amount of CPU per record to mimic the cost of writing the record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class HoodieExecutorBenchmark {
+  private static final int NUM_RECORDS = 100000;
+  private static final long BUFFER_LIMIT_IN_BYTES = 4 * 1024 * 1024L;
+  private static final int DISRUPTOR_BUFFER_SIZE = 1024;
+  private static final int ADAPTIVE_PROBE_RECORDS = 1000;
+  private static final double ADAPTIVE_MIN_OVERLAP_RATIO = 0.2;
+
+  @Param({"BOUNDED_IN_MEMORY", "DISRUPTOR", "SIMPLE", "ADAPTIVE"})
+  private ExecutorType executorType;
+
+  @Param({"0", "100"})
+  private long consumerTokens;
+
+  private List<HoodieRecord> records;
+
+  @Setup
+  public void setUp() {
+    records = new HoodieTestDataGenerator(0xDEEDL).generateInserts("001", NUM_RECORDS);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public Integer execute(Blackhole blackhole) {
+    HoodieExecutor<Integer> executor = createExecutor(executorType, records.iterator(), new CountingConsumer(blackhole, consumerTokens));
+    try {
+      return executor.execute();
+    } finally {
+      executor.shutdownNow();
+      executor.awaitTermination();
+    }
+  }
+
+  private static HoodieExecutor<Integer> createExecutor(ExecutorType executorType,
+                                                        Iterator<HoodieRecord> inputItr,
+                                                        HoodieConsumer<HoodieRecord, Integer> consumer) {
+    Function<HoodieRecord, HoodieRecord> transformFunction = HoodieRecord::copy;
+    switch (executorType) {
+      case BOUNDED_IN_MEMORY:
+        return new BoundedInMemoryExecutor<>(BUFFER_LIMIT_IN_BYTES, inputItr, consumer, transformFunction, () -> { });
+      case DISRUPTOR:
+        return new DisruptorExecutor<>(DISRUPTOR_BUFFER_SIZE, inputItr, consumer, transformFunction,
+            WaitStrategyFactory.DEFAULT_STRATEGY, () -> { });
+      case SIMPLE:
+        return new SimpleExecutor<>(inputItr, consumer, transformFunction);
+      case ADAPTIVE:
+        return new AdaptiveExecutor<>(inputItr, consumer, transformFunction, ADAPTIVE_PROBE_RECORDS, ADAPTIVE_MIN_OVERLAP_RATIO,
+            remainingItr -> createExecutor(ExecutorType.BOUNDED_IN_MEMORY, remainingItr, consumer));
+      default:
+        throw new IllegalArgumentException("Unsupported executor type " + executorType);
+    }
+  }
+
+  private static class CountingConsumer implements HoodieConsumer<HoodieRecord, Integer> {
+    private final Blackhole blackhole;
+    private final long tokens;
+    private int count = 0;
+
+    CountingConsumer(Blackhole blackhole, long tokens) {
+      this.blackhole = blackhole;
+      this.tokens = tokens;
+    }
+
+    @Override
+    public void consume(HoodieRecord record) {
+      blackhole.consume(record);
+      Blackhole.consumeCPU(tokens);
+      count++;
+    }
+
+    @Override
+    public Integer finish() {
+      return count;
+    }
+  }
+}
@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.benchmarks;
+
+import org.apache.hudi.avro.HoodieAvroReaderContext;
+import org.apache.hudi.common.config.RecordMergeMode;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.model.DefaultHoodieRecordPayload;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieRecordMerger;
+import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.table.HoodieTableConfig;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.read.HoodieFileGroupReader;
+import org.apache.hudi.common.testutils.HoodieTestTable;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
+import org.apache.hudi.common.testutils.reader.DataGenerationPlan;
+import org.apache.hudi.common.testutils.reader.HoodieFileGroupReaderTestUtils;
+import org.apache.hudi.common.testutils.reader.HoodieFileSliceTestUtils;
+import org.apache.hudi.common.util.FileIOUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.storage.hadoop.HoodieHadoopStorage;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.hudi.common.table.HoodieTableConfig.POPULATE_META_FIELDS;
+import static org.apache.hudi.common.table.HoodieTableConfig.RECORDKEY_FIELDS;
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.AVRO_SCHEMA;
+import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorageConf;
+import static org.apache.hudi.common.testutils.reader.DataGenerationPlan.OperationType.INSERT;
+import static org.apache.hudi.common.testutils.reader.DataGenerationPlan.OperationType.UPDATE;
+import static org.apache.hudi.common.testutils.reader.HoodieFileSliceTestUtils.ROW_KEY;
+
+/**
+ * Benchmarks the merging throughput of {@link HoodieFileGroupReader} with the Avro reader context
+ * for each {@link RecordMergeMode}, on a synthetic file slice of a merge-on-read table on the local
+ * file system. The file slice has a base file and log files, each of which updates a different
+ * slice of the records, so that every record of the base file is merged with one log record.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 10)
+@Measurement(iterations = 5, time = 10)
+public class HoodieFileGroupReaderBenchmark {
+  private static final int NUM_RECORDS = 100000;
+  private static final String PARTITION_PATH = "partition";
+  private static final String FILE_ID = "file-1";
+  private static final String ORDERING_FIELD = "timestamp";
+
+  @Param({"COMMIT_TIME_ORDERING", "EVENT_TIME_ORDERING", "CUSTOM"})
+  private RecordMergeMode mergeMode;
+
+  @Param({"1", "4"})
+  private int numLogFiles;
+
+  @Param({"false", "true"})
+  private boolean useRecordPositions;
+
+  private File tableDir;
+  private StorageConfiguration<?> storageConf;
+  private HoodieStorage storage;
+  private HoodieTableMetaClient metaClient;
+  private FileSlice fileSlice;
+  private String latestInstantTime;
+
+  @Setup
+  public void setUp() throws Exception {
+    tableDir = Files.createTempDirectory("hudi-benchmark-file-group-reader").toFile();
+    String basePath = tableDir.getAbsolutePath();
+    storageConf = getDefaultStorageConf();
+    metaClient = HoodieTestUtils.init(storageConf, basePath, HoodieTableType.MERGE_ON_READ, getTableProps());
+    storage = new HoodieHadoopStorage(basePath, storageConf);
+
+    List<HoodieFileSliceTestUtils.KeyRange> keyRanges = new ArrayList<>();
+    List<Long> timestamps = new ArrayList<>();
+    List<DataGenerationPlan.OperationType> operationTypes = new ArrayList<>();
+    List<String> instantTimes = new ArrayList<>();
+    keyRanges.add(new HoodieFileSliceTestUtils.KeyRange(1, NUM_RECORDS));
+    timestamps.add(1L);
+    operationTypes.add(INSERT);
+    instantTimes.add(String.format("%03d", 1));
+    int numRecordsPerLogFile = NUM_RECORDS / numLogFiles;
+    for (int i = 0; i < numLogFiles; i++) {
+      keyRanges.add(new HoodieFileSliceTestUtils.KeyRange(i * numRecordsPerLogFile + 1, (i + 1) * numRecordsPerLogFile));
+      timestamps.add(i + 2L);
+      operationTypes.add(UPDATE);
+      instantTimes.add(String.format("%03d", i + 2));
+    }
+    HoodieTestTable testTable = HoodieTestTable.of(metaClient);
+    for (String instantTime : instantTimes) {
+      testTable.addDeltaCommit(instantTime);
+    }
+    latestInstantTime = instantTimes.get(instantTimes.size() - 1);
+    fileSlice = HoodieFileSliceTestUtils.getFileSlice(storage, keyRanges, timestamps, operationTypes, instantTimes,
+        Collections.nCopies(keyRanges.size(), useRecordPositions), basePath, PARTITION_PATH, FILE_ID).get();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    storage.close();
+    FileIOUtils.deleteDirectory(tableDir);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(NUM_RECORDS)
+  public void readFileGroup(Blackhole blackhole) throws IOException {
+    TypedProperties props = new TypedProperties();
+    props.setProperty("hoodie.datasource.write.precombine.field", ORDERING_FIELD);
+    props.setProperty("hoodie.write.record.merge.mode", mergeMode.name());
+    HoodieFileGroupReader<IndexedRecord> fileGroupReader = HoodieFileGroupReaderTestUtils.createFileGroupReader(
+        Option.of(fileSlice), metaClient.getBasePath().toString(), latestInstantTime, AVRO_SCHEMA, useRecordPositions,
+        0L, Long.MAX_VALUE, props, storage, new HoodieAvroReaderContext(storageConf, metaClient.getTableConfig()),
+        metaClient, false);
+    fileGroupReader.initRecordIterators();
+    try (ClosableIterator<IndexedRecord> iterator = fileGroupReader.getClosableIterator()) {
+      while (iterator.hasNext()) {
+        blackhole.consume(iterator.next());
+      }
+    }
+  }
+
+  private Properties getTableProps() {
+    Properties props = new Properties();
+    props.setProperty(POPULATE_META_FIELDS.key(), "false");
+    props.setProperty(RECORDKEY_FIELDS.key(), ROW_KEY);
+    props.setProperty(HoodieTableConfig.PRECOMBINE_FIELD.key(), ORDERING_FIELD);
+    props.setProperty(HoodieTableConfig.RECORD_MERGE_MODE.key(), mergeMode.name());
+    if (mergeMode == RecordMergeMode.CUSTOM) {
+      // Payload-based merging, as for the tables written with a custom payload class
+      props.setProperty(HoodieTableConfig.RECORD_MERGE_STRATEGY_ID.key(), HoodieRecordMerger.PAYLOAD_BASED_MERGE_STRATEGY_UUID);
+      props.setProperty(HoodieTableConfig.PAYLOAD_CLASS_NAME.key(), DefaultHoodieRecordPayload.class.getName());
+    }
+    return props;
+  }
+}
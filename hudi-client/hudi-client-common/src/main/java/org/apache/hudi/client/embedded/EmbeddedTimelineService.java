@@ -148,7 +148,11 @@ public class EmbeddedTimelineService {
         .serverPort(writeConfig.getEmbeddedTimelineServerPort())
         .numThreads(writeConfig.getEmbeddedTimelineServerThreads())
         .compress(writeConfig.getEmbeddedTimelineServerCompressOutput())
-        .async(writeConfig.getEmbeddedTimelineServerUseAsync());
+        .async(writeConfig.getEmbeddedTimelineServerUseAsync())
+        .asyncRequestHandling(writeConfig.isEmbeddedTimelineServerAsyncRequestHandlingEnabled())
+        .useVirtualThreads(writeConfig.isEmbeddedTimelineServerVirtualThreadsEnabled())
+        .maxConcurrentRequestsPerTable(writeConfig.getEmbeddedTimelineServerMaxConcurrentRequestsPerTable())
+        .coalesceRequests(writeConfig.isEmbeddedTimelineServerCoalesceRequestsEnabled());
     // Only passing marker-related write configs to timeline server
     // if timeline-server-based markers are used.
     if (writeConfig.getMarkersType() == MarkerType.TIMELINE_SERVER_BASED) {
@@ -216,6 +220,8 @@ public class EmbeddedTimelineService {
         .withRemoteTimelineInitialRetryIntervalMs(clientWriteConfig.getClientSpecifiedViewStorageConfig().getRemoteTimelineInitialRetryIntervalMs())
         .withRemoteTimelineClientMaxRetryIntervalMs(clientWriteConfig.getClientSpecifiedViewStorageConfig().getRemoteTimelineClientMaxRetryIntervalMs())
         .withRemoteTimelineClientRetryExceptions(clientWriteConfig.getClientSpecifiedViewStorageConfig().getRemoteTimelineClientRetryExceptions())
+        .withRemoteTimelineClientWireFormat(clientWriteConfig.getClientSpecifiedViewStorageConfig().getRemoteTimelineClientWireFormat())
+        .withRemoteDeltaSyncEnabled(clientWriteConfig.getClientSpecifiedViewStorageConfig().isRemoteDeltaSyncEnabled())
         .build();
   }
 
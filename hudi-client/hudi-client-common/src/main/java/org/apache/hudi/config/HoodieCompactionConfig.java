@@ -206,6 +206,45 @@ public class HoodieCompactionConfig extends HoodieConfig {
       .withDocumentation("Compaction plan generator for data files. Override with a custom plan generator "
           + "if there's a need to use extraMetadata in the compaction plan for optimizations, ignore otherwise");
 
+  public static final ConfigProperty<Long> COMPACTION_SPLIT_TARGET_SIZE = ConfigProperty
+      .key("hoodie.compaction.split.target.size")
+      .defaultValue(0L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Target amount of bytes of the base file and the log files to compact in one task. When positive, "
+          + "the compaction of a file slice reading more than this is split by record key ranges into sub-tasks running "
+          + "in parallel, so that a huge file slice does not gate the whole compaction. The key ranges are computed from "
+          + "the base file when the compaction is scheduled and stored in the compaction plan. Each sub-task merges the "
+          + "records of its key range into a part of the new base file, and the parts are concatenated into the new base "
+          + "file at the end. Only the Parquet base files of the data tables with the meta fields populated and CDC "
+          + "disabled are split. 0 disables splitting.");
+
+  public static final ConfigProperty<Integer> COMPACTION_SPLIT_MAX_NUM = ConfigProperty
+      .key("hoodie.compaction.split.max.num")
+      .defaultValue(16)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of key range sub-tasks the compaction of a file slice is split into, when `"
+          + COMPACTION_SPLIT_TARGET_SIZE.key() + "` is positive.");
+
+  public static final ConfigProperty<Long> COMPACTION_COST_TARGET_RUNTIME_MS = ConfigProperty
+      .key("hoodie.compaction.cost.target.runtime.ms")
+      .defaultValue(0L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Budget of the CostBasedCompactionStrategy on the total predicted runtime in milliseconds of "
+          + "the file slices to compact in a compaction, summed over all the tasks. The runtime of a file slice is predicted "
+          + "from the merge throughput measured by the previous compactions. When 0, the compaction is bounded by `"
+          + TARGET_IO_PER_COMPACTION_IN_MB.key() + "` instead.");
+
+  public static final ConfigProperty<Integer> COMPACTION_COST_HISTORY_MAX_COMMITS = ConfigProperty
+      .key("hoodie.compaction.cost.history.max.commits")
+      .defaultValue(10)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Number of the latest completed compactions whose runtime stats the CostBasedCompactionStrategy "
+          + "measures the merge throughput from.");
+
   /** @deprecated Use {@link #INLINE_COMPACT} and its methods instead */
   @Deprecated
   public static final String INLINE_COMPACT_PROP = INLINE_COMPACT.key();
@@ -486,6 +525,26 @@ public class HoodieCompactionConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withCompactionSplitTargetSize(long compactionSplitTargetSize) {
+      compactionConfig.setValue(COMPACTION_SPLIT_TARGET_SIZE, String.valueOf(compactionSplitTargetSize));
+      return this;
+    }
+
+    public Builder withCompactionSplitMaxNum(int compactionSplitMaxNum) {
+      compactionConfig.setValue(COMPACTION_SPLIT_MAX_NUM, String.valueOf(compactionSplitMaxNum));
+      return this;
+    }
+
+    public Builder withCompactionCostTargetRuntimeMs(long compactionCostTargetRuntimeMs) {
+      compactionConfig.setValue(COMPACTION_COST_TARGET_RUNTIME_MS, String.valueOf(compactionCostTargetRuntimeMs));
+      return this;
+    }
+
+    public Builder withCompactionCostHistoryMaxCommits(int compactionCostHistoryMaxCommits) {
+      compactionConfig.setValue(COMPACTION_COST_HISTORY_MAX_COMMITS, String.valueOf(compactionCostHistoryMaxCommits));
+      return this;
+    }
+
     public HoodieCompactionConfig build() {
       compactionConfig.setDefaults(HoodieCompactionConfig.class.getName());
       compactionConfig.setDefaults(HoodieReaderConfig.class.getName());
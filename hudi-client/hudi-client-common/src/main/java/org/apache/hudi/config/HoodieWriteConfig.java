@@ -448,6 +448,32 @@ public class HoodieWriteConfig extends HoodieConfig {
       .sinceVersion("0.13.0")
       .withDocumentation(DisruptorWaitStrategyType.class);
 
+  public static final ConfigProperty<Integer> WRITE_EXECUTOR_ADAPTIVE_PROBE_RECORDS = ConfigProperty
+      .key("hoodie.write.executor.adaptive.probe.records")
+      .defaultValue(1000)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Number of records of each write handle consumed directly by the ADAPTIVE executor, timing the production "
+          + "and the consumption of each record, before it decides whether to switch to the pipelined executor.");
+
+  public static final ConfigProperty<Double> WRITE_EXECUTOR_ADAPTIVE_MIN_OVERLAP_RATIO = ConfigProperty
+      .key("hoodie.write.executor.adaptive.min.overlap.ratio")
+      .defaultValue(0.2)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Minimum ratio of the shorter to the longer of the production and consumption times of the probe records, "
+          + "at which the ADAPTIVE executor switches to the pipelined executor, so that the producer and the consumer run "
+          + "concurrently. Below the ratio, one side dominates and the records keep being consumed directly.");
+
+  public static final ConfigProperty<String> WRITE_EXECUTOR_ADAPTIVE_PIPELINED_TYPE = ConfigProperty
+      .key("hoodie.write.executor.adaptive.pipelined.type")
+      .defaultValue(ExecutorType.BOUNDED_IN_MEMORY.name())
+      .withValidValues(ExecutorType.BOUNDED_IN_MEMORY.name(), ExecutorType.DISRUPTOR.name())
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Type of the queue-based executor the ADAPTIVE executor switches to, configured by the "
+          + "respective executor configs.");
+
   public static final ConfigProperty<String> COMBINE_BEFORE_INSERT = ConfigProperty
       .key("hoodie.combine.before.insert")
       .defaultValue("false")
@@ -586,6 +612,42 @@ public class HoodieWriteConfig extends HoodieConfig {
       .withDocumentation("Controls whether or not, the requests to the timeline server are processed in asynchronous fashion, "
           + "potentially improving throughput.");
 
+  public static final ConfigProperty<Boolean> EMBEDDED_TIMELINE_SERVER_ASYNC_REQUEST_HANDLING_ENABLE = ConfigProperty
+      .key("hoodie.embed.timeline.server.async.request.handling.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the timeline server serves the requests on a pool of worker threads and releases "
+          + "the server threads while the requests wait, e.g., for the view of the table to sync, so that many concurrent "
+          + "tasks do not exhaust the server threads. The number of requests of the same table served at the same time is "
+          + "bounded by `hoodie.embed.timeline.server.max.concurrent.requests.per.table`.");
+
+  public static final ConfigProperty<Integer> EMBEDDED_TIMELINE_SERVER_MAX_CONCURRENT_REQUESTS_PER_TABLE = ConfigProperty
+      .key("hoodie.embed.timeline.server.max.concurrent.requests.per.table")
+      .defaultValue(16)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of requests of the same table served at the same time by the timeline server, when `"
+          + EMBEDDED_TIMELINE_SERVER_ASYNC_REQUEST_HANDLING_ENABLE.key() + "` is enabled. The other requests of the table "
+          + "wait in a queue.");
+
+  public static final ConfigProperty<Boolean> EMBEDDED_TIMELINE_SERVER_VIRTUAL_THREADS_ENABLE = ConfigProperty
+      .key("hoodie.embed.timeline.server.virtual.threads.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled together with `" + EMBEDDED_TIMELINE_SERVER_ASYNC_REQUEST_HANDLING_ENABLE.key()
+          + "`, the timeline server serves the requests on virtual threads if supported by the JVM, i.e., Java 21 and above.");
+
+  public static final ConfigProperty<Boolean> EMBEDDED_TIMELINE_SERVER_COALESCE_REQUESTS_ENABLE = ConfigProperty
+      .key("hoodie.embed.timeline.server.coalesce.requests.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the timeline server serves the duplicate file system view requests in flight at "
+          + "the same time, e.g., for the same partition as of the same instant from many tasks, only once and sends "
+          + "the same response to all of them.");
+
   public static final ConfigProperty<String> FAIL_ON_TIMELINE_ARCHIVING_ENABLE = ConfigProperty
       .key("hoodie.fail.on.timeline.archiving")
       .defaultValue("true")
@@ -641,6 +703,30 @@ public class HoodieWriteConfig extends HoodieConfig {
       .withDocumentation("Limits number of file groups, whose base file satisfies small-file limit, to consider for appending records during upsert operation. "
           + "Only applicable to MOR tables");
 
+  public static final ConfigProperty<Boolean> MERGE_ROW_GROUP_PASSTHROUGH_ENABLE = ConfigProperty
+      .key("hoodie.merge.row.group.passthrough.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, merging incoming records into a Parquet base file copies the row groups that "
+          + "cannot contain any incoming record key, based on the min/max statistics of the record key column, to the "
+          + "new base file as compressed pages without decoding them, and only reads and rewrites the other "
+          + "row groups. The `_hoodie_file_name` meta field of the copied records is rewritten with the new file name. "
+          + "This only applies to Avro records with the meta fields populated, an unchanged table schema and a base "
+          + "file no larger than the max Parquet file size; otherwise, the whole base file is rewritten.");
+
+  public static final ConfigProperty<Boolean> APPEND_PIPELINED_BLOCK_WRITE_ENABLE = ConfigProperty
+      .key("hoodie.append.pipelined.block.write.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the append handle hands a full log data block over to a background thread "
+          + "which serializes it and appends it to the log file, while the next block is being filled with records. "
+          + "At most one block is in flight, so the buffered records are bounded by two data blocks, see "
+          + "`" + HoodieStorageConfig.LOGFILE_DATA_BLOCK_MAX_SIZE.key() + "`. The append results are processed in the order of the blocks. "
+          + "Only the Spark and Java writers benefit from it: the Flink writers append each mini-batch as a single block "
+          + "when the handle is closed, which is always appended synchronously.");
+
   public static final ConfigProperty<Integer> CLIENT_HEARTBEAT_INTERVAL_IN_MS = ConfigProperty
       .key("hoodie.client.heartbeat.interval_in_ms")
       .defaultValue(60 * 1000)
@@ -1498,6 +1584,18 @@ public class HoodieWriteConfig extends HoodieConfig {
     return Integer.parseInt(getStringOrDefault(WRITE_EXECUTOR_DISRUPTOR_BUFFER_LIMIT_BYTES));
   }
 
+  public int getWriteExecutorAdaptiveProbeRecords() {
+    return getIntOrDefault(WRITE_EXECUTOR_ADAPTIVE_PROBE_RECORDS);
+  }
+
+  public double getWriteExecutorAdaptiveMinOverlapRatio() {
+    return getDoubleOrDefault(WRITE_EXECUTOR_ADAPTIVE_MIN_OVERLAP_RATIO);
+  }
+
+  public ExecutorType getWriteExecutorAdaptivePipelinedType() {
+    return ExecutorType.valueOf(getStringOrDefault(WRITE_EXECUTOR_ADAPTIVE_PIPELINED_TYPE).toUpperCase(Locale.ROOT));
+  }
+
   public boolean shouldCombineBeforeInsert() {
     return getBoolean(COMBINE_BEFORE_INSERT);
   }
@@ -1579,6 +1677,22 @@ public class HoodieWriteConfig extends HoodieConfig {
     return Boolean.parseBoolean(getStringOrDefault(EMBEDDED_TIMELINE_SERVER_USE_ASYNC_ENABLE));
   }
 
+  public boolean isEmbeddedTimelineServerAsyncRequestHandlingEnabled() {
+    return getBooleanOrDefault(EMBEDDED_TIMELINE_SERVER_ASYNC_REQUEST_HANDLING_ENABLE);
+  }
+
+  public int getEmbeddedTimelineServerMaxConcurrentRequestsPerTable() {
+    return getIntOrDefault(EMBEDDED_TIMELINE_SERVER_MAX_CONCURRENT_REQUESTS_PER_TABLE);
+  }
+
+  public boolean isEmbeddedTimelineServerVirtualThreadsEnabled() {
+    return getBooleanOrDefault(EMBEDDED_TIMELINE_SERVER_VIRTUAL_THREADS_ENABLE);
+  }
+
+  public boolean isEmbeddedTimelineServerCoalesceRequestsEnabled() {
+    return getBooleanOrDefault(EMBEDDED_TIMELINE_SERVER_COALESCE_REQUESTS_ENABLE);
+  }
+
   public boolean isFailOnTimelineArchivingEnabled() {
     return getBoolean(FAIL_ON_TIMELINE_ARCHIVING_ENABLE);
   }
@@ -1616,6 +1730,14 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getInt(MERGE_SMALL_FILE_GROUP_CANDIDATES_LIMIT);
   }
 
+  public boolean isMergeRowGroupPassthroughEnabled() {
+    return getBoolean(MERGE_ROW_GROUP_PASSTHROUGH_ENABLE);
+  }
+
+  public boolean isAppendPipelinedBlockWriteEnabled() {
+    return getBoolean(APPEND_PIPELINED_BLOCK_WRITE_ENABLE);
+  }
+
   public EngineType getEngineType() {
     return engineType;
   }
@@ -1636,6 +1758,22 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getInt(HoodieCompactionConfig.LOG_COMPACTION_BLOCKS_THRESHOLD);
   }
 
+  public long getCompactionSplitTargetSize() {
+    return getLong(HoodieCompactionConfig.COMPACTION_SPLIT_TARGET_SIZE);
+  }
+
+  public int getCompactionSplitMaxNum() {
+    return getInt(HoodieCompactionConfig.COMPACTION_SPLIT_MAX_NUM);
+  }
+
+  public long getCompactionCostTargetRuntimeMs() {
+    return getLong(HoodieCompactionConfig.COMPACTION_COST_TARGET_RUNTIME_MS);
+  }
+
+  public int getCompactionCostHistoryMaxCommits() {
+    return getInt(HoodieCompactionConfig.COMPACTION_COST_HISTORY_MAX_COMMITS);
+  }
+
   public boolean enableOptimizedLogBlocksScan() {
     return getBoolean(HoodieReaderConfig.ENABLE_OPTIMIZED_LOG_BLOCKS_SCAN);
   }
@@ -1792,6 +1930,18 @@ public class HoodieWriteConfig extends HoodieConfig {
     return getBoolean(HoodieReaderConfig.COMPACTION_REVERSE_LOG_READ_ENABLE);
   }
 
+  public int getLogBlockPrefetchParallelism() {
+    return getInt(HoodieReaderConfig.LOG_BLOCK_PREFETCH_PARALLELISM);
+  }
+
+  public int getLogBlockPrefetchMaxBlocks() {
+    return getInt(HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BLOCKS);
+  }
+
+  public long getLogBlockPrefetchMaxBytes() {
+    return getLong(HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BYTES);
+  }
+
   public int getArchiveDeleteParallelism() {
     return getInt(HoodieArchivalConfig.DELETE_ARCHIVED_INSTANT_PARALLELISM_VALUE);
   }
@@ -3165,6 +3315,21 @@ public class HoodieWriteConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withWriteExecutorAdaptiveProbeRecords(int numRecords) {
+      writeConfig.setValue(WRITE_EXECUTOR_ADAPTIVE_PROBE_RECORDS, String.valueOf(numRecords));
+      return this;
+    }
+
+    public Builder withWriteExecutorAdaptiveMinOverlapRatio(double ratio) {
+      writeConfig.setValue(WRITE_EXECUTOR_ADAPTIVE_MIN_OVERLAP_RATIO, String.valueOf(ratio));
+      return this;
+    }
+
+    public Builder withWriteExecutorAdaptivePipelinedType(String executorType) {
+      writeConfig.setValue(WRITE_EXECUTOR_ADAPTIVE_PIPELINED_TYPE, executorType);
+      return this;
+    }
+
     public Builder combineInput(boolean onInsert, boolean onUpsert) {
       writeConfig.setValue(COMBINE_BEFORE_INSERT, String.valueOf(onInsert));
       writeConfig.setValue(COMBINE_BEFORE_UPSERT, String.valueOf(onUpsert));
@@ -3362,6 +3527,26 @@ public class HoodieWriteConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withEmbeddedTimelineServerAsyncRequestHandlingEnabled(boolean enabled) {
+      writeConfig.setValue(EMBEDDED_TIMELINE_SERVER_ASYNC_REQUEST_HANDLING_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
+    public Builder withEmbeddedTimelineServerMaxConcurrentRequestsPerTable(int maxConcurrentRequests) {
+      writeConfig.setValue(EMBEDDED_TIMELINE_SERVER_MAX_CONCURRENT_REQUESTS_PER_TABLE, String.valueOf(maxConcurrentRequests));
+      return this;
+    }
+
+    public Builder withEmbeddedTimelineServerVirtualThreadsEnabled(boolean enabled) {
+      writeConfig.setValue(EMBEDDED_TIMELINE_SERVER_VIRTUAL_THREADS_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
+    public Builder withEmbeddedTimelineServerCoalesceRequestsEnabled(boolean enabled) {
+      writeConfig.setValue(EMBEDDED_TIMELINE_SERVER_COALESCE_REQUESTS_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
     public Builder withTimelineServerBasedInstantStateEnable(boolean enable) {
       writeConfig.setValue(INSTANT_STATE_TIMELINE_SERVER_BASED, String.valueOf(enable));
       return this;
@@ -3402,6 +3587,16 @@ public class HoodieWriteConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withMergeRowGroupPassthrough(boolean enabled) {
+      writeConfig.setValue(MERGE_ROW_GROUP_PASSTHROUGH_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
+    public Builder withAppendPipelinedBlockWrite(boolean enabled) {
+      writeConfig.setValue(APPEND_PIPELINED_BLOCK_WRITE_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
     public Builder withHeartbeatIntervalInMs(Integer heartbeatIntervalInMs) {
       writeConfig.setValue(CLIENT_HEARTBEAT_INTERVAL_IN_MS, String.valueOf(heartbeatIntervalInMs));
       return this;
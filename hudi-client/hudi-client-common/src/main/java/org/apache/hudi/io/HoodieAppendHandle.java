@@ -48,6 +48,7 @@ import org.apache.hudi.common.table.log.block.HoodieLogBlock.HeaderMetadataType;
 import org.apache.hudi.common.table.log.block.HoodieParquetDataBlock;
 import org.apache.hudi.common.table.timeline.HoodieInstantTimeGenerator;
 import org.apache.hudi.common.table.view.TableFileSystemView;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.DefaultSizeEstimator;
 import org.apache.hudi.common.util.HoodieRecordUtils;
 import org.apache.hudi.common.util.Option;
@@ -78,6 +79,10 @@ import java.util.List;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
@@ -94,7 +99,7 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
   private static final int NUMBER_OF_RECORDS_TO_ESTIMATE_RECORD_SIZE = 100;
 
   // Buffer for holding records in memory before they are flushed to disk
-  protected final List<HoodieRecord> recordList = new ArrayList<>();
+  protected List<HoodieRecord> recordList = new ArrayList<>();
   // Buffer for holding records (to be deleted), along with their position in log block, in memory before they are flushed to disk
   protected final List<Pair<DeleteRecord, Long>> recordsToDeleteWithPositions = new ArrayList<>();
   // Base file instant time of the record positions
@@ -134,6 +139,13 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
 
   private final Properties recordProperties = new Properties();
 
+  // Whether full data blocks are appended by a background thread while the next block is being filled
+  private final boolean pipelinedBlockWrite = config.isAppendPipelinedBlockWriteEnabled();
+  // Single thread appending the blocks to the log file, created on the first pipelined block
+  private ExecutorService blockWriteExecutor;
+  // The data block being appended in the background, at most one at a time
+  private PendingAppend pendingAppend;
+
   /**
    * This is used by log compaction only.
    */
@@ -464,6 +476,8 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
    */
   protected void appendDataAndDeleteBlocks(Map<HeaderMetadataType, String> header, boolean appendDeleteBlocks) {
     try {
+      // the previous block must be appended before the next one is handed over, which bounds the buffered blocks to two
+      completePendingAppend();
       header.put(HoodieLogBlock.HeaderMetadataType.INSTANT_TIME, instantTime);
       header.put(HoodieLogBlock.HeaderMetadataType.SCHEMA, writeSchemaWithMetaFields.toString());
       List<HoodieLogBlock> blocks = new ArrayList<>(2);
@@ -486,18 +500,77 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
       }
 
       if (!blocks.isEmpty()) {
-        AppendResult appendResult = writer.appendBlocks(blocks);
-        processAppendResult(appendResult, Option.ofNullable(dataBlock));
-        recordList.clear();
+        if (pipelinedBlockWrite) {
+          appendBlocksInBackground(blocks, dataBlock);
+          if (appendDeleteBlocks) {
+            // the last blocks of the write, nothing is left to overlap with
+            completePendingAppend();
+          }
+        } else {
+          AppendResult appendResult = writer.appendBlocks(blocks);
+          processAppendResult(appendResult, Option.ofNullable(dataBlock));
+          recordList.clear();
+        }
         if (appendDeleteBlocks) {
           recordsToDeleteWithPositions.clear();
         }
       }
     } catch (Exception e) {
+      // the delta commit callers do not close the handle when the append fails
+      shutdownBlockWriteExecutor();
       throw new HoodieAppendException("Failed while appending records to " + writer.getLogFile().getPath(), e);
     }
   }
 
+  /**
+   * Hands the blocks over to the block writer thread. The buffered records and the write counts
+   * move along with the blocks, so that the handle starts filling the next block right away.
+   */
+  private void appendBlocksInBackground(List<HoodieLogBlock> blocks, HoodieLogBlock dataBlock) {
+    if (blockWriteExecutor == null) {
+      blockWriteExecutor = Executors.newSingleThreadExecutor(new CustomizedThreadFactory("append-handle-block-writer", true));
+    }
+    Future<AppendResult> result = blockWriteExecutor.submit(() -> writer.appendBlocks(blocks));
+    pendingAppend = new PendingAppend(result, dataBlock, new BufferState());
+    recordList = new ArrayList<>();
+    resetWriteCounts();
+  }
+
+  /**
+   * Waits for the block being appended in the background, if any, and processes its append result
+   * with the records and the write counts of that block.
+   */
+  private void completePendingAppend() {
+    if (pendingAppend == null) {
+      return;
+    }
+    PendingAppend append = pendingAppend;
+    pendingAppend = null;
+    AppendResult appendResult;
+    try {
+      appendResult = append.result.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new HoodieAppendException("Interrupted while appending records to " + writer.getLogFile().getPath(), e);
+    } catch (ExecutionException e) {
+      throw new HoodieAppendException("Failed while appending records to " + writer.getLogFile().getPath(), e.getCause());
+    }
+    BufferState current = new BufferState();
+    append.state.restore();
+    try {
+      processAppendResult(appendResult, Option.ofNullable(append.dataBlock));
+    } finally {
+      current.restore();
+    }
+  }
+
+  private void shutdownBlockWriteExecutor() {
+    if (blockWriteExecutor != null) {
+      blockWriteExecutor.shutdownNow();
+      blockWriteExecutor = null;
+    }
+  }
+
   @Override
   public boolean canWrite(HoodieRecord record) {
     return config.getParquetMaxFileSize() >= estimatedNumberOfBytesWritten
@@ -529,7 +602,11 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
 
       markClosed();
       // flush any remaining records to disk
-      appendDataAndDeleteBlocks(header, true);
+      try {
+        appendDataAndDeleteBlocks(header, true);
+      } finally {
+        shutdownBlockWriteExecutor();
+      }
       recordItr = null;
 
       if (writer != null) {
@@ -707,4 +784,38 @@ public class HoodieAppendHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O
         throw new HoodieException("Data block format " + logDataBlockFormat + " not implemented");
     }
   }
+
+  /**
+   * The records buffered for a data block and the write counts of the block.
+   */
+  private class BufferState {
+    private final List<HoodieRecord> records = recordList;
+    private final long recordsWritten = HoodieAppendHandle.this.recordsWritten;
+    private final long recordsDeleted = HoodieAppendHandle.this.recordsDeleted;
+    private final long updatedRecordsWritten = HoodieAppendHandle.this.updatedRecordsWritten;
+    private final long insertRecordsWritten = HoodieAppendHandle.this.insertRecordsWritten;
+
+    private void restore() {
+      recordList = records;
+      HoodieAppendHandle.this.recordsWritten = recordsWritten;
+      HoodieAppendHandle.this.recordsDeleted = recordsDeleted;
+      HoodieAppendHandle.this.updatedRecordsWritten = updatedRecordsWritten;
+      HoodieAppendHandle.this.insertRecordsWritten = insertRecordsWritten;
+    }
+  }
+
+  /**
+   * A data block being appended by the block writer thread.
+   */
+  private class PendingAppend {
+    private final Future<AppendResult> result;
+    private final HoodieLogBlock dataBlock;
+    private final BufferState state;
+
+    private PendingAppend(Future<AppendResult> result, HoodieLogBlock dataBlock, BufferState state) {
+      this.result = result;
+      this.dataBlock = dataBlock;
+      this.state = state;
+    }
+  }
 }
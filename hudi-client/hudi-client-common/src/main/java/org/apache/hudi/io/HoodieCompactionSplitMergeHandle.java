@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.common.engine.TaskContextSupplier;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.log.RecordKeyRange;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieUpsertException;
+import org.apache.hudi.io.storage.HoodieFileWriter;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.HoodieTable;
+import org.apache.hudi.table.marker.WriteMarkersFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * A {@link HoodieMergeHandle} used by the compaction of a file group split by record key ranges, which merges
+ * the records of the base file in one key range with the log records of the range into a part of the new base
+ * file. The parts of all the key ranges are concatenated into the new base file once they are all written.
+ * <p>
+ * The part is written under {@link HoodieTableMetaClient#COMPACTION_SPLITS_FOLDER_PATH}, with the name of the
+ * new base file, which does not depend on the task, so that the file name meta field of the records is the
+ * one of the new base file. The marker of the new base file is created by the first part to be written.
+ */
+public class HoodieCompactionSplitMergeHandle<T, I, K, O> extends HoodieMergeHandle<T, I, K, O> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieCompactionSplitMergeHandle.class);
+
+  // Write token of the new base file, shared by all the parts
+  private static final String SPLIT_WRITE_TOKEN = FSUtils.makeWriteToken(0, 0, 0);
+
+  // NOTE: This field is not set yet while the parent constructor creates the file writer
+  private final RecordKeyRange keyRange;
+
+  public HoodieCompactionSplitMergeHandle(HoodieWriteConfig config, String instantTime, HoodieTable<T, I, K, O> hoodieTable,
+                                          Map<String, HoodieRecord<T>> keyToNewRecords, String partitionPath, String fileId,
+                                          HoodieBaseFile dataFileToBeMerged, TaskContextSupplier taskContextSupplier,
+                                          RecordKeyRange keyRange, int splitIndex) {
+    super(config, instantTime, hoodieTable, keyToNewRecords, partitionPath, fileId, dataFileToBeMerged, taskContextSupplier, Option.empty());
+    this.keyRange = keyRange;
+    this.newFilePath = new StoragePath(getSplitFileDir(config.getBasePath(), instantTime, partitionPath, fileId),
+        splitIndex + "_" + writeToken + StoragePath.SEPARATOR + newFilePath.getName());
+    setWriteStatusPath();
+    LOG.info("Merging the records in {} of {} into {}", keyRange, oldFilePath, newFilePath);
+    try {
+      this.fileWriter = super.createNewFileWriter();
+    } catch (IOException e) {
+      throw new HoodieUpsertException("Failed to create the file writer of " + newFilePath, e);
+    }
+  }
+
+  /**
+   * Returns the directory of the parts of the new base file of the file group.
+   */
+  public static StoragePath getSplitFileDir(String basePath, String instantTime, String partitionPath, String fileId) {
+    StoragePath instantDir = getSplitFileDir(basePath, instantTime);
+    return new StoragePath(FSUtils.constructAbsolutePath(instantDir, partitionPath), fileId);
+  }
+
+  /**
+   * Returns the directory of the parts of the new base files written by the compaction.
+   */
+  public static StoragePath getSplitFileDir(String basePath, String instantTime) {
+    return new StoragePath(new StoragePath(basePath, HoodieTableMetaClient.COMPACTION_SPLITS_FOLDER_PATH), instantTime);
+  }
+
+  public RecordKeyRange getKeyRange() {
+    return keyRange;
+  }
+
+  @Override
+  protected void makeOldAndNewFilePaths(String partitionPath, String oldFileName, String newFileName) {
+    // All the parts have the name of the new base file, which must not depend on the task
+    super.makeOldAndNewFilePaths(partitionPath, oldFileName,
+        FSUtils.makeBaseFileName(instantTime, SPLIT_WRITE_TOKEN, fileId, hoodieTable.getBaseFileExtension()));
+  }
+
+  @Override
+  protected void createMarkerFile(String partitionPath, String dataFileName) {
+    WriteMarkersFactory.get(config.getMarkersType(), hoodieTable, instantTime)
+        .createIfNotExists(partitionPath, dataFileName, getIOType(), config, fileId, hoodieTable.getMetaClient().getActiveTimeline());
+  }
+
+  @Override
+  protected HoodieFileWriter createNewFileWriter() {
+    // The writer of the part is created once the path of the part is set
+    return null;
+  }
+
+  @Override
+  public void write(HoodieRecord<T> oldRecord) {
+    if (keyRange.contains(oldRecord.getRecordKey(writeSchemaWithMetaFields, keyGeneratorOpt))) {
+      super.write(oldRecord);
+    }
+  }
+
+  @Override
+  public void performMergeDataValidationCheck(WriteStatus writeStatus) {
+    // Each part only has the records of its key range, the new base file is validated after concatenation
+  }
+}
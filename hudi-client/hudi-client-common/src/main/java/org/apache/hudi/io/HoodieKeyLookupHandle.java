@@ -33,8 +33,10 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
 import static org.apache.hudi.metadata.MetadataPartitionType.BLOOM_FILTERS;
 
 /**
@@ -43,15 +45,21 @@ import static org.apache.hudi.metadata.MetadataPartitionType.BLOOM_FILTERS;
 public class HoodieKeyLookupHandle<T, I, K, O> extends HoodieReadHandle<T, I, K, O> {
 
   private static final Logger LOG = LoggerFactory.getLogger(HoodieKeyLookupHandle.class);
+  // Number of keys checked against the bloom filter in one batch
+  private static final int KEY_CHECK_BATCH_SIZE = 1024;
 
   private final BloomFilter bloomFilter;
   private final List<String> candidateRecordKeys;
+  private final List<String> pendingRecordKeys;
+  private final BitSet pendingKeyMatches;
   private long totalKeysChecked;
 
   public HoodieKeyLookupHandle(HoodieWriteConfig config, HoodieTable<T, I, K, O> hoodieTable,
                                Pair<String, String> partitionPathFileIDPair) {
     super(config, hoodieTable, partitionPathFileIDPair);
     this.candidateRecordKeys = new ArrayList<>();
+    this.pendingRecordKeys = new ArrayList<>(KEY_CHECK_BATCH_SIZE);
+    this.pendingKeyMatches = new BitSet(KEY_CHECK_BATCH_SIZE);
     this.totalKeysChecked = 0;
     this.bloomFilter = getBloomFilter();
   }
@@ -78,21 +86,41 @@ public class HoodieKeyLookupHandle<T, I, K, O> extends HoodieReadHandle<T, I, K,
   }
 
   /**
-   * Adds the key for look up.
+   * Adds the key for look up. The keys are checked against the bloom filter in batches.
    */
   public void addKey(String recordKey) {
-    // check record key against bloom filter of current file & add to possible keys if needed
-    if (bloomFilter.mightContain(recordKey)) {
-      LOG.debug("Record key {} matches bloom filter in {}", recordKey, partitionPathFileIDPair);
-      candidateRecordKeys.add(recordKey);
+    pendingRecordKeys.add(recordKey);
+    if (pendingRecordKeys.size() >= KEY_CHECK_BATCH_SIZE) {
+      checkPendingKeys();
     }
-    totalKeysChecked++;
+  }
+
+  /**
+   * Checks the pending record keys against the bloom filter of current file & adds them to possible keys if needed.
+   */
+  private void checkPendingKeys() {
+    if (pendingRecordKeys.isEmpty()) {
+      return;
+    }
+    byte[][] keys = new byte[pendingRecordKeys.size()][];
+    for (int i = 0; i < keys.length; i++) {
+      keys[i] = getUTF8Bytes(pendingRecordKeys.get(i));
+    }
+    bloomFilter.mightContainAll(keys, pendingKeyMatches);
+    for (int i = pendingKeyMatches.nextSetBit(0); i >= 0 && i < keys.length; i = pendingKeyMatches.nextSetBit(i + 1)) {
+      LOG.debug("Record key {} matches bloom filter in {}", pendingRecordKeys.get(i), partitionPathFileIDPair);
+      candidateRecordKeys.add(pendingRecordKeys.get(i));
+    }
+    totalKeysChecked += keys.length;
+    pendingRecordKeys.clear();
+    pendingKeyMatches.clear();
   }
 
   /**
    * Of all the keys, that were added, return a list of keys that were actually found in the file group.
    */
   public HoodieKeyLookupResult getLookupResult() {
+    checkPendingKeys();
     LOG.debug("#The candidate row keys for {} => {}", partitionPathFileIDPair, candidateRecordKeys);
 
     HoodieBaseFile baseFile = getLatestBaseFile();
@@ -37,6 +37,7 @@ import org.apache.hudi.common.util.DefaultSizeEstimator;
 import org.apache.hudi.common.util.HoodieRecordSizeEstimator;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.collection.CompactRecordKeySet;
 import org.apache.hudi.common.util.collection.ExternalSpillableMap;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -60,13 +61,11 @@ import javax.annotation.concurrent.NotThreadSafe;
 import java.io.Closeable;
 import java.io.IOException;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Properties;
-import java.util.Set;
 
 @SuppressWarnings("Duplicates")
 /**
@@ -103,7 +102,8 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
   private static final Logger LOG = LoggerFactory.getLogger(HoodieMergeHandle.class);
 
   protected Map<String, HoodieRecord<T>> keyToNewRecords;
-  protected Set<String> writtenRecordKeys;
+  // Keys of the incoming records that are merged with the existing records
+  protected CompactRecordKeySet writtenRecordKeys;
   protected HoodieFileWriter fileWriter;
   protected boolean preserveMetadata = false;
 
@@ -182,7 +182,7 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
   private void init(String fileId, String partitionPath, HoodieBaseFile baseFileToMerge) {
     LOG.info("partitionPath:" + partitionPath + ", fileId to be merged:" + fileId);
     this.baseFileToMerge = baseFileToMerge;
-    this.writtenRecordKeys = new HashSet<>();
+    this.writtenRecordKeys = new CompactRecordKeySet(keyToNewRecords.keySet());
     writeStatus.setStat(new HoodieWriteStat());
     try {
       String latestValidFilePath = baseFileToMerge.getFileName();
@@ -215,8 +215,7 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
       createMarkerFile(partitionPath, newFilePath.getName());
 
       // Create the writer for writing the new version file
-      fileWriter = HoodieFileWriterFactory.getFileWriter(instantTime, newFilePath, hoodieTable.getStorage(),
-          config, writeSchemaWithMetaFields, taskContextSupplier, recordMerger.getRecordType());
+      fileWriter = createNewFileWriter();
     } catch (IOException io) {
       LOG.error("Error in update task at commit " + instantTime, io);
       writeStatus.setGlobalError(io);
@@ -225,6 +224,22 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
     }
   }
 
+  /**
+   * Creates the writer for the new version of the base file.
+   */
+  protected HoodieFileWriter createNewFileWriter() throws IOException {
+    return HoodieFileWriterFactory.getFileWriter(instantTime, newFilePath, hoodieTable.getStorage(),
+        config, writeSchemaWithMetaFields, taskContextSupplier, recordMerger.getRecordType());
+  }
+
+  /**
+   * Closes the writer after all the records are written, which completes the new version of the base file.
+   */
+  protected void closeFileWriter() throws IOException {
+    fileWriter.close();
+    fileWriter = null;
+  }
+
   protected void setWriteStatusPath() {
     writeStatus.getStat().setPath(new StoragePath(config.getBasePath()), newFilePath);
   }
@@ -429,7 +444,7 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
     // write out any pending records (this can happen when inserts are turned into updates)
     Iterator<HoodieRecord<T>> newRecordsItr;
     if (keyToNewRecords instanceof ExternalSpillableMap) {
-      newRecordsItr = ((ExternalSpillableMap) keyToNewRecords).iterator(key -> !writtenRecordKeys.contains(key));
+      newRecordsItr = ((ExternalSpillableMap<String, HoodieRecord<T>>) keyToNewRecords).iterator(key -> !writtenRecordKeys.contains(key));
     } else {
       newRecordsItr = keyToNewRecords.entrySet().stream()
           .filter(e -> !writtenRecordKeys.contains(e.getKey()))
@@ -460,8 +475,7 @@ public class HoodieMergeHandle<T, I, K, O> extends HoodieWriteHandle<T, I, K, O>
       keyToNewRecords = null;
       writtenRecordKeys = null;
 
-      fileWriter.close();
-      fileWriter = null;
+      closeFileWriter();
 
       long fileSizeInBytes = storage.getPathInfo(newFilePath).getLength();
       HoodieWriteStat stat = writeStatus.getStat();
@@ -65,6 +65,9 @@ public class HoodieMergeHandleFactory {
     } else {
       if (table.getMetaClient().getTableConfig().isCDCEnabled()) {
         return new HoodieMergeHandleWithChangeLog<>(writeConfig, instantTime, table, recordItr, partitionPath, fileId, taskContextSupplier, keyGeneratorOpt);
+      } else if (writeConfig.isMergeRowGroupPassthroughEnabled()) {
+        return new HoodieRowGroupPassthroughMergeHandle<>(writeConfig, instantTime, table, recordItr, partitionPath, fileId, taskContextSupplier,
+            keyGeneratorOpt);
       } else {
         return new HoodieMergeHandle<>(writeConfig, instantTime, table, recordItr, partitionPath, fileId, taskContextSupplier, keyGeneratorOpt);
       }
@@ -94,6 +97,9 @@ public class HoodieMergeHandleFactory {
       // both of these two cases are already handled in HoodieCDCExtractor.
       return new HoodieMergeHandleWithChangeLog<>(writeConfig, instantTime, table, keyToNewRecords, partitionPath, fileId,
           dataFileToBeMerged, taskContextSupplier, keyGeneratorOpt);
+    } else if (writeConfig.isMergeRowGroupPassthroughEnabled()) {
+      return new HoodieRowGroupPassthroughMergeHandle<>(writeConfig, instantTime, table, keyToNewRecords, partitionPath, fileId,
+          dataFileToBeMerged, taskContextSupplier, keyGeneratorOpt);
     } else {
       return new HoodieMergeHandle<>(writeConfig, instantTime, table, keyToNewRecords, partitionPath, fileId,
           dataFileToBeMerged, taskContextSupplier, keyGeneratorOpt);
@@ -0,0 +1,166 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.common.engine.TaskContextSupplier;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieFileFormat;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.internal.schema.utils.SerDeHelper;
+import org.apache.hudi.io.hadoop.HoodieParquetRowGroupCopier;
+import org.apache.hudi.io.storage.HoodieFileWriter;
+import org.apache.hudi.io.storage.HoodieFileWriterFactory;
+import org.apache.hudi.keygen.BaseKeyGenerator;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.HoodieTable;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * A {@link HoodieMergeHandle} that copies the row groups of the Parquet base file which cannot contain
+ * any incoming record key to the new base file as is, see {@link HoodieParquetRowGroupCopier}.
+ * <p>
+ * Only the other row groups are read and merged, see {@link #getRecordIteratorToRewrite}, and the merged
+ * records and the inserts are written to a temporary file under the spillable map base path. On close,
+ * the new base file is assembled from the copied row groups and the row groups of the temporary file.
+ * The `_hoodie_file_name` meta field of the copied records is rewritten with the name of the new base file.
+ * The temporary file is deleted on close, or by {@link #deleteRewrittenFile} if the merge fails before.
+ * <p>
+ * The handle falls back to rewriting the whole base file, as {@link HoodieMergeHandle} does, if the records
+ * are not Avro records, the meta fields are not populated, the schema is evolved or transformed, the base
+ * file is a bootstrap file, not a Parquet file or larger than the max Parquet file size, or no row group
+ * can be copied.
+ */
+public class HoodieRowGroupPassthroughMergeHandle<T, I, K, O> extends HoodieMergeHandle<T, I, K, O> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieRowGroupPassthroughMergeHandle.class);
+
+  // NOTE: These fields are set while the parent constructor creates the file writer,
+  //       so they must not have initializers, which would run after and reset them
+  private HoodieParquetRowGroupCopier rowGroupCopier;
+  private HoodieStorage rewrittenFileStorage;
+  private StoragePath rewrittenFilePath;
+
+  public HoodieRowGroupPassthroughMergeHandle(HoodieWriteConfig config, String instantTime, HoodieTable<T, I, K, O> hoodieTable,
+                                              Iterator<HoodieRecord<T>> recordItr, String partitionPath, String fileId,
+                                              TaskContextSupplier taskContextSupplier, Option<BaseKeyGenerator> keyGeneratorOpt) {
+    super(config, instantTime, hoodieTable, recordItr, partitionPath, fileId, taskContextSupplier, keyGeneratorOpt);
+  }
+
+  /**
+   * Called by compactor code path.
+   */
+  public HoodieRowGroupPassthroughMergeHandle(HoodieWriteConfig config, String instantTime, HoodieTable<T, I, K, O> hoodieTable,
+                                              Map<String, HoodieRecord<T>> keyToNewRecords, String partitionPath, String fileId,
+                                              HoodieBaseFile dataFileToBeMerged, TaskContextSupplier taskContextSupplier,
+                                              Option<BaseKeyGenerator> keyGeneratorOpt) {
+    super(config, instantTime, hoodieTable, keyToNewRecords, partitionPath, fileId, dataFileToBeMerged, taskContextSupplier, keyGeneratorOpt);
+  }
+
+  @Override
+  protected HoodieFileWriter createNewFileWriter() throws IOException {
+    if (!canCopyRowGroups()) {
+      return super.createNewFileWriter();
+    }
+    HoodieParquetRowGroupCopier copier = new HoodieParquetRowGroupCopier(hoodieTable.getStorage(), oldFilePath);
+    boolean withBloomFilter = HoodieFileWriterFactory.enableBloomFilter(config.populateMetaFields(), config);
+    if (!copier.selectRowGroupsToCopy(writeSchemaWithMetaFields, keyToNewRecords.keySet(), withBloomFilter)) {
+      return super.createNewFileWriter();
+    }
+    rowGroupCopier = copier;
+    // The file has the same name as the new file, which the writer populates the file name meta field with
+    File rewrittenFileDir = new File(config.getSpillableMapBasePath(), UUID.randomUUID().toString());
+    rewrittenFilePath = new StoragePath(new File(rewrittenFileDir, newFilePath.getName()).toURI());
+    rewrittenFileStorage = hoodieTable.getStorage().newInstance(rewrittenFilePath, hoodieTable.getStorageConf().newInstance());
+    LOG.info("Writing the rewritten row groups of {} to {}", oldFilePath, rewrittenFilePath);
+    return HoodieFileWriterFactory.getFileWriter(instantTime, rewrittenFilePath, rewrittenFileStorage,
+        config, writeSchemaWithMetaFields, taskContextSupplier, recordMerger.getRecordType());
+  }
+
+  private boolean canCopyRowGroups() {
+    return recordMerger.getRecordType() == HoodieRecord.HoodieRecordType.AVRO
+        && config.populateMetaFields()
+        && !config.shouldUseExternalSchemaTransformation()
+        && !SerDeHelper.fromJson(config.getInternalSchema()).isPresent()
+        && !baseFileToMerge.getBootstrapBaseFile().isPresent()
+        // The copied row groups alone would already exceed the max file size
+        && baseFileToMerge.getFileSize() <= config.getParquetMaxFileSize()
+        && oldFilePath.getName().endsWith(HoodieFileFormat.PARQUET.getFileExtension())
+        && newFilePath.getName().endsWith(HoodieFileFormat.PARQUET.getFileExtension())
+        && !keyToNewRecords.isEmpty();
+  }
+
+  /**
+   * Whether some row groups of the base file are copied as is, in which case only the records returned by
+   * {@link #getRecordIteratorToRewrite} should be passed to {@link #write(HoodieRecord)}.
+   */
+  public boolean isCopyingRowGroups() {
+    return rowGroupCopier != null;
+  }
+
+  /**
+   * Returns an iterator over the records of the row groups of the base file that are not copied.
+   *
+   * @param readerSchema the schema to read the records in.
+   */
+  public ClosableIterator<? extends HoodieRecord> getRecordIteratorToRewrite(Schema readerSchema) {
+    return rowGroupCopier.getRecordIteratorToRewrite(readerSchema);
+  }
+
+  @Override
+  protected void closeFileWriter() throws IOException {
+    super.closeFileWriter();
+    if (rowGroupCopier == null) {
+      return;
+    }
+    try {
+      rowGroupCopier.writeMergedFile(rewrittenFileStorage, rewrittenFilePath, storage, newFilePath, config.getParquetBlockSize());
+      recordsWritten += rowGroupCopier.getNumRecordsToCopy();
+    } finally {
+      deleteRewrittenFile();
+    }
+  }
+
+  /**
+   * Deletes the temporary file holding the rewritten records, if any. Called on close, and by the caller
+   * if the merge fails before the handle is closed. Failures are only logged.
+   */
+  public void deleteRewrittenFile() {
+    if (rewrittenFilePath == null) {
+      return;
+    }
+    try {
+      rewrittenFileStorage.deleteDirectory(rewrittenFilePath.getParent());
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the directory of the rewritten records {}", rewrittenFilePath.getParent(), e);
+    }
+  }
+}
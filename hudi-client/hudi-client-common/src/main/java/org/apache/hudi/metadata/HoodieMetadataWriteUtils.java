@@ -19,6 +19,7 @@
 package org.apache.hudi.metadata;
 
 import org.apache.hudi.avro.model.HoodieMetadataRecord;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
 import org.apache.hudi.client.FailOnFirstErrorWriteStatus;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.config.HoodieStorageConfig;
@@ -76,6 +77,9 @@ public class HoodieMetadataWriteUtils {
   // eventually depend on the number of file groups selected for each partition (See estimateFileGroupCount function)
   private static final long MDT_MAX_HFILE_SIZE_BYTES = 10 * 1024 * 1024 * 1024L; // 10GB
 
+  // Number of steps the bloom filter of a record index file group grows in up to the maximum number of records
+  private static final int RECORD_INDEX_BLOOM_FILTER_STEPS = 64;
+
   /**
    * Create a {@code HoodieWriteConfig} to use for the Metadata Table.
    *
@@ -173,6 +177,9 @@ public class HoodieMetadataWriteUtils {
     final Properties properties = new Properties();
     properties.put(HoodieTableConfig.RECORDKEY_FIELDS.key(), RECORD_KEY_FIELD_NAME);
     properties.put("hoodie.datasource.write.recordkey.field", RECORD_KEY_FIELD_NAME);
+    if (writeConfig.isRecordIndexEnabled() && writeConfig.getMetadataConfig().isRecordIndexBloomFilterLookupEnabled()) {
+      properties.putAll(getRecordIndexBloomFilterProperties(writeConfig.getMetadataConfig()));
+    }
     if (nonEmpty(writeConfig.getMetricReporterMetricsNamePrefix())) {
       properties.put(HoodieMetricsConfig.METRICS_REPORTER_PREFIX.key(),
           writeConfig.getMetricReporterMetricsNamePrefix() + METADATA_TABLE_NAME_SUFFIX);
@@ -268,4 +275,26 @@ public class HoodieMetadataWriteUtils {
 
     return metadataWriteConfig;
   }
+
+  /**
+   * Returns the bloom filter configs for the HFiles of the metadata table, sized for the record index file groups so
+   * that the record index lookups can rule out the keys not in the base files.
+   * <p>
+   * The bloom filter grows in steps up to the maximum number of records in a record index file group, so that the
+   * HFiles of small file groups, e.g., of the other partitions, carry small bloom filters. The false positive
+   * probability of each step is the configured one divided by the number of steps, which bounds the false positive
+   * probability of the bloom filter at its maximum size.
+   */
+  @VisibleForTesting
+  static Properties getRecordIndexBloomFilterProperties(HoodieMetadataConfig metadataConfig) {
+    int maxEntries = Math.max(metadataConfig.getRecordIndexMaxFileGroupSizeBytes()
+        / HoodieBackedTableMetadataWriter.RECORD_INDEX_AVERAGE_RECORD_SIZE, RECORD_INDEX_BLOOM_FILTER_STEPS);
+    Properties properties = new Properties();
+    properties.put(HoodieStorageConfig.BLOOM_FILTER_TYPE.key(), BloomFilterTypeCode.DYNAMIC_V0.name());
+    properties.put(HoodieStorageConfig.BLOOM_FILTER_NUM_ENTRIES_VALUE.key(), String.valueOf(maxEntries / RECORD_INDEX_BLOOM_FILTER_STEPS));
+    properties.put(HoodieStorageConfig.BLOOM_FILTER_DYNAMIC_MAX_ENTRIES.key(), String.valueOf(maxEntries));
+    properties.put(HoodieStorageConfig.BLOOM_FILTER_FPP_VALUE.key(),
+        String.valueOf(metadataConfig.getRecordIndexBloomFilterFpp() / RECORD_INDEX_BLOOM_FILTER_STEPS));
+    return properties;
+  }
 }
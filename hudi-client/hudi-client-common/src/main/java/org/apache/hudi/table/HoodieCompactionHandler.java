@@ -24,6 +24,7 @@ import org.apache.hudi.common.engine.HoodieReaderContext;
 import org.apache.hudi.common.model.CompactionOperation;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.log.RecordKeyRange;
 import org.apache.hudi.common.table.log.block.HoodieLogBlock;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieNotSupportedException;
@@ -45,6 +46,16 @@ public interface HoodieCompactionHandler<T> {
   Iterator<List<WriteStatus>> handleInsert(String instantTime, String partitionPath, String fileId,
                                            Map<String, HoodieRecord<?>> recordMap);
 
+  /**
+   * Merges the records of the base file in the record key range with the log records of the range into
+   * a part of the new base file, for the compaction of a file group split by key ranges.
+   */
+  default Iterator<List<WriteStatus>> handleUpdateInKeyRange(String instantTime, String partitionPath, String fileId,
+                                                             Map<String, HoodieRecord<T>> keyToNewRecords, HoodieBaseFile oldDataFile,
+                                                             RecordKeyRange keyRange, int splitIndex) throws IOException {
+    throw new HoodieNotSupportedException("This engine does not support the compaction split by record key ranges.");
+  }
+
   default List<WriteStatus> compactUsingFileGroupReader(String instantTime,
                                                         CompactionOperation operation,
                                                         HoodieWriteConfig writeConfig,
@@ -86,6 +86,7 @@ import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.table.action.HoodieWriteMetadata;
 import org.apache.hudi.table.action.bootstrap.HoodieBootstrapWriteMetadata;
 import org.apache.hudi.table.action.commit.HoodieMergeHelper;
+import org.apache.hudi.table.action.compact.CompactionSplitHelper;
 import org.apache.hudi.table.marker.WriteMarkers;
 import org.apache.hudi.table.marker.WriteMarkersFactory;
 import org.apache.hudi.table.storage.HoodieLayoutFactory;
@@ -665,6 +666,8 @@ public abstract class HoodieTable<T, I, K, O> implements Serializable {
                                          Function<String, Option<HoodiePendingRollbackInfo>> getPendingRollbackInstantFunc) {
     ValidationUtils.checkArgument(inflightInstant.getAction().equals(HoodieTimeline.COMPACTION_ACTION));
     rollbackInflightInstant(inflightInstant, getPendingRollbackInstantFunc);
+    // The parts of the new base files of the file groups split by record key ranges are not tracked by markers
+    CompactionSplitHelper.quietDeleteSplitFileDir(getStorage(), config.getBasePath(), inflightInstant.requestedTime());
   }
 
   /**
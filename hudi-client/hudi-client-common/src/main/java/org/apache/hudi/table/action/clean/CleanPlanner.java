@@ -27,11 +27,9 @@ import org.apache.hudi.common.model.CompactionOperation;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieCleaningPolicy;
-import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
-import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.versioning.clean.CleanPlanV1MigrationHandler;
@@ -60,6 +58,7 @@ import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -240,15 +239,8 @@ public class CleanPlanner<T, I, K, O> implements Serializable {
    */
   private Stream<String> getPartitionsForInstants(HoodieInstant instant) {
     try {
-      if (HoodieTimeline.REPLACE_COMMIT_ACTION.equals(instant.getAction())) {
-        HoodieReplaceCommitMetadata replaceCommitMetadata =
-            hoodieTable.getActiveTimeline().readReplaceCommitMetadata(instant);
-        return Stream.concat(replaceCommitMetadata.getPartitionToReplaceFileIds().keySet().stream(), replaceCommitMetadata.getPartitionToWriteStats().keySet().stream());
-      } else {
-        HoodieCommitMetadata commitMetadata =
-            hoodieTable.getActiveTimeline().readCommitMetadata(instant);
-        return commitMetadata.getPartitionToWriteStats().keySet().stream();
-      }
+      Pair<Set<String>, Set<String>> partitions = hoodieTable.getActiveTimeline().readCommitPartitions(instant);
+      return Stream.concat(partitions.getRight().stream(), partitions.getLeft().stream());
     } catch (IOException e) {
       throw new HoodieIOException(e.getMessage(), e);
     }
@@ -19,13 +19,16 @@
 package org.apache.hudi.table.action.commit;
 
 import org.apache.hudi.common.config.HoodieCommonConfig;
+import org.apache.hudi.common.model.HoodieAvroIndexedRecord;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.TableSchemaResolver;
+import org.apache.hudi.common.table.log.RecordKeyRange;
 import org.apache.hudi.common.util.InternalSchemaCache;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.collection.CloseableMappingIterator;
 import org.apache.hudi.common.util.queue.HoodieExecutor;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieException;
@@ -35,7 +38,10 @@ import org.apache.hudi.internal.schema.convert.AvroInternalSchemaConverter;
 import org.apache.hudi.internal.schema.utils.AvroSchemaEvolutionUtils;
 import org.apache.hudi.internal.schema.utils.InternalSchemaUtils;
 import org.apache.hudi.internal.schema.utils.SerDeHelper;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
 import org.apache.hudi.io.HoodieMergeHandle;
+import org.apache.hudi.io.HoodieRowGroupPassthroughMergeHandle;
+import org.apache.hudi.io.storage.HoodieAvroFileReader;
 import org.apache.hudi.io.storage.HoodieFileReader;
 import org.apache.hudi.io.storage.HoodieIOFactory;
 import org.apache.hudi.storage.HoodieStorage;
@@ -121,6 +127,21 @@ public class HoodieMergeHelper<T> extends BaseMergeHelper {
             mergeHandle.getPartitionValues());
         recordSchema = mergeHandle.getWriterSchemaWithMetaFields();
         recordIterator = (ClosableIterator<HoodieRecord>) bootstrapFileReader.getRecordIterator(recordSchema);
+      } else if (mergeHandle instanceof HoodieRowGroupPassthroughMergeHandle
+          && ((HoodieRowGroupPassthroughMergeHandle<?, ?, ?, ?>) mergeHandle).isCopyingRowGroups()) {
+        // Only the row groups that may contain incoming records are read,
+        // the other ones are copied to the new file by the merge handle
+        recordSchema = isPureProjection ? writerSchema : readerSchema;
+        recordIterator = (ClosableIterator<HoodieRecord>) ((HoodieRowGroupPassthroughMergeHandle<?, ?, ?, ?>) mergeHandle)
+            .getRecordIteratorToRewrite(recordSchema);
+      } else if (mergeHandle instanceof HoodieCompactionSplitMergeHandle && baseFileReader instanceof HoodieAvroFileReader) {
+        // Skips the blocks of records out of the key range of the split by the column statistics, the end key
+        // is exclusive but used as the inclusive upper bound, the merge handle filters out the records anyway
+        recordSchema = isPureProjection ? writerSchema : readerSchema;
+        RecordKeyRange keyRange = ((HoodieCompactionSplitMergeHandle<?, ?, ?, ?>) mergeHandle).getKeyRange();
+        recordIterator = new CloseableMappingIterator<>(((HoodieAvroFileReader) baseFileReader).getIndexedRecordIterator(
+            recordSchema, recordSchema, HoodieRecord.RECORD_KEY_METADATA_FIELD, keyRange.getStartKey(), keyRange.getEndKey()),
+            data -> new HoodieAvroIndexedRecord(data));
       } else {
         // In case writer's schema is simply a projection of the reader's one we can read
         // the records in the projected schema directly
@@ -148,6 +169,9 @@ public class HoodieMergeHelper<T> extends BaseMergeHelper {
 
       executor.execute();
     } catch (Exception e) {
+      if (mergeHandle instanceof HoodieRowGroupPassthroughMergeHandle) {
+        ((HoodieRowGroupPassthroughMergeHandle<?, ?, ?, ?>) mergeHandle).deleteRewrittenFile();
+      }
       throw new HoodieException(e);
     } finally {
       // NOTE: If executor is initialized it's responsible for gracefully shutting down
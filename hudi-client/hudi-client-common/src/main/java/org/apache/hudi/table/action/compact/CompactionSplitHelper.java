@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact;
+
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.CompactionOperation;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.model.HoodieWriteStat.RuntimeStats;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieCompactionException;
+import org.apache.hudi.exception.HoodieCorruptedDataException;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
+import org.apache.hudi.io.hadoop.HoodieParquetFileConcatenator;
+import org.apache.hudi.io.storage.HoodieFileReader;
+import org.apache.hudi.io.storage.HoodieIOFactory;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.apache.hudi.common.model.HoodieRecord.HoodieRecordType.AVRO;
+import static org.apache.hudi.common.util.ValidationUtils.checkState;
+
+/**
+ * Helper for the compaction of the file groups split by record key ranges, which concatenates the parts of
+ * the new base file written by the sub-tasks of the key ranges into the new base file of the file group.
+ */
+public class CompactionSplitHelper {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CompactionSplitHelper.class);
+
+  private CompactionSplitHelper() {
+  }
+
+  /**
+   * Concatenates the parts of the new base file of the compaction operation into the new base file, and
+   * returns the write status of the new base file. The parts are kept so that the concatenation can be
+   * retried, and are deleted along with the directory of the compaction splits once the compaction is
+   * completed or rolled back.
+   *
+   * @param storage   {@link HoodieStorage} instance to use.
+   * @param config    the write config.
+   * @param operation the compaction operation split by record key ranges.
+   * @param parts     the write statuses of the parts, along with the indexes of their key ranges.
+   */
+  public static WriteStatus concatenateParts(HoodieStorage storage, HoodieWriteConfig config,
+                                             CompactionOperation operation, Iterable<Pair<Integer, WriteStatus>> parts) {
+    List<Pair<Integer, WriteStatus>> sortedParts = new ArrayList<>();
+    parts.forEach(sortedParts::add);
+    sortedParts.sort(Comparator.comparing(Pair::getLeft));
+    int numSplits = operation.getRecordKeySplitPoints().size() + 1;
+    checkState(sortedParts.size() == numSplits,
+        () -> "Expected " + numSplits + " parts of " + operation.getFileGroupId() + ", but got " + sortedParts.size());
+    for (int i = 0; i < numSplits; i++) {
+      final int splitIndex = i;
+      checkState(sortedParts.get(i).getLeft() == i,
+          () -> "Missing the part of key range " + splitIndex + " of " + operation.getFileGroupId());
+    }
+
+    StoragePath basePath = new StoragePath(config.getBasePath());
+    List<StoragePath> partPaths = new ArrayList<>(numSplits);
+    for (Pair<Integer, WriteStatus> part : sortedParts) {
+      partPaths.add(new StoragePath(basePath, part.getRight().getStat().getPath()));
+    }
+    StoragePath partitionPath = FSUtils.constructAbsolutePath(basePath, operation.getPartitionPath());
+    StoragePath newFilePath = new StoragePath(partitionPath, partPaths.get(0).getName());
+    LOG.info("Concatenating {} parts of {} into {}", numSplits, operation.getFileGroupId(), newFilePath);
+    HoodieParquetFileConcatenator.concatenate(storage, partPaths, newFilePath);
+
+    WriteStatus writeStatus = sortedParts.get(0).getRight();
+    HoodieWriteStat stat = writeStatus.getStat();
+    long scanTime = stat.getRuntimeStats() == null ? 0 : stat.getRuntimeStats().getTotalScanTime();
+    long upsertTime = stat.getRuntimeStats() == null ? 0 : stat.getRuntimeStats().getTotalUpsertTime();
+    long createTime = stat.getRuntimeStats() == null ? 0 : stat.getRuntimeStats().getTotalCreateTime();
+    for (Pair<Integer, WriteStatus> part : sortedParts.subList(1, numSplits)) {
+      WriteStatus partStatus = part.getRight();
+      HoodieWriteStat partStat = partStatus.getStat();
+      writeStatus.getWrittenRecordDelegates().addAll(partStatus.getWrittenRecordDelegates());
+      writeStatus.getFailedRecords().addAll(partStatus.getFailedRecords());
+      writeStatus.getErrors().putAll(partStatus.getErrors());
+      writeStatus.setTotalRecords(writeStatus.getTotalRecords() + partStatus.getTotalRecords());
+      writeStatus.setTotalErrorRecords(writeStatus.getTotalErrorRecords() + partStatus.getTotalErrorRecords());
+      if (!writeStatus.hasGlobalError() && partStatus.hasGlobalError()) {
+        writeStatus.setGlobalError(partStatus.getGlobalError());
+      }
+      stat.setNumWrites(stat.getNumWrites() + partStat.getNumWrites());
+      stat.setNumDeletes(stat.getNumDeletes() + partStat.getNumDeletes());
+      stat.setNumUpdateWrites(stat.getNumUpdateWrites() + partStat.getNumUpdateWrites());
+      stat.setNumInserts(stat.getNumInserts() + partStat.getNumInserts());
+      stat.setTotalWriteErrors(stat.getTotalWriteErrors() + partStat.getTotalWriteErrors());
+      stat.setTotalUpdatedRecordsCompacted(stat.getTotalUpdatedRecordsCompacted() + partStat.getTotalUpdatedRecordsCompacted());
+      if (partStat.getRuntimeStats() != null) {
+        scanTime += partStat.getRuntimeStats().getTotalScanTime();
+        upsertTime += partStat.getRuntimeStats().getTotalUpsertTime();
+        createTime += partStat.getRuntimeStats().getTotalCreateTime();
+      }
+    }
+    // The log stats are the same for all the parts, as each sub-task reads all the log files
+    RuntimeStats runtimeStats = new RuntimeStats();
+    runtimeStats.setTotalScanTime(scanTime);
+    runtimeStats.setTotalUpsertTime(upsertTime);
+    runtimeStats.setTotalCreateTime(createTime);
+    stat.setRuntimeStats(runtimeStats);
+
+    try {
+      long fileSizeInBytes = storage.getPathInfo(newFilePath).getLength();
+      stat.setPath(basePath, newFilePath);
+      stat.setFileSizeInBytes(fileSizeInBytes);
+      stat.setTotalWriteBytes(fileSizeInBytes);
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to finish the new base file " + newFilePath, e);
+    }
+    validateRecordCount(storage, config, operation, writeStatus);
+    return writeStatus;
+  }
+
+  /**
+   * Deletes the directory of the parts of the new base files written by the compaction, if any, after the
+   * compaction is completed or rolled back. Failures are only logged.
+   */
+  public static void quietDeleteSplitFileDir(HoodieStorage storage, String basePath, String instantTime) {
+    StoragePath splitFileDir = HoodieCompactionSplitMergeHandle.getSplitFileDir(basePath, instantTime);
+    try {
+      if (storage.exists(splitFileDir)) {
+        storage.deleteDirectory(splitFileDir);
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the directory of the compaction splits " + splitFileDir, e);
+    }
+  }
+
+  private static void validateRecordCount(HoodieStorage storage, HoodieWriteConfig config,
+                                          CompactionOperation operation, WriteStatus writeStatus) {
+    Option<String> oldFileName = operation.getDataFileName();
+    if (!config.isMergeDataValidationCheckEnabled() || !oldFileName.isPresent()) {
+      return;
+    }
+    StoragePath oldFilePath = new StoragePath(
+        FSUtils.constructAbsolutePath(config.getBasePath(), operation.getPartitionPath()), oldFileName.get());
+    long oldNumWrites;
+    try (HoodieFileReader reader = HoodieIOFactory.getIOFactory(storage).getReaderFactory(AVRO)
+        .getFileReader(config, oldFilePath)) {
+      oldNumWrites = reader.getTotalRecords();
+    } catch (IOException e) {
+      throw new HoodieCompactionException("Failed to check for merge data validation", e);
+    }
+    HoodieWriteStat stat = writeStatus.getStat();
+    if (stat.getNumWrites() + stat.getNumDeletes() < oldNumWrites) {
+      throw new HoodieCorruptedDataException(
+          String.format("Record write count decreased for file: %s, Partition Path: %s (%d + %d < %d)",
+              writeStatus.getFileId(), writeStatus.getPartitionPath(), stat.getNumWrites(), stat.getNumDeletes(), oldNumWrites));
+    }
+  }
+}
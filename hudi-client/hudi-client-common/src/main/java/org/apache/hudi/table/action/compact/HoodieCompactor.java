@@ -30,6 +30,7 @@ import org.apache.hudi.common.engine.TaskContextSupplier;
 import org.apache.hudi.common.fs.FSUtils;
 import org.apache.hudi.common.model.CompactionOperation;
 import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.model.HoodieWriteStat.RuntimeStats;
 import org.apache.hudi.common.model.WriteOperationType;
@@ -37,14 +38,18 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.TableSchemaResolver;
 import org.apache.hudi.common.table.log.HoodieMergedLogRecordScanner;
 import org.apache.hudi.common.table.log.InstantRange;
+import org.apache.hudi.common.table.log.RecordKeyRange;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.util.CollectionUtils;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ReflectionUtils;
 import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.internal.schema.InternalSchema;
 import org.apache.hudi.internal.schema.utils.SerDeHelper;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
 import org.apache.hudi.io.IOUtils;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
@@ -60,8 +65,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toList;
@@ -128,6 +136,14 @@ public abstract class HoodieCompactor<T, I, K, O> implements Serializable {
         .map(CompactionOperation::convertFromAvroRecordInstance).collect(toList());
     LOG.info("Compactor compacting " + operations + " files");
 
+    // The file groups split by record key ranges are compacted by a sub-task per key range
+    List<CompactionOperation> splitOperations = operationType == WriteOperationType.COMPACT && !metaClient.isMetadataTable()
+        ? operations.stream().filter(operation -> !operation.getRecordKeySplitPoints().isEmpty()).collect(toList())
+        : Collections.emptyList();
+    if (!splitOperations.isEmpty()) {
+      operations = operations.stream().filter(operation -> operation.getRecordKeySplitPoints().isEmpty()).collect(toList());
+    }
+
     String maxInstantTime = getMaxInstantTime(metaClient);
 
     context.setJobStatus(this.getClass().getSimpleName(), "Compacting file slices: " + config.getTableName());
@@ -142,17 +158,72 @@ public abstract class HoodieCompactor<T, I, K, O> implements Serializable {
         && !hasBootstrapFile(operations)                                            // bootstrap file read for fg reader is not ready
         && config.populateMetaFields();                                             // Virtual key support by fg reader is not ready
 
-    if (useFileGroupReaderBasedCompaction) {
+    HoodieData<WriteStatus> writeStatuses;
+    if (operations.isEmpty()) {
+      writeStatuses = context.emptyHoodieData();
+    } else if (useFileGroupReaderBasedCompaction) {
       ReaderContextFactory<T> readerContextFactory = context.getReaderContextFactory(metaClient);
-      return context.parallelize(operations).map(
+      writeStatuses = context.parallelize(operations).map(
               operation -> compact(compactionHandler, config, operation, compactionInstantTime, readerContextFactory.getContext()))
           .flatMap(List::iterator);
     } else {
-      return context.parallelize(operations).map(
+      writeStatuses = context.parallelize(operations).map(
               operation -> compact(compactionHandler, metaClient, config, operation, compactionInstantTime, maxInstantTime,
                   instantRange, taskContextSupplier, executionHelper))
           .flatMap(List::iterator);
     }
+    if (splitOperations.isEmpty()) {
+      return writeStatuses;
+    }
+    return writeStatuses.union(compactInKeyRanges(context, compactionHandler, metaClient, config, splitOperations,
+        compactionInstantTime, maxInstantTime, taskContextSupplier, executionHelper));
+  }
+
+  /**
+   * Execute the compaction operations split by record key ranges, with a sub-task per key range which writes
+   * the part of the new base file of the key range, and concatenate the parts into the new base files.
+   */
+  private HoodieData<WriteStatus> compactInKeyRanges(HoodieEngineContext context,
+                                                     HoodieCompactionHandler compactionHandler,
+                                                     HoodieTableMetaClient metaClient,
+                                                     HoodieWriteConfig config,
+                                                     List<CompactionOperation> operations,
+                                                     String instantTime,
+                                                     String maxInstantTime,
+                                                     TaskContextSupplier taskContextSupplier,
+                                                     CompactionExecutionHelper executionHelper) {
+    // Cleans up the parts left by the previous attempts of the compaction
+    StoragePath splitFileDir = HoodieCompactionSplitMergeHandle.getSplitFileDir(config.getBasePath(), instantTime);
+    try {
+      if (metaClient.getStorage().exists(splitFileDir)) {
+        metaClient.getStorage().deleteDirectory(splitFileDir);
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to clean up the parts of the compaction under " + splitFileDir, e);
+    }
+
+    Map<HoodieFileGroupId, CompactionOperation> operationsByFileGroup = new HashMap<>();
+    List<Pair<CompactionOperation, Integer>> splits = new ArrayList<>();
+    for (CompactionOperation operation : operations) {
+      operationsByFileGroup.put(operation.getFileGroupId(), operation);
+      for (int i = 0; i <= operation.getRecordKeySplitPoints().size(); i++) {
+        splits.add(Pair.of(operation, i));
+      }
+    }
+    LOG.info("Compacting {} file groups split into {} record key ranges", operations.size(), splits.size());
+    return context.parallelize(splits, splits.size())
+        .flatMapToPair(split -> {
+          CompactionOperation operation = split.getLeft();
+          int splitIndex = split.getRight();
+          RecordKeyRange keyRange = RecordKeyRange.fromSplitPoints(operation.getRecordKeySplitPoints()).get(splitIndex);
+          return compact(compactionHandler, metaClient, config, operation, instantTime, maxInstantTime, Option.empty(),
+              taskContextSupplier, executionHelper, Option.of(Pair.of(splitIndex, keyRange))).stream()
+              .map(writeStatus -> Pair.of(operation.getFileGroupId(), Pair.of(splitIndex, writeStatus)))
+              .iterator();
+        })
+        .groupByKey()
+        .map(parts -> CompactionSplitHelper.concatenateParts(metaClient.getStorage(), config,
+            operationsByFileGroup.get(parts.getLeft()), parts.getRight()));
   }
 
   /**
@@ -181,6 +252,20 @@ public abstract class HoodieCompactor<T, I, K, O> implements Serializable {
                                    Option<InstantRange> instantRange,
                                    TaskContextSupplier taskContextSupplier,
                                    CompactionExecutionHelper executionHelper) throws IOException {
+    return compact(compactionHandler, metaClient, config, operation, instantTime, maxInstantTime, instantRange,
+        taskContextSupplier, executionHelper, Option.empty());
+  }
+
+  private List<WriteStatus> compact(HoodieCompactionHandler compactionHandler,
+                                    HoodieTableMetaClient metaClient,
+                                    HoodieWriteConfig config,
+                                    CompactionOperation operation,
+                                    String instantTime,
+                                    String maxInstantTime,
+                                    Option<InstantRange> instantRange,
+                                    TaskContextSupplier taskContextSupplier,
+                                    CompactionExecutionHelper executionHelper,
+                                    Option<Pair<Integer, RecordKeyRange>> keyRangeSplit) throws IOException {
     HoodieStorage storage = metaClient.getStorage();
     Schema readerSchema;
     Option<InternalSchema> internalSchemaOption = Option.empty();
@@ -228,6 +313,10 @@ public abstract class HoodieCompactor<T, I, K, O> implements Serializable {
         .withOptimizedLogBlocksScan(executionHelper.enableOptimizedLogBlockScan(config))
         .withRecordMerger(config.getRecordMerger())
         .withTableMetaClient(metaClient)
+        .withLogBlockPrefetchParallelism(config.getLogBlockPrefetchParallelism())
+        .withMaxPrefetchedLogBlocks(config.getLogBlockPrefetchMaxBlocks())
+        .withMaxPrefetchedLogBlockBytes(config.getLogBlockPrefetchMaxBytes())
+        .withRecordKeyRange(keyRangeSplit.map(Pair::getRight))
         .build();
 
     Option<HoodieBaseFile> oldDataFileOpt =
@@ -255,7 +344,13 @@ public abstract class HoodieCompactor<T, I, K, O> implements Serializable {
 
     // Compacting is very similar to applying updates to existing file
     Iterator<List<WriteStatus>> result;
-    result = executionHelper.writeFileAndGetWriteStats(compactionHandler, operation, instantTime, scanner, oldDataFileOpt);
+    if (keyRangeSplit.isPresent()) {
+      // The file groups are only split by the key ranges of their base files
+      result = compactionHandler.handleUpdateInKeyRange(instantTime, operation.getPartitionPath(), operation.getFileId(),
+          scanner.getRecords(), oldDataFileOpt.get(), keyRangeSplit.get().getRight(), keyRangeSplit.get().getLeft());
+    } else {
+      result = executionHelper.writeFileAndGetWriteStats(compactionHandler, operation, instantTime, scanner, oldDataFileOpt);
+    }
     scanner.close();
 
     Iterable<List<WriteStatus>> resultIterable = () -> result;
@@ -21,12 +21,19 @@ package org.apache.hudi.table.action.compact.plan.generators;
 import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.common.engine.HoodieEngineContext;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieFileFormat;
 import org.apache.hudi.common.model.HoodieRecordPayload;
 import org.apache.hudi.common.model.TableServiceType;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.io.hadoop.HoodieParquetKeyRangeSplitter;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.HoodieStorageUtils;
+import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.table.HoodieTable;
 import org.apache.hudi.table.action.BaseTableServicePlanActionExecutor;
 import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
@@ -34,7 +41,9 @@ import org.apache.hudi.table.action.compact.strategy.CompactionStrategy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 import static java.util.stream.Collectors.toList;
 
@@ -56,8 +65,63 @@ public class HoodieCompactionPlanGenerator<T extends HoodieRecordPayload, I, K,
   protected HoodieCompactionPlan getCompactionPlan(HoodieTableMetaClient metaClient, List<HoodieCompactionOperation> operations, Pair<List<String>, List<String>> partitionPair) {
     // Filter the compactions with the passed in filter. This lets us choose most effective
     // compactions only
-    return compactionStrategy.generateCompactionPlan(writeConfig, operations,
+    HoodieCompactionPlan compactionPlan = compactionStrategy.generateCompactionPlan(writeConfig, operations,
         CompactionUtils.getAllPendingCompactionPlans(metaClient).stream().map(Pair::getValue).collect(toList()), getStrategyParams(), partitionPair);
+    if (writeConfig.getCompactionSplitTargetSize() > 0 && !metaClient.isMetadataTable()
+        && writeConfig.populateMetaFields() && !metaClient.getTableConfig().isCDCEnabled()) {
+      setRecordKeySplitPoints(metaClient, compactionPlan.getOperations());
+    }
+    return compactionPlan;
+  }
+
+  /**
+   * Splits the compaction operations reading more than {@link HoodieWriteConfig#getCompactionSplitTargetSize()}
+   * by record key ranges of their base files.
+   */
+  private void setRecordKeySplitPoints(HoodieTableMetaClient metaClient, List<HoodieCompactionOperation> operations) {
+    if (operations == null || operations.isEmpty()) {
+      return;
+    }
+    long targetSize = writeConfig.getCompactionSplitTargetSize();
+    int maxNumSplits = writeConfig.getCompactionSplitMaxNum();
+    List<Pair<Integer, Pair<String, Long>>> filesToSplit = new ArrayList<>();
+    for (int i = 0; i < operations.size(); i++) {
+      HoodieCompactionOperation operation = operations.get(i);
+      if (operation.getDataFilePath() == null || operation.getBootstrapFilePath() != null
+          || !operation.getDataFilePath().endsWith(HoodieFileFormat.PARQUET.getFileExtension())) {
+        continue;
+      }
+      // The read size in the metrics is rounded down to MB, which bounds the size of the file slice
+      double maxReadBytes = (operation.getMetrics().getOrDefault(CompactionStrategy.TOTAL_IO_READ_MB, 0d) + 1) * 1024 * 1024;
+      if (maxReadBytes > targetSize) {
+        String filePath = new StoragePath(FSUtils.constructAbsolutePath(metaClient.getBasePath(), operation.getPartitionPath()),
+            operation.getDataFilePath()).toString();
+        long logFileSize = operation.getMetrics().getOrDefault(CompactionStrategy.TOTAL_LOG_FILE_SIZE, 0d).longValue();
+        filesToSplit.add(Pair.of(i, Pair.of(filePath, logFileSize)));
+      }
+    }
+    if (filesToSplit.isEmpty()) {
+      return;
+    }
+    engineContext.setJobStatus(this.getClass().getSimpleName(), "Splitting huge file slices to compact: " + writeConfig.getTableName());
+    StorageConfiguration<?> storageConf = metaClient.getStorageConf();
+    List<Pair<Integer, List<String>>> splitPoints = engineContext.map(filesToSplit, fileToSplit -> {
+      StoragePath filePath = new StoragePath(fileToSplit.getRight().getLeft());
+      HoodieStorage storage = HoodieStorageUtils.getStorage(filePath, storageConf);
+      long readBytes = storage.getPathInfo(filePath).getLength() + fileToSplit.getRight().getRight();
+      int numSplits = (int) Math.min(maxNumSplits, (readBytes + targetSize - 1) / targetSize);
+      return Pair.of(fileToSplit.getLeft(), HoodieParquetKeyRangeSplitter.getSplitPoints(storage, filePath, numSplits));
+    }, filesToSplit.size());
+    for (Pair<Integer, List<String>> points : splitPoints) {
+      if (!points.getRight().isEmpty()) {
+        operations.get(points.getLeft()).setRecordKeySplitPoints(points.getRight());
+      }
+    }
+  }
+
+  @Override
+  protected Map<String, String> getStrategyParams() {
+    return compactionStrategy.getStrategyParams(hoodieTable.getMetaClient(), writeConfig);
   }
 
   @Override
@@ -22,6 +22,7 @@ import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.client.utils.FileSliceMetricUtils;
 import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
@@ -76,7 +77,7 @@ public abstract class CompactionStrategy implements IncrementalPartitionAwareStr
   public HoodieCompactionPlan generateCompactionPlan(HoodieWriteConfig writeConfig,
       List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans, Map<String, String> params, Pair<List<String>, List<String>> partitionPair) {
     // Strategy implementation can overload this method to set specific compactor-id
-    Pair<List<HoodieCompactionOperation>, List<String>> resPair = orderAndFilter(writeConfig, operations, pendingCompactionPlans);
+    Pair<List<HoodieCompactionOperation>, List<String>> resPair = orderAndFilter(writeConfig, operations, pendingCompactionPlans, params);
     List<HoodieCompactionOperation> operationsToProcess = resPair.getLeft();
     List<String> missingPartitions = resPair.getRight();
     missingPartitions.addAll(partitionPair.getRight());
@@ -103,6 +104,33 @@ public abstract class CompactionStrategy implements IncrementalPartitionAwareStr
     return Pair.of(operations, Collections.emptyList());
   }
 
+  /**
+   * Order and Filter the list of compactions with the parameters collected by {@link #getStrategyParams}.
+   * Defaults to {@link #orderAndFilter(HoodieWriteConfig, List, List)} for the strategies without parameters.
+   *
+   * @param writeConfig config for this compaction is passed in
+   * @param operations list of compactions collected
+   * @param pendingCompactionPlans Pending Compaction Plans for strategy to schedule next compaction plan
+   * @param params parameters of the strategy
+   * @return Pair of list of compactions to perform in this run and missing partitions.
+   */
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+      List<HoodieCompactionOperation> operations, List<HoodieCompactionPlan> pendingCompactionPlans, Map<String, String> params) {
+    return orderAndFilter(writeConfig, operations, pendingCompactionPlans);
+  }
+
+  /**
+   * Collects the parameters of the strategy from the table when a compaction is scheduled, e.g., the stats of
+   * the previous compactions, which are passed to {@link #generateCompactionPlan}.
+   *
+   * @param metaClient meta client of the table
+   * @param writeConfig Hoodie Write Config
+   * @return parameters of the strategy, empty by default.
+   */
+  public Map<String, String> getStrategyParams(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig) {
+    return Collections.emptyMap();
+  }
+
   /**
    * Filter the partition paths based on compaction strategy.
    * 
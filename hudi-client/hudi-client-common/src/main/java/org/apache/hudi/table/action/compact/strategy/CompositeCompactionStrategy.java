@@ -21,12 +21,16 @@ package org.apache.hudi.table.action.compact.strategy;
 
 import org.apache.hudi.avro.model.HoodieCompactionOperation;
 import org.apache.hudi.avro.model.HoodieCompactionPlan;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieWriteConfig;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * CompositeCompactionStrategy chains multiple compaction strategies together.
@@ -55,6 +59,40 @@ public class CompositeCompactionStrategy extends CompactionStrategy {
     return Pair.of(finalOperations, missingPartitions);
   }
 
+  @Override
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                            List<HoodieCompactionOperation> operations,
+                                                                            List<HoodieCompactionPlan> pendingCompactionPlans,
+                                                                            Map<String, String> params) {
+    List<HoodieCompactionOperation> finalOperations = operations;
+    List<String> missingPartitions = new ArrayList<>();
+    for (CompactionStrategy strategy : strategies) {
+      Pair<List<HoodieCompactionOperation>, List<String>> resPair =
+          strategy.orderAndFilter(writeConfig, finalOperations, pendingCompactionPlans, params);
+      finalOperations = resPair.getLeft();
+      missingPartitions.addAll(resPair.getRight());
+    }
+    return Pair.of(finalOperations, missingPartitions);
+  }
+
+  @Override
+  public Map<String, String> getStrategyParams(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig) {
+    Map<String, String> params = new HashMap<>();
+    for (CompactionStrategy strategy : strategies) {
+      params.putAll(strategy.getStrategyParams(metaClient, writeConfig));
+    }
+    return params;
+  }
+
+  @Override
+  public Map<String, Double> captureMetrics(HoodieWriteConfig writeConfig, FileSlice slice) {
+    Map<String, Double> metrics = new HashMap<>();
+    for (CompactionStrategy strategy : strategies) {
+      metrics.putAll(strategy.captureMetrics(writeConfig, slice));
+    }
+    return metrics;
+  }
+
   @Override
   public Pair<List<String>, List<String>> filterPartitionPaths(HoodieWriteConfig writeConfig, List<String> allPartitionPaths) {
     List<String> partitionsToProcess = allPartitionPaths;
@@ -0,0 +1,226 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.table.action.compact.strategy;
+
+import org.apache.hudi.avro.model.HoodieCompactionOperation;
+import org.apache.hudi.avro.model.HoodieCompactionPlan;
+import org.apache.hudi.avro.model.HoodieCompactionStrategy;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.model.HoodieWriteStat.RuntimeStats;
+import org.apache.hudi.common.model.WriteOperationType;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.util.VisibleForTesting;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.config.HoodieWriteConfig;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CostBasedCompactionStrategy picks the compactions with the best read amplification savings per cost, within
+ * a budget on the predicted runtime, or on the IO if no runtime budget is configured.
+ * <p>
+ * The runtime of a compaction operation is predicted from the sizes of its log files and base file, and the
+ * merge throughput measured from the runtime stats of the latest completed compactions, so the model follows
+ * the actual performance of the table. The savings are the bytes of the log files that readers no longer merge,
+ * plus a fixed overhead per log file, weighted by {@link #getAccessWeight}. The predicted runtime is recorded in
+ * the metrics of the operations in the plan, to compare with the actual runtime in the compaction commit.
+ *
+ * @see BoundedIOCompactionStrategy
+ * @see CompactionStrategy
+ */
+public class CostBasedCompactionStrategy extends CompactionStrategy {
+
+  private static final Logger LOG = LoggerFactory.getLogger(CostBasedCompactionStrategy.class);
+
+  public static final String TOTAL_BASE_FILE_SIZE = "TOTAL_BASE_FILE_SIZE";
+  public static final String PREDICTED_RUNTIME_MS = "PREDICTED_RUNTIME_MS";
+
+  // Strategy params with the measured merge throughput
+  public static final String LOG_MERGE_BYTES_PER_MS = "compaction.cost.log.merge.bytes.per.ms";
+  public static final String BASE_MERGE_BYTES_PER_MS = "compaction.cost.base.merge.bytes.per.ms";
+
+  // Throughput assumed until compactions are measured, about 10MB/s to read and merge the log files,
+  // and 50MB/s to merge the base file and write the new base file
+  private static final double DEFAULT_LOG_MERGE_BYTES_PER_MS = 10 * 1024;
+  private static final double DEFAULT_BASE_MERGE_BYTES_PER_MS = 50 * 1024;
+
+  // Cost of opening a log file on read, in bytes read
+  private static final long LOG_FILE_OPEN_COST_BYTES = 1024 * 1024;
+
+  @Override
+  public Map<String, Double> captureMetrics(HoodieWriteConfig writeConfig, FileSlice slice) {
+    Map<String, Double> metrics = super.captureMetrics(writeConfig, slice);
+    metrics.put(TOTAL_BASE_FILE_SIZE, (double) slice.getBaseFile().map(HoodieBaseFile::getFileSize).orElse(0L));
+    return metrics;
+  }
+
+  @Override
+  public Map<String, String> getStrategyParams(HoodieTableMetaClient metaClient, HoodieWriteConfig writeConfig) {
+    HoodieTimeline commitTimeline = metaClient.getActiveTimeline().getCommitTimeline().filterCompletedInstants();
+    List<HoodieWriteStat> writeStats = new ArrayList<>();
+    commitTimeline.getReverseOrderedInstants()
+        .limit(writeConfig.getCompactionCostHistoryMaxCommits())
+        .forEach(instant -> {
+          try {
+            HoodieCommitMetadata commitMetadata = commitTimeline.readCommitMetadata(instant);
+            if (commitMetadata.getOperationType() == WriteOperationType.COMPACT) {
+              writeStats.addAll(commitMetadata.getWriteStats());
+            }
+          } catch (IOException e) {
+            LOG.warn("Failed to read the commit metadata of " + instant, e);
+          }
+        });
+    Map<String, String> params = measureThroughput(writeStats);
+    LOG.info("Measured the merge throughput {} from {} compacted file slices", params, writeStats.size());
+    return params;
+  }
+
+  @Override
+  public HoodieCompactionPlan generateCompactionPlan(HoodieWriteConfig writeConfig, List<HoodieCompactionOperation> operations,
+                                                    List<HoodieCompactionPlan> pendingCompactionPlans, Map<String, String> params,
+                                                    Pair<List<String>, List<String>> partitionPair) {
+    HoodieCompactionPlan compactionPlan = super.generateCompactionPlan(writeConfig, operations, pendingCompactionPlans, params, partitionPair);
+    // Records the throughput the predicted runtime is based on
+    compactionPlan.setStrategy(HoodieCompactionStrategy.newBuilder().setStrategyParams(new HashMap<>(params)).build());
+    return compactionPlan;
+  }
+
+  @Override
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                            List<HoodieCompactionOperation> operations,
+                                                                            List<HoodieCompactionPlan> pendingCompactionPlans) {
+    return orderAndFilter(writeConfig, operations, pendingCompactionPlans, Collections.emptyMap());
+  }
+
+  @Override
+  public Pair<List<HoodieCompactionOperation>, List<String>> orderAndFilter(HoodieWriteConfig writeConfig,
+                                                                            List<HoodieCompactionOperation> operations,
+                                                                            List<HoodieCompactionPlan> pendingCompactionPlans,
+                                                                            Map<String, String> params) {
+    double logMergeBytesPerMs = getThroughput(params, LOG_MERGE_BYTES_PER_MS, DEFAULT_LOG_MERGE_BYTES_PER_MS);
+    double baseMergeBytesPerMs = getThroughput(params, BASE_MERGE_BYTES_PER_MS, DEFAULT_BASE_MERGE_BYTES_PER_MS);
+    List<Pair<HoodieCompactionOperation, Double>> operationsWithRuntime = new ArrayList<>(operations.size());
+    for (HoodieCompactionOperation op : operations) {
+      operationsWithRuntime.add(Pair.of(op, predictRuntimeMs(op, logMergeBytesPerMs, baseMergeBytesPerMs)));
+    }
+    // Order the operations by the savings per cost, the most profitable first
+    operationsWithRuntime.sort(Comparator.comparingDouble(
+        (Pair<HoodieCompactionOperation, Double> opWithRuntime) -> getSavings(writeConfig, opWithRuntime.getLeft()) / opWithRuntime.getRight())
+        .reversed());
+
+    // Accept the operations fitting in the budget, at least the first one so that the compaction makes progress
+    boolean boundedByRuntime = writeConfig.getCompactionCostTargetRuntimeMs() > 0;
+    double budget = boundedByRuntime ? writeConfig.getCompactionCostTargetRuntimeMs() : writeConfig.getTargetIOPerCompactionInMB();
+    double budgetUsed = 0;
+    List<HoodieCompactionOperation> finalOperations = new ArrayList<>();
+    List<String> missingPartitions = new ArrayList<>();
+    for (Pair<HoodieCompactionOperation, Double> opWithRuntime : operationsWithRuntime) {
+      HoodieCompactionOperation op = opWithRuntime.getLeft();
+      double cost = boundedByRuntime ? opWithRuntime.getRight() : op.getMetrics().getOrDefault(TOTAL_IO_MB, 0d);
+      if (finalOperations.isEmpty() || budgetUsed + cost <= budget) {
+        budgetUsed += cost;
+        Map<String, Double> metrics = new HashMap<>(op.getMetrics());
+        metrics.put(PREDICTED_RUNTIME_MS, opWithRuntime.getRight());
+        op.setMetrics(metrics);
+        finalOperations.add(op);
+      } else if (writeConfig.isIncrementalTableServiceEnabled()) {
+        missingPartitions.add(op.getPartitionPath());
+      }
+    }
+    return Pair.of(finalOperations, missingPartitions);
+  }
+
+  /**
+   * Returns the weight of the read amplification savings of the compaction operation, e.g., how often the file
+   * group is queried. The file groups are weighted equally by default.
+   */
+  protected double getAccessWeight(HoodieWriteConfig writeConfig, HoodieCompactionOperation operation) {
+    return 1.0;
+  }
+
+  private double getSavings(HoodieWriteConfig writeConfig, HoodieCompactionOperation op) {
+    double logFileSize = op.getMetrics().getOrDefault(TOTAL_LOG_FILE_SIZE, 0d);
+    double numLogFiles = op.getMetrics().getOrDefault(TOTAL_LOG_FILES, 0d);
+    return (logFileSize + numLogFiles * LOG_FILE_OPEN_COST_BYTES) * getAccessWeight(writeConfig, op);
+  }
+
+  private static double predictRuntimeMs(HoodieCompactionOperation op, double logMergeBytesPerMs, double baseMergeBytesPerMs) {
+    double logFileSize = op.getMetrics().getOrDefault(TOTAL_LOG_FILE_SIZE, 0d);
+    double baseFileSize = op.getMetrics().getOrDefault(TOTAL_BASE_FILE_SIZE, 0d);
+    // Without a base file, the new base file is about the size of the log files
+    double newBaseFileSize = baseFileSize > 0 ? baseFileSize : logFileSize;
+    return Math.max(1d, logFileSize / logMergeBytesPerMs + newBaseFileSize / baseMergeBytesPerMs);
+  }
+
+  private static double getThroughput(Map<String, String> params, String key, double defaultValue) {
+    String value = params == null ? null : params.get(key);
+    return value == null ? defaultValue : Double.parseDouble(value);
+  }
+
+  /**
+   * Measures the throughput of reading and merging the log files, and of merging the base file and writing the
+   * new base file, from the runtime stats of compacted file slices.
+   *
+   * @param writeStats write stats of the compacted file slices.
+   * @return strategy params with the measured throughput, without the throughput that could not be measured.
+   */
+  @VisibleForTesting
+  static Map<String, String> measureThroughput(List<HoodieWriteStat> writeStats) {
+    long logBytes = 0;
+    long scanTimeMs = 0;
+    long baseBytes = 0;
+    long mergeTimeMs = 0;
+    for (HoodieWriteStat stat : writeStats) {
+      RuntimeStats runtimeStats = stat.getRuntimeStats();
+      if (runtimeStats == null) {
+        continue;
+      }
+      if (stat.getTotalLogSizeCompacted() > 0 && runtimeStats.getTotalScanTime() > 0) {
+        logBytes += stat.getTotalLogSizeCompacted();
+        scanTimeMs += runtimeStats.getTotalScanTime();
+      }
+      long writeTimeMs = runtimeStats.getTotalUpsertTime() + runtimeStats.getTotalCreateTime();
+      if (stat.getFileSizeInBytes() > 0 && writeTimeMs > 0) {
+        baseBytes += stat.getFileSizeInBytes();
+        mergeTimeMs += writeTimeMs;
+      }
+    }
+    Map<String, String> params = new HashMap<>();
+    if (scanTimeMs > 0) {
+      params.put(LOG_MERGE_BYTES_PER_MS, String.valueOf((double) logBytes / scanTimeMs));
+    }
+    if (mergeTimeMs > 0) {
+      params.put(BASE_MERGE_BYTES_PER_MS, String.valueOf((double) baseBytes / mergeTimeMs));
+    }
+    return params;
+  }
+}
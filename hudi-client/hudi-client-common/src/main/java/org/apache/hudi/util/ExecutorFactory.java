@@ -19,6 +19,7 @@
 package org.apache.hudi.util;
 
 import org.apache.hudi.common.util.Functions;
+import org.apache.hudi.common.util.queue.AdaptiveExecutor;
 import org.apache.hudi.common.util.queue.BoundedInMemoryExecutor;
 import org.apache.hudi.common.util.queue.DisruptorExecutor;
 import org.apache.hudi.common.util.queue.ExecutorType;
@@ -45,7 +46,15 @@ public class ExecutorFactory {
                                                    HoodieConsumer<O, E> consumer,
                                                    Function<I, O> transformFunction,
                                                    Runnable preExecuteRunnable) {
-    ExecutorType executorType = config.getExecutorType();
+    return create(config.getExecutorType(), config, inputItr, consumer, transformFunction, preExecuteRunnable);
+  }
+
+  private static <I, O, E> HoodieExecutor<E> create(ExecutorType executorType,
+                                                    HoodieWriteConfig config,
+                                                    Iterator<I> inputItr,
+                                                    HoodieConsumer<O, E> consumer,
+                                                    Function<I, O> transformFunction,
+                                                    Runnable preExecuteRunnable) {
     switch (executorType) {
       case BOUNDED_IN_MEMORY:
         return new BoundedInMemoryExecutor<>(config.getWriteBufferLimitBytes(), config.getWriteBufferRecordSamplingRate(), config.getWriteBufferRecordCacheLimit(),
@@ -55,6 +64,11 @@ public class ExecutorFactory {
             transformFunction, config.getWriteExecutorDisruptorWaitStrategy(), preExecuteRunnable);
       case SIMPLE:
         return new SimpleExecutor<>(inputItr, consumer, transformFunction);
+      case ADAPTIVE:
+        return new AdaptiveExecutor<>(inputItr, consumer, transformFunction,
+            config.getWriteExecutorAdaptiveProbeRecords(), config.getWriteExecutorAdaptiveMinOverlapRatio(),
+            remainingItr -> create(config.getWriteExecutorAdaptivePipelinedType(), config, remainingItr, consumer,
+                transformFunction, preExecuteRunnable));
       default:
         throw new HoodieException("Unsupported Executor Type " + executorType);
     }
@@ -69,6 +83,8 @@ public class ExecutorFactory {
     switch (executorType) {
       case BOUNDED_IN_MEMORY:
       case DISRUPTOR:
+      // The records may be buffered once switched to the pipelined executor
+      case ADAPTIVE:
         return true;
       case SIMPLE:
         return false;
@@ -24,12 +24,14 @@ import org.apache.hudi.common.engine.HoodieLocalEngineContext;
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.timeline.TimelineServiceWireFormat;
 import org.apache.hudi.timeline.service.TimelineService;
 
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 
 import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorageConf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertSame;
@@ -86,6 +88,32 @@ public class TestEmbeddedTimelineService extends HoodieCommonTestHarness {
     verify(mockService, times(1)).close();
   }
 
+  @Test
+  public void remoteFileSystemViewConfigKeepsClientSettings() throws Exception {
+    HoodieEngineContext engineContext = new HoodieLocalEngineContext(getDefaultStorageConf());
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder()
+        .withPath(tempDir.resolve("table1").toString())
+        .withEmbeddedTimelineServerEnabled(true)
+        .withFileSystemViewConfig(FileSystemViewStorageConfig.newBuilder()
+            .withRemoteTimelineClientWireFormat(TimelineServiceWireFormat.KRYO_ZSTD)
+            .withRemoteDeltaSyncEnabled(true)
+            .build())
+        .build();
+    EmbeddedTimelineService.TimelineServiceCreator mockCreator = Mockito.mock(EmbeddedTimelineService.TimelineServiceCreator.class);
+    TimelineService mockService = Mockito.mock(TimelineService.class);
+    when(mockCreator.create(any(), any(), any(), any())).thenReturn(mockService);
+    when(mockService.startService()).thenReturn(234);
+    EmbeddedTimelineService service = EmbeddedTimelineService.getOrStartEmbeddedTimelineService(engineContext, null, writeConfig, mockCreator);
+
+    FileSystemViewStorageConfig remoteViewConfig = service.getRemoteFileSystemViewConfig(writeConfig);
+    assertEquals(TimelineServiceWireFormat.KRYO_ZSTD, remoteViewConfig.getRemoteTimelineClientWireFormat());
+    assertTrue(remoteViewConfig.isRemoteDeltaSyncEnabled());
+    assertEquals(234, remoteViewConfig.getRemoteViewServerPort());
+
+    service.stopForBasePath(writeConfig.getBasePath());
+    verify(mockService, times(1)).close();
+  }
+
   @Test
   public void embeddedTimelineServiceCreatedForDifferentMetadataConfig() throws Exception {
     HoodieEngineContext engineContext = new HoodieLocalEngineContext(getDefaultStorageConf());
@@ -29,6 +29,7 @@ import org.apache.hudi.common.table.log.InstantRange;
 import org.apache.hudi.common.table.timeline.ActiveAction;
 import org.apache.hudi.common.table.timeline.CompletionTimeQueryView;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.LSMTimelineCache;
 import org.apache.hudi.common.table.timeline.TimelineUtils;
 import org.apache.hudi.common.testutils.HoodieTestTable;
 import org.apache.hudi.common.testutils.HoodieTestUtils;
@@ -142,6 +143,35 @@ public class TestCompletionTimeQueryView {
     }
   }
 
+  @Test
+  void testReadCompletionTimeFromCache() throws Exception {
+    String tableName = "testTable";
+    String tablePath = tempFile.getAbsolutePath() + StoragePath.SEPARATOR + tableName;
+    HoodieTableMetaClient metaClient = HoodieTestUtils.init(
+        HoodieTestUtils.getDefaultStorageConf(), tablePath, HoodieTableType.COPY_ON_WRITE, tableName);
+    prepareTimeline(tablePath, metaClient);
+    try (CompletionTimeQueryView view =
+             metaClient.getTimelineLayout().getTimelineFactory().createCompletionTimeQueryView(metaClient, String.format("%08d", 3))) {
+      // lazy loading
+      assertThat(view.getCompletionTime(String.format("%08d", 1)).orElse(""), is(String.format("%08d", 1001)));
+    }
+
+    // the archived instants are served from the cache without reading the LSM timeline files
+    File[] dataFiles = new File(metaClient.getArchivePath().toString()).listFiles((dir, name) -> name.endsWith(".parquet"));
+    assertEquals(3, dataFiles.length);
+    for (File dataFile : dataFiles) {
+      assertTrue(dataFile.delete());
+    }
+    try (CompletionTimeQueryView view =
+             metaClient.getTimelineLayout().getTimelineFactory().createCompletionTimeQueryView(metaClient, String.format("%08d", 2))) {
+      for (int i = 1; i < 7; i++) {
+        assertThat(view.getCompletionTime(String.format("%08d", i)).orElse(""), is(String.format("%08d", i + 1000)));
+      }
+      assertThat(getInstantTimeSetFormattedString(view, 1 + 1000, 4 + 1000), is("00000001,00000002,00000003,00000004"));
+    }
+    LSMTimelineCache.getInstance().clear();
+  }
+
   private String getInstantTimeSetFormattedString(CompletionTimeQueryView view, int completionTime1, int completionTime2) {
     return view.getInstantTimes(String.format("%08d", completionTime1), String.format("%08d", completionTime2),
             s -> String.format("%08d", Integer.parseInt(s) - 1000))
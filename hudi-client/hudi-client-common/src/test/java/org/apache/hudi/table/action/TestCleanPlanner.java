@@ -653,8 +653,8 @@ public class TestCleanPlanner {
         commitMetadata.getPartitionToWriteStats().put(partition, Collections.emptyList());
       });
       try {
-        when(hoodieTable.getActiveTimeline().readCommitMetadata(hoodieInstant)).thenReturn(
-            commitMetadata);
+        when(hoodieTable.getActiveTimeline().readCommitPartitions(hoodieInstant)).thenReturn(
+            Pair.of(commitMetadata.getPartitionToWriteStats().keySet(), Collections.emptySet()));
       } catch (IOException e) {
         throw new RuntimeException("Should not have failed", e);
       }
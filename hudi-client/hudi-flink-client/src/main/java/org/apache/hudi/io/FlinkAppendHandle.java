@@ -69,7 +69,8 @@ public class FlinkAppendHandle<T, I, K, O>
 
   @Override
   protected void flushToDiskIfRequired(HoodieRecord record, boolean appendDeleteBlocks) {
-    // do not flush for one batch of records
+    // do not flush for one batch of records, which is appended as a single block on close,
+    // so the pipelined block write does not apply
   }
 
   @Override
@@ -36,11 +36,13 @@ import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieKey;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.log.RecordKeyRange;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.exception.HoodieNotSupportedException;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
 import org.apache.hudi.io.HoodieCreateHandle;
 import org.apache.hudi.io.HoodieMergeHandle;
 import org.apache.hudi.io.HoodieMergeHandleFactory;
@@ -286,6 +288,15 @@ public class HoodieJavaCopyOnWriteTable<T>
     return handleUpdateInternal(upsertHandle, instantTime, fileId);
   }
 
+  @Override
+  public Iterator<List<WriteStatus>> handleUpdateInKeyRange(
+      String instantTime, String partitionPath, String fileId, Map<String, HoodieRecord<T>> keyToNewRecords,
+      HoodieBaseFile oldDataFile, RecordKeyRange keyRange, int splitIndex) throws IOException {
+    HoodieMergeHandle upsertHandle = new HoodieCompactionSplitMergeHandle<>(config, instantTime, this, keyToNewRecords,
+        partitionPath, fileId, oldDataFile, taskContextSupplier, keyRange, splitIndex);
+    return handleUpdateInternal(upsertHandle, instantTime, fileId);
+  }
+
   protected Iterator<List<WriteStatus>> handleUpdateInternal(HoodieMergeHandle<?, ?, ?, ?> upsertHandle, String instantTime,
                                                              String fileId) throws IOException {
     runMerge(upsertHandle, instantTime, fileId);
@@ -26,11 +26,13 @@ import org.apache.hudi.client.clustering.plan.strategy.JavaSizeBasedClusteringPl
 import org.apache.hudi.client.clustering.run.strategy.JavaSortAndSizeExecutionStrategy;
 import org.apache.hudi.client.common.HoodieJavaEngineContext;
 import org.apache.hudi.client.transaction.lock.InProcessLockProvider;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.config.HoodieStorageConfig;
 import org.apache.hudi.common.config.LockConfiguration;
 import org.apache.hudi.common.engine.EngineType;
 import org.apache.hudi.common.engine.HoodieEngineContext;
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
 import org.apache.hudi.common.fs.ConsistencyGuardConfig;
 import org.apache.hudi.common.fs.FSUtils;
 import org.apache.hudi.common.model.FileSlice;
@@ -44,6 +46,7 @@ import org.apache.hudi.common.model.HoodieKey;
 import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecord.HoodieRecordType;
+import org.apache.hudi.common.model.HoodieRecordGlobalLocation;
 import org.apache.hudi.common.model.HoodieRecordPayload;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.model.HoodieWriteStat;
@@ -87,6 +90,7 @@ import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieMetadataException;
 import org.apache.hudi.index.HoodieIndex;
 import org.apache.hudi.io.storage.HoodieAvroHFileReaderImplBase;
+import org.apache.hudi.io.storage.HoodieFileReader;
 import org.apache.hudi.io.storage.HoodieIOFactory;
 import org.apache.hudi.metadata.FileSystemBackedTableMetadata;
 import org.apache.hudi.metadata.HoodieBackedTableMetadata;
@@ -98,6 +102,7 @@ import org.apache.hudi.metadata.HoodieTableMetadata;
 import org.apache.hudi.metadata.HoodieTableMetadataUtil;
 import org.apache.hudi.metadata.JavaHoodieBackedTableMetadataWriter;
 import org.apache.hudi.metadata.MetadataPartitionType;
+import org.apache.hudi.metadata.RecordIndexLookupCache;
 import org.apache.hudi.metrics.Metrics;
 import org.apache.hudi.storage.StoragePath;
 import org.apache.hudi.storage.StoragePathInfo;
@@ -1516,6 +1521,132 @@ public class TestJavaHoodieBackedMetadata extends TestHoodieMetadataBase {
     }
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = {true, false})
+  public void testConcurrentLookupsWithLocalEngineContext(boolean reuse) throws Exception {
+    init(HoodieTableType.COPY_ON_WRITE);
+    HoodieEngineContext engineContext = new HoodieJavaEngineContext(storageConf);
+    HoodieWriteConfig writeConfig = getWriteConfigBuilder(true, true, false)
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder()
+            .enable(true)
+            .withEnableRecordIndex(true)
+            .withRecordIndexFileGroupCount(4, 4)
+            .withMetadataIndexColumnStats(true)
+            .build())
+        .build();
+
+    List<HoodieRecord> records;
+    try (HoodieJavaWriteClient client = new HoodieJavaWriteClient(engineContext, writeConfig)) {
+      String firstCommit = client.createNewInstantTime();
+      records = dataGen.generateInserts(firstCommit, 100);
+      client.startCommitWithTime(firstCommit);
+      assertNoWriteErrors(client.insert(records, firstCommit));
+
+      // updates go to the log files of the record index file groups
+      String secondCommit = client.createNewInstantTime();
+      client.startCommitWithTime(secondCommit);
+      assertNoWriteErrors(client.upsert(dataGen.generateUniqueUpdates(secondCommit, 50), secondCommit));
+    }
+
+    List<String> recordKeys = records.stream().map(HoodieRecord::getRecordKey).collect(Collectors.toList());
+    recordKeys.add("non-existent-key");
+    HoodieMetadataConfig serialConfig = HoodieMetadataConfig.newBuilder()
+        .fromProperties(writeConfig.getMetadataConfig().getProps()).build();
+    HoodieMetadataConfig concurrentConfig = HoodieMetadataConfig.newBuilder()
+        .fromProperties(writeConfig.getMetadataConfig().getProps()).withLookupParallelism(4).build();
+    HoodieEngineContext localEngineContext = new HoodieLocalEngineContext(storageConf);
+    try (HoodieBackedTableMetadata serialReader = new HoodieBackedTableMetadata(localEngineContext, storage, serialConfig, basePath, reuse);
+         HoodieBackedTableMetadata concurrentReader = new HoodieBackedTableMetadata(localEngineContext, storage, concurrentConfig, basePath, reuse)) {
+      Map<String, HoodieRecordGlobalLocation> expectedLocations = serialReader.readRecordIndex(recordKeys);
+      assertEquals(100, expectedLocations.size());
+      assertEquals(expectedLocations, concurrentReader.readRecordIndex(recordKeys));
+      // look up again with the readers kept open if reused
+      assertEquals(expectedLocations, concurrentReader.readRecordIndex(recordKeys));
+
+      List<String> keyPrefixes = Collections.singletonList(new ColumnIndexID(HoodieRecord.RECORD_KEY_METADATA_FIELD).asBase64EncodedString());
+      String columnStatsPartition = MetadataPartitionType.COLUMN_STATS.getPartitionPath();
+      List<String> expectedKeys = serialReader.getRecordsByKeyPrefixes(keyPrefixes, columnStatsPartition, true)
+          .map(HoodieRecord::getRecordKey).collectAsList();
+      assertFalse(expectedKeys.isEmpty());
+      assertEquals(expectedKeys.stream().sorted().collect(Collectors.toList()),
+          concurrentReader.getRecordsByKeyPrefixes(keyPrefixes, columnStatsPartition, true)
+              .map(HoodieRecord::getRecordKey).collectAsList().stream().sorted().collect(Collectors.toList()));
+    }
+  }
+
+  @Test
+  public void testRecordIndexLookupWithBloomFilterAndLookupCache() throws Exception {
+    init(HoodieTableType.COPY_ON_WRITE);
+    HoodieEngineContext engineContext = new HoodieJavaEngineContext(storageConf);
+    HoodieWriteConfig writeConfig = getWriteConfigBuilder(true, true, false)
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder()
+            .enable(true)
+            .withEnableRecordIndex(true)
+            .withRecordIndexFileGroupCount(2, 2)
+            .withMaxNumDeltaCommitsBeforeCompaction(2)
+            .withRecordIndexBloomFilterLookup(true)
+            .build())
+        .build();
+
+    List<HoodieRecord> records = new ArrayList<>();
+    try (HoodieJavaWriteClient client = new HoodieJavaWriteClient(engineContext, writeConfig)) {
+      for (int i = 0; i < 3; i++) {
+        // the metadata table is compacted after the second commit, so the keys of the last commit are only in the log files
+        String commitTime = client.createNewInstantTime();
+        List<HoodieRecord> inserts = dataGen.generateInserts(commitTime, 50);
+        client.startCommitWithTime(commitTime);
+        assertNoWriteErrors(client.insert(inserts, commitTime));
+        records.addAll(inserts);
+      }
+    }
+
+    // the base files of the record index file groups carry the bloom filters sized for the record index
+    HoodieTableMetaClient metadataMetaClient = createMetaClientForMetadataTable();
+    List<FileSlice> fileSlices = HoodieTableMetadataUtil.getPartitionLatestFileSlices(metadataMetaClient, Option.empty(),
+        MetadataPartitionType.RECORD_INDEX.getPartitionPath());
+    assertEquals(2, fileSlices.size());
+    for (FileSlice fileSlice : fileSlices) {
+      assertTrue(fileSlice.getBaseFile().isPresent());
+      try (HoodieFileReader reader = HoodieIOFactory.getIOFactory(storage).getReaderFactory(HoodieRecordType.AVRO)
+          .getFileReader(writeConfig, new StoragePath(fileSlice.getBaseFile().get().getPath()))) {
+        assertEquals(BloomFilterTypeCode.DYNAMIC_V0, reader.readBloomFilter().getBloomFilterTypeCode());
+      }
+    }
+
+    List<String> recordKeys = records.stream().map(HoodieRecord::getRecordKey).collect(Collectors.toList());
+    recordKeys.add("non-existent-key");
+    HoodieMetadataConfig plainConfig = HoodieMetadataConfig.newBuilder()
+        .fromProperties(writeConfig.getMetadataConfig().getProps()).withRecordIndexBloomFilterLookup(false).build();
+    HoodieMetadataConfig lookupConfig = HoodieMetadataConfig.newBuilder()
+        .fromProperties(writeConfig.getMetadataConfig().getProps()).withRecordIndexLookupCacheSize(1000).build();
+    HoodieEngineContext localEngineContext = new HoodieLocalEngineContext(storageConf);
+    RecordIndexLookupCache lookupCache = RecordIndexLookupCache.getSharedInstance(1000);
+    try (HoodieBackedTableMetadata plainReader = new HoodieBackedTableMetadata(localEngineContext, storage, plainConfig, basePath, true);
+         HoodieBackedTableMetadata lookupReader = new HoodieBackedTableMetadata(localEngineContext, storage, lookupConfig, basePath, true)) {
+      Map<String, HoodieRecordGlobalLocation> expectedLocations = plainReader.readRecordIndex(recordKeys);
+      assertEquals(150, expectedLocations.size());
+      assertEquals(expectedLocations, lookupReader.readRecordIndex(recordKeys));
+
+      // the found entries are served from the lookup cache on the same snapshot
+      long hitCount = lookupCache.getHitCount();
+      assertEquals(expectedLocations, lookupReader.readRecordIndex(recordKeys));
+      assertEquals(hitCount + 150, lookupCache.getHitCount());
+
+      // the cached entries are not served once the metadata table reader moves to a new snapshot
+      try (HoodieJavaWriteClient client = new HoodieJavaWriteClient(engineContext, writeConfig)) {
+        String commitTime = client.createNewInstantTime();
+        client.startCommitWithTime(commitTime);
+        assertNoWriteErrors(client.delete(new ArrayList<>(Collections.singletonList(records.get(0).getKey())), commitTime));
+      }
+      lookupReader.reset();
+      hitCount = lookupCache.getHitCount();
+      Map<String, HoodieRecordGlobalLocation> locations = lookupReader.readRecordIndex(recordKeys);
+      assertEquals(hitCount, lookupCache.getHitCount());
+      assertEquals(149, locations.size());
+      assertFalse(locations.containsKey(records.get(0).getRecordKey()));
+    }
+  }
+
   @Test
   public void testEagerRollbackinMDT() throws IOException {
     tableType = MERGE_ON_READ;
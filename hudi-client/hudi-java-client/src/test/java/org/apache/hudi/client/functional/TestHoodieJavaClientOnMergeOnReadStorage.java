@@ -18,29 +18,60 @@
 
 package org.apache.hudi.client.functional;
 
+import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.client.HoodieJavaWriteClient;
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.client.common.JavaTaskContextSupplier;
+import org.apache.hudi.common.config.HoodieStorageConfig;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieTableType;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.table.log.HoodieLogFormat;
+import org.apache.hudi.common.table.log.block.HoodieAvroDataBlock;
+import org.apache.hudi.common.table.log.block.HoodieDataBlock;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.view.SyncableFileSystemView;
 import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
 import org.apache.hudi.common.testutils.HoodieTestTable;
+import org.apache.hudi.common.util.CompactionUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.config.HoodieCompactionConfig;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.exception.HoodieAppendException;
 import org.apache.hudi.index.HoodieIndex;
+import org.apache.hudi.io.HoodieAppendHandle;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.table.HoodieTable;
+import org.apache.hudi.table.action.HoodieWriteMetadata;
 import org.apache.hudi.testutils.GenericRecordValidationTestUtils;
 import org.apache.hudi.testutils.HoodieJavaClientTestHarness;
 
 import org.apache.avro.generic.GenericRecord;
+import org.apache.avro.generic.IndexedRecord;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
 import static org.apache.hudi.common.testutils.HoodieTestUtils.TIMELINE_FACTORY;
 import static org.apache.hudi.testutils.GenericRecordValidationTestUtils.assertDataInMORTable;
+import static org.awaitility.Awaitility.await;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TestHoodieJavaClientOnMergeOnReadStorage extends HoodieJavaClientTestHarness {
@@ -88,6 +119,89 @@ public class TestHoodieJavaClientOnMergeOnReadStorage extends HoodieJavaClientTe
     assertEquals(75, recordMap.size());
   }
 
+  @Test
+  public void testPipelinedLogBlockWrite() throws Exception {
+    HoodieWriteConfig config = getConfigBuilder(HoodieTestDataGenerator.TRIP_EXAMPLE_SCHEMA,
+        HoodieIndex.IndexType.INMEMORY).withAutoCommit(true)
+        // Small data blocks, so that each log file has a number of them
+        .withStorageConfig(HoodieStorageConfig.newBuilder().logFileDataBlockMaxSize(16 * 1024).build())
+        .withAppendPipelinedBlockWrite(true)
+        .build();
+    HoodieJavaWriteClient client = getHoodieWriteClient(config);
+
+    String commitTime = client.createNewInstantTime();
+    List<WriteStatus> statuses = insertBatch(config, client, commitTime, "000", 300, HoodieJavaWriteClient::insert,
+        false, false, 300, 300, 1, Option.empty(), INSTANT_GENERATOR);
+    // The records of all the data blocks appended in the background are accounted in the write stats
+    int numDataBlocks = 0;
+    for (WriteStatus status : statuses) {
+      HoodieWriteStat stat = status.getStat();
+      StoragePath logFilePath = new StoragePath(basePath, stat.getPath());
+      long numRecordsInLogFile = 0;
+      try (HoodieLogFormat.Reader reader = HoodieLogFormat.newReader(storage, new HoodieLogFile(logFilePath), null)) {
+        while (reader.hasNext()) {
+          HoodieLogBlock block = reader.next();
+          if (block instanceof HoodieDataBlock) {
+            numDataBlocks++;
+            numRecordsInLogFile += countRecords((HoodieDataBlock) block);
+          }
+        }
+      }
+      assertEquals(stat.getNumWrites(), numRecordsInLogFile);
+      assertEquals(storage.getPathInfo(logFilePath).getLength(), stat.getFileSizeInBytes());
+    }
+    assertEquals(300, statuses.stream().mapToLong(status -> status.getStat().getNumWrites()).sum());
+    assertTrue(numDataBlocks > statuses.size(), "Each log file should have multiple data blocks: " + numDataBlocks);
+
+    String prevCommitTime = commitTime;
+    commitTime = client.createNewInstantTime();
+    updateBatch(config, client, commitTime, prevCommitTime,
+        Option.of(Arrays.asList(prevCommitTime)), "000", 150, HoodieJavaWriteClient::upsert,
+        false, false, 150, 300, 2, config.populateMetaFields(), INSTANT_GENERATOR);
+
+    prevCommitTime = commitTime;
+    commitTime = client.createNewInstantTime();
+    deleteBatch(config, client, commitTime, prevCommitTime, "000", 50, false, false,
+        0, 300, TIMELINE_FACTORY, INSTANT_GENERATOR);
+
+    metaClient.reloadActiveTimeline();
+    Map<String, GenericRecord> recordMap = GenericRecordValidationTestUtils.getRecordsMap(config, storageConf, dataGen);
+    assertEquals(250, recordMap.size());
+  }
+
+  @Test
+  public void testPipelinedLogBlockWriteFailure() throws Exception {
+    HoodieWriteConfig config = getConfigBuilder(HoodieTestDataGenerator.TRIP_EXAMPLE_SCHEMA,
+        HoodieIndex.IndexType.INMEMORY)
+        .withStorageConfig(HoodieStorageConfig.newBuilder().logFileDataBlockMaxSize(16 * 1024).build())
+        .withAppendPipelinedBlockWrite(true)
+        .build();
+    HoodieJavaWriteClient client = getHoodieWriteClient(config);
+    String instantTime = client.createNewInstantTime();
+    String partitionPath = HoodieTestDataGenerator.DEFAULT_FIRST_PARTITION_PATH;
+    List<HoodieRecord> records = dataGen.generateInsertsForPartition(instantTime, 300, partitionPath);
+    HoodieTable table = getHoodieTable(metaClient, config);
+    // The data blocks fail to be serialized by the block writer thread
+    HoodieAppendHandle<?, ?, ?, ?> handle = new HoodieAppendHandle<Object, Object, Object, Object>(config, instantTime, table, partitionPath,
+        FSUtils.createNewFileIdPfx(), (Iterator) records.iterator(), new JavaTaskContextSupplier()) {
+      @Override
+      protected HoodieLogBlock getDataBlock(HoodieWriteConfig writeConfig, HoodieLogBlock.HoodieLogBlockType logDataBlockFormat,
+                                            List<HoodieRecord> records, Map<HoodieLogBlock.HeaderMetadataType, String> header,
+                                            String keyField) {
+        return new HoodieAvroDataBlock(records, header, keyField) {
+          @Override
+          public ByteArrayOutputStream getContentBytes(HoodieStorage storage) throws IOException {
+            throw new IOException("Injected failure");
+          }
+        };
+      }
+    };
+    assertThrows(HoodieAppendException.class, handle::doAppend);
+    // The delta commit callers do not close the handle on failures, the block writer thread must not be left behind
+    await().atMost(5, SECONDS).until(() -> Thread.getAllStackTraces().keySet().stream()
+        .noneMatch(thread -> thread.getName().startsWith("append-handle-block-writer")));
+  }
+
   @Test
   public void testCompactionOnMORTable() throws Exception {
     HoodieWriteConfig config = getConfigBuilder(HoodieTestDataGenerator.TRIP_EXAMPLE_SCHEMA,
@@ -169,6 +283,81 @@ public class TestHoodieJavaClientOnMergeOnReadStorage extends HoodieJavaClientTe
     assertDataInMORTable(config, commitTime, timeStamp.get(), storageConf, Arrays.asList(dataGen.getPartitionPaths()));
   }
 
+  @Test
+  public void testCompactionSplitByRecordKeyRanges() throws Exception {
+    HoodieWriteConfig config = getConfigBuilder(HoodieTestDataGenerator.TRIP_EXAMPLE_SCHEMA,
+        HoodieIndex.IndexType.INMEMORY).withAutoCommit(true)
+        // Splits every file slice with a base file into the max number of key ranges
+        .withCompactionConfig(HoodieCompactionConfig.newBuilder().withMaxNumDeltaCommitsBeforeCompaction(2)
+            .withCompactionSplitTargetSize(1).withCompactionSplitMaxNum(4).build())
+        .withMergeDataValidationCheckEnabled(true)
+        .build();
+    HoodieJavaWriteClient client = getHoodieWriteClient(config);
+
+    String commitTime = client.createNewInstantTime();
+    insertBatch(config, client, commitTime, "000", 100, HoodieJavaWriteClient::insert,
+        false, false, 100, 100, 1, Option.empty(), INSTANT_GENERATOR);
+    String prevCommitTime = commitTime;
+    commitTime = client.createNewInstantTime();
+    updateBatch(config, client, commitTime, prevCommitTime,
+        Option.of(Arrays.asList(prevCommitTime)), "000", 50, HoodieJavaWriteClient::upsert,
+        false, false, 50, 100, 2, config.populateMetaFields(), INSTANT_GENERATOR);
+    // The file slices without base files are not split
+    Option<String> timeStamp = client.scheduleCompaction(Option.empty());
+    assertTrue(timeStamp.isPresent());
+    assertTrue(CompactionUtils.getCompactionPlan(metaClient, timeStamp.get()).getOperations().stream()
+        .allMatch(operation -> operation.getRecordKeySplitPoints() == null));
+    client.compact(timeStamp.get());
+
+    for (int i = 0; i < 2; i++) {
+      prevCommitTime = commitTime;
+      commitTime = client.createNewInstantTime();
+      updateBatch(config, client, commitTime, prevCommitTime,
+          Option.of(Arrays.asList(prevCommitTime)), "000", 50, HoodieJavaWriteClient::upsert,
+          false, false, 50, 100, 4 + i, config.populateMetaFields(), INSTANT_GENERATOR);
+    }
+    timeStamp = client.scheduleCompaction(Option.empty());
+    assertTrue(timeStamp.isPresent());
+    HoodieCompactionPlan plan = CompactionUtils.getCompactionPlan(metaClient, timeStamp.get());
+    assertTrue(plan.getOperations().stream().allMatch(operation -> operation.getRecordKeySplitPoints().size() == 3));
+
+    // The parts left by a failed attempt are deleted when the compaction is rolled back
+    StoragePath splitFileDir = HoodieCompactionSplitMergeHandle.getSplitFileDir(basePath, timeStamp.get());
+    storage.createDirectory(splitFileDir);
+    HoodieInstant inflightInstant = metaClient.getActiveTimeline().transitionCompactionRequestedToInflight(
+        INSTANT_GENERATOR.getCompactionRequestedInstant(timeStamp.get()));
+    metaClient.reloadActiveTimeline();
+    getHoodieTable(metaClient, config).rollbackInflightCompaction(inflightInstant);
+    assertFalse(storage.exists(splitFileDir));
+
+    HoodieWriteMetadata<List<WriteStatus>> result = client.compact(timeStamp.get());
+
+    // A single new base file is written per file group, with all the records of the file group
+    List<HoodieWriteStat> writeStats = result.getCommitMetadata().get().getWriteStats();
+    assertEquals(plan.getOperations().size(), writeStats.size());
+    assertEquals(100, writeStats.stream().mapToLong(HoodieWriteStat::getNumWrites).sum());
+    for (HoodieWriteStat stat : writeStats) {
+      StoragePath filePath = new StoragePath(basePath, stat.getPath());
+      assertEquals(stat.getPartitionPath(), FSUtils.getRelativePartitionPath(new StoragePath(basePath), filePath.getParent()));
+      assertEquals(storage.getPathInfo(filePath).getLength(), stat.getFileSizeInBytes());
+    }
+    assertFalse(storage.exists(HoodieCompactionSplitMergeHandle.getSplitFileDir(basePath, timeStamp.get())));
+
+    metaClient.reloadActiveTimeline();
+    assertDataInMORTable(config, commitTime, timeStamp.get(), storageConf, Arrays.asList(dataGen.getPartitionPaths()));
+  }
+
+  private static long countRecords(HoodieDataBlock block) throws IOException {
+    long numRecords = 0;
+    try (ClosableIterator<HoodieRecord<IndexedRecord>> recordItr = block.getRecordIterator(HoodieRecord.HoodieRecordType.AVRO)) {
+      while (recordItr.hasNext()) {
+        recordItr.next();
+        numRecords++;
+      }
+    }
+    return numRecords;
+  }
+
   @Override
   protected HoodieTableType getTableType() {
     return HoodieTableType.MERGE_ON_READ;
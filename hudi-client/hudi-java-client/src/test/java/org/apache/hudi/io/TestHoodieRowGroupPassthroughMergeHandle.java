@@ -0,0 +1,195 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.client.HoodieJavaWriteClient;
+import org.apache.hudi.client.WriteStatus;
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.config.HoodieMetadataConfig;
+import org.apache.hudi.common.config.HoodieStorageConfig;
+import org.apache.hudi.common.engine.EngineType;
+import org.apache.hudi.common.model.HoodieAvroRecord;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieKey;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.FileFormatUtils;
+import org.apache.hudi.common.util.ParquetUtils;
+import org.apache.hudi.config.HoodieIndexConfig;
+import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.index.HoodieIndex;
+import org.apache.hudi.testutils.HoodieJavaClientTestHarness;
+
+import org.apache.avro.generic.GenericRecord;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.DEFAULT_FIRST_PARTITION_PATH;
+import static org.apache.hudi.common.testutils.HoodieTestDataGenerator.TRIP_EXAMPLE_SCHEMA;
+import static org.apache.hudi.common.testutils.HoodieTestTable.makeNewCommitTime;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link HoodieRowGroupPassthroughMergeHandle}.
+ */
+public class TestHoodieRowGroupPassthroughMergeHandle extends HoodieJavaClientTestHarness {
+
+  private static final int NUM_RECORDS = 1000;
+  private static final long DEFAULT_MAX_FILE_SIZE = Long.parseLong(HoodieStorageConfig.PARQUET_MAX_FILE_SIZE.defaultValue());
+
+  @Test
+  public void testMergeCopiesRowGroupsWithoutIncomingKeys() throws IOException {
+    HoodieWriteConfig config = getConfig(DEFAULT_MAX_FILE_SIZE);
+    HoodieJavaWriteClient client = getHoodieWriteClient(config);
+    String firstCommitTime = makeNewCommitTime(1, "%09d");
+    HoodieBaseFile firstBaseFile = insertRecords(client, config, firstCommitTime);
+    List<BlockMetaData> firstRowGroups = ParquetUtils.readMetadata(storage, firstBaseFile.getStoragePath()).getBlocks();
+
+    String secondCommitTime = makeNewCommitTime(2, "%09d");
+    client.startCommitWithTime(secondCommitTime);
+    List<WriteStatus> statuses = client.upsert(Arrays.asList(generateRecord(5, secondCommitTime), generateRecord(995, secondCommitTime)),
+        secondCommitTime);
+    assertEquals(NUM_RECORDS, statuses.get(0).getStat().getNumWrites());
+    HoodieBaseFile secondBaseFile = getLatestBaseFile(config);
+    Map<String, GenericRecord> records = readRecords(secondBaseFile);
+    assertEquals(NUM_RECORDS, records.size());
+    assertEquals("rider-" + secondCommitTime, records.get(getKey(5)).get("rider").toString());
+    assertEquals("rider-" + secondCommitTime, records.get(getKey(995)).get("rider").toString());
+    assertEquals("rider-" + firstCommitTime, records.get(getKey(500)).get("rider").toString());
+
+    // Only the first and last row groups holding the updated keys are rewritten, the other ones are copied
+    // first, with the file name meta field rewritten
+    List<BlockMetaData> secondRowGroups = ParquetUtils.readMetadata(storage, secondBaseFile.getStoragePath()).getBlocks();
+    assertEquals(firstRowGroups.get(1).getRowCount(), secondRowGroups.get(0).getRowCount());
+    assertEquals(getRecordKeyStatistics(firstRowGroups.get(1)), getRecordKeyStatistics(secondRowGroups.get(0)));
+    records.values().forEach(record ->
+        assertEquals(secondBaseFile.getFileName(), record.get(HoodieRecord.FILENAME_METADATA_FIELD).toString()));
+
+    // The bloom filter and the key range of the new file cover the copied records
+    FileFormatUtils fileUtils = getFileUtilsInstance(metaClient);
+    BloomFilter bloomFilter = fileUtils.readBloomFilterFromMetadata(storage, secondBaseFile.getStoragePath());
+    records.keySet().forEach(key -> assertTrue(bloomFilter.mightContain(key)));
+    String[] minMaxKeys = fileUtils.readMinMaxRecordKeys(storage, secondBaseFile.getStoragePath());
+    assertEquals(getKey(0), minMaxKeys[0]);
+    assertEquals(getKey(NUM_RECORDS - 1), minMaxKeys[1]);
+
+    // Updates of the copied records are located by the index
+    String thirdCommitTime = makeNewCommitTime(3, "%09d");
+    client.startCommitWithTime(thirdCommitTime);
+    client.upsert(Arrays.asList(generateRecord(500, thirdCommitTime), generateRecord(NUM_RECORDS, thirdCommitTime)), thirdCommitTime);
+    records = readRecords(getLatestBaseFile(config));
+    assertEquals(NUM_RECORDS + 1, records.size());
+    assertEquals("rider-" + thirdCommitTime, records.get(getKey(500)).get("rider").toString());
+    assertEquals("rider-" + secondCommitTime, records.get(getKey(995)).get("rider").toString());
+    assertEquals("rider-" + thirdCommitTime, records.get(getKey(NUM_RECORDS)).get("rider").toString());
+  }
+
+  @Test
+  public void testMergeRewritesBaseFileLargerThanMaxFileSize() throws IOException {
+    HoodieJavaWriteClient client = getHoodieWriteClient(getConfig(DEFAULT_MAX_FILE_SIZE));
+    String firstCommitTime = makeNewCommitTime(1, "%09d");
+    HoodieBaseFile firstBaseFile = insertRecords(client, client.getConfig(), firstCommitTime);
+    List<BlockMetaData> firstRowGroups = ParquetUtils.readMetadata(storage, firstBaseFile.getStoragePath()).getBlocks();
+
+    // The updates are merged by a client whose max file size is smaller than the base file
+    HoodieWriteConfig config = getConfig(firstBaseFile.getFileSize() - 1);
+    client = getHoodieWriteClient(config);
+    String secondCommitTime = makeNewCommitTime(2, "%09d");
+    client.startCommitWithTime(secondCommitTime);
+    client.upsert(Arrays.asList(generateRecord(5, secondCommitTime), generateRecord(995, secondCommitTime)), secondCommitTime);
+    HoodieBaseFile secondBaseFile = getLatestBaseFile(config);
+    Map<String, GenericRecord> records = readRecords(secondBaseFile);
+    assertEquals(NUM_RECORDS, records.size());
+    assertEquals("rider-" + secondCommitTime, records.get(getKey(5)).get("rider").toString());
+
+    // The whole base file is rewritten in the order of the keys
+    List<BlockMetaData> secondRowGroups = ParquetUtils.readMetadata(storage, secondBaseFile.getStoragePath()).getBlocks();
+    assertEquals(getRecordKeyStatistics(firstRowGroups.get(0)).genericGetMin(), getRecordKeyStatistics(secondRowGroups.get(0)).genericGetMin());
+  }
+
+  private HoodieWriteConfig getConfig(long maxFileSize) {
+    return HoodieWriteConfig.newBuilder()
+        .withEngineType(EngineType.JAVA)
+        .withPath(basePath)
+        .withSchema(TRIP_EXAMPLE_SCHEMA)
+        .withIndexConfig(HoodieIndexConfig.newBuilder().withIndexType(HoodieIndex.IndexType.BLOOM).build())
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder().enable(false).build())
+        // Small row groups, so that the base file has a number of them
+        .withStorageConfig(HoodieStorageConfig.newBuilder().parquetBlockSize(8 * 1024).parquetPageSize(1024)
+            .parquetMaxFileSize(maxFileSize).build())
+        .withMergeRowGroupPassthrough(true)
+        .withMergeDataValidationCheckEnabled(true)
+        .build();
+  }
+
+  private HoodieBaseFile insertRecords(HoodieJavaWriteClient client, HoodieWriteConfig config, String instantTime) throws IOException {
+    // The records are inserted in the order of the keys, so that each row group holds a narrow key range
+    List<HoodieRecord> inserts = new ArrayList<>();
+    for (int i = 0; i < NUM_RECORDS; i++) {
+      inserts.add(generateRecord(i, instantTime));
+    }
+    client.startCommitWithTime(instantTime);
+    client.insert(inserts, instantTime);
+    HoodieBaseFile baseFile = getLatestBaseFile(config);
+    int numRowGroups = ParquetUtils.readMetadata(storage, baseFile.getStoragePath()).getBlocks().size();
+    assertTrue(numRowGroups > 2, "The base file should have multiple row groups: " + numRowGroups);
+    return baseFile;
+  }
+
+  private static Statistics<?> getRecordKeyStatistics(BlockMetaData rowGroup) {
+    return rowGroup.getColumns().stream()
+        .filter(column -> column.getPath().toDotString().equals(HoodieRecord.RECORD_KEY_METADATA_FIELD))
+        .findFirst().get().getStatistics();
+  }
+
+  private static String getKey(int i) {
+    return String.format("key-%05d", i);
+  }
+
+  private HoodieRecord generateRecord(int i, String instantTime) throws IOException {
+    HoodieKey key = new HoodieKey(getKey(i), DEFAULT_FIRST_PARTITION_PATH);
+    return new HoodieAvroRecord<>(key, dataGen.generateRandomValue(key, instantTime));
+  }
+
+  private HoodieBaseFile getLatestBaseFile(HoodieWriteConfig config) {
+    metaClient = HoodieTableMetaClient.reload(metaClient);
+    List<HoodieBaseFile> baseFiles = getHoodieTable(metaClient, config).getBaseFileOnlyView()
+        .getLatestBaseFiles(DEFAULT_FIRST_PARTITION_PATH).collect(Collectors.toList());
+    assertEquals(1, baseFiles.size());
+    return baseFiles.get(0);
+  }
+
+  private Map<String, GenericRecord> readRecords(HoodieBaseFile baseFile) {
+    Map<String, GenericRecord> records = new HashMap<>();
+    getFileUtilsInstance(metaClient).readAvroRecords(storage, baseFile.getStoragePath())
+        .forEach(record -> records.put(record.get(HoodieRecord.RECORD_KEY_METADATA_FIELD).toString(), record));
+    return records;
+  }
+}
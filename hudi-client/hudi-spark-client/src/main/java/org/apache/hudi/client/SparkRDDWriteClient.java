@@ -34,6 +34,7 @@ import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.queue.HoodieExecutorMetrics;
 import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.data.HoodieJavaRDD;
 import org.apache.hudi.exception.HoodieException;
@@ -325,6 +326,16 @@ public class SparkRDDWriteClient<T> extends
         registryMeta = Registry.getRegistry(HoodieWrapperFileSystem.class.getSimpleName() + "MetaFolder",
             DistributedRegistry.class.getName());
         ((DistributedRegistry) registryMeta).register(jsc);
+        // Create a distributed registry for the executors of the write handles, so that the counts of the
+        // Spark executors are accumulated back to the driver
+        Registry executorRegistry = Registry.getRegistry(HoodieExecutorMetrics.METRICS_REGISTRY_NAME,
+            DistributedRegistry.class.getName());
+        if (executorRegistry instanceof DistributedRegistry) {
+          ((DistributedRegistry) executorRegistry).register(jsc);
+        } else {
+          LOG.warn("The {} metrics registry was already created as a {}, the metrics of the Spark executors are not reported",
+              HoodieExecutorMetrics.METRICS_REGISTRY_NAME, executorRegistry.getClass().getSimpleName());
+        }
       } else {
         registry = Registry.getRegistry(HoodieWrapperFileSystem.class.getSimpleName());
         registryMeta = Registry.getRegistry(HoodieWrapperFileSystem.class.getSimpleName() + "MetaFolder");
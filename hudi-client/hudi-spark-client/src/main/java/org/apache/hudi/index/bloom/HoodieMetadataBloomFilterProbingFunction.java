@@ -38,6 +38,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
@@ -47,6 +48,8 @@ import java.util.stream.Collectors;
 
 import scala.Tuple2;
 
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
 /**
  * Implementation of the function that probing Bloom Filters of individual files verifying
  * whether particular record key could be stored in the latest file-slice of the file-group
@@ -140,12 +143,16 @@ public class HoodieMetadataBloomFilterProbingFunction implements
             }
             final BloomFilter fileBloomFilter = fileToBloomFilterMap.get(partitionPathFileNamePair);
 
-            List<String> candidateRecordKeys = new ArrayList<>();
-            hoodieKeyList.forEach(hoodieKey -> {
-              if (fileBloomFilter.mightContain(hoodieKey.getRecordKey())) {
-                candidateRecordKeys.add(hoodieKey.getRecordKey());
-              }
-            });
+            byte[][] recordKeys = new byte[hoodieKeyList.size()][];
+            for (int i = 0; i < recordKeys.length; i++) {
+              recordKeys[i] = getUTF8Bytes(hoodieKeyList.get(i).getRecordKey());
+            }
+            BitSet keyMatches = new BitSet(recordKeys.length);
+            fileBloomFilter.mightContainAll(recordKeys, keyMatches);
+            List<String> candidateRecordKeys = new ArrayList<>(keyMatches.cardinality());
+            for (int i = keyMatches.nextSetBit(0); i >= 0 && i < recordKeys.length; i = keyMatches.nextSetBit(i + 1)) {
+              candidateRecordKeys.add(hoodieKeyList.get(i).getRecordKey());
+            }
 
             LOG.debug("Total records ({}), bloom filter candidates ({})",
                 hoodieKeyList.size(), candidateRecordKeys.size());
@@ -39,6 +39,7 @@ import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieKey;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.log.RecordKeyRange;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.util.Option;
@@ -46,6 +47,7 @@ import org.apache.hudi.config.HoodieWriteConfig;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieMetadataException;
 import org.apache.hudi.exception.HoodieNotSupportedException;
+import org.apache.hudi.io.HoodieCompactionSplitMergeHandle;
 import org.apache.hudi.io.HoodieCreateHandle;
 import org.apache.hudi.io.HoodieMergeHandle;
 import org.apache.hudi.io.HoodieMergeHandleFactory;
@@ -244,6 +246,15 @@ public class HoodieSparkCopyOnWriteTable<T>
     return handleUpdateInternal(upsertHandle, instantTime, fileId);
   }
 
+  @Override
+  public Iterator<List<WriteStatus>> handleUpdateInKeyRange(
+      String instantTime, String partitionPath, String fileId, Map<String, HoodieRecord<T>> keyToNewRecords,
+      HoodieBaseFile oldDataFile, RecordKeyRange keyRange, int splitIndex) throws IOException {
+    HoodieMergeHandle upsertHandle = new HoodieCompactionSplitMergeHandle<>(config, instantTime, this, keyToNewRecords,
+        partitionPath, fileId, oldDataFile, taskContextSupplier, keyRange, splitIndex);
+    return handleUpdateInternal(upsertHandle, instantTime, fileId);
+  }
+
   protected Iterator<List<WriteStatus>> handleUpdateInternal(HoodieMergeHandle<?, ?, ?, ?> upsertHandle, String instantTime,
                                                              String fileId) throws IOException {
     runMerge(upsertHandle, instantTime, fileId);
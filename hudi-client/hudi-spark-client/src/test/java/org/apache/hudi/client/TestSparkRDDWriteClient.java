@@ -22,6 +22,7 @@ package org.apache.hudi.client;
 import org.apache.hudi.client.embedded.EmbeddedTimelineService;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.data.HoodieData.HoodieDataCacheKey;
+import org.apache.hudi.common.metrics.Registry;
 import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.table.HoodieTableConfig;
@@ -30,9 +31,15 @@ import org.apache.hudi.common.table.timeline.InstantComparison;
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.testutils.HoodieTestDataGenerator;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.queue.BoundedInMemoryExecutor;
+import org.apache.hudi.common.util.queue.ExecutorType;
+import org.apache.hudi.common.util.queue.HoodieExecutorMetrics;
 import org.apache.hudi.config.HoodieWriteConfig;
+import org.apache.hudi.config.metrics.HoodieMetricsConfig;
 import org.apache.hudi.data.HoodieJavaRDD;
 import org.apache.hudi.metadata.HoodieTableMetadata;
+import org.apache.hudi.metrics.DistributedRegistry;
+import org.apache.hudi.metrics.MetricsReporterType;
 import org.apache.hudi.testutils.SparkClientFunctionalTestHarness;
 
 import org.apache.avro.generic.GenericRecord;
@@ -194,6 +201,36 @@ class TestSparkRDDWriteClient extends SparkClientFunctionalTestHarness {
     }
   }
 
+  @Test
+  public void testExecutorMetricsAccumulatedOnDriver() throws IOException {
+    HoodieTableMetaClient metaClient =
+        getHoodieMetaClient(storageConf(), URI.create(basePath()).getPath(), new Properties());
+    HoodieWriteConfig writeConfig = getConfigBuilder(true)
+        .withPath(metaClient.getBasePath())
+        .withExecutorType(ExecutorType.BOUNDED_IN_MEMORY.name())
+        .withMetadataConfig(HoodieMetadataConfig.newBuilder().enable(false).build())
+        .withMetricsConfig(HoodieMetricsConfig.newBuilder().on(true)
+            .withExecutorMetrics(true).withReporterType(MetricsReporterType.INMEMORY.name()).build())
+        .build();
+    // The registry may have been created as a local one by the executions of other tests
+    Registry.REGISTRY_MAP.remove(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+    try (SparkRDDWriteClient writeClient = getHoodieWriteClient(writeConfig)) {
+      Registry registry = Registry.getRegistry(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+      assertTrue(registry instanceof DistributedRegistry);
+
+      HoodieTestDataGenerator dataGen = new HoodieTestDataGenerator(0xDEED);
+      String instantTime = writeClient.createNewInstantTime();
+      List<HoodieRecord> records = dataGen.generateInserts(instantTime, 100);
+      writeClient.startCommitWithTime(instantTime);
+      assertNoWriteErrors(writeClient.insert(jsc().parallelize(records, 2), instantTime).collect());
+      // The counts of the executors of the write handles are accumulated on the driver
+      String numRecordsMetric = BoundedInMemoryExecutor.class.getSimpleName() + "." + HoodieExecutorMetrics.NUM_RECORDS_METRIC;
+      assertEquals(100L, registry.getAllCounts().get(numRecordsMetric));
+    } finally {
+      Registry.REGISTRY_MAP.remove(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+    }
+  }
+
   @Test
   public void testCompletionTimeGreaterThanRequestedTime() throws IOException {
     String basePath = URI.create(basePath()).getPath();
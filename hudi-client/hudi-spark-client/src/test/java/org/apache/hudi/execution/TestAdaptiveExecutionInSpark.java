@@ -0,0 +1,189 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.execution;
+
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.testutils.InProcessTimeGenerator;
+import org.apache.hudi.common.util.queue.AdaptiveExecutor;
+import org.apache.hudi.common.util.queue.BoundedInMemoryExecutor;
+import org.apache.hudi.common.util.queue.HoodieConsumer;
+import org.apache.hudi.common.util.queue.HoodieExecutorMetrics;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.testutils.HoodieSparkClientTestHarness;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link AdaptiveExecutor}.
+ */
+public class TestAdaptiveExecutionInSpark extends HoodieSparkClientTestHarness {
+
+  private static final int NUM_PROBE_RECORDS = 16;
+
+  private final String instantTime = InProcessTimeGenerator.createNewInstantTime();
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    initTestDataGenerator();
+  }
+
+  @AfterEach
+  public void tearDown() throws Exception {
+    cleanupResources();
+  }
+
+  @Test
+  @Timeout(value = 60)
+  public void testStaysSimpleWhenConsumerDominates() {
+    final List<HoodieRecord> hoodieRecords = dataGen.generateInserts(instantTime, 128);
+    final List<HoodieRecord> consumedRecords = new ArrayList<>();
+    Registry registry = Registry.getRegistry(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+    String simpleMetric = "AdaptiveExecutor." + AdaptiveExecutor.NUM_SIMPLE_METRIC;
+    long numSimple = registry.getAllCounts().getOrDefault(simpleMetric, 0L);
+
+    // The ratio of 1 is never reached as consuming takes much longer than producing
+    AdaptiveExecutor<HoodieRecord, HoodieRecord, Integer> exec = new AdaptiveExecutor<>(hoodieRecords.iterator(),
+        new CollectingConsumer(consumedRecords, 10000), Function.identity(), NUM_PROBE_RECORDS, 1.0,
+        remainingItr -> {
+          throw new IllegalStateException("Should not switch to the pipelined executor");
+        });
+    try {
+      assertEquals(128, exec.execute());
+      assertFalse(exec.isPipelined());
+      assertEquals(hoodieRecords, consumedRecords);
+      assertEquals(128, exec.getMetrics().getNumRecords());
+      assertTrue(exec.getMetrics().getConsumingNanos() > exec.getMetrics().getProducingNanos());
+      assertEquals(numSimple + 1, registry.getAllCounts().get(simpleMetric));
+    } finally {
+      exec.shutdownNow();
+      assertTrue(exec.awaitTermination());
+    }
+  }
+
+  @Test
+  @Timeout(value = 60)
+  public void testSwitchesToPipelinedExecutor() {
+    final List<HoodieRecord> hoodieRecords = dataGen.generateInserts(instantTime, 1024);
+    final List<HoodieRecord> consumedRecords = new ArrayList<>();
+    HoodieConsumer<HoodieRecord, Integer> consumer = new CollectingConsumer(consumedRecords, 0);
+    Registry registry = Registry.getRegistry(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+    String pipelinedMetric = "AdaptiveExecutor." + AdaptiveExecutor.NUM_PIPELINED_METRIC;
+    String queuedRecordsMetric = "BoundedInMemoryExecutor." + HoodieExecutorMetrics.NUM_RECORDS_METRIC;
+    long numPipelined = registry.getAllCounts().getOrDefault(pipelinedMetric, 0L);
+    long numQueuedRecords = registry.getAllCounts().getOrDefault(queuedRecordsMetric, 0L);
+
+    // Any ratio reaches 0, so the executor switches right after the probe records
+    AdaptiveExecutor<HoodieRecord, HoodieRecord, Integer> exec = new AdaptiveExecutor<>(hoodieRecords.iterator(),
+        consumer, Function.identity(), NUM_PROBE_RECORDS, 0.0,
+        remainingItr -> new BoundedInMemoryExecutor<>(1024 * 1024L, remainingItr, consumer, Function.identity(), () -> { }));
+    try {
+      assertEquals(1024, exec.execute());
+      assertTrue(exec.isPipelined());
+      // The ordering is preserved across the switch
+      assertEquals(hoodieRecords, consumedRecords);
+      assertEquals(NUM_PROBE_RECORDS, exec.getMetrics().getNumRecords());
+      assertEquals(numPipelined + 1, registry.getAllCounts().get(pipelinedMetric));
+      assertEquals(numQueuedRecords + 1024 - NUM_PROBE_RECORDS, registry.getAllCounts().get(queuedRecordsMetric));
+    } finally {
+      exec.shutdownNow();
+      exec.awaitTermination();
+    }
+  }
+
+  @Test
+  @Timeout(value = 60)
+  public void testException() {
+    final String errorMessage = "Exception when iterating records!!!";
+    final List<HoodieRecord> hoodieRecords = dataGen.generateInserts(instantTime, 100);
+    Iterator<HoodieRecord> iterator = new Iterator<HoodieRecord>() {
+      private final Iterator<HoodieRecord> inner = hoodieRecords.iterator();
+      private int count = 0;
+
+      @Override
+      public boolean hasNext() {
+        return inner.hasNext();
+      }
+
+      @Override
+      public HoodieRecord next() {
+        if (count++ == NUM_PROBE_RECORDS / 2) {
+          throw new HoodieException(errorMessage);
+        }
+        return inner.next();
+      }
+    };
+
+    AdaptiveExecutor<HoodieRecord, HoodieRecord, Integer> exec = new AdaptiveExecutor<>(iterator,
+        new CollectingConsumer(new ArrayList<>(), 0), Function.identity(), NUM_PROBE_RECORDS, 0.0,
+        remainingItr -> {
+          throw new IllegalStateException("Should not switch to the pipelined executor");
+        });
+    final Throwable thrown = assertThrows(HoodieException.class, exec::execute, "exception is expected");
+    assertTrue(thrown.getMessage().contains(errorMessage));
+  }
+
+  @Test
+  public void testInvalidArguments() {
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveExecutor<HoodieRecord, HoodieRecord, Integer>(
+        new ArrayList<HoodieRecord>().iterator(), new CollectingConsumer(new ArrayList<>(), 0), Function.identity(), 0, 0.2, null));
+    assertThrows(IllegalArgumentException.class, () -> new AdaptiveExecutor<HoodieRecord, HoodieRecord, Integer>(
+        new ArrayList<HoodieRecord>().iterator(), new CollectingConsumer(new ArrayList<>(), 0), Function.identity(), 10, 1.5, null));
+  }
+
+  private static class CollectingConsumer implements HoodieConsumer<HoodieRecord, Integer> {
+    private final List<HoodieRecord> consumedRecords;
+    private final int spinIterations;
+    private int count = 0;
+
+    CollectingConsumer(List<HoodieRecord> consumedRecords, int spinIterations) {
+      this.consumedRecords = consumedRecords;
+      this.spinIterations = spinIterations;
+    }
+
+    @Override
+    public void consume(HoodieRecord record) {
+      consumedRecords.add(record);
+      // Mimics the cost of writing the record
+      long sum = 0;
+      for (int i = 0; i < spinIterations; i++) {
+        sum += System.nanoTime() & 1;
+      }
+      count += sum >= 0 ? 1 : 0;
+    }
+
+    @Override
+    public Integer finish() {
+      return count;
+    }
+  }
+}
@@ -19,11 +19,13 @@
 package org.apache.hudi.table.action.compact.strategy;
 
 import org.apache.hudi.avro.model.HoodieCompactionOperation;
+import org.apache.hudi.avro.model.HoodieCompactionPlan;
 import org.apache.hudi.common.model.BaseFile;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodieWriteStat;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.config.HoodieCompactionConfig;
@@ -421,6 +423,71 @@ public class TestHoodieCompactionStrategy {
     assertEquals("2017/02/01", returned.get(1));
   }
 
+  @Test
+  public void testCostBasedCompactionStrategy() {
+    Map<Long, List<Long>> sizesMap = new HashMap<>();
+    sizesMap.put(1000 * MB, Collections.singletonList(10 * MB));
+    sizesMap.put(10 * MB, Arrays.asList(100 * MB, 100 * MB));
+    sizesMap.put(100 * MB, Collections.singletonList(50 * MB));
+    sizesMap.put(20 * MB, Collections.singletonList(MB));
+    CostBasedCompactionStrategy strategy = new CostBasedCompactionStrategy();
+    HoodieWriteConfig writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp").withCompactionConfig(
+        HoodieCompactionConfig.newBuilder().withCompactionStrategy(strategy).withCompactionCostTargetRuntimeMs(30000).build()).build();
+    List<HoodieCompactionOperation> operations = createCompactionOperations(writeConfig, sizesMap).getLeft();
+
+    // Without measured throughput, reading the log files is predicted at 10MB/s and merging the base file at 50MB/s,
+    // the compaction of the 1000MB base file with 10MB of logs saves the least per cost and exceeds the budget
+    List<HoodieCompactionOperation> returned = strategy.orderAndFilter(writeConfig, operations, new ArrayList<>()).getLeft();
+    assertEquals(Arrays.asList(10 * MB, 100 * MB, 20 * MB), getBaseFileSizes(returned));
+    assertEquals(20684.8, returned.get(0).getMetrics().get(CostBasedCompactionStrategy.PREDICTED_RUNTIME_MS), 0.01);
+    assertEquals(7168, returned.get(1).getMetrics().get(CostBasedCompactionStrategy.PREDICTED_RUNTIME_MS), 0.01);
+
+    // With fast log merging measured, the runtime is dominated by the base files
+    Map<String, String> params = new HashMap<>();
+    params.put(CostBasedCompactionStrategy.LOG_MERGE_BYTES_PER_MS, String.valueOf(1024 * MB));
+    params.put(CostBasedCompactionStrategy.BASE_MERGE_BYTES_PER_MS, String.valueOf(50 * 1024));
+    writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp").withCompactionConfig(
+        HoodieCompactionConfig.newBuilder().withCompactionStrategy(strategy).withCompactionCostTargetRuntimeMs(2500).build()).build();
+    HoodieCompactionPlan plan = strategy.generateCompactionPlan(writeConfig, operations, new ArrayList<>(), params,
+        Pair.of(new ArrayList<>(), new ArrayList<>()));
+    assertEquals(Arrays.asList(10 * MB, 100 * MB), getBaseFileSizes(plan.getOperations()));
+    assertEquals(2048, plan.getOperations().get(1).getMetrics().get(CostBasedCompactionStrategy.PREDICTED_RUNTIME_MS), 0.1);
+    assertEquals(params, plan.getStrategy().getStrategyParams());
+
+    // Without a runtime budget, the compaction is bounded by the IO
+    writeConfig = HoodieWriteConfig.newBuilder().withPath("/tmp").withCompactionConfig(
+        HoodieCompactionConfig.newBuilder().withCompactionStrategy(strategy).withTargetIOPerCompactionInMB(400).build()).build();
+    returned = strategy.orderAndFilter(writeConfig, operations, new ArrayList<>(), params).getLeft();
+    assertEquals(Arrays.asList(10 * MB, 20 * MB), getBaseFileSizes(returned));
+  }
+
+  @Test
+  public void testCostBasedCompactionStrategyMeasureThroughput() {
+    HoodieWriteStat stat = new HoodieWriteStat();
+    stat.setTotalLogSizeCompacted(100 * MB);
+    stat.setFileSizeInBytes(50 * MB);
+    HoodieWriteStat.RuntimeStats runtimeStats = new HoodieWriteStat.RuntimeStats();
+    runtimeStats.setTotalScanTime(1000);
+    runtimeStats.setTotalUpsertTime(400);
+    runtimeStats.setTotalCreateTime(100);
+    stat.setRuntimeStats(runtimeStats);
+    // The file slices without runtime stats are not measured
+    HoodieWriteStat statWithoutRuntime = new HoodieWriteStat();
+    statWithoutRuntime.setTotalLogSizeCompacted(MB);
+    statWithoutRuntime.setFileSizeInBytes(MB);
+
+    Map<String, String> params = CostBasedCompactionStrategy.measureThroughput(Arrays.asList(stat, statWithoutRuntime));
+    assertEquals(100 * MB / 1000d, Double.parseDouble(params.get(CostBasedCompactionStrategy.LOG_MERGE_BYTES_PER_MS)));
+    assertEquals(50 * MB / 500d, Double.parseDouble(params.get(CostBasedCompactionStrategy.BASE_MERGE_BYTES_PER_MS)));
+    assertTrue(CostBasedCompactionStrategy.measureThroughput(Collections.singletonList(statWithoutRuntime)).isEmpty());
+  }
+
+  private static List<Long> getBaseFileSizes(List<HoodieCompactionOperation> operations) {
+    return operations.stream()
+        .map(op -> op.getMetrics().get(CostBasedCompactionStrategy.TOTAL_BASE_FILE_SIZE).longValue())
+        .collect(Collectors.toList());
+  }
+
   public static class NumStrategy extends CompactionStrategy {
     @Override
     public Pair<List<String>, List<String>> filterPartitionPaths(HoodieWriteConfig writeConfig, List<String> allPartitionPaths) {
@@ -527,7 +594,7 @@ public class TestHoodieCompactionStrategy {
           logFiles.stream().map(s -> s.getPath().toString()).collect(Collectors.toList()), df.getPath(), df.getFileId(),
           partitionPath,
           config.getCompactionStrategy().captureMetrics(config, slice),
-          df.getBootstrapBaseFile().map(BaseFile::getPath).orElse(null))
+          df.getBootstrapBaseFile().map(BaseFile::getPath).orElse(null), null)
       );
     });
     return operations;
@@ -551,7 +618,7 @@ public class TestHoodieCompactionStrategy {
             df.getPath(), df.getFileId(),
             partitionPath,
             config.getCompactionStrategy().captureMetrics(config, slice),
-            df.getBootstrapBaseFile().map(BaseFile::getPath).orElse(null))
+            df.getBootstrapBaseFile().map(BaseFile::getPath).orElse(null), null)
         );
       }
     });
@@ -19,7 +19,7 @@
 package org.apache.hudi.avro;
 
 import org.apache.hudi.common.bloom.BloomFilter;
-import org.apache.hudi.common.bloom.HoodieDynamicBoundedBloomFilter;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -68,7 +68,7 @@ public abstract class HoodieBloomFilterWriteSupport<T extends Comparable<T>> {
     HashMap<String, String> extraMetadata = new HashMap<>();
 
     extraMetadata.put(HOODIE_AVRO_BLOOM_FILTER_METADATA_KEY, bloomFilter.serializeToString());
-    if (bloomFilter.getBloomFilterTypeCode().name().contains(HoodieDynamicBoundedBloomFilter.TYPE_CODE_PREFIX)) {
+    if (bloomFilter.getBloomFilterTypeCode() != BloomFilterTypeCode.SIMPLE) {
       extraMetadata.put(HOODIE_BLOOM_FILTER_TYPE_CODE, bloomFilter.getBloomFilterTypeCode().name());
     }
 
@@ -0,0 +1,210 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.bloom;
+
+import org.apache.hudi.common.util.Base64CodecUtil;
+import org.apache.hudi.exception.HoodieIndexException;
+
+import net.jpountz.xxhash.XXHash64;
+import net.jpountz.xxhash.XXHashFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.BitSet;
+
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+import static org.apache.hudi.io.util.IOUtils.getDataInputStream;
+
+/**
+ * A split-block Bloom filter, in which all the bits of a key are set in one block of 256 bits,
+ * so that adding or probing a key touches a single cache line, instead of one cache line per hash
+ * function as in {@link SimpleBloomFilter}.
+ * <p>
+ * Each block consists of eight 32-bit words, and a key sets one bit in each word. The block and the
+ * bits are derived from the 64-bit xxHash of the UTF-8 encoded key, following the split-block Bloom
+ * filter of the Parquet format. {@link #mightContainAll(byte[][], BitSet)} hashes a batch of keys
+ * before probing the blocks, so that the independent memory accesses of the probes overlap.
+ */
+public class BlockedBloomFilter implements BloomFilter {
+
+  private static final int VERSION = 0;
+  private static final int WORDS_PER_BLOCK = 8;
+  private static final int BITS_PER_BLOCK = WORDS_PER_BLOCK * Integer.SIZE;
+  // Caps the filter at 128 MB
+  private static final int MAX_NUM_BLOCKS = 128 * 1024 * 1024 / (BITS_PER_BLOCK / Byte.SIZE);
+  private static final int[] SALT = {
+      0x47b6137b, 0x44974d91, 0x8824ad5b, 0xa2b7289d, 0x705495c7, 0x2df1424b, 0x9efc4947, 0x5c6bfb31};
+  private static final XXHash64 HASH = XXHashFactory.fastestInstance().hash64();
+
+  private int numBlocks;
+  private int[] words;
+
+  /**
+   * Creates a new Bloom filter sized for the given number of entries and false positive rate.
+   *
+   * @param numEntries The total number of entries.
+   * @param errorRate  maximum allowable error rate.
+   */
+  public BlockedBloomFilter(int numEntries, double errorRate) {
+    this.numBlocks = getNumBlocks(numEntries, errorRate);
+    this.words = new int[numBlocks * WORDS_PER_BLOCK];
+  }
+
+  /**
+   * Creates the bloom filter from serialized string.
+   *
+   * @param serString serialized string which represents the {@link BlockedBloomFilter}
+   */
+  public BlockedBloomFilter(String serString) {
+    try (DataInputStream stream = new DataInputStream(new ByteArrayInputStream(Base64CodecUtil.decode(serString)))) {
+      readFields(stream);
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not deserialize BloomFilter from string", e);
+    }
+  }
+
+  /**
+   * Creates {@link BlockedBloomFilter} from the given {@link ByteBuffer}.
+   *
+   * @param byteBuffer {@link ByteBuffer} containing the serialized bloom filter.
+   */
+  public BlockedBloomFilter(ByteBuffer byteBuffer) {
+    try (DataInputStream stream = getDataInputStream(Base64CodecUtil.decode(byteBuffer))) {
+      readFields(stream);
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not deserialize BloomFilter from byte buffer", e);
+    }
+  }
+
+  @Override
+  public void add(String key) {
+    add(getUTF8Bytes(key));
+  }
+
+  @Override
+  public void add(byte[] keyBytes) {
+    if (keyBytes == null) {
+      throw new NullPointerException("Key cannot be null");
+    }
+    long hash = hash(keyBytes);
+    int offset = getBlockOffset(hash);
+    int key = (int) hash;
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      words[offset + i] |= 1 << ((key * SALT[i]) >>> 27);
+    }
+  }
+
+  @Override
+  public boolean mightContain(String key) {
+    if (key == null) {
+      throw new NullPointerException("Key cannot be null");
+    }
+    long hash = hash(getUTF8Bytes(key));
+    return blockContains(getBlockOffset(hash), (int) hash);
+  }
+
+  @Override
+  public void mightContainAll(byte[][] keys, BitSet out) {
+    int numKeys = keys.length;
+    int[] blockOffsets = new int[numKeys];
+    int[] blockKeys = new int[numKeys];
+    // Hashes all the keys first, which does not access the filter
+    for (int i = 0; i < numKeys; i++) {
+      long hash = hash(keys[i]);
+      blockOffsets[i] = getBlockOffset(hash);
+      blockKeys[i] = (int) hash;
+    }
+    // Each probe reads one block, and the probes of different keys do not depend on each other
+    for (int i = 0; i < numKeys; i++) {
+      out.set(i, blockContains(blockOffsets[i], blockKeys[i]));
+    }
+  }
+
+  /**
+   * Serialize the bloom filter as a string.
+   */
+  @Override
+  public String serializeToString() {
+    ByteArrayOutputStream baos = new ByteArrayOutputStream(2 * Integer.BYTES + words.length * Integer.BYTES);
+    try (DataOutputStream dos = new DataOutputStream(baos)) {
+      dos.writeInt(VERSION);
+      dos.writeInt(numBlocks);
+      for (int word : words) {
+        dos.writeInt(word);
+      }
+    } catch (IOException e) {
+      throw new HoodieIndexException("Could not serialize BloomFilter instance", e);
+    }
+    return Base64CodecUtil.encode(baos.toByteArray());
+  }
+
+  @Override
+  public BloomFilterTypeCode getBloomFilterTypeCode() {
+    return BloomFilterTypeCode.BLOCKED_V0;
+  }
+
+  int getNumBlocks() {
+    return numBlocks;
+  }
+
+  /**
+   * @return the number of blocks for the given number of entries and false positive rate.
+   */
+  static int getNumBlocks(int numEntries, double errorRate) {
+    // The false positive rate of a split-block Bloom filter with a bits per key is approximately
+    // (1 - e^(-8/a))^8, see the Parquet format specification
+    double bitsPerKey = -WORDS_PER_BLOCK / Math.log(1 - Math.pow(errorRate, 1.0 / WORDS_PER_BLOCK));
+    double numBlocks = Math.ceil(Math.max(1, numEntries) * bitsPerKey / BITS_PER_BLOCK);
+    return (int) Math.max(1, Math.min(MAX_NUM_BLOCKS, numBlocks));
+  }
+
+  private static long hash(byte[] keyBytes) {
+    return HASH.hash(keyBytes, 0, keyBytes.length, 0L);
+  }
+
+  private int getBlockOffset(long hash) {
+    // Maps the upper 32 bits of the hash to [0, numBlocks) without a division
+    return (int) (((hash >>> 32) * numBlocks) >>> 32) * WORDS_PER_BLOCK;
+  }
+
+  private boolean blockContains(int offset, int key) {
+    for (int i = 0; i < WORDS_PER_BLOCK; i++) {
+      if ((words[offset + i] & (1 << ((key * SALT[i]) >>> 27))) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void readFields(DataInputStream stream) throws IOException {
+    int version = stream.readInt();
+    if (version != VERSION) {
+      throw new IOException("Unsupported version of the blocked bloom filter: " + version);
+    }
+    this.numBlocks = stream.readInt();
+    this.words = new int[numBlocks * WORDS_PER_BLOCK];
+    for (int i = 0; i < words.length; i++) {
+      words[i] = stream.readInt();
+    }
+  }
+}
@@ -18,6 +18,10 @@
 
 package org.apache.hudi.common.bloom;
 
+import java.util.BitSet;
+
+import static org.apache.hudi.common.util.StringUtils.fromUTF8Bytes;
+
 /**
  * A Bloom filter interface.
  */
@@ -45,6 +49,18 @@ public interface BloomFilter {
    */
   boolean mightContain(String key);
 
+  /**
+   * Tests a batch of keys for membership.
+   *
+   * @param keys the bytes of the keys to be checked for membership, representing UTF8-encoded strings
+   * @param out  bit {@code i} is set if {@code keys[i]} may be found, and cleared if it is not found for sure
+   */
+  default void mightContainAll(byte[][] keys, BitSet out) {
+    for (int i = 0; i < keys.length; i++) {
+      out.set(i, mightContain(fromUTF8Bytes(keys[i])));
+    }
+  }
+
   /**
    * Serialize the bloom filter as a string.
    */
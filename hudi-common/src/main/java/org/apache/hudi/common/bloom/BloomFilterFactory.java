@@ -41,6 +41,8 @@ public class BloomFilterFactory {
       return new SimpleBloomFilter(numEntries, errorRate, Hash.MURMUR_HASH);
     } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.DYNAMIC_V0.name())) {
       return new HoodieDynamicBoundedBloomFilter(numEntries, errorRate, Hash.MURMUR_HASH, maxNumberOfEntries);
+    } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.BLOCKED_V0.name())) {
+      return new BlockedBloomFilter(numEntries, errorRate);
     } else {
       throw new IllegalArgumentException("Bloom Filter type code not recognizable " + bloomFilterTypeCode);
     }
@@ -58,6 +60,8 @@ public class BloomFilterFactory {
       return new SimpleBloomFilter(serString);
     } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.DYNAMIC_V0.name())) {
       return new HoodieDynamicBoundedBloomFilter(serString);
+    } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.BLOCKED_V0.name())) {
+      return new BlockedBloomFilter(serString);
     } else {
       throw new IllegalArgumentException("Bloom Filter type code not recognizable " + bloomFilterTypeCode);
     }
@@ -75,6 +79,8 @@ public class BloomFilterFactory {
       return new SimpleBloomFilter(byteBuffer);
     } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.DYNAMIC_V0.name())) {
       return new HoodieDynamicBoundedBloomFilter(byteBuffer);
+    } else if (bloomFilterTypeCode.equalsIgnoreCase(BloomFilterTypeCode.BLOCKED_V0.name())) {
+      return new BlockedBloomFilter(byteBuffer);
     } else {
       throw new IllegalArgumentException("Bloom Filter type code not recognizable " + bloomFilterTypeCode);
     }
@@ -32,5 +32,11 @@ public enum BloomFilterTypeCode {
   SIMPLE,
 
   @EnumFieldDescription("Bloom filter that is auto sized based on number of keys.")
-  DYNAMIC_V0
+  DYNAMIC_V0,
+
+  @EnumFieldDescription("Split-block bloom filter that is based on the configured size, which sets and probes "
+      + "all the bits of a key in one cache line, and supports probing keys in batches. Existing files keep "
+      + "being read with the filter type they were written with, so that switching to this type migrates the "
+      + "files as they are rewritten, e.g., by updates, compaction or clustering.")
+  BLOCKED_V0
 }
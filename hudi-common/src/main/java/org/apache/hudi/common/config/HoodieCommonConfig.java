@@ -87,7 +87,10 @@ public class HoodieCommonConfig extends HoodieConfig {
       .markAdvanced()
       .withDocumentation("When handling input data that cannot be held in memory, to merge with a file on storage, a spillable diskmap is employed.  "
           + "By default, we use a persistent hashmap based loosely on bitcask, that offers O(1) inserts, lookups. "
-          + "Change this to `ROCKS_DB` to prefer using rocksDB, for handling the spill.");
+          + "Change this to `ROCKS_DB` to prefer using rocksDB, for handling the spill. "
+          + "Change this to `OFF_HEAP` to keep the in-memory records serialized outside of the JVM heap with exact "
+          + "memory accounting, which reduces GC pressure for large merges, and spill to the bitcask based map; "
+          + "the off-heap memory counts towards the JVM's direct memory limit.");
 
   public static final ConfigProperty<Boolean> DISK_MAP_BITCASK_COMPRESSION_ENABLED = ConfigProperty
       .key("hoodie.common.diskmap.compression.enabled")
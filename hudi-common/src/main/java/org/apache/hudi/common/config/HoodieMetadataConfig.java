@@ -127,6 +127,17 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       .sinceVersion("0.7.0")
       .withDocumentation("Parallelism to use, when listing the table on lake storage.");
 
+  public static final ConfigProperty<Integer> LOOKUP_PARALLELISM = ConfigProperty
+      .key(METADATA_PREFIX + ".lookup.parallelism")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Number of threads of a local pool that looks up the keys in the file slices of a metadata "
+          + "table partition concurrently, when the metadata table is read within a single JVM with the local engine "
+          + "context, e.g., partition pruning on the driver and the lookups of Flink and Hive. The log records and the "
+          + "base file records of each file slice are read concurrently as well, reusing the open readers if enabled. "
+          + "0 disables the local pool, so that the file slices are looked up through the engine context.");
+
   public static final ConfigProperty<Boolean> ENABLE_METADATA_INDEX_BLOOM_FILTER = ConfigProperty
       .key(METADATA_PREFIX + ".index.bloom.filter.enable")
       .defaultValue(false)
@@ -298,6 +309,37 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       .sinceVersion("0.14.0")
       .withDocumentation("Maximum parallelism to use when initializing Record Index.");
 
+  public static final ConfigProperty<Boolean> RECORD_INDEX_BLOOM_FILTER_LOOKUP_ENABLE = ConfigProperty
+      .key(METADATA_PREFIX + ".record.index.bloom.filter.lookup.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the record index lookups check the keys against the bloom filter stored in the "
+          + "HFile base file of each file group, and only seek the base file for the keys the bloom filter may contain. "
+          + "This saves the HFile seeks for the new keys of append-heavy workloads. The log files are always read. "
+          + "When writing the metadata table, the bloom filters of the HFiles are sized for the record index file "
+          + "groups, see `" + METADATA_PREFIX + ".record.index.bloom.filter.fpp`.");
+
+  public static final ConfigProperty<Double> RECORD_INDEX_BLOOM_FILTER_FPP = ConfigProperty
+      .key(METADATA_PREFIX + ".record.index.bloom.filter.fpp")
+      .defaultValue(0.01)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Expected false positive probability of the bloom filter of a record index file group at its "
+          + "maximum size, when `" + RECORD_INDEX_BLOOM_FILTER_LOOKUP_ENABLE.key() + "` is enabled.");
+
+  public static final ConfigProperty<Integer> RECORD_INDEX_LOOKUP_CACHE_SIZE = ConfigProperty
+      .key(METADATA_PREFIX + ".record.index.lookup.cache.size")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of record index entries found by recent lookups that are kept in an LRU cache "
+          + "shared by the metadata table readers in the same JVM process, e.g., a Spark executor, so that the keys "
+          + "looked up again on the same snapshot of the metadata table are not read again. The cached entries "
+          + "are only served while the completed instants of the table and the metadata table do not change. "
+          + "0 disables the cache. The cache is created once per JVM process, so only the size used by the first "
+          + "reader takes effect.");
+
   public static final ConfigProperty<Long> MAX_READER_MEMORY_PROP = ConfigProperty
       .key(METADATA_PREFIX + ".max.reader.memory")
       .defaultValue(1024 * 1024 * 1024L)
@@ -570,6 +612,18 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return getInt(RECORD_INDEX_MAX_PARALLELISM);
   }
 
+  public boolean isRecordIndexBloomFilterLookupEnabled() {
+    return getBooleanOrDefault(RECORD_INDEX_BLOOM_FILTER_LOOKUP_ENABLE);
+  }
+
+  public double getRecordIndexBloomFilterFpp() {
+    return getDoubleOrDefault(RECORD_INDEX_BLOOM_FILTER_FPP);
+  }
+
+  public int getRecordIndexLookupCacheSize() {
+    return getIntOrDefault(RECORD_INDEX_LOOKUP_CACHE_SIZE);
+  }
+
   public boolean shouldAutoInitialize() {
     return getBoolean(AUTO_INITIALIZE);
   }
@@ -639,6 +693,10 @@ public final class HoodieMetadataConfig extends HoodieConfig {
     return isRecordIndexEnabled() && getBoolean(SECONDARY_INDEX_ENABLE_PROP) && !isDropMetadataIndex(MetadataPartitionType.SECONDARY_INDEX.getPartitionPath());
   }
 
+  public int getLookupParallelism() {
+    return getIntOrDefault(LOOKUP_PARALLELISM);
+  }
+
   public int getSecondaryIndexParallelism() {
     return getInt(SECONDARY_INDEX_PARALLELISM);
   }
@@ -789,6 +847,21 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withRecordIndexBloomFilterLookup(boolean enabled) {
+      metadataConfig.setValue(RECORD_INDEX_BLOOM_FILTER_LOOKUP_ENABLE, String.valueOf(enabled));
+      return this;
+    }
+
+    public Builder withRecordIndexBloomFilterFpp(double fpp) {
+      metadataConfig.setValue(RECORD_INDEX_BLOOM_FILTER_FPP, String.valueOf(fpp));
+      return this;
+    }
+
+    public Builder withRecordIndexLookupCacheSize(int size) {
+      metadataConfig.setValue(RECORD_INDEX_LOOKUP_CACHE_SIZE, String.valueOf(size));
+      return this;
+    }
+
     public Builder withDirectoryFilterRegex(String regex) {
       metadataConfig.setValue(DIR_FILTER_REGEX, regex);
       return this;
@@ -932,6 +1005,11 @@ public final class HoodieMetadataConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withLookupParallelism(int parallelism) {
+      metadataConfig.setValue(LOOKUP_PARALLELISM, String.valueOf(parallelism));
+      return this;
+    }
+
     public Builder withDropMetadataIndex(String indexName) {
       metadataConfig.setValue(DROP_METADATA_INDEX, indexName);
       return this;
@@ -36,6 +36,35 @@ public class HoodieReaderConfig extends HoodieConfig {
       .sinceVersion("1.0.0")
       .withDocumentation("When enabled, the native HFile reader is used to read HFiles.  This is an internal config.");
 
+  public static final ConfigProperty<Boolean> HFILE_BLOCK_CACHE_ENABLED = ConfigProperty
+      .key("hoodie.hfile.block.cache.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the native HFile reader keeps the decompressed HFile blocks in an LRU cache "
+          + "shared by all HFile readers in the same JVM process, keyed by the file and the block offset, so that "
+          + "concurrent lookups on the same HFile, e.g., metadata table base files, do not read and decompress "
+          + "the same blocks again.");
+
+  public static final ConfigProperty<Long> HFILE_BLOCK_CACHE_SIZE = ConfigProperty
+      .key("hoodie.hfile.block.cache.size")
+      .defaultValue(256 * 1024 * 1024L) // 256 MB
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum total size in bytes of the decompressed blocks kept in the shared HFile block cache, "
+          + "when `" + HFILE_BLOCK_CACHE_ENABLED.key() + "` is enabled. The cache is created once per JVM process, "
+          + "so only the size used by the first reader takes effect.");
+
+  public static final ConfigProperty<Boolean> HFILE_LOCAL_MMAP_ENABLED = ConfigProperty
+      .key("hoodie.hfile.local.mmap.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the native HFile reader memory-maps HFiles on the local file system, "
+          + "e.g., files of the metadata table on local disks or cached locally, instead of reading them through "
+          + "the file system stream, so that the blocks are read from the OS page cache without system calls. "
+          + "Files larger than 2 GB are read through the file system stream.");
+
   public static final ConfigProperty<String> COMPACTION_LAZY_BLOCK_READ_ENABLE = ConfigProperty
       .key("hoodie.compaction.lazy.block.read")
       .defaultValue("true")
@@ -59,6 +88,33 @@ public class HoodieReaderConfig extends HoodieConfig {
       .withDocumentation("New optimized scan for log blocks that handles all multi-writer use-cases while appending to log files. "
           + "It also differentiates original blocks written by ingestion writers and compacted blocks written log compaction.");
 
+  public static final ConfigProperty<Integer> LOG_BLOCK_PREFETCH_PARALLELISM = ConfigProperty
+      .key("hoodie.log.block.prefetch.parallelism")
+      .defaultValue(0)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Number of log files of a file slice whose blocks are read ahead concurrently on a "
+          + "thread pool, including the block content, while the current block is being merged. This hides the "
+          + "I/O latency of reading many log files from object storage. 0 disables prefetching, so that the log "
+          + "blocks are read one after another by the merging thread.");
+
+  public static final ConfigProperty<Integer> LOG_BLOCK_PREFETCH_MAX_BLOCKS = ConfigProperty
+      .key("hoodie.log.block.prefetch.max.blocks")
+      .defaultValue(4)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum number of prefetched log blocks buffered per log file when `"
+          + LOG_BLOCK_PREFETCH_PARALLELISM.key() + "` is positive.");
+
+  public static final ConfigProperty<Long> LOG_BLOCK_PREFETCH_MAX_BYTES = ConfigProperty
+      .key("hoodie.log.block.prefetch.max.bytes")
+      .defaultValue(256 * 1024 * 1024L)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Maximum total size in bytes of the content of prefetched log blocks buffered across "
+          + "the log files when `" + LOG_BLOCK_PREFETCH_PARALLELISM.key() + "` is positive. The log file being "
+          + "merged can always buffer one more block so that merging makes progress.");
+
   public static final ConfigProperty<Boolean> FILE_GROUP_READER_ENABLED = ConfigProperty
       .key("hoodie.file.group.reader.enabled")
       .defaultValue(true)
@@ -73,6 +129,18 @@ public class HoodieReaderConfig extends HoodieConfig {
       .sinceVersion("1.0.0")
       .withDocumentation("Whether to use positions in the block header for data blocks containing updates and delete blocks for merging.");
 
+  public static final ConfigProperty<Boolean> MERGE_WITH_SORTED_RUNS = ConfigProperty
+      .key("hoodie.merge.sorted.runs.enabled")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, the file group reader spills the log records that do not fit in memory as "
+          + "runs sorted by the record key, instead of a random-access spillable map, and merges them with the base "
+          + "file records in a streaming merge-join, so that merging huge file groups uses bounded memory and "
+          + "sequential I/O. This requires the base file records to be sorted by the record key, so it only applies to "
+          + "file groups with HFile base files or without a base file; other file groups are merged as usual. "
+          + "It takes precedence over `" + MERGE_USE_RECORD_POSITIONS.key() + "`.");
+
   public static final String REALTIME_SKIP_MERGE = "skip_merge";
   public static final String REALTIME_PAYLOAD_COMBINE = "payload_combine";
   public static final ConfigProperty<String> MERGE_TYPE = ConfigProperty
@@ -25,6 +25,7 @@ import org.apache.hudi.storage.StoragePath;
 
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -44,6 +45,8 @@ public class CompactionOperation implements Serializable {
   private HoodieFileGroupId id;
   private Map<String, Double> metrics;
   private Option<String> bootstrapFilePath;
+  // Record keys splitting the compaction of the file group into sub-tasks on key ranges, see RecordKeyRange
+  private List<String> recordKeySplitPoints = Collections.emptyList();
 
   // Only for serialization/de-serialization
   @Deprecated
@@ -118,6 +121,10 @@ public class CompactionOperation implements Serializable {
     return bootstrapFilePath;
   }
 
+  public List<String> getRecordKeySplitPoints() {
+    return recordKeySplitPoints;
+  }
+
   public Option<HoodieBaseFile> getBaseFile(String basePath, String partitionPath) {
     Option<BaseFile> externalBaseFile = bootstrapFilePath.map(BaseFile::new);
     StoragePath dirPath = FSUtils.constructAbsolutePath(basePath, partitionPath);
@@ -142,6 +149,8 @@ public class CompactionOperation implements Serializable {
     op.id = new HoodieFileGroupId(operation.getPartitionPath(), operation.getFileId());
     op.metrics = operation.getMetrics() == null ? new HashMap<>() : new HashMap<>(operation.getMetrics());
     op.bootstrapFilePath = Option.ofNullable(operation.getBootstrapFilePath());
+    op.recordKeySplitPoints = operation.getRecordKeySplitPoints() == null
+        ? Collections.emptyList() : new ArrayList<>(operation.getRecordKeySplitPoints());
     return op;
   }
 
@@ -149,7 +158,8 @@ public class CompactionOperation implements Serializable {
   public String toString() {
     return "CompactionOperation{baseInstantTime='" + baseInstantTime + '\'' + ", dataFileCommitTime="
         + dataFileCommitTime + ", deltaFileNames=" + deltaFileNames + ", dataFileName=" + dataFileName + ", id='" + id
-        + '\'' + ", metrics=" + metrics + ", bootstrapFilePath=" + bootstrapFilePath + '}';
+        + '\'' + ", metrics=" + metrics + ", bootstrapFilePath=" + bootstrapFilePath
+        + ", recordKeySplitPoints=" + recordKeySplitPoints + '}';
   }
 
   @Override
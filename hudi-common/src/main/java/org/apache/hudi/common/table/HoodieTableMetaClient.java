@@ -42,6 +42,7 @@ import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.InstantFileNameGenerator;
 import org.apache.hudi.common.table.timeline.InstantFileNameParser;
 import org.apache.hudi.common.table.timeline.InstantGenerator;
+import org.apache.hudi.common.table.timeline.InstantMetadataCache;
 import org.apache.hudi.common.table.timeline.TimeGenerator;
 import org.apache.hudi.common.table.timeline.TimeGenerators;
 import org.apache.hudi.common.table.timeline.TimelineLayout;
@@ -117,6 +118,7 @@ public class HoodieTableMetaClient implements Serializable {
   public static final String AUXILIARYFOLDER_NAME = METAFOLDER_NAME + StoragePath.SEPARATOR + ".aux";
   public static final String BOOTSTRAP_INDEX_ROOT_FOLDER_PATH = AUXILIARYFOLDER_NAME + StoragePath.SEPARATOR + ".bootstrap";
   public static final String SAMPLE_WRITES_FOLDER_PATH = AUXILIARYFOLDER_NAME + StoragePath.SEPARATOR + ".sample_writes";
+  public static final String COMPACTION_SPLITS_FOLDER_PATH = AUXILIARYFOLDER_NAME + StoragePath.SEPARATOR + ".compaction_splits";
   public static final String HEARTBEAT_FOLDER_NAME = METAFOLDER_NAME + StoragePath.SEPARATOR + ".heartbeat";
   public static final String METADATA_TABLE_FOLDER_PATH = METAFOLDER_NAME + StoragePath.SEPARATOR + METADATA_STR;
   public static final String HASHING_METADATA_FOLDER_NAME =
@@ -151,6 +153,7 @@ public class HoodieTableMetaClient implements Serializable {
   protected StoragePath metaPath;
 
   private transient HoodieStorage storage;
+  private transient volatile InstantMetadataCache instantMetadataCache;
   private boolean loadActiveTimelineOnLoad;
   protected StorageConfiguration<?> storageConf;
   private HoodieTableType tableType;
@@ -506,6 +509,21 @@ public class HoodieTableMetaClient implements Serializable {
     return activeTimeline;
   }
 
+  /**
+   * Returns the cache of the commit metadata of the completed instants, shared by all the
+   * active timelines of this meta client across reloads.
+   */
+  public InstantMetadataCache getInstantMetadataCache() {
+    if (instantMetadataCache == null) {
+      synchronized (this) {
+        if (instantMetadataCache == null) {
+          instantMetadataCache = new InstantMetadataCache();
+        }
+      }
+    }
+    return instantMetadataCache;
+  }
+
   /**
    * Reload active timeline and table config.
    */
@@ -151,6 +151,12 @@ public abstract class AbstractHoodieLogRecordScanner {
   private final HoodieTableVersion tableVersion;
   // Allows to consider inflight instants while merging log records
   protected boolean allowInflightInstants = false;
+  // Number of log files whose blocks are prefetched concurrently, 0 to read the blocks sequentially
+  protected int logBlockPrefetchParallelism = 0;
+  // Maximum number of prefetched blocks buffered per log file
+  protected int maxPrefetchedLogBlocks = 0;
+  // Maximum total size of the content of the prefetched blocks
+  protected long maxPrefetchedLogBlockBytes = 0L;
   // for pending log block check with table version before 8
   private HoodieTimeline commitsTimeline = null;
   private HoodieTimeline completedInstantsTimeline = null;
@@ -263,14 +269,10 @@ public abstract class AbstractHoodieLogRecordScanner {
     totalCorruptBlocks = new AtomicLong(0);
     totalLogBlocks = new AtomicLong(0);
     totalLogRecords = new AtomicLong(0);
-    HoodieLogFormatReader logFormatReaderWrapper = null;
+    HoodieLogFormat.Reader logFormatReaderWrapper = null;
     try {
       // Iterate over the paths
-      logFormatReaderWrapper = new HoodieLogFormatReader(storage,
-          logFilePaths.stream()
-              .map(filePath -> new HoodieLogFile(new StoragePath(filePath)))
-              .collect(Collectors.toList()),
-          readerSchema, reverseReader, bufferSize, shouldLookupRecords(), recordKeyField, internalSchema);
+      logFormatReaderWrapper = createLogFormatReader();
 
       Set<HoodieLogFile> scannedLogFiles = new HashSet<>();
       while (logFormatReaderWrapper.hasNext()) {
@@ -408,14 +410,10 @@ public abstract class AbstractHoodieLogRecordScanner {
     totalCorruptBlocks = new AtomicLong(0);
     totalLogBlocks = new AtomicLong(0);
     totalLogRecords = new AtomicLong(0);
-    HoodieLogFormatReader logFormatReaderWrapper = null;
+    HoodieLogFormat.Reader logFormatReaderWrapper = null;
     try {
       // Iterate over the paths
-      logFormatReaderWrapper = new HoodieLogFormatReader(storage,
-          logFilePaths.stream()
-              .map(logFile -> new HoodieLogFile(new StoragePath(logFile)))
-              .collect(Collectors.toList()),
-          readerSchema, reverseReader, bufferSize, shouldLookupRecords(), recordKeyField, internalSchema);
+      logFormatReaderWrapper = createLogFormatReader();
 
       /**
        * Scanning log blocks and placing the compacted blocks at the right place require two traversals.
@@ -690,6 +688,17 @@ public abstract class AbstractHoodieLogRecordScanner {
     progress = (numLogFilesSeen - 1) / logFilePaths.size();
   }
 
+  private HoodieLogFormat.Reader createLogFormatReader() throws IOException {
+    List<HoodieLogFile> logFiles = logFilePaths.stream()
+        .map(logFile -> new HoodieLogFile(new StoragePath(logFile))).collect(Collectors.toList());
+    if (logBlockPrefetchParallelism > 0 && !reverseReader) {
+      return new HoodiePrefetchingLogFormatReader(storage, logFiles, readerSchema, bufferSize, shouldLookupRecords(),
+          recordKeyField, internalSchema, logBlockPrefetchParallelism, maxPrefetchedLogBlocks, maxPrefetchedLogBlockBytes);
+    }
+    return new HoodieLogFormatReader(storage, logFiles, readerSchema, reverseReader, bufferSize, shouldLookupRecords(),
+        recordKeyField, internalSchema);
+  }
+
   private boolean shouldLookupRecords() {
     // NOTE: Point-wise record lookups are only enabled when scanner is not in
     //       a full-scan mode
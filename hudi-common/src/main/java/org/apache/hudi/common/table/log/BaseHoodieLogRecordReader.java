@@ -135,6 +135,12 @@ public abstract class BaseHoodieLogRecordReader<T> {
   private final List<String> validBlockInstants = new ArrayList<>();
   // Use scanV2 method.
   private final boolean enableOptimizedLogBlocksScan;
+  // Number of log files whose blocks are prefetched concurrently, 0 to read the blocks sequentially
+  private final int logBlockPrefetchParallelism;
+  // Maximum number of prefetched blocks buffered per log file
+  private final int maxPrefetchedLogBlocks;
+  // Maximum total size of the content of the prefetched blocks
+  private final long maxPrefetchedLogBlockBytes;
   protected FileGroupRecordBuffer<T> recordBuffer;
   // Allows to consider inflight instants while merging log records
   protected boolean allowInflightInstants;
@@ -143,7 +149,8 @@ public abstract class BaseHoodieLogRecordReader<T> {
                                       boolean reverseReader, int bufferSize, Option<InstantRange> instantRange,
                                       boolean withOperationField, boolean forceFullScan, Option<String> partitionNameOverride,
                                       Option<String> keyFieldOverride, boolean enableOptimizedLogBlocksScan, FileGroupRecordBuffer<T> recordBuffer,
-                                      boolean allowInflightInstants) {
+                                      boolean allowInflightInstants, int logBlockPrefetchParallelism, int maxPrefetchedLogBlocks,
+                                      long maxPrefetchedLogBlockBytes) {
     this.readerContext = readerContext;
     this.readerSchema = readerContext.getSchemaHandler().getRequiredSchema();
     this.latestInstantTime = readerContext.getLatestCommitTime();
@@ -170,6 +177,9 @@ public abstract class BaseHoodieLogRecordReader<T> {
     this.forceFullScan = forceFullScan;
     this.internalSchema = readerContext.getSchemaHandler().getInternalSchema();
     this.enableOptimizedLogBlocksScan = enableOptimizedLogBlocksScan;
+    this.logBlockPrefetchParallelism = logBlockPrefetchParallelism;
+    this.maxPrefetchedLogBlocks = maxPrefetchedLogBlocks;
+    this.maxPrefetchedLogBlockBytes = maxPrefetchedLogBlockBytes;
 
     if (keyFieldOverride.isPresent()) {
       // NOTE: This branch specifically is leveraged handling Metadata Table
@@ -223,15 +233,13 @@ public abstract class BaseHoodieLogRecordReader<T> {
     totalCorruptBlocks = new AtomicLong(0);
     totalLogBlocks = new AtomicLong(0);
     totalLogRecords = new AtomicLong(0);
-    HoodieLogFormatReader logFormatReaderWrapper = null;
+    HoodieLogFormat.Reader logFormatReaderWrapper = null;
     HoodieTimeline commitsTimeline = this.hoodieTableMetaClient.getCommitsTimeline();
     HoodieTimeline completedInstantsTimeline = commitsTimeline.filterCompletedInstants();
     HoodieTimeline inflightInstantsTimeline = commitsTimeline.filterInflights();
     try {
       // Iterate over the paths
-      logFormatReaderWrapper = new HoodieLogFormatReader(storage,
-          logFilePaths.stream().map(logFile -> new HoodieLogFile(new StoragePath(logFile))).collect(Collectors.toList()),
-          readerSchema, reverseReader, bufferSize, shouldLookupRecords(), recordKeyField, internalSchema);
+      logFormatReaderWrapper = createLogFormatReader();
 
       Set<HoodieLogFile> scannedLogFiles = new HashSet<>();
       while (logFormatReaderWrapper.hasNext()) {
@@ -515,15 +523,13 @@ public abstract class BaseHoodieLogRecordReader<T> {
     totalCorruptBlocks = new AtomicLong(0);
     totalLogBlocks = new AtomicLong(0);
     totalLogRecords = new AtomicLong(0);
-    HoodieLogFormatReader logFormatReaderWrapper = null;
+    HoodieLogFormat.Reader logFormatReaderWrapper = null;
     HoodieTimeline commitsTimeline = this.hoodieTableMetaClient.getCommitsTimeline();
     HoodieTimeline completedInstantsTimeline = commitsTimeline.filterCompletedInstants();
     HoodieTimeline inflightInstantsTimeline = commitsTimeline.filterInflights();
     try {
       // Iterate over the paths
-      logFormatReaderWrapper = new HoodieLogFormatReader(storage,
-          logFilePaths.stream().map(logFile -> new HoodieLogFile(new StoragePath(logFile))).collect(Collectors.toList()),
-          readerSchema, reverseReader, bufferSize, shouldLookupRecords(), recordKeyField, internalSchema);
+      logFormatReaderWrapper = createLogFormatReader();
 
       /**
        * Scanning log blocks and placing the compacted blocks at the right place require two traversals.
@@ -752,6 +758,17 @@ public abstract class BaseHoodieLogRecordReader<T> {
     progress = (float) (numLogFilesSeen - 1) / logFilePaths.size();
   }
 
+  private HoodieLogFormat.Reader createLogFormatReader() throws IOException {
+    List<HoodieLogFile> logFiles = logFilePaths.stream()
+        .map(logFile -> new HoodieLogFile(new StoragePath(logFile))).collect(Collectors.toList());
+    if (logBlockPrefetchParallelism > 0 && !reverseReader) {
+      return new HoodiePrefetchingLogFormatReader(storage, logFiles, readerSchema, bufferSize, shouldLookupRecords(),
+          recordKeyField, internalSchema, logBlockPrefetchParallelism, maxPrefetchedLogBlocks, maxPrefetchedLogBlockBytes);
+    }
+    return new HoodieLogFormatReader(storage, logFiles, readerSchema, reverseReader, bufferSize, shouldLookupRecords(),
+        recordKeyField, internalSchema);
+  }
+
   private boolean shouldLookupRecords() {
     // NOTE: Point-wise record lookups are only enabled when scanner is not in
     //       a full-scan mode
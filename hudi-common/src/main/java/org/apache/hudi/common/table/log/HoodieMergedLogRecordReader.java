@@ -43,6 +43,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BLOCKS;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BYTES;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_PARALLELISM;
 import static org.apache.hudi.common.fs.FSUtils.getRelativePartitionPath;
 
 /**
@@ -66,9 +69,11 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
   private HoodieMergedLogRecordReader(HoodieReaderContext<T> readerContext, HoodieStorage storage, List<String> logFilePaths, boolean reverseReader,
                                       int bufferSize, Option<InstantRange> instantRange, boolean withOperationField, boolean forceFullScan,
                                       Option<String> partitionName, Option<String> keyFieldOverride, boolean enableOptimizedLogBlocksScan,
-                                      FileGroupRecordBuffer<T> recordBuffer, boolean allowInflightInstants) {
+                                      FileGroupRecordBuffer<T> recordBuffer, boolean allowInflightInstants,
+                                      int logBlockPrefetchParallelism, int maxPrefetchedLogBlocks, long maxPrefetchedLogBlockBytes) {
     super(readerContext, storage, logFilePaths, reverseReader, bufferSize, instantRange, withOperationField,
-        forceFullScan, partitionName, keyFieldOverride, enableOptimizedLogBlocksScan, recordBuffer, allowInflightInstants);
+        forceFullScan, partitionName, keyFieldOverride, enableOptimizedLogBlocksScan, recordBuffer, allowInflightInstants,
+        logBlockPrefetchParallelism, maxPrefetchedLogBlocks, maxPrefetchedLogBlockBytes);
     this.scannedPrefixes = new HashSet<>();
 
     if (forceFullScan) {
@@ -217,6 +222,10 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
 
     private FileGroupRecordBuffer<T> recordBuffer;
     private boolean allowInflightInstants = false;
+    // log block prefetching, disabled by default
+    private int logBlockPrefetchParallelism = LOG_BLOCK_PREFETCH_PARALLELISM.defaultValue();
+    private int maxPrefetchedLogBlocks = LOG_BLOCK_PREFETCH_MAX_BLOCKS.defaultValue();
+    private long maxPrefetchedLogBlockBytes = LOG_BLOCK_PREFETCH_MAX_BYTES.defaultValue();
 
     @Override
     public Builder<T> withHoodieReaderContext(HoodieReaderContext<T> readerContext) {
@@ -294,6 +303,21 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
       return this;
     }
 
+    public Builder<T> withLogBlockPrefetchParallelism(int logBlockPrefetchParallelism) {
+      this.logBlockPrefetchParallelism = logBlockPrefetchParallelism;
+      return this;
+    }
+
+    public Builder<T> withMaxPrefetchedLogBlocks(int maxPrefetchedLogBlocks) {
+      this.maxPrefetchedLogBlocks = maxPrefetchedLogBlocks;
+      return this;
+    }
+
+    public Builder<T> withMaxPrefetchedLogBlockBytes(long maxPrefetchedLogBlockBytes) {
+      this.maxPrefetchedLogBlockBytes = maxPrefetchedLogBlockBytes;
+      return this;
+    }
+
     @Override
     public HoodieMergedLogRecordReader<T> build() {
       ValidationUtils.checkArgument(recordBuffer != null, "Record Buffer is null in Merged Log Record Reader");
@@ -310,7 +334,8 @@ public class HoodieMergedLogRecordReader<T> extends BaseHoodieLogRecordReader<T>
           Option.ofNullable(partitionName),
           Option.ofNullable(keyFieldOverride),
           enableOptimizedLogBlocksScan, recordBuffer,
-          allowInflightInstants);
+          allowInflightInstants, logBlockPrefetchParallelism,
+          maxPrefetchedLogBlocks, maxPrefetchedLogBlockBytes);
     }
   }
 }
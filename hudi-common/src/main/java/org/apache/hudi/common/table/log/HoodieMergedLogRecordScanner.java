@@ -58,6 +58,9 @@ import java.util.stream.Collectors;
 import static java.util.Objects.requireNonNull;
 import static org.apache.hudi.common.config.HoodieCommonConfig.DISK_MAP_BITCASK_COMPRESSION_ENABLED;
 import static org.apache.hudi.common.config.HoodieCommonConfig.SPILLABLE_DISK_MAP_TYPE;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BLOCKS;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BYTES;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_PARALLELISM;
 import static org.apache.hudi.common.fs.FSUtils.getRelativePartitionPath;
 import static org.apache.hudi.common.table.cdc.HoodieCDCUtils.CDC_LOGFILE_SUFFIX;
 import static org.apache.hudi.common.util.ValidationUtils.checkArgument;
@@ -90,6 +93,8 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
   private final long maxMemorySizeInBytes;
   // Stores the total time taken to perform reading and merging of log blocks
   private long totalTimeTakenToReadAndMergeBlocks;
+  // Only the records with keys in the range are kept if present
+  private final Option<RecordKeyRange> recordKeyRange;
 
   @SuppressWarnings("unchecked")
   protected HoodieMergedLogRecordScanner(HoodieStorage storage, String basePath, List<String> logFilePaths, Schema readerSchema,
@@ -104,7 +109,9 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
                                          Option<String> keyFieldOverride,
                                          boolean enableOptimizedLogBlocksScan, HoodieRecordMerger recordMerger,
                                          Option<HoodieTableMetaClient> hoodieTableMetaClientOption,
-                                         boolean allowInflightInstants) {
+                                         boolean allowInflightInstants, int logBlockPrefetchParallelism,
+                                         int maxPrefetchedLogBlocks, long maxPrefetchedLogBlockBytes,
+                                         Option<RecordKeyRange> recordKeyRange) {
     super(storage, basePath, logFilePaths, readerSchema, latestInstantTime, reverseReader, bufferSize,
         instantRange, withOperationField, forceFullScan, partitionName, internalSchema, keyFieldOverride, enableOptimizedLogBlocksScan, recordMerger,
         hoodieTableMetaClientOption);
@@ -115,6 +122,10 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
           new HoodieRecordSizeEstimator(readerSchema), diskMapType, new DefaultSerializer<>(), isBitCaskDiskMapCompressionEnabled, getClass().getSimpleName());
       this.scannedPrefixes = new HashSet<>();
       this.allowInflightInstants = allowInflightInstants;
+      this.logBlockPrefetchParallelism = logBlockPrefetchParallelism;
+      this.maxPrefetchedLogBlocks = maxPrefetchedLogBlocks;
+      this.maxPrefetchedLogBlockBytes = maxPrefetchedLogBlockBytes;
+      this.recordKeyRange = recordKeyRange;
     } catch (IOException e) {
       throw new HoodieIOException("IOException when creating ExternalSpillableMap at " + spillableMapBasePath, e);
     }
@@ -243,6 +254,9 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
   @Override
   protected <T> void processNextRecord(HoodieRecord<T> newRecord) throws IOException {
     String key = newRecord.getRecordKey();
+    if (recordKeyRange.isPresent() && !recordKeyRange.get().contains(key)) {
+      return;
+    }
     HoodieRecord<T> prevRecord = records.get(key);
     if (prevRecord != null) {
       // Merge and store the combined record
@@ -269,6 +283,9 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
   @Override
   protected void processNextDeletedRecord(DeleteRecord deleteRecord) {
     String key = deleteRecord.getRecordKey();
+    if (recordKeyRange.isPresent() && !recordKeyRange.get().contains(key)) {
+      return;
+    }
     HoodieRecord oldRecord = records.get(key);
     if (oldRecord != null) {
       // Merge and store the merged record. The ordering val is taken to decide whether the same key record
@@ -345,6 +362,12 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
     private boolean forceFullScan = true;
     private boolean enableOptimizedLogBlocksScan = false;
     protected boolean allowInflightInstants = false;
+    // log block prefetching, disabled by default
+    private int logBlockPrefetchParallelism = LOG_BLOCK_PREFETCH_PARALLELISM.defaultValue();
+    private int maxPrefetchedLogBlocks = LOG_BLOCK_PREFETCH_MAX_BLOCKS.defaultValue();
+    private long maxPrefetchedLogBlockBytes = LOG_BLOCK_PREFETCH_MAX_BYTES.defaultValue();
+    // record key filtering, all the keys by default
+    private Option<RecordKeyRange> recordKeyRange = Option.empty();
     private HoodieRecordMerger recordMerger = HoodiePreCombineAvroRecordMerger.INSTANCE;
     protected HoodieTableMetaClient hoodieTableMetaClient;
 
@@ -474,6 +497,26 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
       return this;
     }
 
+    public Builder withLogBlockPrefetchParallelism(int logBlockPrefetchParallelism) {
+      this.logBlockPrefetchParallelism = logBlockPrefetchParallelism;
+      return this;
+    }
+
+    public Builder withMaxPrefetchedLogBlocks(int maxPrefetchedLogBlocks) {
+      this.maxPrefetchedLogBlocks = maxPrefetchedLogBlocks;
+      return this;
+    }
+
+    public Builder withMaxPrefetchedLogBlockBytes(long maxPrefetchedLogBlockBytes) {
+      this.maxPrefetchedLogBlockBytes = maxPrefetchedLogBlockBytes;
+      return this;
+    }
+
+    public Builder withRecordKeyRange(Option<RecordKeyRange> recordKeyRange) {
+      this.recordKeyRange = recordKeyRange;
+      return this;
+    }
+
     @Override
     public HoodieMergedLogRecordScanner build() {
       if (this.partitionName == null && CollectionUtils.nonEmpty(this.logFilePaths)) {
@@ -487,7 +530,8 @@ public class HoodieMergedLogRecordScanner extends AbstractHoodieLogRecordScanner
           bufferSize, spillableMapBasePath, instantRange,
           diskMapType, isBitCaskDiskMapCompressionEnabled, withOperationField, forceFullScan,
           Option.ofNullable(partitionName), internalSchema, Option.ofNullable(keyFieldOverride), enableOptimizedLogBlocksScan, recordMerger,
-          Option.ofNullable(hoodieTableMetaClient), allowInflightInstants);
+          Option.ofNullable(hoodieTableMetaClient), allowInflightInstants, logBlockPrefetchParallelism,
+          maxPrefetchedLogBlocks, maxPrefetchedLogBlockBytes, recordKeyRange);
     }
   }
 }
@@ -0,0 +1,298 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.table.log.block.HoodieDataBlock;
+import org.apache.hudi.common.table.log.block.HoodieDeleteBlock;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.internal.schema.InternalSchema;
+import org.apache.hudi.storage.HoodieStorage;
+
+import org.apache.avro.Schema;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Hoodie log format reader which prefetches the log blocks of the upcoming log files on a bounded
+ * thread pool, while the caller processes the current block.
+ * <p>
+ * Each log file is read sequentially by one prefetching task, and up to {@code parallelism} log files
+ * are read ahead concurrently, in the order of the log files. The content of the data and delete
+ * blocks is read into memory by the prefetching task, so that the caller only decodes the content.
+ * The blocks are returned in the same order as {@link HoodieLogFormatReader}.
+ * <p>
+ * Backpressure is applied at two levels: each prefetching task buffers at most
+ * {@code maxBufferedBlocksPerFile} blocks, and all tasks together buffer at most
+ * {@code maxBufferedBytes} bytes of block content. The task reading the log file being consumed is
+ * exempt from the byte limit so that the reader always makes progress.
+ * <p>
+ * Reading the log files in reverse is not supported.
+ */
+public class HoodiePrefetchingLogFormatReader implements HoodieLogFormat.Reader {
+  private static final Logger LOG = LoggerFactory.getLogger(HoodiePrefetchingLogFormatReader.class);
+
+  private final HoodieStorage storage;
+  private final Schema readerSchema;
+  private final InternalSchema internalSchema;
+  private final String recordKeyField;
+  private final boolean enableInlineReading;
+  private final int bufferSize;
+  private final int parallelism;
+  private final long maxBufferedBytes;
+  private final List<LogFilePrefetcher> prefetchers;
+  private final ExecutorService executorService;
+  // Guards the accounting of the buffered bytes
+  private final Object bufferLock = new Object();
+  private long bufferedBytes = 0L;
+  private volatile int currentIndex = 0;
+  private int numSubmitted = 0;
+  private HoodieLogFile currentLogFile;
+  private HoodieLogBlock nextBlock;
+  private boolean closed = false;
+
+  HoodiePrefetchingLogFormatReader(HoodieStorage storage, List<HoodieLogFile> logFiles, Schema readerSchema,
+                                   int bufferSize, boolean enableRecordLookups, String recordKeyField,
+                                   InternalSchema internalSchema, int parallelism, int maxBufferedBlocksPerFile,
+                                   long maxBufferedBytes) {
+    ValidationUtils.checkArgument(parallelism > 0, "The log block prefetch parallelism must be positive: " + parallelism);
+    ValidationUtils.checkArgument(maxBufferedBlocksPerFile > 0,
+        "The maximum number of prefetched log blocks must be positive: " + maxBufferedBlocksPerFile);
+    this.storage = storage;
+    this.readerSchema = readerSchema;
+    this.bufferSize = bufferSize;
+    this.recordKeyField = recordKeyField;
+    this.enableInlineReading = enableRecordLookups;
+    this.internalSchema = internalSchema == null ? InternalSchema.getEmptyInternalSchema() : internalSchema;
+    this.parallelism = Math.min(parallelism, Math.max(1, logFiles.size()));
+    this.maxBufferedBytes = maxBufferedBytes;
+    this.prefetchers = new ArrayList<>(logFiles.size());
+    for (HoodieLogFile logFile : logFiles) {
+      prefetchers.add(new LogFilePrefetcher(prefetchers.size(), logFile, maxBufferedBlocksPerFile));
+    }
+    this.executorService = Executors.newFixedThreadPool(this.parallelism,
+        new CustomizedThreadFactory("hoodie-log-block-prefetch", true));
+    while (numSubmitted < this.parallelism && numSubmitted < prefetchers.size()) {
+      executorService.submit(prefetchers.get(numSubmitted++));
+    }
+  }
+
+  /**
+   * Closes any resources held
+   */
+  @Override
+  public void close() throws IOException {
+    if (!closed) {
+      closed = true;
+      prefetchers.forEach(prefetcher -> prefetcher.cancelled = true);
+      executorService.shutdownNow();
+      synchronized (bufferLock) {
+        bufferLock.notifyAll();
+      }
+    }
+  }
+
+  @Override
+  public boolean hasNext() {
+    ValidationUtils.checkState(!closed, "The log format reader has been closed");
+    if (nextBlock != null) {
+      return true;
+    }
+    while (currentIndex < prefetchers.size()) {
+      LogFilePrefetcher prefetcher = prefetchers.get(currentIndex);
+      PrefetchedBlock prefetchedBlock = prefetcher.take();
+      if (prefetchedBlock.error != null) {
+        throw toHoodieException(prefetcher.logFile, prefetchedBlock.error);
+      }
+      if (prefetchedBlock.block == null) {
+        // End of the log file; move on to the next one and start prefetching a further log file
+        advance();
+        continue;
+      }
+      release(prefetchedBlock.sizeInBytes);
+      currentLogFile = prefetchedBlock.logFile;
+      nextBlock = prefetchedBlock.block;
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public HoodieLogBlock next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    HoodieLogBlock block = nextBlock;
+    nextBlock = null;
+    return block;
+  }
+
+  @Override
+  public HoodieLogFile getLogFile() {
+    if (currentLogFile == null && !prefetchers.isEmpty()) {
+      return prefetchers.get(Math.min(currentIndex, prefetchers.size() - 1)).logFile;
+    }
+    return currentLogFile;
+  }
+
+  @Override
+  public void remove() {
+  }
+
+  @Override
+  public boolean hasPrev() {
+    throw new UnsupportedOperationException("Reverse reading is not supported by " + getClass().getSimpleName());
+  }
+
+  @Override
+  public HoodieLogBlock prev() throws IOException {
+    throw new UnsupportedOperationException("Reverse reading is not supported by " + getClass().getSimpleName());
+  }
+
+  long getBufferedBytes() {
+    synchronized (bufferLock) {
+      return bufferedBytes;
+    }
+  }
+
+  private static HoodieException toHoodieException(HoodieLogFile logFile, Throwable error) {
+    if (error instanceof HoodieException) {
+      return (HoodieException) error;
+    }
+    String message = "Unable to prefetch log blocks from log file " + logFile;
+    return error instanceof IOException ? new HoodieIOException(message, (IOException) error) : new HoodieException(message, error);
+  }
+
+  private void advance() {
+    LOG.debug("Finished reading the prefetched blocks of log file {}", prefetchers.get(currentIndex).logFile);
+    synchronized (bufferLock) {
+      currentIndex++;
+      // The prefetcher of the new current log file is no longer bound by the byte limit
+      bufferLock.notifyAll();
+    }
+    if (numSubmitted < prefetchers.size()) {
+      executorService.submit(prefetchers.get(numSubmitted++));
+    }
+  }
+
+  private void acquire(LogFilePrefetcher prefetcher, long sizeInBytes) throws InterruptedException {
+    synchronized (bufferLock) {
+      while (!prefetcher.cancelled && prefetcher.index != currentIndex
+          && bufferedBytes > 0 && bufferedBytes + sizeInBytes > maxBufferedBytes) {
+        bufferLock.wait();
+      }
+      bufferedBytes += sizeInBytes;
+    }
+  }
+
+  private void release(long sizeInBytes) {
+    synchronized (bufferLock) {
+      bufferedBytes -= sizeInBytes;
+      bufferLock.notifyAll();
+    }
+  }
+
+  /**
+   * Reads the blocks of one log file in order into a bounded queue.
+   */
+  private class LogFilePrefetcher implements Runnable {
+    private final int index;
+    private final HoodieLogFile logFile;
+    private final BlockingQueue<PrefetchedBlock> queue;
+    private volatile boolean cancelled = false;
+
+    LogFilePrefetcher(int index, HoodieLogFile logFile, int maxBufferedBlocks) {
+      this.index = index;
+      this.logFile = logFile;
+      this.queue = new ArrayBlockingQueue<>(maxBufferedBlocks);
+    }
+
+    @Override
+    public void run() {
+      PrefetchedBlock lastBlock = PrefetchedBlock.endOfFile();
+      try (HoodieLogFileReader reader = new HoodieLogFileReader(storage, logFile, readerSchema, bufferSize, false,
+          enableInlineReading, recordKeyField, internalSchema)) {
+        while (!cancelled && reader.hasNext()) {
+          HoodieLogBlock block = reader.next();
+          if (!enableInlineReading && (block instanceof HoodieDataBlock || block instanceof HoodieDeleteBlock)) {
+            block.prefetchContent();
+          }
+          long sizeInBytes = block.getContent().map(content -> (long) content.length).orElse(0L);
+          acquire(this, sizeInBytes);
+          queue.put(new PrefetchedBlock(reader.getLogFile(), block, sizeInBytes, null));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      } catch (Throwable t) {
+        lastBlock = new PrefetchedBlock(logFile, null, 0L, t);
+      }
+      try {
+        if (!cancelled) {
+          queue.put(lastBlock);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    PrefetchedBlock take() {
+      try {
+        return queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new HoodieException("Interrupted while waiting for the prefetched blocks of log file " + logFile, e);
+      }
+    }
+  }
+
+  /**
+   * A prefetched log block, or the end of a log file if the block is null, or the error of reading a log file.
+   */
+  private static class PrefetchedBlock {
+    private final HoodieLogFile logFile;
+    private final HoodieLogBlock block;
+    private final long sizeInBytes;
+    private final Throwable error;
+
+    PrefetchedBlock(HoodieLogFile logFile, HoodieLogBlock block, long sizeInBytes, Throwable error) {
+      this.logFile = logFile;
+      this.block = block;
+      this.sizeInBytes = sizeInBytes;
+      this.error = error;
+    }
+
+    static PrefetchedBlock endOfFile() {
+      return new PrefetchedBlock(null, null, 0L, null);
+    }
+  }
+}
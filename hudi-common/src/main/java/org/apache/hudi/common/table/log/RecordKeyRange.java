@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.ValidationUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A range of record keys from an inclusive start key to an exclusive end key, either of which may be
+ * unbounded. Used to split the compaction of a file group into sub-tasks on disjoint key ranges.
+ * <p>
+ * The keys are compared by their Unicode code points, see {@link #compareKeys}, which is the order of
+ * their UTF-8 bytes, the same as the order of the string column statistics of Parquet files.
+ */
+public class RecordKeyRange implements Serializable {
+  private static final long serialVersionUID = 1L;
+
+  private final Option<String> startKey;
+  private final Option<String> endKey;
+
+  public RecordKeyRange(String startKey, String endKey) {
+    this.startKey = Option.ofNullable(startKey);
+    this.endKey = Option.ofNullable(endKey);
+  }
+
+  /**
+   * Returns the key ranges delimited by the given split points, which cover all the record keys.
+   *
+   * @param splitPoints the split points in ascending order, each of which starts a new range.
+   * @return {@code splitPoints.size() + 1} consecutive key ranges.
+   */
+  public static List<RecordKeyRange> fromSplitPoints(List<String> splitPoints) {
+    List<RecordKeyRange> ranges = new ArrayList<>(splitPoints.size() + 1);
+    String startKey = null;
+    for (String splitPoint : splitPoints) {
+      ValidationUtils.checkArgument(startKey == null || compareKeys(startKey, splitPoint) < 0,
+          () -> "The split points must be in strictly ascending order: " + splitPoints);
+      ranges.add(new RecordKeyRange(startKey, splitPoint));
+      startKey = splitPoint;
+    }
+    ranges.add(new RecordKeyRange(startKey, null));
+    return ranges;
+  }
+
+  public Option<String> getStartKey() {
+    return startKey;
+  }
+
+  public Option<String> getEndKey() {
+    return endKey;
+  }
+
+  public boolean contains(String key) {
+    return (startKey.isEmpty() || compareKeys(key, startKey.get()) >= 0)
+        && (endKey.isEmpty() || compareKeys(key, endKey.get()) < 0);
+  }
+
+  /**
+   * Compares two record keys by their Unicode code points. This differs from {@link String#compareTo},
+   * which compares the UTF-16 chars, only for the keys with supplementary characters.
+   */
+  public static int compareKeys(String key1, String key2) {
+    int length = Math.min(key1.length(), key2.length());
+    for (int i = 0; i < length; i++) {
+      if (key1.charAt(i) != key2.charAt(i)) {
+        // The chars before are equal, so a surrogate pair is compared as a whole
+        return Integer.compare(key1.codePointAt(i), key2.codePointAt(i));
+      }
+    }
+    return Integer.compare(key1.length(), key2.length());
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (o == null || getClass() != o.getClass()) {
+      return false;
+    }
+    RecordKeyRange that = (RecordKeyRange) o;
+    return Objects.equals(startKey, that.startKey) && Objects.equals(endKey, that.endKey);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(startKey, endKey);
+  }
+
+  @Override
+  public String toString() {
+    return "RecordKeyRange{"
+        + "startKey='" + (startKey.isEmpty() ? "-INF" : startKey.get()) + '\''
+        + ", endKey='" + (endKey.isEmpty() ? "+INF" : endKey.get()) + '\''
+        + '}';
+  }
+}
@@ -396,6 +396,17 @@ public abstract class HoodieLogBlock {
     }
   }
 
+  /**
+   * Reads the content of a lazily read log block into memory ahead of its use, e.g., on a prefetching
+   * thread, so that the content is not read from storage by the thread that decodes the block.
+   * It is a no-op if the content is already in memory.
+   */
+  public void prefetchContent() throws HoodieIOException {
+    if (!content.isPresent() && inputStreamSupplier != null && blockContentLocation.isPresent()) {
+      inflate();
+    }
+  }
+
   /**
    * When lazyReading of blocks is turned on, inflate the content of a log block from disk.
    */
@@ -237,6 +237,18 @@ public abstract class FileGroupRecordBuffer<T> implements HoodieFileGroupRecordB
   protected Option<BufferedRecord<T>> doProcessNextDataRecord(BufferedRecord<T> newRecord, BufferedRecord<T> existingRecord)
       throws IOException {
     totalLogRecords++;
+    return mergeLogRecords(newRecord, existingRecord);
+  }
+
+  /**
+   * Merge two log data records if needed, without counting the new record as a processed log record.
+   *
+   * @param newRecord                  The new incoming record
+   * @param existingRecord             The existing record
+   * @return the {@link BufferedRecord} that needs to be updated, returns empty to skip the update.
+   */
+  protected Option<BufferedRecord<T>> mergeLogRecords(BufferedRecord<T> newRecord, BufferedRecord<T> existingRecord)
+      throws IOException {
     if (existingRecord != null) {
       if (enablePartialMerging) {
         // TODO(HUDI-7843): decouple the merging logic from the merger
@@ -335,18 +347,31 @@ public abstract class FileGroupRecordBuffer<T> implements HoodieFileGroupRecordB
    */
   protected Option<DeleteRecord> doProcessNextDeletedRecord(DeleteRecord deleteRecord, BufferedRecord<T> existingRecord) {
     totalLogRecords++;
+    return shouldApplyDelete(deleteRecord.getOrderingValue(), existingRecord)
+        ? Option.of(deleteRecord)
+        : Option.empty();
+  }
+
+  /**
+   * Decides whether a delete with the given ordering value overrides the existing record.
+   *
+   * @param deleteOrderingVal          The ordering value of the delete
+   * @param existingRecord             The existing {@link BufferedRecord}
+   *
+   * @return true if the delete should be applied; false if the existing record should be kept.
+   */
+  protected boolean shouldApplyDelete(Comparable deleteOrderingVal, BufferedRecord<T> existingRecord) {
     if (existingRecord != null) {
       switch (recordMergeMode) {
         case COMMIT_TIME_ORDERING:
-          return Option.of(deleteRecord);
+          return true;
         case EVENT_TIME_ORDERING:
         case CUSTOM:
         default:
           if (existingRecord.isCommitTimeOrderingDelete()) {
-            return Option.empty();
+            return false;
           }
           Comparable existingOrderingVal = existingRecord.getOrderingValue();
-          Comparable deleteOrderingVal = deleteRecord.getOrderingValue();
           // Checks the ordering value does not equal to 0
           // because we use 0 as the default value which means natural order
           boolean chooseExisting = !deleteOrderingVal.equals(0)
@@ -354,12 +379,12 @@ public abstract class FileGroupRecordBuffer<T> implements HoodieFileGroupRecordB
               && existingOrderingVal.compareTo(deleteOrderingVal) > 0;
           if (chooseExisting) {
             // The DELETE message is obsolete if the old message has greater orderingVal.
-            return Option.empty();
+            return false;
           }
       }
     }
     // Do delete.
-    return Option.of(deleteRecord);
+    return true;
   }
 
   /**
@@ -27,6 +27,7 @@ import org.apache.hudi.common.engine.HoodieReaderContext;
 import org.apache.hudi.common.model.BaseFile;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieFileFormat;
 import org.apache.hudi.common.model.HoodieLogFile;
 import org.apache.hudi.common.table.HoodieTableConfig;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
@@ -53,10 +54,14 @@ import java.util.List;
 import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BLOCKS;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_MAX_BYTES;
+import static org.apache.hudi.common.config.HoodieReaderConfig.LOG_BLOCK_PREFETCH_PARALLELISM;
 import static org.apache.hudi.common.config.HoodieReaderConfig.RECORD_MERGE_IMPL_CLASSES_DEPRECATED_WRITE_CONFIG_KEY;
 import static org.apache.hudi.common.config.HoodieReaderConfig.RECORD_MERGE_IMPL_CLASSES_WRITE_CONFIG_KEY;
 import static org.apache.hudi.common.fs.FSUtils.getRelativePartitionPath;
 import static org.apache.hudi.common.util.ConfigUtils.getIntWithAltKeys;
+import static org.apache.hudi.common.util.ConfigUtils.getLongWithAltKeys;
 
 /**
  * A file group reader that iterates through the records in a single file group.
@@ -128,7 +133,9 @@ public final class HoodieFileGroupReader<T> implements Closeable {
     readerContext.setTablePath(tablePath);
     readerContext.setLatestCommitTime(latestCommitTime);
     boolean isSkipMerge = ConfigUtils.getStringWithAltKeys(props, HoodieReaderConfig.MERGE_TYPE, true).equalsIgnoreCase(HoodieReaderConfig.REALTIME_SKIP_MERGE);
-    readerContext.setShouldMergeUseRecordPosition(shouldUseRecordPosition && !isSkipMerge);
+    boolean isSortedRunMerge = props.getBoolean(HoodieReaderConfig.MERGE_WITH_SORTED_RUNS.key(), HoodieReaderConfig.MERGE_WITH_SORTED_RUNS.defaultValue())
+        && isBaseFileSortedByRecordKey(hoodieBaseFileOption);
+    readerContext.setShouldMergeUseRecordPosition(shouldUseRecordPosition && !isSkipMerge && !isSortedRunMerge);
     readerContext.setHasLogFiles(!this.logFiles.isEmpty());
     if (readerContext.getHasLogFiles() && start != 0) {
       throw new IllegalArgumentException("Filegroup reader is doing log file merge but not reading from the start of the base file");
@@ -141,10 +148,21 @@ public final class HoodieFileGroupReader<T> implements Closeable {
     this.readStats = new HoodieReadStats();
     this.recordBuffer = getRecordBuffer(readerContext, hoodieTableMetaClient,
         recordMergeMode, props, hoodieBaseFileOption, this.logFiles.isEmpty(),
-        isSkipMerge, shouldUseRecordPosition, readStats);
+        isSkipMerge, isSortedRunMerge, shouldUseRecordPosition, readStats);
     this.allowInflightInstants = allowInflightInstants;
   }
 
+  /**
+   * The merge-join with sorted runs of log records requires the base file records to be sorted by the record key,
+   * which only holds for HFile base files. Parquet and ORC base files are not guaranteed to be sorted, so their
+   * log records are merged with the key based buffer instead.
+   */
+  static boolean isBaseFileSortedByRecordKey(Option<HoodieBaseFile> baseFileOption) {
+    return !baseFileOption.isPresent()
+        || (baseFileOption.get().getFileName().endsWith(HoodieFileFormat.HFILE.getFileExtension())
+        && !baseFileOption.get().getBootstrapBaseFile().isPresent());
+  }
+
   /**
    * Initialize correct record buffer
    */
@@ -155,6 +173,7 @@ public final class HoodieFileGroupReader<T> implements Closeable {
                                                        Option<HoodieBaseFile> baseFileOption,
                                                        boolean hasNoLogFiles,
                                                        boolean isSkipMerge,
+                                                       boolean isSortedRunMerge,
                                                        boolean shouldUseRecordPosition,
                                                        HoodieReadStats readStats) {
     if (hasNoLogFiles) {
@@ -162,6 +181,9 @@ public final class HoodieFileGroupReader<T> implements Closeable {
     } else if (isSkipMerge) {
       return new UnmergedFileGroupRecordBuffer<>(
           readerContext, hoodieTableMetaClient, recordMergeMode, Option.empty(), Option.empty(), props, readStats);
+    } else if (isSortedRunMerge) {
+      return new SortedKeyBasedFileGroupRecordBuffer<>(
+          readerContext, hoodieTableMetaClient, recordMergeMode, Option.empty(), Option.empty(), props, readStats);
     } else if (shouldUseRecordPosition && baseFileOption.isPresent()) {
       return new PositionBasedFileGroupRecordBuffer<>(
           readerContext, hoodieTableMetaClient, recordMergeMode, Option.empty(),
@@ -300,6 +322,9 @@ public final class HoodieFileGroupReader<T> implements Closeable {
             new StoragePath(path), logFiles.get(0).getPath().getParent()))
         .withRecordBuffer(recordBuffer)
         .withAllowInflightInstants(allowInflightInstants)
+        .withLogBlockPrefetchParallelism(getIntWithAltKeys(props, LOG_BLOCK_PREFETCH_PARALLELISM))
+        .withMaxPrefetchedLogBlocks(getIntWithAltKeys(props, LOG_BLOCK_PREFETCH_MAX_BLOCKS))
+        .withMaxPrefetchedLogBlockBytes(getLongWithAltKeys(props, LOG_BLOCK_PREFETCH_MAX_BYTES))
         .build()) {
       readStats.setTotalLogReadTimeMs(logRecordReader.getTotalTimeTakenToReadAndMergeBlocks());
       readStats.setTotalUpdatedRecordsCompacted(logRecordReader.getNumMergedRecordsInLog());
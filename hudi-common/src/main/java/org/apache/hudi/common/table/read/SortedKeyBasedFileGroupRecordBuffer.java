@@ -0,0 +1,428 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.table.read;
+
+import org.apache.hudi.common.config.RecordMergeMode;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.engine.HoodieReaderContext;
+import org.apache.hudi.common.model.DeleteRecord;
+import org.apache.hudi.common.serialization.DefaultSerializer;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.FileIOUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.exception.HoodieIOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.UUID;
+
+import static org.apache.hudi.common.config.HoodieMemoryConfig.SPILLABLE_MAP_BASE_PATH;
+
+/**
+ * A record key based buffer that spills the log records in sorted runs instead of a random-access disk map.
+ * <p>
+ * Log records are merged in memory as in {@link KeyBasedFileGroupRecordBuffer}. Whenever the in-memory
+ * records exceed the memory budget, they are sorted by the record key and written sequentially to a local
+ * file as a sorted run, and the memory is cleared. When iterating, the spilled runs and the in-memory records
+ * are merged with a k-way merge, folding the records of the same key in the log order, and joined with the
+ * base file records in a streaming merge-join. So the memory stays bounded and all I/O is sequential,
+ * instead of one random read per base file record against the spilled map.
+ * <p>
+ * The merge-join requires the base file records to be sorted by the record key, so the buffer is only used for
+ * file groups with HFile base files or without a base file, see {@link HoodieFileGroupReader}. If no run is
+ * spilled, the base file records are merged by looking up the in-memory records as in
+ * {@link KeyBasedFileGroupRecordBuffer}, which does not require sorted base files.
+ * <p>
+ * Record keys are compared by code points, which matches the byte order of the UTF-8 encoded keys.
+ */
+public class SortedKeyBasedFileGroupRecordBuffer<T> extends KeyBasedFileGroupRecordBuffer<T> {
+  private static final Logger LOG = LoggerFactory.getLogger(SortedKeyBasedFileGroupRecordBuffer.class);
+  private static final int BUFFER_SIZE = 128 * 1024; // 128 KB
+  static final Comparator<String> RECORD_KEY_COMPARATOR = SortedKeyBasedFileGroupRecordBuffer::compareRecordKeys;
+
+  private final DefaultSerializer<BufferedRecord<T>> serializer = new DefaultSerializer<>();
+  private final File spillDirectory;
+  // Sorted runs in the log order, i.e., later runs contain newer records
+  private final List<SortedRun> sortedRuns = new ArrayList<>();
+  private final List<ClosableIterator<BufferedRecord<T>>> openedRunIterators = new ArrayList<>();
+  private long numSpilledRecords = 0L;
+  // State of the merge-join
+  private Iterator<BufferedRecord<T>> mergedLogRecordIterator;
+  private BufferedRecord<T> pendingLogRecord;
+  private T pendingBaseRecord;
+  private String pendingBaseRecordKey;
+  private String lastBaseRecordKey;
+
+  public SortedKeyBasedFileGroupRecordBuffer(HoodieReaderContext<T> readerContext,
+                                             HoodieTableMetaClient hoodieTableMetaClient,
+                                             RecordMergeMode recordMergeMode,
+                                             Option<String> partitionNameOverrideOpt,
+                                             Option<String[]> partitionPathFieldOpt,
+                                             TypedProperties props,
+                                             HoodieReadStats readStats) {
+    super(readerContext, hoodieTableMetaClient, recordMergeMode, partitionNameOverrideOpt, partitionPathFieldOpt, props, readStats);
+    String spillableMapBasePath = props.getString(SPILLABLE_MAP_BASE_PATH.key(), FileIOUtils.getDefaultSpillableMapBasePath());
+    this.spillDirectory = new File(spillableMapBasePath, "hudi-sorted-runs-" + UUID.randomUUID());
+  }
+
+  @Override
+  public void processNextDataRecord(BufferedRecord<T> record, Serializable recordKey) throws IOException {
+    super.processNextDataRecord(record, recordKey);
+    spillIfNeeded();
+  }
+
+  @Override
+  public void processNextDeletedRecord(DeleteRecord deleteRecord, Serializable recordKey) {
+    super.processNextDeletedRecord(deleteRecord, recordKey);
+    spillIfNeeded();
+  }
+
+  /**
+   * @return the number of log records in memory plus the number of records in the spilled runs,
+   * which counts a record key once per run.
+   */
+  @Override
+  public int size() {
+    return (int) (records.size() + numSpilledRecords);
+  }
+
+  /**
+   * @return the log records sorted by the record key once runs are spilled.
+   */
+  @Override
+  public Iterator<BufferedRecord<T>> getLogRecordIterator() {
+    return sortedRuns.isEmpty() ? super.getLogRecordIterator() : getMergedLogRecordIterator();
+  }
+
+  @Override
+  public Map<Serializable, BufferedRecord<T>> getLogRecords() {
+    if (!sortedRuns.isEmpty()) {
+      throw new UnsupportedOperationException("Log records are spilled in sorted runs and cannot be accessed as a map");
+    }
+    return super.getLogRecords();
+  }
+
+  public int getNumSortedRuns() {
+    return sortedRuns.size();
+  }
+
+  @Override
+  protected boolean doHasNext() throws IOException {
+    if (sortedRuns.isEmpty()) {
+      return super.doHasNext();
+    }
+    ValidationUtils.checkState(baseFileIterator != null, "Base file iterator has not been set yet");
+    if (mergedLogRecordIterator == null) {
+      mergedLogRecordIterator = getMergedLogRecordIterator();
+      pendingLogRecord = nextMergedLogRecord();
+    }
+
+    while (true) {
+      if (pendingBaseRecord == null && baseFileIterator.hasNext()) {
+        setPendingBaseRecord(baseFileIterator.next());
+      }
+      if (pendingBaseRecord == null) {
+        // Base file records are exhausted; handle records solely from log files.
+        if (pendingLogRecord == null) {
+          return false;
+        }
+        if (hasNextLogRecord(consumeLogRecord())) {
+          return true;
+        }
+        continue;
+      }
+      int comparison = pendingLogRecord == null
+          ? 1 : compareRecordKeys(pendingLogRecord.getRecordKey(), pendingBaseRecordKey);
+      if (comparison < 0) {
+        // The log record has no base file record
+        if (hasNextLogRecord(consumeLogRecord())) {
+          return true;
+        }
+        continue;
+      }
+      BufferedRecord<T> logRecord = comparison == 0 ? consumeLogRecord() : null;
+      T baseRecord = pendingBaseRecord;
+      pendingBaseRecord = null;
+      if (hasNextBaseRecord(baseRecord, logRecord)) {
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    try {
+      openedRunIterators.forEach(ClosableIterator::close);
+      openedRunIterators.clear();
+      FileIOUtils.deleteDirectory(spillDirectory);
+    } catch (IOException e) {
+      LOG.warn("Error while deleting the sorted runs in {}", spillDirectory, e);
+    } finally {
+      super.close();
+    }
+  }
+
+  private void setPendingBaseRecord(T baseRecord) {
+    String recordKey = readerContext.getRecordKey(baseRecord, readerSchema);
+    if (lastBaseRecordKey != null && compareRecordKeys(lastBaseRecordKey, recordKey) > 0) {
+      // Guards against base files that are not sorted as expected, which would silently break the merge-join
+      throw new HoodieException("Base file records must be sorted by the record key to merge with sorted runs of "
+          + "log records, but " + recordKey + " comes after " + lastBaseRecordKey);
+    }
+    lastBaseRecordKey = recordKey;
+    pendingBaseRecord = baseRecord;
+    pendingBaseRecordKey = recordKey;
+  }
+
+  private BufferedRecord<T> consumeLogRecord() {
+    BufferedRecord<T> logRecord = pendingLogRecord;
+    pendingLogRecord = nextMergedLogRecord();
+    return logRecord;
+  }
+
+  private BufferedRecord<T> nextMergedLogRecord() {
+    return mergedLogRecordIterator.hasNext() ? mergedLogRecordIterator.next() : null;
+  }
+
+  private boolean hasNextLogRecord(BufferedRecord<T> logRecord) {
+    if (!logRecord.isDelete()) {
+      nextRecord = logRecord.getRecord();
+      readStats.incrementNumInserts();
+      return true;
+    }
+    readStats.incrementNumDeletes();
+    return false;
+  }
+
+  private void spillIfNeeded() {
+    // The spillable map starts spilling once the in-memory records reach the memory budget
+    if (records.getDiskBasedMapNumEntries() == 0) {
+      return;
+    }
+    File runFile = new File(spillDirectory, "run-" + sortedRuns.size());
+    List<BufferedRecord<T>> sortedRecords = getSortedInMemoryRecords();
+    try {
+      if (sortedRuns.isEmpty()) {
+        FileIOUtils.mkdir(spillDirectory);
+        spillDirectory.deleteOnExit();
+      }
+      try (DataOutputStream outputStream = new DataOutputStream(
+          new BufferedOutputStream(new FileOutputStream(runFile), BUFFER_SIZE))) {
+        for (BufferedRecord<T> record : sortedRecords) {
+          byte[] bytes = serializer.serialize(record);
+          outputStream.writeInt(bytes.length);
+          outputStream.write(bytes);
+        }
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to spill the sorted run of log records to " + runFile, e);
+    }
+    sortedRuns.add(new SortedRun(runFile, sortedRecords.size()));
+    numSpilledRecords += sortedRecords.size();
+    records.clear();
+    LOG.info("Spilled sorted run {} with {} log records to {}", sortedRuns.size(), sortedRecords.size(), runFile);
+  }
+
+  private List<BufferedRecord<T>> getSortedInMemoryRecords() {
+    List<BufferedRecord<T>> sortedRecords = new ArrayList<>(records.size());
+    records.valueStream().forEach(sortedRecords::add);
+    sortedRecords.sort(Comparator.comparing(BufferedRecord::getRecordKey, RECORD_KEY_COMPARATOR));
+    return sortedRecords;
+  }
+
+  private Iterator<BufferedRecord<T>> getMergedLogRecordIterator() {
+    List<Iterator<BufferedRecord<T>>> runIterators = new ArrayList<>(sortedRuns.size() + 1);
+    for (SortedRun sortedRun : sortedRuns) {
+      ClosableIterator<BufferedRecord<T>> runIterator = sortedRun.iterator();
+      openedRunIterators.add(runIterator);
+      runIterators.add(runIterator);
+    }
+    // The in-memory records are the newest run
+    runIterators.add(getSortedInMemoryRecords().iterator());
+    return new MergedLogRecordIterator(runIterators);
+  }
+
+  /**
+   * Folds a newer log record of the same key from a later run into the older one.
+   */
+  private BufferedRecord<T> combine(BufferedRecord<T> olderRecord, BufferedRecord<T> newerRecord) {
+    if (newerRecord.isDelete() && newerRecord.getRecord() == null) {
+      // A record from a delete block
+      return shouldApplyDelete(newerRecord.getOrderingValue(), olderRecord) ? newerRecord : olderRecord;
+    }
+    try {
+      return mergeLogRecords(newerRecord, olderRecord)
+          .map(record -> record.toBinary(readerContext))
+          .orElse(olderRecord);
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to merge log records of key " + olderRecord.getRecordKey(), e);
+    }
+  }
+
+  /**
+   * Compares record keys by code points, i.e., in the byte order of the UTF-8 encoded keys.
+   */
+  static int compareRecordKeys(String key1, String key2) {
+    int length1 = key1.length();
+    int length2 = key2.length();
+    int i = 0;
+    int j = 0;
+    while (i < length1 && j < length2) {
+      int codePoint1 = key1.codePointAt(i);
+      int codePoint2 = key2.codePointAt(j);
+      if (codePoint1 != codePoint2) {
+        return Integer.compare(codePoint1, codePoint2);
+      }
+      i += Character.charCount(codePoint1);
+      j += Character.charCount(codePoint2);
+    }
+    return Integer.compare(length1 - i, length2 - j);
+  }
+
+  /**
+   * A run of log records spilled to a local file in the order of the record key.
+   */
+  private class SortedRun {
+    private final File file;
+    private final long numRecords;
+
+    SortedRun(File file, long numRecords) {
+      this.file = file;
+      this.numRecords = numRecords;
+    }
+
+    ClosableIterator<BufferedRecord<T>> iterator() {
+      try {
+        DataInputStream inputStream = new DataInputStream(
+            new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        return new ClosableIterator<BufferedRecord<T>>() {
+          private long numRecordsRead = 0L;
+
+          @Override
+          public boolean hasNext() {
+            return numRecordsRead < numRecords;
+          }
+
+          @Override
+          public BufferedRecord<T> next() {
+            if (!hasNext()) {
+              throw new NoSuchElementException();
+            }
+            try {
+              byte[] bytes = new byte[inputStream.readInt()];
+              inputStream.readFully(bytes);
+              numRecordsRead++;
+              return serializer.deserialize(bytes);
+            } catch (IOException e) {
+              throw new HoodieIOException("Failed to read the sorted run of log records from " + file, e);
+            }
+          }
+
+          @Override
+          public void close() {
+            FileIOUtils.closeQuietly(inputStream);
+          }
+        };
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to open the sorted run of log records " + file, e);
+      }
+    }
+  }
+
+  /**
+   * Merges the sorted runs with a k-way merge, folding the records of the same key in the order of the runs.
+   */
+  private class MergedLogRecordIterator implements Iterator<BufferedRecord<T>> {
+    private final PriorityQueue<RunCursor> queue;
+
+    MergedLogRecordIterator(List<Iterator<BufferedRecord<T>>> runIterators) {
+      this.queue = new PriorityQueue<>(Math.max(1, runIterators.size()),
+          Comparator.<RunCursor, String>comparing(cursor -> cursor.current.getRecordKey(), RECORD_KEY_COMPARATOR)
+              .thenComparingInt(cursor -> cursor.runIndex));
+      for (int i = 0; i < runIterators.size(); i++) {
+        RunCursor cursor = new RunCursor(i, runIterators.get(i));
+        if (cursor.advance()) {
+          queue.add(cursor);
+        }
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      return !queue.isEmpty();
+    }
+
+    @Override
+    public BufferedRecord<T> next() {
+      if (queue.isEmpty()) {
+        throw new NoSuchElementException();
+      }
+      RunCursor cursor = queue.poll();
+      BufferedRecord<T> mergedRecord = cursor.current;
+      if (cursor.advance()) {
+        queue.add(cursor);
+      }
+      while (!queue.isEmpty() && queue.peek().current.getRecordKey().equals(mergedRecord.getRecordKey())) {
+        cursor = queue.poll();
+        mergedRecord = combine(mergedRecord, cursor.current);
+        if (cursor.advance()) {
+          queue.add(cursor);
+        }
+      }
+      return mergedRecord;
+    }
+  }
+
+  private class RunCursor {
+    private final int runIndex;
+    private final Iterator<BufferedRecord<T>> iterator;
+    private BufferedRecord<T> current;
+
+    RunCursor(int runIndex, Iterator<BufferedRecord<T>> iterator) {
+      this.runIndex = runIndex;
+      this.iterator = iterator;
+    }
+
+    boolean advance() {
+      current = iterator.hasNext() ? iterator.next() : null;
+      return current != null;
+    }
+  }
+}
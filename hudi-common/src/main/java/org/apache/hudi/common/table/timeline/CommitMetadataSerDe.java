@@ -18,7 +18,10 @@
 
 package org.apache.hudi.common.table.timeline;
 
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.storage.HoodieInstantWriter;
 
 import org.apache.avro.file.DataFileWriter;
@@ -29,6 +32,11 @@ import org.apache.avro.specific.SpecificRecordBase;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.function.BooleanSupplier;
 
 /**
@@ -40,6 +48,41 @@ public interface CommitMetadataSerDe extends Serializable {
 
   <T> Option<HoodieInstantWriter> getInstantWriter(T commitMetadata);
 
+  /**
+   * Deserializes only the partitions touched by the commit metadata of a commit, delta commit
+   * or replace commit instant, without keeping the write stats.
+   *
+   * @return the partitions with write stats on the left, and the partitions with replaced file groups
+   * on the right, which are empty for a non-replace commit.
+   */
+  default Pair<Set<String>, Set<String>> deserializeCommitPartitions(
+      HoodieInstant instant, InputStream instantStream, BooleanSupplier isEmptyInstant) throws IOException {
+    if (isReplaceCommit(instant)) {
+      HoodieReplaceCommitMetadata metadata = deserialize(instant, instantStream, isEmptyInstant, HoodieReplaceCommitMetadata.class);
+      return Pair.of(new HashSet<>(metadata.getPartitionToWriteStats().keySet()),
+          new HashSet<>(metadata.getPartitionToReplaceFileIds().keySet()));
+    }
+    HoodieCommitMetadata metadata = deserialize(instant, instantStream, isEmptyInstant, HoodieCommitMetadata.class);
+    return Pair.of(new HashSet<>(metadata.getPartitionToWriteStats().keySet()), Collections.emptySet());
+  }
+
+  /**
+   * Deserializes only the extra metadata of the commit metadata of a commit, delta commit
+   * or replace commit instant.
+   */
+  default Map<String, String> deserializeExtraMetadata(
+      HoodieInstant instant, InputStream instantStream, BooleanSupplier isEmptyInstant) throws IOException {
+    HoodieCommitMetadata metadata = isReplaceCommit(instant)
+        ? deserialize(instant, instantStream, isEmptyInstant, HoodieReplaceCommitMetadata.class)
+        : deserialize(instant, instantStream, isEmptyInstant, HoodieCommitMetadata.class);
+    return new HashMap<>(metadata.getExtraMetadata());
+  }
+
+  static boolean isReplaceCommit(HoodieInstant instant) {
+    return HoodieTimeline.REPLACE_COMMIT_ACTION.equals(instant.getAction())
+        || HoodieTimeline.CLUSTERING_ACTION.equals(instant.getAction());
+  }
+
   static <T extends SpecificRecordBase> Option<HoodieInstantWriter> getInstantWriter(Option<T> metadata) {
     if (metadata.isEmpty()) {
       return Option.empty();
@@ -82,6 +82,20 @@ public interface HoodieArchivedTimeline extends HoodieTimeline {
     public boolean isInRange(String instantTime) {
       return InstantComparison.isInRange(instantTime, this.startTs, this.endTs);
     }
+
+    /**
+     * Returns the start of the range, or null if the range has no lower bound.
+     */
+    public String getStartTs() {
+      return startTs;
+    }
+
+    /**
+     * Returns the end of the range, or null if the range has no upper bound.
+     */
+    public String getEndTs() {
+      return endTs;
+    }
   }
 
   /**
@@ -39,6 +39,13 @@ public interface HoodieInstantReader {
     throw new RuntimeException("Not implemented");
   }
 
+  /**
+   * Returns the cache of the commit metadata of the completed instants read through this reader, if any.
+   */
+  default Option<InstantMetadataCache> getInstantMetadataCache() {
+    return Option.empty();
+  }
+
   /**
    * Reads the provided instant's content into a byte array for parsing.
    * @param instant the instant to read
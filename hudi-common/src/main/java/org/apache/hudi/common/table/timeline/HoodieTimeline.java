@@ -32,12 +32,14 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.versioning.TimelineLayoutVersion;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.storage.HoodieInstantWriter;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -154,6 +156,37 @@ public interface HoodieTimeline extends HoodieInstantReader, Serializable {
         instant, getInstantContentStream(instant), () -> false, clazz);
   }
 
+  /**
+   * Read only the partitions touched by the commit metadata of a commit, delta commit or replace commit instant,
+   * without deserializing the write stats. The result of a completed instant is cached if the instant reader
+   * has an {@link InstantMetadataCache}.
+   *
+   * @param instant the instant to read
+   * @return the partitions with write stats on the left, and the partitions with replaced file groups on the right
+   * @throws IOException when reading instant content fails
+   */
+  default Pair<Set<String>, Set<String>> readCommitPartitions(HoodieInstant instant) throws IOException {
+    Option<InstantMetadataCache> cache = instant.isCompleted() ? getInstantReader().getInstantMetadataCache() : Option.empty();
+    return cache.isPresent()
+        ? cache.get().getCommitPartitions(this, instant)
+        : InstantMetadataCache.loadCommitPartitions(this, instant);
+  }
+
+  /**
+   * Read only the extra metadata of the commit metadata of a commit, delta commit or replace commit instant.
+   * The result of a completed instant is cached if the instant reader has an {@link InstantMetadataCache}.
+   *
+   * @param instant the instant to read
+   * @return the extra metadata
+   * @throws IOException when reading instant content fails
+   */
+  default Map<String, String> readExtraMetadata(HoodieInstant instant) throws IOException {
+    Option<InstantMetadataCache> cache = instant.isCompleted() ? getInstantReader().getInstantMetadataCache() : Option.empty();
+    return cache.isPresent()
+        ? cache.get().getExtraMetadata(this, instant)
+        : InstantMetadataCache.loadExtraMetadata(this, instant);
+  }
+
   /**
    * Read and deserialize commit metadata from an instant
    *
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline;
+
+import org.apache.hudi.common.util.collection.Pair;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cache of the parts of the commit metadata of completed instants that are read when scanning
+ * many instants of the timeline, e.g., the partitions written since an instant for incremental
+ * pulls and cleaning, and the extra metadata such as checkpoints.
+ * <p>
+ * Each part is projected out of the instant file lazily on the first access, see
+ * {@link CommitMetadataSerDe#deserializeCommitPartitions} and {@link CommitMetadataSerDe#deserializeExtraMetadata},
+ * so the write stats are never materialized. The file of a completed instant is immutable, so the
+ * cache is shared by all the timelines of a {@link org.apache.hudi.common.table.HoodieTableMetaClient}
+ * across reloads, and the least recently used instants are evicted beyond the maximum number of entries.
+ */
+public class InstantMetadataCache {
+  public static final int DEFAULT_MAX_ENTRIES = 10000;
+
+  private final int maxEntries;
+  // Access-ordered so that the eldest entry is the least recently used instant
+  private final LinkedHashMap<String, CachedMetadata> cache;
+
+  public InstantMetadataCache() {
+    this(DEFAULT_MAX_ENTRIES);
+  }
+
+  public InstantMetadataCache(int maxEntries) {
+    this.maxEntries = maxEntries;
+    this.cache = new LinkedHashMap<String, CachedMetadata>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, CachedMetadata> eldest) {
+        return size() > InstantMetadataCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the partitions with write stats on the left, and the partitions with replaced file groups
+   * on the right, of the commit metadata of a completed commit, delta commit or replace commit instant.
+   */
+  public Pair<Set<String>, Set<String>> getCommitPartitions(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
+    CachedMetadata metadata = getOrCreate(instant);
+    Pair<Set<String>, Set<String>> partitions = metadata.partitions;
+    if (partitions == null) {
+      // Loaded without holding the lock; concurrent misses on the same instant load the same content
+      partitions = loadCommitPartitions(timeline, instant);
+      metadata.partitions = partitions;
+    }
+    return partitions;
+  }
+
+  /**
+   * Returns the extra metadata of the commit metadata of a completed commit, delta commit or replace commit instant.
+   */
+  public Map<String, String> getExtraMetadata(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
+    CachedMetadata metadata = getOrCreate(instant);
+    Map<String, String> extraMetadata = metadata.extraMetadata;
+    if (extraMetadata == null) {
+      extraMetadata = loadExtraMetadata(timeline, instant);
+      metadata.extraMetadata = extraMetadata;
+    }
+    return extraMetadata;
+  }
+
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  public synchronized void clear() {
+    cache.clear();
+  }
+
+  static Pair<Set<String>, Set<String>> loadCommitPartitions(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
+    Pair<Set<String>, Set<String>> partitions = TimelineLayout.fromVersion(timeline.getTimelineLayoutVersion()).getCommitMetadataSerDe()
+        .deserializeCommitPartitions(instant, timeline.getInstantContentStream(instant), () -> timeline.isEmpty(instant));
+    return Pair.of(Collections.unmodifiableSet(partitions.getLeft()), Collections.unmodifiableSet(partitions.getRight()));
+  }
+
+  static Map<String, String> loadExtraMetadata(HoodieTimeline timeline, HoodieInstant instant) throws IOException {
+    return Collections.unmodifiableMap(TimelineLayout.fromVersion(timeline.getTimelineLayoutVersion()).getCommitMetadataSerDe()
+        .deserializeExtraMetadata(instant, timeline.getInstantContentStream(instant), () -> timeline.isEmpty(instant)));
+  }
+
+  private synchronized CachedMetadata getOrCreate(HoodieInstant instant) {
+    // The completion time tells apart the instants completed again with the same instant time after a rollback
+    String key = instant.requestedTime() + "_" + instant.getAction() + "_" + instant.getCompletionTime();
+    return cache.computeIfAbsent(key, k -> new CachedMetadata());
+  }
+
+  /**
+   * The parts of the commit metadata of an instant, each loaded on the first access.
+   */
+  private static class CachedMetadata {
+    private volatile Pair<Set<String>, Set<String>> partitions;
+    private volatile Map<String, String> extraMetadata;
+  }
+}
@@ -40,6 +40,9 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
+import static org.apache.hudi.common.table.timeline.InstantComparison.GREATER_THAN_OR_EQUALS;
+import static org.apache.hudi.common.table.timeline.InstantComparison.LESSER_THAN_OR_EQUALS;
+import static org.apache.hudi.common.table.timeline.InstantComparison.compareTimestamps;
 import static org.apache.hudi.common.util.StringUtils.fromUTF8Bytes;
 
 /**
@@ -141,7 +144,13 @@ public class LSMTimeline {
   public static boolean isFileInRange(HoodieArchivedTimeline.TimeRangeFilter filter, String fileName) {
     String minInstant = getMinInstantTime(fileName);
     String maxInstant = getMaxInstantTime(fileName);
-    return filter.isInRange(minInstant) || filter.isInRange(maxInstant);
+    if (filter.isInRange(minInstant) || filter.isInRange(maxInstant)) {
+      return true;
+    }
+    // the file may also span the whole range of the filter
+    return filter.getEndTs() != null
+        && (filter.getStartTs() == null || compareTimestamps(minInstant, LESSER_THAN_OR_EQUALS, filter.getStartTs()))
+        && compareTimestamps(maxInstant, GREATER_THAN_OR_EQUALS, filter.getEndTs());
   }
 
   /**
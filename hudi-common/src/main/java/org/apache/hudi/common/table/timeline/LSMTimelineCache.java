@@ -0,0 +1,149 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline;
+
+import org.apache.hudi.common.util.VisibleForTesting;
+
+import org.apache.avro.generic.GenericRecord;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * An in-process cache of the archived instants of the LSM timelines loaded with
+ * {@link HoodieArchivedTimeline.LoadMode#TIME}, i.e., the instant times and the completion times, which are
+ * looked up repeatedly by the completion time query views.
+ *
+ * <p>The files of a snapshot of the LSM timeline are immutable, so the cached instants of a table stay valid
+ * as long as the latest snapshot has the same manifest version and files. The instants of a table are cached
+ * from the earliest instant time loaded on, so that loading earlier instants only reads the missing range.
+ * The instants of the least recently used tables are evicted beyond {@link #MAX_CACHED_TIMELINES} tables.
+ */
+public class LSMTimelineCache {
+
+  private static final int MAX_CACHED_TIMELINES = 64;
+  private static final LSMTimelineCache INSTANCE = new LSMTimelineCache();
+
+  // Archive path -> cached instants of the latest snapshot, in access order
+  private final LinkedHashMap<String, CachedSnapshot> snapshots = new LinkedHashMap<String, CachedSnapshot>(16, 0.75f, true) {
+    @Override
+    protected boolean removeEldestEntry(Map.Entry<String, CachedSnapshot> eldest) {
+      return size() > MAX_CACHED_TIMELINES;
+    }
+  };
+
+  public static LSMTimelineCache getInstance() {
+    return INSTANCE;
+  }
+
+  /**
+   * Returns the cached instants of the snapshot of the LSM timeline, replacing the cached instants of
+   * another snapshot of the same timeline.
+   *
+   * @param archivePath path of the LSM timeline.
+   * @param version     manifest version of the snapshot.
+   * @param fileNames   files of the snapshot.
+   * @return the cached instants of the snapshot.
+   */
+  public synchronized CachedSnapshot getSnapshot(String archivePath, int version, List<String> fileNames) {
+    CachedSnapshot snapshot = snapshots.get(archivePath);
+    if (snapshot == null || snapshot.version != version || !snapshot.fileNames.equals(fileNames)) {
+      snapshot = new CachedSnapshot(version, fileNames);
+      snapshots.put(archivePath, snapshot);
+    }
+    return snapshot;
+  }
+
+  @VisibleForTesting
+  public synchronized void clear() {
+    snapshots.clear();
+  }
+
+  /**
+   * The instants of a snapshot of the LSM timeline loaded so far, keyed by the instant time.
+   *
+   * <p>All the instants of the snapshot from {@link #loadedStartTs} on are loaded, or all the instants if
+   * {@link #loadedAll}. The callers synchronize on the instance to load the missing instants.
+   */
+  public static class CachedSnapshot {
+    private final int version;
+    private final List<String> fileNames;
+    private final ConcurrentSkipListMap<String, GenericRecord> records = new ConcurrentSkipListMap<>();
+    private volatile String loadedStartTs;
+    private volatile boolean loadedAll = false;
+
+    CachedSnapshot(int version, List<String> fileNames) {
+      this.version = version;
+      this.fileNames = fileNames;
+    }
+
+    /**
+     * Returns whether all the instants from the given instant time on are loaded.
+     *
+     * @param startTs the instant time, or null for all the instants.
+     */
+    public boolean isLoaded(String startTs) {
+      return loadedAll || (startTs != null && loadedStartTs != null && startTs.compareTo(loadedStartTs) >= 0);
+    }
+
+    /**
+     * Returns the earliest instant time from which on all the instants are loaded, or null if none is loaded.
+     */
+    public String getLoadedStartTs() {
+      return loadedStartTs;
+    }
+
+    public void addRecord(String instantTime, GenericRecord record) {
+      records.putIfAbsent(instantTime, record);
+    }
+
+    /**
+     * Marks all the instants from the given instant time on as loaded.
+     *
+     * @param startTs the instant time, or null for all the instants.
+     */
+    public void markLoaded(String startTs) {
+      if (startTs == null) {
+        loadedAll = true;
+      } else if (loadedStartTs == null || startTs.compareTo(loadedStartTs) < 0) {
+        loadedStartTs = startTs;
+      }
+    }
+
+    /**
+     * Returns the loaded instants in the range, inclusive.
+     *
+     * @param startTs the start of the range, or null if unbounded.
+     * @param endTs   the end of the range, or null if unbounded.
+     */
+    public NavigableMap<String, GenericRecord> getRecords(String startTs, String endTs) {
+      NavigableMap<String, GenericRecord> range = records;
+      if (startTs != null) {
+        range = range.tailMap(startTs, true);
+      }
+      if (endTs != null) {
+        range = range.headMap(endTs, true);
+      }
+      return range;
+    }
+  }
+}
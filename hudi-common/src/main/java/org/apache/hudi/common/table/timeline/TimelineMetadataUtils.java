@@ -30,11 +30,14 @@ import org.apache.hudi.common.util.ValidationUtils;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.storage.StoragePathInfo;
 
+import org.apache.avro.Schema;
 import org.apache.avro.file.DataFileReader;
 import org.apache.avro.file.DataFileStream;
 import org.apache.avro.file.DataFileWriter;
 import org.apache.avro.file.FileReader;
 import org.apache.avro.file.SeekableByteArrayInput;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.io.DatumReader;
 import org.apache.avro.io.DatumWriter;
 import org.apache.avro.specific.SpecificDatumReader;
@@ -137,4 +140,18 @@ public class TimelineMetadataUtils {
       return fileReader.next();
     }
   }
+
+  /**
+   * Deserializes the Avro metadata with the given reader schema, which may be a projection of the
+   * writer schema: the fields and nested record fields not in the reader schema are skipped by the
+   * decoder without being materialized.
+   */
+  public static GenericRecord deserializeAvroMetadata(InputStream inputStream, Schema readerSchema)
+      throws IOException {
+    DatumReader<GenericRecord> reader = new GenericDatumReader<>(readerSchema);
+    try (DataFileStream<GenericRecord> fileReader = new DataFileStream<>(inputStream, reader)) {
+      ValidationUtils.checkArgument(fileReader.hasNext(), "Could not deserialize metadata of schema " + readerSchema.getFullName());
+      return fileReader.next();
+    }
+  }
 }
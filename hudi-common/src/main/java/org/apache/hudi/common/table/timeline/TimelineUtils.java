@@ -156,8 +156,7 @@ public class TimelineUtils {
         .filter(instant -> compareTimestamps(instant.requestedTime(), GREATER_THAN_OR_EQUALS, earliestDeleteTimestamp))
         .flatMap(instant -> {
           try {
-            HoodieCommitMetadata commitMetadata = getCommitMetadata(instant, completedTimeline);
-            return commitMetadata.getWritePartitionPaths().stream()
+            return completedTimeline.readCommitPartitions(instant).getLeft().stream()
                 .map(partition -> new AbstractMap.SimpleEntry<>(partition, instant.requestedTime()));
           } catch (IOException e) {
             throw new HoodieIOException("Failed to get partitions writes at " + instant, e);
@@ -179,17 +178,16 @@ public class TimelineUtils {
         case COMMIT_ACTION:
         case DELTA_COMMIT_ACTION:
           try {
-            HoodieCommitMetadata commitMetadata = timeline.readCommitMetadata(s);
-            return commitMetadata.getPartitionToWriteStats().keySet().stream();
+            return timeline.readCommitPartitions(s).getLeft().stream();
           } catch (IOException e) {
             throw new HoodieIOException("Failed to get partitions written at " + s, e);
           }
         case REPLACE_COMMIT_ACTION:
           try {
-            HoodieReplaceCommitMetadata commitMetadata = timeline.readReplaceCommitMetadata(s);
+            Pair<Set<String>, Set<String>> commitPartitions = timeline.readCommitPartitions(s);
             Set<String> partitions = new HashSet<>();
-            partitions.addAll(commitMetadata.getPartitionToReplaceFileIds().keySet());
-            partitions.addAll(commitMetadata.getPartitionToWriteStats().keySet());
+            partitions.addAll(commitPartitions.getRight());
+            partitions.addAll(commitPartitions.getLeft());
             return partitions.stream();
           } catch (IOException e) {
             throw new HoodieIOException("Failed to get partitions modified at " + s, e);
@@ -264,10 +262,8 @@ public class TimelineUtils {
   private static Option<String> getMetadataValue(HoodieTableMetaClient metaClient, String extraMetadataKey, HoodieInstant instant) {
     try {
       LOG.info("reading checkpoint info for:" + instant + " key: " + extraMetadataKey);
-      HoodieCommitMetadata commitMetadata =
-          metaClient.getCommitsTimeline().readCommitMetadata(instant);
-
-      return Option.ofNullable(commitMetadata.getExtraMetadata().get(extraMetadataKey));
+      Map<String, String> extraMetadata = metaClient.getCommitsTimeline().readExtraMetadata(instant);
+      return Option.ofNullable(extraMetadata.get(extraMetadataKey));
     } catch (IOException e) {
       throw new HoodieIOException("Unable to parse instant metadata " + instant, e);
     }
@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline.dto;
+
+import org.apache.hudi.common.table.view.FileSlicePage;
+import org.apache.hudi.common.util.Option;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The data transfer object of a {@link FileSlicePage}.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FileSlicePageDTO {
+
+  @JsonProperty("fileSlices")
+  List<FileSliceDTO> fileSlices;
+  @JsonProperty("nextCursor")
+  String nextCursor;
+
+  public static FileSlicePageDTO fromFileSlicePage(FileSlicePage page) {
+    FileSlicePageDTO dto = new FileSlicePageDTO();
+    dto.fileSlices = page.getFileSlices().stream().map(FileSliceDTO::fromFileSlice).collect(Collectors.toList());
+    dto.nextCursor = page.getNextCursor().orElse(null);
+    return dto;
+  }
+
+  public static FileSlicePage toFileSlicePage(FileSlicePageDTO dto) {
+    return new FileSlicePage(dto.fileSlices.stream().map(FileSliceDTO::toFileSlice).collect(Collectors.toList()),
+        Option.ofNullable(dto.nextCursor));
+  }
+}
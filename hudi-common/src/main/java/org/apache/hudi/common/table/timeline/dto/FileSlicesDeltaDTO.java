@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.timeline.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * The data transfer object of the changes to the latest file slices of a partition since a timeline.
+ * <p>
+ * If {@link #fullSync} is true, the file slices are all the latest file slices of the partition.
+ * Otherwise, the file slices are the latest file slices of the changed file groups, and the changed
+ * file groups without any file slice are no longer visible, e.g., replaced.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class FileSlicesDeltaDTO {
+
+  @JsonProperty("timelineHash")
+  String timelineHash;
+  @JsonProperty("fullSync")
+  boolean fullSync;
+  @JsonProperty("changedFileIds")
+  List<String> changedFileIds;
+  @JsonProperty("fileSlices")
+  List<FileSliceDTO> fileSlices;
+
+  public static FileSlicesDeltaDTO fullSync(String timelineHash, List<FileSliceDTO> fileSlices) {
+    FileSlicesDeltaDTO dto = new FileSlicesDeltaDTO();
+    dto.timelineHash = timelineHash;
+    dto.fullSync = true;
+    dto.fileSlices = fileSlices;
+    return dto;
+  }
+
+  public static FileSlicesDeltaDTO delta(String timelineHash, List<String> changedFileIds, List<FileSliceDTO> fileSlices) {
+    FileSlicesDeltaDTO dto = new FileSlicesDeltaDTO();
+    dto.timelineHash = timelineHash;
+    dto.fullSync = false;
+    dto.changedFileIds = changedFileIds;
+    dto.fileSlices = fileSlices;
+    return dto;
+  }
+
+  public String getTimelineHash() {
+    return timelineHash;
+  }
+
+  public boolean isFullSync() {
+    return fullSync;
+  }
+
+  public List<String> getChangedFileIds() {
+    return changedFileIds;
+  }
+
+  public List<FileSliceDTO> getFileSlices() {
+    return fileSlices;
+  }
+}
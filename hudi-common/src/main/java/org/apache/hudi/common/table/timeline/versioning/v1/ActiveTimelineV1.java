@@ -35,6 +35,7 @@ import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieInstantReader;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.InstantFileNameGenerator;
+import org.apache.hudi.common.table.timeline.InstantMetadataCache;
 import org.apache.hudi.common.table.timeline.TimelineUtils;
 import org.apache.hudi.common.util.FileIOUtils;
 import org.apache.hudi.common.util.Option;
@@ -263,6 +264,11 @@ public class ActiveTimelineV1 extends BaseTimelineV1 implements HoodieActiveTime
     return this;
   }
 
+  @Override
+  public Option<InstantMetadataCache> getInstantMetadataCache() {
+    return metaClient == null ? Option.empty() : Option.ofNullable(metaClient.getInstantMetadataCache());
+  }
+
   @Override
   public Option<Pair<HoodieInstant, HoodieCommitMetadata>> getLastCommitMetadataWithValidSchema() {
     return Option.fromJavaOptional(
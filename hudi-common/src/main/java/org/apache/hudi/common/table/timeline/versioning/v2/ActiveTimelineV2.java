@@ -35,6 +35,7 @@ import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieInstantReader;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.InstantFileNameGenerator;
+import org.apache.hudi.common.table.timeline.InstantMetadataCache;
 import org.apache.hudi.common.table.timeline.TimeGenerator;
 import org.apache.hudi.common.table.timeline.TimeGenerators;
 import org.apache.hudi.common.table.timeline.TimelineUtils;
@@ -276,6 +277,11 @@ public class ActiveTimelineV2 extends BaseTimelineV2 implements HoodieActiveTime
     return this;
   }
 
+  @Override
+  public Option<InstantMetadataCache> getInstantMetadataCache() {
+    return metaClient == null ? Option.empty() : Option.ofNullable(metaClient.getInstantMetadataCache());
+  }
+
   @Override
   public Option<Pair<HoodieInstant, HoodieCommitMetadata>> getLastCommitMetadataWithValidSchema() {
     return Option.fromJavaOptional(
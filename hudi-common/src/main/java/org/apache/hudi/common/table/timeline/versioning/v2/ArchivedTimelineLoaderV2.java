@@ -24,6 +24,8 @@ import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.ArchivedTimelineLoader;
 import org.apache.hudi.common.table.timeline.HoodieArchivedTimeline;
 import org.apache.hudi.common.table.timeline.LSMTimeline;
+import org.apache.hudi.common.table.timeline.LSMTimelineCache;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.io.storage.HoodieAvroFileReader;
@@ -54,34 +56,84 @@ public class ArchivedTimelineLoaderV2 implements ArchivedTimelineLoader {
                            BiConsumer<String, GenericRecord> recordConsumer) {
     try {
       // List all files
-      List<String> fileNames = LSMTimeline.latestSnapshotManifest(metaClient, metaClient.getArchivePath()).getFileNames();
-
-      Schema readSchema = LSMTimeline.getReadSchema(loadMode);
-      fileNames.stream()
-          .filter(fileName -> filter == null || LSMTimeline.isFileInRange(filter, fileName))
-          .parallel().forEach(fileName -> {
-            // Read the archived file
-            try (HoodieAvroFileReader reader = (HoodieAvroFileReader) HoodieIOFactory.getIOFactory(metaClient.getStorage())
-                .getReaderFactory(HoodieRecord.HoodieRecordType.AVRO)
-                .getFileReader(DEFAULT_HUDI_CONFIG_FOR_READER, new StoragePath(metaClient.getArchivePath(), fileName))) {
-              try (ClosableIterator<IndexedRecord> iterator = reader.getIndexedRecordIterator(HoodieLSMTimelineInstant.getClassSchema(), readSchema)) {
-                while (iterator.hasNext()) {
-                  GenericRecord record = (GenericRecord) iterator.next();
-                  String instantTime = record.get(INSTANT_TIME_ARCHIVED_META_FIELD).toString();
-                  if ((filter == null || filter.isInRange(instantTime))
-                      && commitsFilter.apply(record)) {
-                    recordConsumer.accept(instantTime, record);
-                  }
-                }
-              }
-            } catch (IOException ioException) {
-              throw new HoodieIOException("Error open file reader for path: "
-                  + new StoragePath(metaClient.getArchivePath(), fileName));
-            }
-          });
+      int version = LSMTimeline.latestSnapshotVersion(metaClient, metaClient.getArchivePath());
+      List<String> fileNames = LSMTimeline.latestSnapshotManifest(metaClient, version, metaClient.getArchivePath()).getFileNames();
+      if (loadMode == HoodieArchivedTimeline.LoadMode.TIME) {
+        loadInstantTimes(metaClient, version, fileNames, filter, commitsFilter, recordConsumer);
+      } else {
+        loadInstants(metaClient, fileNames, filter, LSMTimeline.getReadSchema(loadMode), commitsFilter, recordConsumer);
+      }
     } catch (IOException e) {
       throw new HoodieIOException(
           "Could not load archived commit timeline from path " + metaClient.getArchivePath(), e);
     }
   }
+
+  /**
+   * Loads the instant times and completion times through the {@link LSMTimelineCache}, only reading the
+   * instants of the snapshot that are not cached yet.
+   */
+  private static void loadInstantTimes(HoodieTableMetaClient metaClient,
+                                       int version,
+                                       List<String> fileNames,
+                                       @Nullable HoodieArchivedTimeline.TimeRangeFilter filter,
+                                       Function<GenericRecord, Boolean> commitsFilter,
+                                       BiConsumer<String, GenericRecord> recordConsumer) {
+    String startTs = filter == null ? null : filter.getStartTs();
+    LSMTimelineCache.CachedSnapshot snapshot =
+        LSMTimelineCache.getInstance().getSnapshot(metaClient.getArchivePath().toString(), version, fileNames);
+    synchronized (snapshot) {
+      if (!snapshot.isLoaded(startTs)) {
+        // Only reads the instants before the loaded ones
+        HoodieArchivedTimeline.TimeRangeFilter missingRange = null;
+        if (startTs != null) {
+          missingRange = snapshot.getLoadedStartTs() == null
+              ? new HoodieArchivedTimeline.StartTsFilter(startTs)
+              : new HoodieArchivedTimeline.ClosedOpenTimeRangeFilter(startTs, snapshot.getLoadedStartTs());
+        }
+        loadInstants(metaClient, fileNames, missingRange, LSMTimeline.getReadSchema(HoodieArchivedTimeline.LoadMode.TIME),
+            record -> true, snapshot::addRecord);
+        snapshot.markLoaded(startTs);
+      }
+    }
+    snapshot.getRecords(startTs, filter == null ? null : filter.getEndTs()).forEach((instantTime, record) -> {
+      if ((filter == null || filter.isInRange(instantTime)) && commitsFilter.apply(record)) {
+        recordConsumer.accept(instantTime, record);
+      }
+    });
+  }
+
+  private static void loadInstants(HoodieTableMetaClient metaClient,
+                                   List<String> fileNames,
+                                   @Nullable HoodieArchivedTimeline.TimeRangeFilter filter,
+                                   Schema readSchema,
+                                   Function<GenericRecord, Boolean> commitsFilter,
+                                   BiConsumer<String, GenericRecord> recordConsumer) {
+    // The bounds of the range are inclusive to prune the row groups, the records are filtered by the range later
+    Option<String> minInstantTime = filter == null ? Option.empty() : Option.ofNullable(filter.getStartTs());
+    Option<String> maxInstantTime = filter == null ? Option.empty() : Option.ofNullable(filter.getEndTs());
+    fileNames.stream()
+        .filter(fileName -> filter == null || LSMTimeline.isFileInRange(filter, fileName))
+        .parallel().forEach(fileName -> {
+          // Read the archived file
+          try (HoodieAvroFileReader reader = (HoodieAvroFileReader) HoodieIOFactory.getIOFactory(metaClient.getStorage())
+              .getReaderFactory(HoodieRecord.HoodieRecordType.AVRO)
+              .getFileReader(DEFAULT_HUDI_CONFIG_FOR_READER, new StoragePath(metaClient.getArchivePath(), fileName))) {
+            try (ClosableIterator<IndexedRecord> iterator = reader.getIndexedRecordIterator(HoodieLSMTimelineInstant.getClassSchema(),
+                readSchema, INSTANT_TIME_ARCHIVED_META_FIELD, minInstantTime, maxInstantTime)) {
+              while (iterator.hasNext()) {
+                GenericRecord record = (GenericRecord) iterator.next();
+                String instantTime = record.get(INSTANT_TIME_ARCHIVED_META_FIELD).toString();
+                if ((filter == null || filter.isInRange(instantTime))
+                    && commitsFilter.apply(record)) {
+                  recordConsumer.accept(instantTime, record);
+                }
+              }
+            }
+          } catch (IOException ioException) {
+            throw new HoodieIOException("Error open file reader for path: "
+                + new StoragePath(metaClient.getArchivePath(), fileName));
+          }
+        });
+  }
 }
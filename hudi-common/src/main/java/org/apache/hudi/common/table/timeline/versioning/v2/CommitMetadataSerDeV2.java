@@ -26,19 +26,45 @@ import org.apache.hudi.common.table.timeline.MetadataConversionUtils;
 import org.apache.hudi.common.table.timeline.versioning.v1.CommitMetadataSerDeV1;
 import org.apache.hudi.common.util.JsonUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.storage.HoodieInstantWriter;
 
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.specific.SpecificRecordBase;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.function.BooleanSupplier;
+import java.util.stream.Collectors;
 
 import static org.apache.hudi.common.table.timeline.MetadataConversionUtils.convertReplaceCommitMetadataToPojo;
 import static org.apache.hudi.common.table.timeline.TimelineMetadataUtils.deserializeAvroMetadata;
 
 public class CommitMetadataSerDeV2 implements CommitMetadataSerDe {
 
+  private static final String PARTITION_TO_WRITE_STATS = "partitionToWriteStats";
+  private static final String PARTITION_TO_REPLACE_FILE_IDS = "partitionToReplaceFileIds";
+  private static final String EXTRA_METADATA = "extraMetadata";
+
+  // Projections of the commit metadata schemas for reading parts of the commit metadata lazily
+  private static final Schema COMMIT_PARTITIONS_SCHEMA = projectSchema(
+      org.apache.hudi.avro.model.HoodieCommitMetadata.SCHEMA$, PARTITION_TO_WRITE_STATS);
+  private static final Schema REPLACE_COMMIT_PARTITIONS_SCHEMA = projectSchema(
+      HoodieReplaceCommitMetadata.SCHEMA$, PARTITION_TO_WRITE_STATS, PARTITION_TO_REPLACE_FILE_IDS);
+  private static final Schema COMMIT_EXTRA_METADATA_SCHEMA = projectSchema(
+      org.apache.hudi.avro.model.HoodieCommitMetadata.SCHEMA$, EXTRA_METADATA);
+  private static final Schema REPLACE_COMMIT_EXTRA_METADATA_SCHEMA = projectSchema(
+      HoodieReplaceCommitMetadata.SCHEMA$, EXTRA_METADATA);
+
   /**
    * Convert commit metadata from avro to pojo.
    */
@@ -89,6 +115,96 @@ public class CommitMetadataSerDeV2 implements CommitMetadataSerDe {
     }
   }
 
+  @Override
+  public Pair<Set<String>, Set<String>> deserializeCommitPartitions(
+      HoodieInstant instant, InputStream instantStream, BooleanSupplier isEmptyInstant) throws IOException {
+    if (instant.isLegacy()) {
+      return CommitMetadataSerDe.super.deserializeCommitPartitions(instant, instantStream, isEmptyInstant);
+    }
+    boolean isReplaceCommit = CommitMetadataSerDe.isReplaceCommit(instant);
+    Option<GenericRecord> record = deserializeProjection(instant, instantStream, isEmptyInstant,
+        isReplaceCommit ? REPLACE_COMMIT_PARTITIONS_SCHEMA : COMMIT_PARTITIONS_SCHEMA);
+    if (!record.isPresent()) {
+      return Pair.of(Collections.emptySet(), Collections.emptySet());
+    }
+    Set<String> writtenPartitions = getMapKeys(record.get(), PARTITION_TO_WRITE_STATS);
+    Set<String> replacedPartitions = isReplaceCommit
+        ? getMapKeys(record.get(), PARTITION_TO_REPLACE_FILE_IDS) : Collections.emptySet();
+    return Pair.of(writtenPartitions, replacedPartitions);
+  }
+
+  @Override
+  public Map<String, String> deserializeExtraMetadata(
+      HoodieInstant instant, InputStream instantStream, BooleanSupplier isEmptyInstant) throws IOException {
+    if (instant.isLegacy()) {
+      return CommitMetadataSerDe.super.deserializeExtraMetadata(instant, instantStream, isEmptyInstant);
+    }
+    Option<GenericRecord> record = deserializeProjection(instant, instantStream, isEmptyInstant,
+        CommitMetadataSerDe.isReplaceCommit(instant) ? REPLACE_COMMIT_EXTRA_METADATA_SCHEMA : COMMIT_EXTRA_METADATA_SCHEMA);
+    Map<String, String> extraMetadata = new HashMap<>();
+    Map<?, ?> map = record.isPresent() ? (Map<?, ?>) record.get().get(EXTRA_METADATA) : null;
+    if (map != null) {
+      map.forEach((key, value) -> extraMetadata.put(key.toString(), value == null ? null : value.toString()));
+    }
+    return extraMetadata;
+  }
+
+  private Option<GenericRecord> deserializeProjection(
+      HoodieInstant instant, InputStream inputStream, BooleanSupplier isEmptyInstant, Schema projection) throws IOException {
+    try {
+      return Option.of(deserializeAvroMetadata(inputStream, projection));
+    } catch (Exception e) {
+      // Empty file does not conform to avro format, in that case there is nothing to project.
+      if (isEmptyInstant.getAsBoolean()) {
+        return Option.empty();
+      }
+      throw new IOException("unable to read commit metadata for instant " + instant, e);
+    }
+  }
+
+  private static Set<String> getMapKeys(GenericRecord record, String field) {
+    Map<?, ?> map = (Map<?, ?>) record.get(field);
+    if (map == null) {
+      return Collections.emptySet();
+    }
+    // Avro decodes the map keys as Utf8
+    return map.keySet().stream().filter(Objects::nonNull).map(Object::toString).collect(Collectors.toCollection(HashSet::new));
+  }
+
+  /**
+   * Projects the record schema to the given fields, skipping the nested records of the fields,
+   * e.g., the write stats of {@code partitionToWriteStats}, so that only the map keys are decoded.
+   */
+  private static Schema projectSchema(Schema schema, String... fieldNames) {
+    List<Schema.Field> fields = Arrays.stream(fieldNames)
+        .map(fieldName -> {
+          Schema.Field field = schema.getField(fieldName);
+          return new Schema.Field(field, skipNestedRecords(field.schema()));
+        })
+        .collect(Collectors.toList());
+    return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), false, fields);
+  }
+
+  /**
+   * Replaces the nested records with empty records of the same name, whose fields are skipped by the
+   * Avro schema resolution without being materialized.
+   */
+  private static Schema skipNestedRecords(Schema schema) {
+    switch (schema.getType()) {
+      case RECORD:
+        return Schema.createRecord(schema.getName(), schema.getDoc(), schema.getNamespace(), false, Collections.emptyList());
+      case UNION:
+        return Schema.createUnion(schema.getTypes().stream()
+            .map(CommitMetadataSerDeV2::skipNestedRecords).collect(Collectors.toList()));
+      case MAP:
+        return Schema.createMap(skipNestedRecords(schema.getValueType()));
+      case ARRAY:
+        return Schema.createArray(skipNestedRecords(schema.getElementType()));
+      default:
+        return schema;
+    }
+  }
+
   @Override
   public <T> Option<HoodieInstantWriter> getInstantWriter(T metadata) {
     if (metadata instanceof org.apache.hudi.common.model.HoodieCommitMetadata) {
@@ -1021,21 +1021,64 @@ public abstract class AbstractTableFileSystemView implements SyncableFileSystemV
       List<String> formattedPartitionList = ensureAllPartitionsLoadedCorrectly();
       return formattedPartitionList.stream().collect(Collectors.toMap(
           Function.identity(),
-          partitionPath -> fetchAllStoredFileGroups(partitionPath)
-              .filter(slice -> !isFileGroupReplacedBeforeOrOn(slice.getFileGroupId(), maxCommitTime))
-              .map(fg -> fg.getAllFileSlicesBeforeOn(maxCommitTime))
-              .map(sliceStream -> tableVersion8AndAbove()
-                  ? getLatestFileSliceFilteringUncommittedFiles(sliceStream)
-                  : Option.fromJavaOptional(sliceStream.flatMap(slice ->
-                  this.filterBaseFileAfterPendingCompaction(slice, false)).findFirst()))
-              .filter(Option::isPresent).map(Option::get)
-              .map(this::addBootstrapBaseFileIfPresent)
+          partitionPath -> fetchLatestFileSlicesBeforeOrOn(partitionPath, maxCommitTime)
       ));
     } finally {
       readLock.unlock();
     }
   }
 
+  @Override
+  public final FileSlicePage getLatestFileSlicesPaginated(String partitionStr, Option<String> cursor, int pageSize) {
+    try {
+      readLock.lock();
+      return FileSlicePage.of(getLatestFileSlices(partitionStr), cursor, pageSize);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  @Override
+  public final FileSlicePage getAllLatestFileSlicesBeforeOrOnPaginated(String maxCommitTime, Option<String> cursor, int pageSize) {
+    try {
+      readLock.lock();
+      Option<String> startPartition = cursor.map(c -> FileSlicePage.parseCursor(c).getPartitionPath());
+      List<String> partitionPaths = ensureAllPartitionsLoadedCorrectly().stream()
+          .filter(partitionPath -> !startPartition.isPresent() || partitionPath.compareTo(startPartition.get()) >= 0)
+          .sorted()
+          .collect(Collectors.toList());
+      // Fill the page partition by partition, so that only the partitions of the page are scanned
+      List<FileSlice> fileSlices = new ArrayList<>(pageSize);
+      for (int i = 0; i < partitionPaths.size(); i++) {
+        FileSlicePage partitionPage = FileSlicePage.of(
+            fetchLatestFileSlicesBeforeOrOn(partitionPaths.get(i), maxCommitTime), cursor, pageSize - fileSlices.size());
+        fileSlices.addAll(partitionPage.getFileSlices());
+        if (partitionPage.getNextCursor().isPresent()) {
+          return new FileSlicePage(fileSlices, partitionPage.getNextCursor());
+        }
+        if (fileSlices.size() == pageSize && i < partitionPaths.size() - 1) {
+          return new FileSlicePage(fileSlices,
+              Option.of(FileSlicePage.toCursor(fileSlices.get(fileSlices.size() - 1).getFileGroupId())));
+        }
+      }
+      return new FileSlicePage(fileSlices, Option.empty());
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private Stream<FileSlice> fetchLatestFileSlicesBeforeOrOn(String partitionPath, String maxCommitTime) {
+    return fetchAllStoredFileGroups(partitionPath)
+        .filter(slice -> !isFileGroupReplacedBeforeOrOn(slice.getFileGroupId(), maxCommitTime))
+        .map(fg -> fg.getAllFileSlicesBeforeOn(maxCommitTime))
+        .map(sliceStream -> tableVersion8AndAbove()
+            ? getLatestFileSliceFilteringUncommittedFiles(sliceStream)
+            : Option.fromJavaOptional(sliceStream.flatMap(slice ->
+            this.filterBaseFileAfterPendingCompaction(slice, false)).findFirst()))
+        .filter(Option::isPresent).map(Option::get)
+        .map(this::addBootstrapBaseFileIfPresent);
+  }
+
   @Override
   public final Stream<FileSlice> getLatestMergedFileSlicesBeforeOrOn(String partitionStr, String maxInstantTime) {
     try {
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieFileGroupId;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.ValidationUtils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A page of file slices ordered by the file group ID, i.e., by the partition path and then the file ID,
+ * with the cursor to fetch the next page.
+ * <p>
+ * The cursor is the file group ID of the last file slice of the page, so a page only depends on the
+ * file slices after the cursor, and the callers iterating over a partition hold one page at a time,
+ * see {@link #streamAllPages(Function)}.
+ */
+public class FileSlicePage implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+  private static final Comparator<FileSlice> FILE_GROUP_ID_COMPARATOR = Comparator.comparing(FileSlice::getFileGroupId);
+  // File IDs never contain the separator, so the cursor is split at its last occurrence
+  private static final char CURSOR_SEPARATOR = '/';
+
+  private final List<FileSlice> fileSlices;
+  private final Option<String> nextCursor;
+
+  public FileSlicePage(List<FileSlice> fileSlices, Option<String> nextCursor) {
+    this.fileSlices = fileSlices;
+    this.nextCursor = nextCursor;
+  }
+
+  /**
+   * Selects the page of file slices after the cursor from the file slices in any order.
+   * <p>
+   * Only the file slices of the page are kept while consuming the stream, in a bounded heap.
+   *
+   * @param fileSlices file slices to select from, at most one per file group.
+   * @param cursor     cursor returned with the previous page, or empty for the first page.
+   * @param pageSize   maximum number of file slices in the page.
+   * @return the page of file slices.
+   */
+  public static FileSlicePage of(Stream<FileSlice> fileSlices, Option<String> cursor, int pageSize) {
+    ValidationUtils.checkArgument(pageSize > 0, "The page size must be positive: " + pageSize);
+    Option<HoodieFileGroupId> startAfter = cursor.map(FileSlicePage::parseCursor);
+    // Max-heap so that the largest file slice of the page is evicted first
+    PriorityQueue<FileSlice> heap = new PriorityQueue<>(FILE_GROUP_ID_COMPARATOR.reversed());
+    boolean[] hasMore = {false};
+    fileSlices
+        .filter(fileSlice -> !startAfter.isPresent() || fileSlice.getFileGroupId().compareTo(startAfter.get()) > 0)
+        .forEach(fileSlice -> {
+          if (heap.size() < pageSize) {
+            heap.add(fileSlice);
+          } else {
+            hasMore[0] = true;
+            if (FILE_GROUP_ID_COMPARATOR.compare(fileSlice, heap.peek()) < 0) {
+              heap.poll();
+              heap.add(fileSlice);
+            }
+          }
+        });
+    List<FileSlice> page = new ArrayList<>(heap);
+    page.sort(FILE_GROUP_ID_COMPARATOR);
+    return new FileSlicePage(page, hasMore[0]
+        ? Option.of(toCursor(page.get(page.size() - 1).getFileGroupId())) : Option.empty());
+  }
+
+  /**
+   * Streams the file slices of all the pages, fetching each page lazily once the previous one is consumed.
+   *
+   * @param pageFetcher fetches the page after the given cursor.
+   * @return the file slices of all the pages, in the order of the file group ID.
+   */
+  public static Stream<FileSlice> streamAllPages(Function<Option<String>, FileSlicePage> pageFetcher) {
+    Iterator<FileSlice> iterator = new Iterator<FileSlice>() {
+      private Iterator<FileSlice> current = Collections.emptyIterator();
+      private Option<String> nextCursor = Option.empty();
+      private boolean started = false;
+
+      @Override
+      public boolean hasNext() {
+        while (!current.hasNext() && (!started || nextCursor.isPresent())) {
+          FileSlicePage page = pageFetcher.apply(nextCursor);
+          started = true;
+          current = page.getFileSlices().iterator();
+          nextCursor = page.getNextCursor();
+        }
+        return current.hasNext();
+      }
+
+      @Override
+      public FileSlice next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+    };
+    return StreamSupport.stream(
+        Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED | Spliterator.NONNULL), false);
+  }
+
+  public static String toCursor(HoodieFileGroupId fileGroupId) {
+    return fileGroupId.getPartitionPath() + CURSOR_SEPARATOR + fileGroupId.getFileId();
+  }
+
+  public static HoodieFileGroupId parseCursor(String cursor) {
+    int index = cursor.lastIndexOf(CURSOR_SEPARATOR);
+    ValidationUtils.checkArgument(index >= 0, "Invalid file slice page cursor: " + cursor);
+    return new HoodieFileGroupId(cursor.substring(0, index), cursor.substring(index + 1));
+  }
+
+  public List<FileSlice> getFileSlices() {
+    return fileSlices;
+  }
+
+  /**
+   * Returns the cursor to fetch the next page, or empty if this is the last page.
+   */
+  public Option<String> getNextCursor() {
+    return nextCursor;
+  }
+}
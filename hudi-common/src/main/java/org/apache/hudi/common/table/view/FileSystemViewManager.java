@@ -43,7 +43,7 @@ import java.util.concurrent.ConcurrentHashMap;
  * typically holds only one table's view. In a stand-alone server mode, this can hold more than one table's views.
  * <p>
  * FileSystemView can be stored "locally" using the following storage mechanisms: a. In Memory b. Spillable Map c.
- * RocksDB.
+ * RocksDB d. In Memory with memory-mapped snapshots.
  * <p>
  * But there can be cases where the file-system view is managed remoted. For example : Embedded Timeline Server). In
  * this case, the clients will configure a remote filesystem view client (RemoteHoodieTableFileSystemView) for the
@@ -165,6 +165,22 @@ public class FileSystemViewManager {
     return new SpillableMapBasedFileSystemView(tableMetadata, metaClient, timeline, viewConf, commonConfig);
   }
 
+  /**
+   * Create an in-memory file System view for a table, persisted in memory-mapped snapshot files.
+   *
+   * @param viewConf   View Storage Configuration
+   * @param metaClient HoodieTableMetaClient
+   * @return {@link MemoryMappedFileSystemView}
+   */
+  private static MemoryMappedFileSystemView createMemoryMappedFileSystemView(HoodieEngineContext engineContext, FileSystemViewStorageConfig viewConf,
+                                                                             HoodieTableMetaClient metaClient, boolean metadataTableEnabled,
+                                                                             SerializableFunctionUnchecked<HoodieTableMetaClient, HoodieTableMetadata> metadataCreator) {
+    LOG.info("Creating memory-mapped snapshot based view for basePath {}.", metaClient.getBasePath());
+    HoodieTimeline timeline = metaClient.getActiveTimeline().filterCompletedAndCompactionInstants();
+    HoodieTableMetadata tableMetadata = getTableMetadata(engineContext, metaClient, metadataTableEnabled, metadataCreator);
+    return new MemoryMappedFileSystemView(tableMetadata, metaClient, timeline, viewConf);
+  }
+
   /**
    * Create an in-memory file System view for a table.
    */
@@ -265,6 +281,10 @@ public class FileSystemViewManager {
         LOG.debug("Creating Spillable Disk based Table View");
         return new FileSystemViewManager(context, config,
             (metaClient, viewConf) -> createSpillableMapBasedFileSystemView(context, viewConf, metaClient, commonConfig, metadataTableEnabled, metadataCreator));
+      case MEMORY_MAPPED_SNAPSHOT:
+        LOG.debug("Creating memory-mapped snapshot based Table View");
+        return new FileSystemViewManager(context, config,
+            (metaClient, viewConf) -> createMemoryMappedFileSystemView(context, viewConf, metaClient, metadataTableEnabled, metadataCreator));
       case MEMORY:
         LOG.debug("Creating in-memory based Table View");
         return new FileSystemViewManager(context, config,
@@ -0,0 +1,282 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.SerializationUtils;
+import org.apache.hudi.exception.HoodieIOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable snapshot of the file groups of a table on local storage, keyed by partition,
+ * which is memory-mapped for reading.
+ * <p>
+ * The snapshot is built against a timeline identified by its hash, see
+ * {@link MemoryMappedFileSystemView}. The layout of a snapshot file is:
+ * <pre>
+ *   header:  magic, version, table base path, timeline hash
+ *   blocks:  file groups of each partition, serialized as a list of {@link FileGroupDTO}
+ *   index:   number of partitions, [partition path, offset and length of the block]
+ *   footer:  offset of the index, magic
+ * </pre>
+ * Only the index is read eagerly when the snapshot is opened. The block of a partition is
+ * deserialized from the mapped file when the partition is accessed, and is copied as is when
+ * a new snapshot is written with the same content of the partition. The mapped file is
+ * released once the snapshot is garbage collected.
+ */
+class FileSystemViewSnapshot {
+  private static final Logger LOG = LoggerFactory.getLogger(FileSystemViewSnapshot.class);
+  static final String SNAPSHOT_FILE_EXTENSION = ".snapshot";
+  static final String TEMP_FILE_EXTENSION = ".tmp";
+  private static final int MAGIC = 0x48465653;
+  private static final int VERSION = 1;
+  private static final int FOOTER_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final Path path;
+  private final String timelineHash;
+  private final MappedByteBuffer buffer;
+  // Mapping: {partitionPath -> [offset, length] of the block}
+  private final Map<String, int[]> partitionIndex;
+
+  private FileSystemViewSnapshot(Path path, String timelineHash, MappedByteBuffer buffer, Map<String, int[]> partitionIndex) {
+    this.path = path;
+    this.timelineHash = timelineHash;
+    this.buffer = buffer;
+    this.partitionIndex = partitionIndex;
+  }
+
+  /**
+   * Opens the snapshot file of the table built against the given timeline.
+   *
+   * @param snapshotDir  directory of the snapshot files of the table.
+   * @param basePath     base path of the table.
+   * @param timelineHash hash of the timeline.
+   * @return the snapshot, or empty if there is no valid snapshot file for the timeline.
+   */
+  static Option<FileSystemViewSnapshot> open(Path snapshotDir, String basePath, String timelineHash) {
+    Path path = getSnapshotPath(snapshotDir, timelineHash);
+    if (!Files.isRegularFile(path)) {
+      return Option.empty();
+    }
+    try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+      long size = channel.size();
+      if (size > Integer.MAX_VALUE || size < FOOTER_SIZE) {
+        LOG.warn("Ignoring snapshot file {} of invalid size {}", path, size);
+        return Option.empty();
+      }
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+      if (buffer.getInt(0) != MAGIC || buffer.getInt(Integer.BYTES) != VERSION
+          || buffer.getInt((int) size - Integer.BYTES) != MAGIC) {
+        LOG.warn("Ignoring snapshot file {} of unknown format", path);
+        return Option.empty();
+      }
+      ByteBuffer reader = buffer.duplicate();
+      reader.position(2 * Integer.BYTES);
+      if (!basePath.equals(readString(reader)) || !timelineHash.equals(readString(reader))) {
+        LOG.warn("Ignoring snapshot file {} of another table or timeline", path);
+        return Option.empty();
+      }
+      reader.position((int) buffer.getLong((int) size - FOOTER_SIZE));
+      int numPartitions = reader.getInt();
+      Map<String, int[]> partitionIndex = new HashMap<>(Math.max(16, numPartitions * 4 / 3 + 1));
+      for (int i = 0; i < numPartitions; i++) {
+        String partitionPath = readString(reader);
+        partitionIndex.put(partitionPath, new int[] {(int) reader.getLong(), reader.getInt()});
+      }
+      LOG.info("Opened snapshot file {} with {} partitions", path, numPartitions);
+      return Option.of(new FileSystemViewSnapshot(path, timelineHash, buffer, partitionIndex));
+    } catch (IOException | RuntimeException e) {
+      LOG.warn("Failed to open snapshot file " + path + ", ignoring it", e);
+      return Option.empty();
+    }
+  }
+
+  /**
+   * Writes a new snapshot file of the table, replacing the file of the same timeline if exists.
+   *
+   * @param snapshotDir         directory of the snapshot files of the table.
+   * @param basePath            base path of the table.
+   * @param timelineHash        hash of the timeline the file groups are built against.
+   * @param partitionFileGroups file groups of the partitions to write.
+   * @param baseSnapshot        an existing snapshot to copy the other partitions from.
+   * @return path of the snapshot file written.
+   */
+  static Path write(Path snapshotDir, String basePath, String timelineHash,
+                    Map<String, List<FileGroupDTO>> partitionFileGroups,
+                    Option<FileSystemViewSnapshot> baseSnapshot) {
+    Path path = getSnapshotPath(snapshotDir, timelineHash);
+    Path tempPath = null;
+    try {
+      Files.createDirectories(snapshotDir);
+      // A unique temporary file, as views of the same table in other processes may write the same snapshot
+      tempPath = Files.createTempFile(snapshotDir, timelineHash + SNAPSHOT_FILE_EXTENSION + ".", TEMP_FILE_EXTENSION);
+      Map<String, long[]> partitionIndex = new HashMap<>();
+      long indexOffset;
+      try (OutputStream fileOutputStream = Files.newOutputStream(tempPath);
+           PositionTrackingOutputStream positionTracker =
+               new PositionTrackingOutputStream(new BufferedOutputStream(fileOutputStream, 1024 * 1024));
+           DataOutputStream out = new DataOutputStream(positionTracker)) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        writeString(out, basePath);
+        writeString(out, timelineHash);
+        for (Map.Entry<String, List<FileGroupDTO>> entry : partitionFileGroups.entrySet()) {
+          byte[] block = SerializationUtils.serialize(entry.getValue());
+          partitionIndex.put(entry.getKey(), new long[] {positionTracker.getPosition(), block.length});
+          out.write(block);
+        }
+        if (baseSnapshot.isPresent()) {
+          for (Map.Entry<String, int[]> entry : baseSnapshot.get().partitionIndex.entrySet()) {
+            if (!partitionFileGroups.containsKey(entry.getKey())) {
+              byte[] block = baseSnapshot.get().readBlock(entry.getValue());
+              partitionIndex.put(entry.getKey(), new long[] {positionTracker.getPosition(), block.length});
+              out.write(block);
+            }
+          }
+        }
+        indexOffset = positionTracker.getPosition();
+        out.writeInt(partitionIndex.size());
+        for (Map.Entry<String, long[]> entry : partitionIndex.entrySet()) {
+          writeString(out, entry.getKey());
+          out.writeLong(entry.getValue()[0]);
+          out.writeInt((int) entry.getValue()[1]);
+        }
+        out.writeLong(indexOffset);
+        out.writeInt(MAGIC);
+        if (positionTracker.getPosition() > Integer.MAX_VALUE) {
+          throw new IOException("The snapshot exceeds the maximum size of a memory-mapped file: " + positionTracker.getPosition());
+        }
+      }
+      Files.move(tempPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      LOG.info("Wrote snapshot file {} with {} partitions", path, partitionIndex.size());
+      return path;
+    } catch (IOException e) {
+      try {
+        if (tempPath != null) {
+          Files.deleteIfExists(tempPath);
+        }
+      } catch (IOException ioe) {
+        LOG.warn("Failed to delete temporary snapshot file " + tempPath, ioe);
+      }
+      throw new HoodieIOException("Failed to write snapshot file " + path, e);
+    }
+  }
+
+  static Path getSnapshotPath(Path snapshotDir, String timelineHash) {
+    return snapshotDir.resolve(timelineHash + SNAPSHOT_FILE_EXTENSION);
+  }
+
+  Path getPath() {
+    return path;
+  }
+
+  String getTimelineHash() {
+    return timelineHash;
+  }
+
+  Set<String> getPartitions() {
+    return partitionIndex.keySet();
+  }
+
+  boolean containsPartition(String partitionPath) {
+    return partitionIndex.containsKey(partitionPath);
+  }
+
+  /**
+   * Reads the file groups of a partition from the snapshot.
+   *
+   * @param partitionPath relative partition path.
+   * @return the file groups, or empty if the partition is not in the snapshot.
+   */
+  Option<List<FileGroupDTO>> readPartition(String partitionPath) {
+    int[] location = partitionIndex.get(partitionPath);
+    if (location == null) {
+      return Option.empty();
+    }
+    return Option.of(SerializationUtils.deserialize(readBlock(location)));
+  }
+
+  private byte[] readBlock(int[] location) {
+    byte[] block = new byte[location[1]];
+    ByteBuffer reader = buffer.duplicate();
+    reader.position(location[0]);
+    reader.get(block);
+    return block;
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(ByteBuffer reader) {
+    byte[] bytes = new byte[reader.getInt()];
+    reader.get(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * An output stream tracking the position beyond the 2 GB limit of {@link DataOutputStream#size()}.
+   */
+  private static class PositionTrackingOutputStream extends FilterOutputStream {
+    private long position = 0L;
+
+    PositionTrackingOutputStream(OutputStream out) {
+      super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      out.write(b);
+      position++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      out.write(b, off, len);
+      position += len;
+    }
+
+    long getPosition() {
+      return position;
+    }
+  }
+}
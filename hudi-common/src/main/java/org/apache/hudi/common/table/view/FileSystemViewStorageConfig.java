@@ -23,6 +23,7 @@ import org.apache.hudi.common.config.ConfigGroups;
 import org.apache.hudi.common.config.ConfigProperty;
 import org.apache.hudi.common.config.HoodieConfig;
 import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.timeline.TimelineServiceWireFormat;
 
 import java.io.File;
 import java.io.FileReader;
@@ -124,6 +125,17 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       .markAdvanced()
       .withDocumentation("Path on local storage to use, when storing file system view in embedded kv store/rocksdb.");
 
+  public static final ConfigProperty<String> SNAPSHOT_BASE_PATH = ConfigProperty
+      .key("hoodie.filesystem.view.snapshot.base.path")
+      .defaultValue("/tmp/hoodie_timeline_snapshot")
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Path on local storage to use, when storing file system view in memory-mapped snapshot files, "
+          + "i.e., the storage type is " + FileSystemViewStorageType.MEMORY_MAPPED_SNAPSHOT.name() + ". The file groups "
+          + "of the loaded partitions are written to a snapshot file of the table whenever the view is synced to a new "
+          + "timeline, so that a new view on the same timeline, e.g., after restarting the timeline server, reads the "
+          + "partitions from the snapshot instead of listing them.");
+
   public static final ConfigProperty<Integer> REMOTE_TIMEOUT_SECS = ConfigProperty
       .key("hoodie.filesystem.view.remote.timeout.secs")
       .defaultValue(5 * 60) // 5 min
@@ -166,6 +178,30 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       .withDocumentation("The class name of the Exception that needs to be retried, separated by commas. "
           + "Default is empty which means retry all the IOException and RuntimeException from Remote Request.");
 
+  public static final ConfigProperty<String> REMOTE_WIRE_FORMAT = ConfigProperty
+      .key("hoodie.filesystem.view.remote.wire.format")
+      .defaultValue(TimelineServiceWireFormat.JSON.name())
+      .withValidValues(Arrays.stream(TimelineServiceWireFormat.values()).map(Enum::name).toArray(String[]::new))
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("Encoding requested by the clients for the responses of a remote file system view, e.g timeline server. "
+          + "JSON is readable and supported by all servers. KRYO encodes the file slices, base files and file groups in a compact "
+          + "binary form that is faster to parse and smaller, and KRYO_ZSTD additionally compresses large responses with ZSTD. "
+          + "Servers and endpoints that do not support the requested encoding respond in JSON, as do servers with another "
+          + "version of the binary encodings, e.g., from another Hudi release, since the binary encodings are not compatible "
+          + "across changes of the encoded classes.");
+
+  public static final ConfigProperty<Boolean> REMOTE_DELTA_SYNC_ENABLE = ConfigProperty
+      .key("hoodie.filesystem.view.remote.delta.sync.enable")
+      .defaultValue(false)
+      .markAdvanced()
+      .sinceVersion("1.1.0")
+      .withDocumentation("When enabled, a remote file system view caches the latest file slices of the partitions it has "
+          + "fetched and, on later calls, asks the timeline server only for the file groups that changed since the timeline "
+          + "of the cached slices, instead of the full partition. This reduces the load on the timeline server from "
+          + "long-running writers, e.g., streaming writers, that fetch the same partitions after every commit. "
+          + "The server answers with the full partition if the change cannot be derived incrementally.");
+
   public static final ConfigProperty<String> REMOTE_BACKUP_VIEW_ENABLE = ConfigProperty
       .key("hoodie.filesystem.remote.backup.view.enable")
       .defaultValue("true") // Need to be disabled only for tests.
@@ -221,6 +257,14 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
     return getString(RETRY_EXCEPTIONS);
   }
 
+  public TimelineServiceWireFormat getRemoteTimelineClientWireFormat() {
+    return TimelineServiceWireFormat.valueOf(getStringOrDefault(REMOTE_WIRE_FORMAT));
+  }
+
+  public boolean isRemoteDeltaSyncEnabled() {
+    return getBooleanOrDefault(REMOTE_DELTA_SYNC_ENABLE);
+  }
+
   public long getMaxMemoryForFileGroupMap() {
     long totalMemory = getLong(SPILLABLE_MEMORY);
     return totalMemory - getMaxMemoryForPendingCompaction() - getMaxMemoryForBootstrapBaseFile() - getMaxMemoryForPendingLogCompaction()
@@ -275,6 +319,10 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
     return getString(ROCKSDB_BASE_PATH);
   }
 
+  public String getSnapshotBasePath() {
+    return getString(SNAPSHOT_BASE_PATH);
+  }
+
   /**
    * The builder used to build {@link FileSystemViewStorageConfig}.
    */
@@ -354,6 +402,16 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withRemoteTimelineClientWireFormat(TimelineServiceWireFormat wireFormat) {
+      fileSystemViewStorageConfig.setValue(REMOTE_WIRE_FORMAT, wireFormat.name());
+      return this;
+    }
+
+    public Builder withRemoteDeltaSyncEnabled(boolean enableDeltaSync) {
+      fileSystemViewStorageConfig.setValue(REMOTE_DELTA_SYNC_ENABLE, Boolean.toString(enableDeltaSync));
+      return this;
+    }
+
     public Builder withMemFractionForPendingCompaction(Double memFractionForPendingCompaction) {
       fileSystemViewStorageConfig.setValue(SPILLABLE_COMPACTION_MEM_FRACTION, memFractionForPendingCompaction.toString());
       return this;
@@ -374,6 +432,11 @@ public class FileSystemViewStorageConfig extends HoodieConfig {
       return this;
     }
 
+    public Builder withSnapshotBasePath(String basePath) {
+      fileSystemViewStorageConfig.setValue(SNAPSHOT_BASE_PATH, basePath);
+      return this;
+    }
+
     public Builder withEnableBackupForRemoteFileSystemView(boolean enable) {
       fileSystemViewStorageConfig.setValue(REMOTE_BACKUP_VIEW_ENABLE, Boolean.toString(enable));
       return this;
@@ -28,6 +28,9 @@ public enum FileSystemViewStorageType {
   SPILLABLE_DISK,
   // EMBEDDED Key Value Storage for file-system view
   EMBEDDED_KV_STORE,
+  // In-memory storage of file-system view, persisted in memory-mapped snapshot files on local storage
+  // so that the view is reloaded without listing the partitions again
+  MEMORY_MAPPED_SNAPSHOT,
   // Delegate file-system view to remote server
   REMOTE_ONLY,
   // A composite storage where file-system view calls are first delegated to Remote server ( REMOTE_ONLY )
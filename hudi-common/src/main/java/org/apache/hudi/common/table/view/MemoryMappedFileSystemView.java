@@ -0,0 +1,221 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.bootstrap.index.BootstrapIndex;
+import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.exception.HoodieException;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
+/**
+ * Table FileSystemView implementation where the view is held in memory and persisted in
+ * memory-mapped snapshot files on local storage.
+ * <p>
+ * The file groups of the partitions are kept in an immutable {@link FileSystemViewSnapshot},
+ * built against a timeline, plus the in-memory maps of {@link HoodieTableFileSystemView} as
+ * the mutable delta on top of it. A partition absent from the delta is loaded from the
+ * snapshot on first access, instead of listing the partition. When the view is synced to a
+ * new timeline, e.g., after an instant is completed, and on close, a new snapshot of the
+ * timeline is written with the changed partitions of the delta, while the unchanged partitions
+ * are copied from the previous snapshot as is. A new view of the same table on the same timeline,
+ * e.g., after restarting the timeline server, then reuses the snapshot.
+ * <p>
+ * Bootstrapped tables with a bootstrap index are not snapshotted, as the bootstrap base files
+ * of a partition are only added when the partition is listed.
+ */
+public class MemoryMappedFileSystemView extends HoodieTableFileSystemView {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MemoryMappedFileSystemView.class);
+  // Snapshot files of other timelines are kept for a while, as views of the same table in other processes,
+  // e.g., of a restarted timeline server, may still open them, and temporary files may still be written
+  static final long STALE_SNAPSHOT_GRACE_PERIOD_MS = 10 * 60 * 1000L;
+
+  // Directory of the snapshot files of the table
+  private final Path snapshotDir;
+  // Partitions stored in the delta since the snapshot is written
+  private final Set<String> changedPartitions = ConcurrentHashMap.newKeySet();
+  private boolean snapshotEnabled;
+  // Hash of the timeline the view is built against
+  private String timelineHash;
+  private volatile Option<FileSystemViewSnapshot> snapshot = Option.empty();
+
+  public MemoryMappedFileSystemView(HoodieTableMetadata tableMetadata, HoodieTableMetaClient metaClient,
+                                    HoodieTimeline visibleActiveTimeline, FileSystemViewStorageConfig config) {
+    super(tableMetadata, config.isIncrementalTimelineSyncEnabled());
+    String basePath = metaClient.getBasePath().toString();
+    this.snapshotDir = Paths.get(config.getSnapshotBasePath(), UUID.nameUUIDFromBytes(getUTF8Bytes(basePath)).toString());
+    init(metaClient, visibleActiveTimeline);
+  }
+
+  @Override
+  public void init(HoodieTableMetaClient metaClient, HoodieTimeline visibleActiveTimeline) {
+    super.init(metaClient, visibleActiveTimeline);
+    this.snapshotEnabled = !BootstrapIndex.getBootstrapIndex(metaClient).useIndex();
+    changedPartitions.clear();
+    snapshot = snapshotEnabled
+        ? FileSystemViewSnapshot.open(snapshotDir, metaClient.getBasePath().toString(), timelineHash)
+        : Option.empty();
+  }
+
+  @Override
+  protected void refreshTimeline(HoodieTimeline visibleActiveTimeline) {
+    // Pending log compactions do not change the file groups, and are excluded from the
+    // timeline of a view created by FileSystemViewManager
+    this.timelineHash = visibleActiveTimeline.filterCompletedAndCompactionInstants().getTimelineHash();
+    super.refreshTimeline(visibleActiveTimeline);
+  }
+
+  @Override
+  protected boolean isPartitionAvailableInStore(String partitionPath) {
+    return super.isPartitionAvailableInStore(partitionPath) || loadPartitionFromSnapshot(partitionPath);
+  }
+
+  @Override
+  protected void storePartitionView(String partitionPath, List<HoodieFileGroup> fileGroups) {
+    super.storePartitionView(partitionPath, fileGroups);
+    changedPartitions.add(partitionPath);
+  }
+
+  @Override
+  public void sync() {
+    writeLock.lock();
+    try {
+      super.sync();
+      // Downgrades to the read lock so that the view can be read while writing the snapshot
+      readLock.lock();
+    } finally {
+      writeLock.unlock();
+    }
+    try {
+      writeSnapshot();
+    } catch (HoodieException e) {
+      LOG.warn("Failed to write the snapshot of the file system view", e);
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  @Override
+  public void close() {
+    writeLock.lock();
+    try {
+      if (!isClosed()) {
+        writeSnapshot();
+      }
+    } catch (HoodieException e) {
+      LOG.warn("Failed to write the snapshot of the file system view", e);
+    } finally {
+      writeLock.unlock();
+    }
+    super.close();
+  }
+
+  @Override
+  protected void resetViewState() {
+    super.resetViewState();
+    changedPartitions.clear();
+    snapshot = Option.empty();
+  }
+
+  /**
+   * Writes the snapshot of the current timeline if any partition is changed since the
+   * last snapshot, and deletes the stale snapshots of other timelines of the table.
+   */
+  synchronized void writeSnapshot() {
+    boolean isSnapshotOfTimeline = snapshot.isPresent() && snapshot.get().getTimelineHash().equals(timelineHash);
+    if (!snapshotEnabled || (isSnapshotOfTimeline && changedPartitions.isEmpty())
+        || (!snapshot.isPresent() && partitionToFileGroupsMap.isEmpty())) {
+      return;
+    }
+    Set<String> partitionsToWrite = new HashSet<>(changedPartitions);
+    Map<String, List<FileGroupDTO>> partitionFileGroups = new HashMap<>();
+    partitionToFileGroupsMap.forEach((partitionPath, fileGroups) -> {
+      // The partitions loaded from the snapshot without change are copied from the snapshot
+      if (partitionsToWrite.contains(partitionPath) || !snapshot.isPresent() || !snapshot.get().containsPartition(partitionPath)) {
+        partitionFileGroups.put(partitionPath,
+            fileGroups.stream().map(fileGroup -> FileGroupDTO.fromFileGroup(fileGroup, false)).collect(Collectors.toList()));
+      }
+    });
+    Path snapshotPath = FileSystemViewSnapshot.write(
+        snapshotDir, metaClient.getBasePath().toString(), timelineHash, partitionFileGroups, snapshot);
+    snapshot = FileSystemViewSnapshot.open(snapshotDir, metaClient.getBasePath().toString(), timelineHash);
+    changedPartitions.removeAll(partitionsToWrite);
+    deleteSnapshotsExcept(snapshotPath);
+  }
+
+  Option<FileSystemViewSnapshot> getSnapshot() {
+    return snapshot;
+  }
+
+  private boolean loadPartitionFromSnapshot(String partitionPath) {
+    Option<FileSystemViewSnapshot> currentSnapshot = snapshot;
+    if (!currentSnapshot.isPresent() || partitionToFileGroupsMap == null) {
+      return false;
+    }
+    Option<List<FileGroupDTO>> fileGroups = currentSnapshot.get().readPartition(partitionPath);
+    if (!fileGroups.isPresent()) {
+      return false;
+    }
+    LOG.debug("Loading file groups of partition {} from snapshot {}", partitionPath, currentSnapshot.get().getPath());
+    HoodieTimeline timeline = getVisibleCommitsAndCompactionTimeline();
+    partitionToFileGroupsMap.putIfAbsent(partitionPath, fileGroups.get().stream()
+        .map(dto -> FileGroupDTO.toFileGroup(dto, timeline)).collect(Collectors.toList()));
+    return true;
+  }
+
+  /**
+   * Deletes the snapshot files and the leftover temporary files of the table, other than the given snapshot,
+   * that are not modified within {@link #STALE_SNAPSHOT_GRACE_PERIOD_MS}.
+   */
+  private void deleteSnapshotsExcept(Path snapshotPath) {
+    long modifiedTimeThreshold = System.currentTimeMillis() - STALE_SNAPSHOT_GRACE_PERIOD_MS;
+    try (DirectoryStream<Path> snapshotFiles = Files.newDirectoryStream(snapshotDir, "*" + FileSystemViewSnapshot.SNAPSHOT_FILE_EXTENSION + "*")) {
+      for (Path snapshotFile : snapshotFiles) {
+        if (!snapshotFile.equals(snapshotPath) && Files.getLastModifiedTime(snapshotFile).toMillis() < modifiedTimeThreshold) {
+          Files.deleteIfExists(snapshotFile);
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to delete stale snapshot files in " + snapshotDir, e);
+    }
+  }
+}
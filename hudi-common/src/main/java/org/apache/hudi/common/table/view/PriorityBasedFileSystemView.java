@@ -239,6 +239,18 @@ public class PriorityBasedFileSystemView implements SyncableFileSystemView, Seri
         (instantTime) -> getSecondaryView().getAllLatestFileSlicesBeforeOrOn(instantTime));
   }
 
+  @Override
+  public FileSlicePage getLatestFileSlicesPaginated(String partitionPath, Option<String> cursor, int pageSize) {
+    return execute(partitionPath, cursor, pageSize, preferredView::getLatestFileSlicesPaginated,
+        (path, pageCursor, size) -> getSecondaryView().getLatestFileSlicesPaginated(path, pageCursor, size));
+  }
+
+  @Override
+  public FileSlicePage getAllLatestFileSlicesBeforeOrOnPaginated(String maxCommitTime, Option<String> cursor, int pageSize) {
+    return execute(maxCommitTime, cursor, pageSize, preferredView::getAllLatestFileSlicesBeforeOrOnPaginated,
+        (instantTime, pageCursor, size) -> getSecondaryView().getAllLatestFileSlicesBeforeOrOnPaginated(instantTime, pageCursor, size));
+  }
+
   @Override
   public Stream<FileSlice> getLatestMergedFileSlicesBeforeOrOn(String partitionPath, String maxInstantTime) {
     return execute(partitionPath, maxInstantTime, preferredView::getLatestMergedFileSlicesBeforeOrOn,
@@ -33,6 +33,8 @@ import org.apache.hudi.common.table.timeline.dto.CompactionOpDTO;
 import org.apache.hudi.common.table.timeline.dto.DTOUtils;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicePageDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicesDeltaDTO;
 import org.apache.hudi.common.table.timeline.dto.InstantDTO;
 import org.apache.hudi.common.table.timeline.dto.TimelineDTO;
 import org.apache.hudi.common.util.Option;
@@ -52,8 +54,10 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -69,6 +73,8 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   private static final String SCHEME = "http";
   private static final String BASE_URL = "/v1/hoodie/view";
   public static final String LATEST_PARTITION_SLICES_URL = String.format("%s/%s", BASE_URL, "slices/partition/latest/");
+  public static final String LATEST_PARTITION_SLICES_PAGE_URL = String.format("%s/%s", BASE_URL, "slices/partition/latest/page/");
+  public static final String LATEST_PARTITION_SLICES_DELTA_URL = String.format("%s/%s", BASE_URL, "slices/partition/latest/delta/");
   public static final String LATEST_PARTITION_SLICES_INFLIGHT_URL = String.format("%s/%s", BASE_URL, "slices/partition/latest/inflight/");
   public static final String LATEST_PARTITION_SLICES_STATELESS_URL = String.format("%s/%s", BASE_URL, "slices/partition/latest/stateless/");
   public static final String LATEST_PARTITION_SLICE_URL = String.format("%s/%s", BASE_URL, "slices/file/latest/");
@@ -78,6 +84,7 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   public static final String LATEST_SLICES_RANGE_INSTANT_URL = String.format("%s/%s", BASE_URL, "slices/range/latest/");
   public static final String LATEST_SLICES_BEFORE_ON_INSTANT_URL = String.format("%s/%s", BASE_URL, "slices/beforeoron/latest/");
   public static final String ALL_LATEST_SLICES_BEFORE_ON_INSTANT_URL = String.format("%s/%s", BASE_URL, "slices/all/beforeoron/latest/");
+  public static final String ALL_LATEST_SLICES_BEFORE_ON_INSTANT_PAGE_URL = String.format("%s/%s", BASE_URL, "slices/all/beforeoron/latest/page/");
 
   public static final String PENDING_COMPACTION_OPS_URL = String.format("%s/%s", BASE_URL, "compactions/pending/");
   public static final String PENDING_LOG_COMPACTION_OPS_URL = String.format("%s/%s", BASE_URL, "logcompactions/pending/");
@@ -118,15 +125,23 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   public static final String MIN_INSTANT_PARAM = "mininstant";
   public static final String INSTANTS_PARAM = "instants";
   public static final String FILEID_PARAM = "fileid";
+  public static final String SINCE_TIMELINE_HASH_PARAM = "sincetimelinehash";
   public static final String LAST_INSTANT_TS = "lastinstantts";
   public static final String TIMELINE_HASH = "timelinehash";
   public static final String REFRESH_OFF = "refreshoff";
   public static final String INCLUDE_FILES_IN_PENDING_COMPACTION_PARAM = "includependingcompaction";
+  public static final String CURSOR_PARAM = "cursor";
+  public static final String PAGE_SIZE_PARAM = "pagesize";
+
+  // Maximum number of file slices returned in a page, larger page sizes are capped by the timeline server
+  public static final int MAX_PAGE_SIZE = 10000;
 
   public static final String MULTI_VALUE_SEPARATOR = ",";
 
   private static final Logger LOG = LoggerFactory.getLogger(RemoteHoodieTableFileSystemView.class);
   private static final TypeReference<List<FileSliceDTO>> FILE_SLICE_DTOS_REFERENCE = new TypeReference<List<FileSliceDTO>>() {};
+  private static final TypeReference<FileSlicePageDTO> FILE_SLICE_PAGE_DTO_REFERENCE = new TypeReference<FileSlicePageDTO>() {};
+  private static final TypeReference<FileSlicesDeltaDTO> FILE_SLICES_DELTA_DTO_REFERENCE = new TypeReference<FileSlicesDeltaDTO>() {};
   private static final TypeReference<List<FileGroupDTO>> FILE_GROUP_DTOS_REFERENCE = new TypeReference<List<FileGroupDTO>>() {};
   private static final TypeReference<Boolean> BOOLEAN_TYPE_REFERENCE = new TypeReference<Boolean>() {};
   private static final TypeReference<List<CompactionOpDTO>> COMPACTION_OP_DTOS_REFERENCE = new TypeReference<List<CompactionOpDTO>>() {};
@@ -141,6 +156,9 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   private final HoodieTableMetaClient metaClient;
   private HoodieTimeline timeline;
   private final TimelineServiceClientBase timelineServiceClient;
+  private final boolean deltaSyncEnabled;
+  // Partition path -> latest file slices of the partition, kept only if delta sync is enabled
+  private final Map<String, CachedFileSlices> latestFileSlicesCache = new ConcurrentHashMap<>();
 
   private boolean closed = false;
 
@@ -153,6 +171,7 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
     this.metaClient = metaClient;
     this.timeline = metaClient.getActiveTimeline().filterCompletedAndCompactionInstants();
     this.timelineServiceClient = new TimelineServiceClient(viewConf);
+    this.deltaSyncEnabled = viewConf.isRemoteDeltaSyncEnabled();
   }
 
   private <T> T executeRequest(String requestPath, Map<String, String> queryParameters, TypeReference<T> reference,
@@ -295,9 +314,40 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   @Override
   public Stream<FileSlice> getLatestFileSlices(String partitionPath) {
     Map<String, String> paramsMap = getParamsWithPartitionPath(partitionPath);
+    if (deltaSyncEnabled) {
+      return getLatestFileSlicesWithDeltaSync(partitionPath, paramsMap);
+    }
     return getLatestFileSlicesStreamFromParams(LATEST_PARTITION_SLICES_URL, paramsMap);
   }
 
+  /**
+   * Gets the latest file slices of the partition by applying the changes since the cached file slices,
+   * fetched from the timeline server, to the cached file slices.
+   */
+  private Stream<FileSlice> getLatestFileSlicesWithDeltaSync(String partitionPath, Map<String, String> paramsMap) {
+    CachedFileSlices cached = latestFileSlicesCache.get(partitionPath);
+    if (cached != null) {
+      paramsMap.put(SINCE_TIMELINE_HASH_PARAM, cached.timelineHash);
+    }
+    FileSlicesDeltaDTO delta;
+    try {
+      delta = executeRequest(LATEST_PARTITION_SLICES_DELTA_URL, paramsMap, FILE_SLICES_DELTA_DTO_REFERENCE, RequestMethod.GET);
+    } catch (IOException e) {
+      throw new HoodieRemoteException(e);
+    }
+    Map<String, FileSlice> fileSlices = new LinkedHashMap<>();
+    if (!delta.isFullSync()) {
+      ValidationUtils.checkState(cached != null, "Received the changes to unknown file slices of partition " + partitionPath);
+      fileSlices.putAll(cached.fileSlices);
+      delta.getChangedFileIds().forEach(fileSlices::remove);
+    }
+    delta.getFileSlices().stream().map(FileSliceDTO::toFileSlice)
+        .forEach(fileSlice -> fileSlices.put(fileSlice.getFileId(), fileSlice));
+    latestFileSlicesCache.put(partitionPath, new CachedFileSlices(delta.getTimelineHash(), fileSlices));
+    // Copy the cached file slices as the callers may modify them
+    return fileSlices.values().stream().map(FileSlice::new);
+  }
+
   @Override
   public Stream<FileSlice> getLatestFileSlicesIncludingInflight(String partitionPath) {
     Map<String, String> paramsMap = getParamsWithPartitionPath(partitionPath);
@@ -349,6 +399,29 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
     }
   }
 
+  @Override
+  public FileSlicePage getLatestFileSlicesPaginated(String partitionPath, Option<String> cursor, int pageSize) {
+    Map<String, String> paramsMap = getParamsWithAdditionalParam(partitionPath, PAGE_SIZE_PARAM, String.valueOf(pageSize));
+    return getFileSlicePageFromParams(LATEST_PARTITION_SLICES_PAGE_URL, paramsMap, cursor);
+  }
+
+  @Override
+  public FileSlicePage getAllLatestFileSlicesBeforeOrOnPaginated(String maxCommitTime, Option<String> cursor, int pageSize) {
+    Map<String, String> paramsMap = getParams(MAX_INSTANT_PARAM, maxCommitTime);
+    paramsMap.put(PAGE_SIZE_PARAM, String.valueOf(pageSize));
+    return getFileSlicePageFromParams(ALL_LATEST_SLICES_BEFORE_ON_INSTANT_PAGE_URL, paramsMap, cursor);
+  }
+
+  private FileSlicePage getFileSlicePageFromParams(String requestPath, Map<String, String> paramsMap, Option<String> cursor) {
+    cursor.ifPresent(pageCursor -> paramsMap.put(CURSOR_PARAM, pageCursor));
+    try {
+      FileSlicePageDTO dto = executeRequest(requestPath, paramsMap, FILE_SLICE_PAGE_DTO_REFERENCE, RequestMethod.GET);
+      return FileSlicePageDTO.toFileSlicePage(dto);
+    } catch (IOException e) {
+      throw new HoodieRemoteException(e);
+    }
+  }
+
   @Override
   public Stream<FileSlice> getLatestMergedFileSlicesBeforeOrOn(String partitionPath, String maxInstantTime) {
     Map<String, String> paramsMap = getParamsWithAdditionalParam(partitionPath, MAX_INSTANT_PARAM, maxInstantTime);
@@ -510,6 +583,7 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   @Override
   public void close() {
     closed = true;
+    latestFileSlicesCache.clear();
   }
 
   @Override
@@ -521,4 +595,17 @@ public class RemoteHoodieTableFileSystemView implements SyncableFileSystemView,
   public void sync() {
     refresh();
   }
+
+  /**
+   * Latest file slices of a partition as of the timeline of the timeline server with the hash.
+   */
+  private static class CachedFileSlices implements Serializable {
+    private final String timelineHash;
+    private final Map<String, FileSlice> fileSlices;
+
+    CachedFileSlices(String timelineHash, Map<String, FileSlice> fileSlices) {
+      this.timelineHash = timelineHash;
+      this.fileSlices = fileSlices;
+    }
+  }
 }
@@ -156,6 +156,27 @@ public interface TableFileSystemView {
      */
     Map<String, Stream<FileSlice>> getAllLatestFileSlicesBeforeOrOn(String maxCommitTime);
 
+    /**
+     * Get a page of the latest file slices in the given partition, in the order of the file IDs.
+     *
+     * @param partitionPath Partition path
+     * @param cursor Cursor returned with the previous page, or empty for the first page
+     * @param pageSize Maximum number of file slices in the page
+     * @return A {@link FileSlicePage} of the latest file slices after the cursor.
+     */
+    FileSlicePage getLatestFileSlicesPaginated(String partitionPath, Option<String> cursor, int pageSize);
+
+    /**
+     * Get a page of the latest file slices of all partitions with precondition that commitTime(file) before
+     * maxCommitTime, in the order of the partition paths and then the file IDs.
+     *
+     * @param maxCommitTime Max Instant Time
+     * @param cursor Cursor returned with the previous page, or empty for the first page
+     * @param pageSize Maximum number of file slices in the page
+     * @return A {@link FileSlicePage} of the latest file slices before maxCommitTime after the cursor.
+     */
+    FileSlicePage getAllLatestFileSlicesBeforeOrOnPaginated(String maxCommitTime, Option<String> cursor, int pageSize);
+
     /**
      * Stream all "merged" file-slices before on an instant time If a file-group has a pending compaction request, the
      * file-slice before and after compaction request instant is merged and returned.
@@ -109,7 +109,8 @@ public class CompactionUtils {
         .setPartitionPath(op.getPartitionPath())
         .setBootstrapFilePath(op.getBootstrapFilePath().orElse(null))
         .setDataFilePath(op.getDataFileName().isPresent() ? op.getDataFileName().get() : null)
-        .setDeltaFilePaths(op.getDeltaFileNames()).setMetrics(op.getMetrics()).build();
+        .setDeltaFilePaths(op.getDeltaFileNames()).setMetrics(op.getMetrics())
+        .setRecordKeySplitPoints(op.getRecordKeySplitPoints().isEmpty() ? null : op.getRecordKeySplitPoints()).build();
   }
 
   /**
@@ -28,6 +28,7 @@ import com.esotericsoftware.kryo.Kryo;
 import com.esotericsoftware.kryo.Serializer;
 import com.esotericsoftware.kryo.io.Input;
 import com.esotericsoftware.kryo.io.Output;
+import com.esotericsoftware.kryo.serializers.CollectionSerializer;
 import org.apache.avro.generic.GenericData;
 import org.apache.avro.generic.IndexedRecord;
 import org.apache.avro.util.Utf8;
@@ -36,6 +37,9 @@ import org.objenesis.strategy.StdInstantiatorStrategy;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.TreeSet;
 
 /**
@@ -139,12 +143,25 @@ public class SerializationUtils {
       kryo.register(HoodieBaseFile.class);
       kryo.register(HoodieLogFile.class);
       kryo.register(TreeSet.class);
+      kryo.register(Arrays.asList().getClass(), new ArraysAsListSerializer());
 
       return kryo;
     }
 
   }
 
+  /**
+   * {@link Serializer} for the lists returned by {@link Arrays#asList}, which have no no-arg constructor
+   * and do not support adding elements, so they are deserialized as {@link ArrayList}s.
+   */
+  public static class ArraysAsListSerializer extends CollectionSerializer {
+
+    @Override
+    protected Collection create(Kryo kryo, Input input, Class<Collection> type) {
+      return new ArrayList();
+    }
+  }
+
   /**
    * NOTE: This {@link Serializer} could deserialize instance of {@link Utf8} serialized
    *       by implicitly generated Kryo serializer (based on {@link com.esotericsoftware.kryo.serializers.FieldSerializer}
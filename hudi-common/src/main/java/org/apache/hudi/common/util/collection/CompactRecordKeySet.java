@@ -0,0 +1,151 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.VisibleForTesting;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.ToLongFunction;
+
+/**
+ * A memory-compact set of record keys, which are chosen from a fixed collection of candidate keys,
+ * e.g., the keys of the incoming records of a merge, to track the keys that are already written.
+ * <p>
+ * The 64-bit hashes of the candidate keys are kept in an open-addressing table of primitive longs,
+ * and the membership of each slot in a bitmap, so that no {@link String} is retained per key. The
+ * candidate keys sharing a hash, which are rare, are marked as colliding when the set is created,
+ * and their membership is tracked exactly in a fallback set of keys.
+ * <p>
+ * Only the candidate keys can be added to the set.
+ */
+public class CompactRecordKeySet {
+
+  private static final long EMPTY_SLOT = 0L;
+  private static final double LOAD_FACTOR = 0.75;
+
+  private final ToLongFunction<String> hashFunction;
+  private final long[] slots;
+  private final int mask;
+  private final BitSet containedSlots;
+  private final BitSet collidingSlots;
+  private final Set<String> containedCollidingKeys = new HashSet<>();
+  private int size = 0;
+
+  public CompactRecordKeySet(Collection<String> candidateKeys) {
+    this(candidateKeys, CompactRecordKeySet::hash);
+  }
+
+  @VisibleForTesting
+  CompactRecordKeySet(Collection<String> candidateKeys, ToLongFunction<String> hashFunction) {
+    this.hashFunction = hashFunction;
+    int capacity = Integer.highestOneBit((int) Math.max(16, Math.ceil(candidateKeys.size() / LOAD_FACTOR)) * 2 - 1);
+    this.slots = new long[capacity];
+    this.mask = capacity - 1;
+    this.containedSlots = new BitSet(capacity);
+    this.collidingSlots = new BitSet();
+    for (String key : candidateKeys) {
+      long hash = hashOf(key);
+      int slot = findSlot(hash);
+      if (slots[slot] == hash) {
+        // Another candidate key has the same hash, or the key is a duplicate
+        collidingSlots.set(slot);
+      } else {
+        slots[slot] = hash;
+      }
+    }
+  }
+
+  /**
+   * Adds a candidate key to the set.
+   *
+   * @param key the record key, which must be one of the candidate keys.
+   * @return true if the key was not in the set.
+   */
+  public boolean add(String key) {
+    int slot = findSlot(hashOf(key));
+    ValidationUtils.checkArgument(slots[slot] != EMPTY_SLOT, () -> "Record key " + key + " is not a candidate key");
+    boolean added;
+    if (collidingSlots.get(slot)) {
+      added = containedCollidingKeys.add(key);
+    } else {
+      added = !containedSlots.get(slot);
+      containedSlots.set(slot);
+    }
+    if (added) {
+      size++;
+    }
+    return added;
+  }
+
+  /**
+   * @param key the record key.
+   * @return whether the key is in the set.
+   */
+  public boolean contains(String key) {
+    int slot = findSlot(hashOf(key));
+    if (slots[slot] == EMPTY_SLOT) {
+      return false;
+    }
+    return collidingSlots.get(slot) ? containedCollidingKeys.contains(key) : containedSlots.get(slot);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  private long hashOf(String key) {
+    long hash = hashFunction.applyAsLong(key);
+    // Zero marks an empty slot, the key shares the hash of 1 instead
+    return hash == EMPTY_SLOT ? 1L : hash;
+  }
+
+  private int findSlot(long hash) {
+    int slot = (int) hash & mask;
+    while (slots[slot] != EMPTY_SLOT && slots[slot] != hash) {
+      slot = (slot + 1) & mask;
+    }
+    return slot;
+  }
+
+  /**
+   * 64-bit FNV-1a hash of the characters of the key, followed by the finalization mix of MurmurHash3
+   * to spread the bits used for the slot index.
+   */
+  private static long hash(String key) {
+    long hash = 0xcbf29ce484222325L;
+    for (int i = 0; i < key.length(); i++) {
+      hash ^= key.charAt(i);
+      hash *= 0x100000001b3L;
+    }
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+}
@@ -29,6 +29,8 @@ import javax.annotation.concurrent.NotThreadSafe;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -55,6 +57,10 @@ import java.util.stream.Stream;
  * The setting of the spill threshold faces the following trade-off: If the spill threshold is too high, the in-memory
  * map may occupy more memory than is available, resulting in OOM. However, if the spill threshold is too low, we spill
  * frequently and incur unnecessary disk writes.
+ * <p>
+ * With {@link DiskMapType#OFF_HEAP}, the in-memory map is an {@link OffHeapMap} keeping the serialized key-values outside
+ * of the JVM heap, whose size is accounted exactly instead of being estimated, and the entries spill to a
+ * {@link BitCaskDiskMap}.
  */
 @NotThreadSafe
 public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R>, Serializable, Closeable, KeyFilteringIterable<T, R> {
@@ -64,13 +70,17 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   private static final Logger LOG = LoggerFactory.getLogger(ExternalSpillableMap.class);
   // maximum space allowed in-memory for this map
   private final long maxInMemorySizeInBytes;
-  // Map to store key-values in memory until it hits maxInMemorySizeInBytes
-  private final Map<T, R> inMemoryMap;
+  // Map to store key-values in memory until it hits maxInMemorySizeInBytes, serialized entry by entry
+  private transient Map<T, R> inMemoryMap;
+  // Same as inMemoryMap if the key-values in memory are stored off-heap; null otherwise.
+  // Off-heap memory can not be serialized, so the map is re-created on deserialization
+  private transient OffHeapMap<T, R> offHeapMap;
   // Map to store key-values on disk or db after it spilled over the memory
   private transient volatile DiskMap<T, R> diskBasedMap;
   // TODO(na) : a dynamic sizing factor to ensure we have space for other objects in memory and
   // incorrect payload estimation
   private static final double SIZING_FACTOR_FOR_IN_MEMORY_MAP = 0.8;
+  private static final int MIN_OFF_HEAP_ARENA_SIZE = 64 * 1024;
   // Size Estimator for key type
   private final SizeEstimator<T> keySizeEstimator;
   // Size Estimator for key types
@@ -92,9 +102,13 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   public ExternalSpillableMap(long maxInMemorySizeInBytes, String baseFilePath, SizeEstimator<T> keySizeEstimator,
                               SizeEstimator<R> valueSizeEstimator, DiskMapType diskMapType, CustomSerializer<R> valueSerializer,
                               boolean isCompressionEnabled, String loggingContext) throws IOException {
-    this.inMemoryMap = new HashMap<>();
+    if (diskMapType == DiskMapType.OFF_HEAP) {
+      // The size of the off-heap map is exact, so no room is reserved for estimation errors
+      this.maxInMemorySizeInBytes = maxInMemorySizeInBytes;
+    } else {
+      this.maxInMemorySizeInBytes = (long) Math.floor(maxInMemorySizeInBytes * SIZING_FACTOR_FOR_IN_MEMORY_MAP);
+    }
     this.baseFilePath = baseFilePath;
-    this.maxInMemorySizeInBytes = (long) Math.floor(maxInMemorySizeInBytes * SIZING_FACTOR_FOR_IN_MEMORY_MAP);
     this.currentInMemoryMapSize = 0L;
     this.keySizeEstimator = keySizeEstimator;
     this.valueSizeEstimator = valueSizeEstimator;
@@ -102,9 +116,50 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
     this.isCompressionEnabled = isCompressionEnabled;
     this.valueSerializer = valueSerializer;
     this.loggingContext = loggingContext;
+    initInMemoryMap();
     LOG.debug("Initializing ExternalSpillableMap with baseFilePath = {}, maxInMemorySizeInBytes = {}, diskMapType = {}", maxInMemorySizeInBytes, baseFilePath, diskMapType);
   }
 
+  /**
+   * Sizes the off-heap arenas to a fraction of the memory budget, so that allocating a new arena
+   * overshoots the budget by little.
+   */
+  private static int getOffHeapArenaSize(long maxInMemorySizeInBytes) {
+    return (int) Math.max(MIN_OFF_HEAP_ARENA_SIZE, Math.min(OffHeapMap.DEFAULT_ARENA_SIZE, maxInMemorySizeInBytes / 16));
+  }
+
+  private void initInMemoryMap() {
+    if (diskMapType == DiskMapType.OFF_HEAP) {
+      this.offHeapMap = new OffHeapMap<>(valueSerializer, getOffHeapArenaSize(maxInMemorySizeInBytes));
+      this.inMemoryMap = offHeapMap;
+    } else {
+      this.offHeapMap = null;
+      this.inMemoryMap = new HashMap<>();
+    }
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    out.defaultWriteObject();
+    out.writeInt(inMemoryMap.size());
+    for (Map.Entry<T, R> entry : inMemoryMap.entrySet()) {
+      out.writeObject(entry.getKey());
+      out.writeObject(entry.getValue());
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    initInMemoryMap();
+    int numEntries = in.readInt();
+    for (int i = 0; i < numEntries; i++) {
+      inMemoryMap.put((T) in.readObject(), (R) in.readObject());
+    }
+    if (offHeapMap != null) {
+      currentInMemoryMapSize = offHeapMap.getSizeInBytes();
+    }
+  }
+
   private void initDiskBasedMap() {
     if (null == diskBasedMap) {
       synchronized (this) {
@@ -171,7 +226,7 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   }
 
   /**
-   * Approximate memory footprint of the in-memory map.
+   * Approximate memory footprint of the in-memory map, or the exact one with {@link DiskMapType#OFF_HEAP}.
    */
   public long getCurrentInMemoryMapSize() {
     return currentInMemoryMapSize;
@@ -217,6 +272,9 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
 
   @Override
   public R put(T key, R value) {
+    if (offHeapMap != null) {
+      return putOffHeap(key, value);
+    }
     if (this.inMemoryMap.containsKey(key)) {
       this.inMemoryMap.put(key, value);
     } else if (this.currentInMemoryMapSize < this.maxInMemorySizeInBytes) {
@@ -246,10 +304,32 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
     return value;
   }
 
+  private R putOffHeap(T key, R value) {
+    if (this.currentInMemoryMapSize < this.maxInMemorySizeInBytes || this.offHeapMap.containsKey(key)) {
+      // Remove the old version of the record from disk first to avoid data duplication.
+      if (inDiskContainsKey(key)) {
+        diskBasedMap.remove(key);
+      }
+      this.offHeapMap.put(key, value);
+      this.currentInMemoryMapSize = this.offHeapMap.getSizeInBytes();
+      this.estimatedPayloadSize = this.offHeapMap.getLiveEntrySizeInBytes() / this.offHeapMap.size();
+    } else {
+      if (diskBasedMap == null) {
+        initDiskBasedMap();
+      }
+      diskBasedMap.put(key, value);
+    }
+    return value;
+  }
+
   @Override
   public R remove(Object key) {
     // NOTE : getDiskBasedMap().remove does not delete the data from disk
-    if (inMemoryMap.containsKey(key)) {
+    if (offHeapMap != null && offHeapMap.containsKey(key)) {
+      R value = offHeapMap.remove(key);
+      currentInMemoryMapSize = offHeapMap.getSizeInBytes();
+      return value;
+    } else if (inMemoryMap.containsKey(key)) {
       currentInMemoryMapSize -= estimatedPayloadSize;
       return inMemoryMap.remove(key);
     } else if (inDiskContainsKey(key)) {
@@ -341,6 +421,8 @@ public class ExternalSpillableMap<T extends Serializable, R> implements Map<T, R
   public enum DiskMapType {
     BITCASK,
     ROCKS_DB,
+    // Keeps the in-memory key-values off-heap and spills to BITCASK
+    OFF_HEAP,
     UNKNOWN
   }
 
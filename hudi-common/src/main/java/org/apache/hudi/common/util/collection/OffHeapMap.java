@@ -0,0 +1,436 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.serialization.CustomSerializer;
+import org.apache.hudi.common.util.SerializationUtils;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieIOException;
+
+import javax.annotation.concurrent.NotThreadSafe;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import static org.apache.hudi.common.util.StringUtils.fromUTF8Bytes;
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
+/**
+ * A map that keeps the serialized keys and values outside of the JVM heap, used as the
+ * in-memory tier of {@link ExternalSpillableMap} with {@link ExternalSpillableMap.DiskMapType#OFF_HEAP}.
+ * <p>
+ * Entries are appended to direct byte buffers (arenas) as
+ * {@code [key length][value length][key bytes][value bytes]}. The entries are located through
+ * an open-addressing index with linear probing, keyed by the serialized key bytes, which
+ * consists of two primitive arrays. So the map holds a handful of objects on the heap
+ * regardless of the number of entries, and its memory footprint is known exactly, see
+ * {@link #getSizeInBytes()}.
+ * <p>
+ * Overwritten and removed entries leave garbage in the arenas, which is reclaimed by
+ * compacting the live entries into new arenas once the garbage dominates.
+ * <p>
+ * NOTE: {@link #put(Serializable, Object)} returns the given value instead of the previous one,
+ * same as {@link BitCaskDiskMap}, to avoid deserializing the previous value.
+ *
+ * @param <T> The generic type of the keys
+ * @param <R> The generic type of the values
+ */
+@NotThreadSafe
+public final class OffHeapMap<T extends Serializable, R> extends AbstractMap<T, R> {
+  public static final int DEFAULT_ARENA_SIZE = 4 * 1024 * 1024; // 4 MB
+  // Key length and value length
+  private static final int ENTRY_HEADER_SIZE = 8;
+  private static final int INITIAL_INDEX_CAPACITY = 1024;
+  private static final long EMPTY_SLOT = -1L;
+  private static final long REMOVED_SLOT = -2L;
+  // Tags of the key encodings
+  private static final byte STRING_KEY = 0;
+  private static final byte LONG_KEY = 1;
+  private static final byte SERIALIZED_KEY = 2;
+
+  private final CustomSerializer<R> valueSerializer;
+  private final int arenaSize;
+  private final List<ByteBuffer> arenas = new ArrayList<>();
+  // Hash of the key bytes and address of the entry for each slot of the index; the address
+  // is the arena index in the upper 32 bits and the offset in the arena in the lower 32 bits
+  private int[] slotHashes;
+  private long[] slotAddresses;
+  private int numEntries = 0;
+  // Number of slots holding either an entry or a tombstone of a removed entry
+  private int numOccupiedSlots = 0;
+  private long arenaSizeInBytes = 0L;
+  private long liveEntrySizeInBytes = 0L;
+
+  public OffHeapMap(CustomSerializer<R> valueSerializer) {
+    this(valueSerializer, DEFAULT_ARENA_SIZE);
+  }
+
+  public OffHeapMap(CustomSerializer<R> valueSerializer, int arenaSize) {
+    ValidationUtils.checkArgument(arenaSize > 0, "The arena size must be positive: " + arenaSize);
+    this.valueSerializer = valueSerializer;
+    this.arenaSize = arenaSize;
+    resetIndex(INITIAL_INDEX_CAPACITY);
+  }
+
+  /**
+   * @return the exact number of bytes held by this map, i.e., the capacity of the off-heap
+   * arenas plus the on-heap index.
+   */
+  public long getSizeInBytes() {
+    return arenaSizeInBytes + (long) slotHashes.length * Integer.BYTES + (long) slotAddresses.length * Long.BYTES;
+  }
+
+  /**
+   * @return the number of bytes of the live entries in the off-heap arenas.
+   */
+  public long getLiveEntrySizeInBytes() {
+    return liveEntrySizeInBytes;
+  }
+
+  @Override
+  public int size() {
+    return numEntries;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return numEntries == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    byte[] keyBytes = serializeKey(key);
+    return findSlot(keyBytes, hash(keyBytes)) >= 0;
+  }
+
+  @Override
+  public R get(Object key) {
+    byte[] keyBytes = serializeKey(key);
+    int slot = findSlot(keyBytes, hash(keyBytes));
+    return slot < 0 ? null : readValue(slotAddresses[slot]);
+  }
+
+  @Override
+  public R put(T key, R value) {
+    byte[] keyBytes = serializeKey(key);
+    byte[] valueBytes;
+    try {
+      valueBytes = valueSerializer.serialize(value);
+    } catch (IOException e) {
+      throw new HoodieIOException("Unable to serialize the value of key " + key, e);
+    }
+    int hash = hash(keyBytes);
+    int slot = findSlot(keyBytes, hash);
+    long address = append(keyBytes, valueBytes);
+    if (slot >= 0) {
+      liveEntrySizeInBytes -= entrySize(slotAddresses[slot]);
+      slotAddresses[slot] = address;
+    } else {
+      insert(hash, address);
+      numEntries++;
+    }
+    liveEntrySizeInBytes += ENTRY_HEADER_SIZE + keyBytes.length + valueBytes.length;
+    compactIfNeeded();
+    return value;
+  }
+
+  @Override
+  public R remove(Object key) {
+    byte[] keyBytes = serializeKey(key);
+    int slot = findSlot(keyBytes, hash(keyBytes));
+    if (slot < 0) {
+      return null;
+    }
+    long address = slotAddresses[slot];
+    R value = readValue(address);
+    liveEntrySizeInBytes -= entrySize(address);
+    slotAddresses[slot] = REMOVED_SLOT;
+    numEntries--;
+    compactIfNeeded();
+    return value;
+  }
+
+  /**
+   * Removes all the entries and releases the arenas, whose off-heap memory is freed once the
+   * buffers are garbage collected.
+   */
+  @Override
+  public void clear() {
+    arenas.clear();
+    arenaSizeInBytes = 0L;
+    liveEntrySizeInBytes = 0L;
+    numEntries = 0;
+    resetIndex(INITIAL_INDEX_CAPACITY);
+  }
+
+  @Override
+  public Set<Entry<T, R>> entrySet() {
+    return new AbstractSet<Entry<T, R>>() {
+      @Override
+      public Iterator<Entry<T, R>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return numEntries;
+      }
+    };
+  }
+
+  private int findSlot(byte[] keyBytes, int hash) {
+    int mask = slotAddresses.length - 1;
+    int slot = hash & mask;
+    // The load factor of the index is kept below one, so there is always an empty slot
+    while (slotAddresses[slot] != EMPTY_SLOT) {
+      long address = slotAddresses[slot];
+      if (address != REMOVED_SLOT && slotHashes[slot] == hash && keyEquals(address, keyBytes)) {
+        return slot;
+      }
+      slot = (slot + 1) & mask;
+    }
+    return -1;
+  }
+
+  private void insert(int hash, long address) {
+    if ((numOccupiedSlots + 1) * 2L > slotAddresses.length) {
+      // Keep the load factor, including the tombstones, at most 0.5
+      rebuildIndex(numEntries + 1 > slotAddresses.length / 4 ? slotAddresses.length * 2 : slotAddresses.length);
+    }
+    int mask = slotAddresses.length - 1;
+    int slot = hash & mask;
+    while (slotAddresses[slot] >= 0) {
+      slot = (slot + 1) & mask;
+    }
+    if (slotAddresses[slot] == EMPTY_SLOT) {
+      numOccupiedSlots++;
+    }
+    slotHashes[slot] = hash;
+    slotAddresses[slot] = address;
+  }
+
+  private void rebuildIndex(int capacity) {
+    int[] oldHashes = slotHashes;
+    long[] oldAddresses = slotAddresses;
+    resetIndex(capacity);
+    for (int i = 0; i < oldAddresses.length; i++) {
+      if (oldAddresses[i] >= 0) {
+        insert(oldHashes[i], oldAddresses[i]);
+      }
+    }
+  }
+
+  private void resetIndex(int capacity) {
+    slotHashes = new int[capacity];
+    slotAddresses = new long[capacity];
+    Arrays.fill(slotAddresses, EMPTY_SLOT);
+    numOccupiedSlots = 0;
+  }
+
+  private long append(byte[] keyBytes, byte[] valueBytes) {
+    int size = ENTRY_HEADER_SIZE + keyBytes.length + valueBytes.length;
+    ByteBuffer arena = arenas.isEmpty() ? null : arenas.get(arenas.size() - 1);
+    if (arena == null || arena.remaining() < size) {
+      // An entry larger than the arena size gets a dedicated arena
+      arena = ByteBuffer.allocateDirect(Math.max(arenaSize, size));
+      arenas.add(arena);
+      arenaSizeInBytes += arena.capacity();
+    }
+    long address = ((long) (arenas.size() - 1) << 32) | arena.position();
+    arena.putInt(keyBytes.length);
+    arena.putInt(valueBytes.length);
+    arena.put(keyBytes);
+    arena.put(valueBytes);
+    return address;
+  }
+
+  /**
+   * Copies the live entries into new arenas if more than half of the arena bytes are garbage.
+   */
+  private void compactIfNeeded() {
+    if (arenas.size() <= 1 || liveEntrySizeInBytes * 2 >= arenaSizeInBytes) {
+      return;
+    }
+    List<ByteBuffer> oldArenas = new ArrayList<>(arenas);
+    long[] oldAddresses = slotAddresses;
+    int[] oldHashes = slotHashes;
+    arenas.clear();
+    arenaSizeInBytes = 0L;
+    resetIndex(slotAddresses.length);
+    for (int i = 0; i < oldAddresses.length; i++) {
+      if (oldAddresses[i] >= 0) {
+        ByteBuffer oldArena = oldArenas.get(arenaIndex(oldAddresses[i]));
+        int offset = arenaOffset(oldAddresses[i]);
+        insert(oldHashes[i], append(
+            readBytes(oldArena, offset + ENTRY_HEADER_SIZE, oldArena.getInt(offset)),
+            readBytes(oldArena, offset + ENTRY_HEADER_SIZE + oldArena.getInt(offset), oldArena.getInt(offset + Integer.BYTES))));
+      }
+    }
+  }
+
+  private boolean keyEquals(long address, byte[] keyBytes) {
+    ByteBuffer arena = arenas.get(arenaIndex(address));
+    int offset = arenaOffset(address);
+    if (arena.getInt(offset) != keyBytes.length) {
+      return false;
+    }
+    int keyOffset = offset + ENTRY_HEADER_SIZE;
+    for (int i = 0; i < keyBytes.length; i++) {
+      if (arena.get(keyOffset + i) != keyBytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int entrySize(long address) {
+    ByteBuffer arena = arenas.get(arenaIndex(address));
+    int offset = arenaOffset(address);
+    return ENTRY_HEADER_SIZE + arena.getInt(offset) + arena.getInt(offset + Integer.BYTES);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T readKey(long address) {
+    ByteBuffer arena = arenas.get(arenaIndex(address));
+    int offset = arenaOffset(address);
+    return (T) deserializeKey(readBytes(arena, offset + ENTRY_HEADER_SIZE, arena.getInt(offset)));
+  }
+
+  private R readValue(long address) {
+    ByteBuffer arena = arenas.get(arenaIndex(address));
+    int offset = arenaOffset(address);
+    int keyLength = arena.getInt(offset);
+    return valueSerializer.deserialize(
+        readBytes(arena, offset + ENTRY_HEADER_SIZE + keyLength, arena.getInt(offset + Integer.BYTES)));
+  }
+
+  private static byte[] readBytes(ByteBuffer arena, int offset, int length) {
+    byte[] bytes = new byte[length];
+    ByteBuffer view = arena.duplicate();
+    view.position(offset);
+    view.get(bytes);
+    return bytes;
+  }
+
+  private static int arenaIndex(long address) {
+    return (int) (address >>> 32);
+  }
+
+  private static int arenaOffset(long address) {
+    return (int) address;
+  }
+
+  private static int hash(byte[] keyBytes) {
+    int h = Arrays.hashCode(keyBytes) * 0x9E3779B9;
+    return h ^ (h >>> 16);
+  }
+
+  /**
+   * Serializes the key into bytes, with compact encodings of the common key types, i.e.,
+   * record keys as strings and record positions as longs.
+   */
+  static byte[] serializeKey(Object key) {
+    if (key instanceof String) {
+      byte[] stringBytes = getUTF8Bytes((String) key);
+      byte[] keyBytes = new byte[stringBytes.length + 1];
+      keyBytes[0] = STRING_KEY;
+      System.arraycopy(stringBytes, 0, keyBytes, 1, stringBytes.length);
+      return keyBytes;
+    }
+    if (key instanceof Long) {
+      return ByteBuffer.allocate(Long.BYTES + 1).put(LONG_KEY).putLong((Long) key).array();
+    }
+    try {
+      byte[] serializedBytes = SerializationUtils.serialize(key);
+      byte[] keyBytes = new byte[serializedBytes.length + 1];
+      keyBytes[0] = SERIALIZED_KEY;
+      System.arraycopy(serializedBytes, 0, keyBytes, 1, serializedBytes.length);
+      return keyBytes;
+    } catch (IOException e) {
+      throw new HoodieIOException("Unable to serialize the key " + key, e);
+    }
+  }
+
+  static Object deserializeKey(byte[] keyBytes) {
+    switch (keyBytes[0]) {
+      case STRING_KEY:
+        return fromUTF8Bytes(keyBytes, 1, keyBytes.length - 1);
+      case LONG_KEY:
+        return ByteBuffer.wrap(keyBytes, 1, Long.BYTES).getLong();
+      case SERIALIZED_KEY:
+        return SerializationUtils.deserialize(Arrays.copyOfRange(keyBytes, 1, keyBytes.length));
+      default:
+        throw new IllegalStateException("Unknown key encoding: " + keyBytes[0]);
+    }
+  }
+
+  /**
+   * Iterates over the index slots and deserializes the entries lazily.
+   */
+  private class EntryIterator implements Iterator<Entry<T, R>> {
+    private int slot = -1;
+    private int lastReturnedSlot = -1;
+
+    EntryIterator() {
+      advance();
+    }
+
+    @Override
+    public boolean hasNext() {
+      return slot < slotAddresses.length;
+    }
+
+    @Override
+    public Entry<T, R> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      long address = slotAddresses[slot];
+      lastReturnedSlot = slot;
+      advance();
+      return new SimpleImmutableEntry<>(readKey(address), readValue(address));
+    }
+
+    @Override
+    public void remove() {
+      ValidationUtils.checkState(lastReturnedSlot >= 0, "next() has not been called");
+      liveEntrySizeInBytes -= entrySize(slotAddresses[lastReturnedSlot]);
+      slotAddresses[lastReturnedSlot] = REMOVED_SLOT;
+      numEntries--;
+      lastReturnedSlot = -1;
+      // No compaction here, which would reorder the index during iteration
+    }
+
+    private void advance() {
+      do {
+        slot++;
+      } while (slot < slotAddresses.length && slotAddresses[slot] < 0);
+    }
+  }
+}
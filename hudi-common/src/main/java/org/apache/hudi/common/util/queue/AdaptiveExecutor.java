@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.queue;
+
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Iterator;
+import java.util.function.Function;
+
+import static org.apache.hudi.common.util.ValidationUtils.checkArgument;
+
+/**
+ * Implementation of the {@link HoodieExecutor} interface which picks the execution strategy for
+ * each execution, e.g., each write handle, from the observed speed of the producer and the consumer.
+ *
+ * <p>
+ * The first records are consumed directly from the input {@link Iterator} like {@link SimpleExecutor},
+ * timing the production (reading and transforming the record) and the consumption of each record.
+ * Decoupling the producer and the consumer through a queue only pays off when both take a comparable
+ * share of the time, so that they can overlap, e.g., a shuffle read feeding a file write. If so, the
+ * remaining records are handed over to the pipelined executor created by the given factory, which
+ * also finishes the consumer. Otherwise, the remaining records keep being consumed directly, without
+ * the overhead of the queue and the extra thread.
+ *
+ * <p>
+ * The number of executions running each strategy is published to the {@link Registry} named
+ * {@link HoodieExecutorMetrics#METRICS_REGISTRY_NAME}.
+ */
+public class AdaptiveExecutor<I, O, E> implements HoodieExecutor<E> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(AdaptiveExecutor.class);
+  public static final String NUM_PIPELINED_METRIC = "numPipelined";
+  public static final String NUM_SIMPLE_METRIC = "numSimple";
+
+  // Record iterator (producer)
+  private final Iterator<I> itr;
+  // Consumer
+  private final HoodieConsumer<O, E> consumer;
+  private final Function<I, O> transformFunction;
+  private final int numProbeRecords;
+  private final double minOverlapRatio;
+  // Creates the pipelined executor consuming the remaining records of the given iterator
+  private final Function<Iterator<I>, HoodieExecutor<E>> pipelinedExecutorFactory;
+  private final HoodieExecutorMetrics metrics;
+
+  private volatile HoodieExecutor<E> pipelinedExecutor;
+
+  public AdaptiveExecutor(Iterator<I> inputItr,
+                          HoodieConsumer<O, E> consumer,
+                          Function<I, O> transformFunction,
+                          int numProbeRecords,
+                          double minOverlapRatio,
+                          Function<Iterator<I>, HoodieExecutor<E>> pipelinedExecutorFactory) {
+    checkArgument(numProbeRecords > 0, "The number of probe records must be positive: " + numProbeRecords);
+    checkArgument(minOverlapRatio >= 0 && minOverlapRatio <= 1,
+        "The minimum overlap ratio must be within [0, 1]: " + minOverlapRatio);
+    this.itr = inputItr;
+    this.consumer = consumer;
+    this.transformFunction = transformFunction;
+    this.numProbeRecords = numProbeRecords;
+    this.minOverlapRatio = minOverlapRatio;
+    this.pipelinedExecutorFactory = pipelinedExecutorFactory;
+    this.metrics = new HoodieExecutorMetrics(AdaptiveExecutor.class.getSimpleName());
+  }
+
+  @Override
+  public E execute() {
+    try {
+      metrics.start();
+      long numRecords = 0L;
+      while (numRecords < numProbeRecords && itr.hasNext()) {
+        long startNanos = System.nanoTime();
+        O payload = transformFunction.apply(itr.next());
+        long producedNanos = System.nanoTime();
+        consumer.consume(payload);
+        metrics.addProducingNanos(producedNanos - startNanos);
+        metrics.addConsumingNanos(System.nanoTime() - producedNanos);
+        numRecords++;
+      }
+      metrics.addNumRecords(numRecords);
+
+      Registry registry = Registry.getRegistry(HoodieExecutorMetrics.METRICS_REGISTRY_NAME);
+      if (itr.hasNext() && shouldPipeline(metrics.getProducingNanos(), metrics.getConsumingNanos(), minOverlapRatio)) {
+        LOG.info("Switching to the pipelined executor after {} records, producing took {} ns and consuming took {} ns",
+            numRecords, metrics.getProducingNanos(), metrics.getConsumingNanos());
+        registry.increment(metrics.getMetricName(NUM_PIPELINED_METRIC));
+        metrics.finish();
+        pipelinedExecutor = pipelinedExecutorFactory.apply(itr);
+        return pipelinedExecutor.execute();
+      }
+
+      registry.increment(metrics.getMetricName(NUM_SIMPLE_METRIC));
+      while (itr.hasNext()) {
+        consumer.consume(transformFunction.apply(itr.next()));
+        numRecords++;
+      }
+      metrics.addNumRecords(numRecords - metrics.getNumRecords());
+      metrics.finish();
+      return consumer.finish();
+    } catch (HoodieException e) {
+      throw e;
+    } catch (Exception e) {
+      LOG.error("Failed consuming records", e);
+      throw new HoodieException(e);
+    }
+  }
+
+  /**
+   * Returns whether the producer and the consumer take a comparable share of the time per record,
+   * so that running them concurrently through a queue is worth its overhead.
+   *
+   * @param producingNanos  time spent on producing the probe records.
+   * @param consumingNanos  time spent on consuming the probe records.
+   * @param minOverlapRatio minimum ratio of the shorter to the longer time.
+   */
+  static boolean shouldPipeline(long producingNanos, long consumingNanos, double minOverlapRatio) {
+    long max = Math.max(producingNanos, consumingNanos);
+    return max > 0 && (double) Math.min(producingNanos, consumingNanos) / max >= minOverlapRatio;
+  }
+
+  public HoodieExecutorMetrics getMetrics() {
+    return metrics;
+  }
+
+  public boolean isPipelined() {
+    return pipelinedExecutor != null;
+  }
+
+  @Override
+  public void shutdownNow() {
+    if (pipelinedExecutor != null) {
+      pipelinedExecutor.shutdownNow();
+    } else if (itr instanceof ClosableIterator) {
+      // Consumer is already closed when the execution completes
+      ((ClosableIterator<I>) itr).close();
+    }
+  }
+
+  @Override
+  public boolean awaitTermination() {
+    return pipelinedExecutor == null || pipelinedExecutor.awaitTermination();
+  }
+}
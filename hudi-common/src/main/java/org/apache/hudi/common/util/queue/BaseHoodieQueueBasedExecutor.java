@@ -67,6 +67,8 @@ public abstract class BaseHoodieQueueBasedExecutor<I, O, E> implements HoodieExe
   private final List<HoodieProducer<I>> producers;
   // Consumer
   protected final Option<HoodieConsumer<O, E>> consumer;
+  // Metrics of the execution
+  protected final HoodieExecutorMetrics metrics;
   // Futures corresponding to producing/consuming processes
   private CompletableFuture<Void> consumingFuture;
   private CompletableFuture<Void> producingFuture;
@@ -78,6 +80,8 @@ public abstract class BaseHoodieQueueBasedExecutor<I, O, E> implements HoodieExe
     this.queue = queue;
     this.producers = producers;
     this.consumer = consumer;
+    this.metrics = new HoodieExecutorMetrics(getClass().getSimpleName());
+    this.queue.setMetrics(metrics);
     // Ensure fixed thread for each producer thread
     this.producerExecutorService = Executors.newFixedThreadPool(Math.max(1, producers.size()), new CustomizedThreadFactory("executor-queue-producer", preExecuteRunnable));
     // Ensure single thread for consumer
@@ -187,6 +191,10 @@ public abstract class BaseHoodieQueueBasedExecutor<I, O, E> implements HoodieExe
     return !queue.isEmpty();
   }
 
+  public HoodieExecutorMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Main API to run both production and consumption.
    */
@@ -195,6 +203,7 @@ public abstract class BaseHoodieQueueBasedExecutor<I, O, E> implements HoodieExe
     try {
       checkState(this.consumer.isPresent());
       setUp();
+      metrics.start();
       // Start consuming/producing asynchronously
       this.consumingFuture = startConsumingAsync();
       this.producingFuture = startProducingAsync();
@@ -205,6 +214,7 @@ public abstract class BaseHoodieQueueBasedExecutor<I, O, E> implements HoodieExe
           .whenComplete((ignored, throwable) -> {
             // Close the queue to release the resources
             queue.close();
+            metrics.finish();
           })
           .thenApply(ignored -> consumer.get().finish())
           // Block until producing and consuming both finish
@@ -116,6 +116,9 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
   /** Indicates number of samples collected so far. **/
   private long numSamples = 0;
 
+  /** Metrics of the executor using this queue. **/
+  private HoodieExecutorMetrics metrics = new HoodieExecutorMetrics(BoundedInMemoryQueue.class.getSimpleName());
+
   /**
    * Construct BoundedInMemoryQueue with default SizeEstimator.
    *
@@ -158,6 +161,11 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
     return this.queue.size();
   }
 
+  @Override
+  public void setMetrics(HoodieExecutorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   /**
    * Samples records with "RECORD_SAMPLING_RATE" frequency and computes average record size in bytes. It is used for
    * determining how many maximum records to queue. Based on change in avg size it ma increase or decrease available
@@ -169,6 +177,7 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
     if (this.samplingRecordCounter.incrementAndGet() % recordSamplingRate != 0) {
       return;
     }
+    metrics.updateQueueDepth(queue.size());
 
     final long recordSizeInBytes = payloadSizeEstimator.sizeEstimate(payload);
     final long newAvgRecordSizeInBytes =
@@ -203,7 +212,12 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
     // We need to stop queueing if queue-reader has failed and exited.
     throwExceptionIfFailed();
 
-    rateLimiter.acquire();
+    if (!rateLimiter.tryAcquire()) {
+      // The queue is full, the time waiting for the consumer to catch up is tracked
+      long waitStartNanos = System.nanoTime();
+      rateLimiter.acquire();
+      metrics.addProducerWaitNanos(System.nanoTime() - waitStartNanos);
+    }
     // We are retrieving insert value in the record queueing thread to offload computation
     // around schema validation
     // and record creation to it.
@@ -230,8 +244,9 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
     }
 
     rateLimiter.release();
-    Option<O> newRecord = Option.empty();
-    while (expectMoreRecords()) {
+    Option<O> newRecord = queue.poll();
+    long waitStartNanos = newRecord == null ? System.nanoTime() : -1L;
+    while (newRecord == null && expectMoreRecords()) {
       try {
         throwExceptionIfFailed();
         newRecord = queue.poll(RECORD_POLL_INTERVAL_SEC, TimeUnit.SECONDS);
@@ -243,10 +258,15 @@ public class BoundedInMemoryQueue<I, O> implements HoodieMessageQueue<I, O>, Ite
         throw new HoodieException(e);
       }
     }
+    if (waitStartNanos >= 0) {
+      // The queue was empty, the time waiting for the producers is tracked
+      metrics.addConsumerWaitNanos(System.nanoTime() - waitStartNanos);
+    }
     // Check one more time here as it is possible producer erred out and closed immediately
     throwExceptionIfFailed();
 
     if (newRecord != null && newRecord.isPresent()) {
+      metrics.incrementNumRecords();
       return newRecord;
     } else {
       // We are done reading all the records from internal iterator.
@@ -52,6 +52,10 @@ public class DisruptorMessageQueue<I, O> implements HoodieMessageQueue<I, O> {
 
   private boolean isShutdown = false;
   private boolean isStarted = false;
+  private HoodieExecutorMetrics metrics = new HoodieExecutorMetrics(DisruptorMessageQueue.class.getSimpleName());
+  // Updated by the event handler thread only
+  private long lastBatchEndNanos = -1L;
+  private boolean isBatchStart = true;
 
   private static final long TIMEOUT_WAITING_SECS = 10L;
 
@@ -81,7 +85,12 @@ public class DisruptorMessageQueue<I, O> implements HoodieMessageQueue<I, O> {
 
     O applied = transformFunction.apply(value);
     EventTranslator<HoodieDisruptorEvent> translator = (event, sequence) -> event.set(applied);
-    queue.getRingBuffer().publishEvent(translator);
+    if (!ringBuffer.tryPublishEvent(translator)) {
+      // The ring buffer is full, the time waiting for the consumer to catch up is tracked
+      long waitStartNanos = System.nanoTime();
+      ringBuffer.publishEvent(translator);
+      metrics.addProducerWaitNanos(System.nanoTime() - waitStartNanos);
+    }
   }
 
   @Override
@@ -109,6 +118,11 @@ public class DisruptorMessageQueue<I, O> implements HoodieMessageQueue<I, O> {
   public void seal() {
   }
 
+  @Override
+  public void setMetrics(HoodieExecutorMetrics metrics) {
+    this.metrics = metrics;
+  }
+
   @Override
   public void close() {
     synchronized (this) {
@@ -134,11 +148,24 @@ public class DisruptorMessageQueue<I, O> implements HoodieMessageQueue<I, O> {
 
   protected void setHandlers(HoodieConsumer<O, ?> consumer) {
     queue.handleEventsWith((event, sequence, endOfBatch) -> {
+      if (isBatchStart) {
+        // The handler idles between the batches of available events, which is when the
+        // consumer is waiting for the producers
+        if (lastBatchEndNanos >= 0) {
+          metrics.addConsumerWaitNanos(System.nanoTime() - lastBatchEndNanos);
+        }
+        metrics.updateQueueDepth(size());
+      }
+      isBatchStart = endOfBatch;
+      metrics.incrementNumRecords();
       try {
         consumer.consume(event.get());
       } catch (Exception e) {
         LOG.error("Failed consuming records", e);
       }
+      if (endOfBatch) {
+        lastBatchEndNanos = System.nanoTime();
+      }
     });
   }
 
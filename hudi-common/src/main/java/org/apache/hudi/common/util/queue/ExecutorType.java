@@ -40,5 +40,10 @@ public enum ExecutorType {
     + "The advantage is that there is no need for additional memory and cpu resources due to lock or multithreading. "
     + "The disadvantage is that the executor is a single-write-single-read model, cannot support functions such as speed limit "
     + "and can not de-couple the network read (shuffle read) and network write (writing objects/files to storage) anymore.")
-  SIMPLE
+  SIMPLE,
+
+  @EnumFieldDescription("Executor which starts consuming records from iterator directly like SIMPLE, and times the production and the "
+    + "consumption of the first records of each write handle. If both take a comparable share of the time, it switches to a queue-based "
+    + "executor for the remaining records to overlap them; otherwise, it keeps consuming the records directly.")
+  ADAPTIVE
 }
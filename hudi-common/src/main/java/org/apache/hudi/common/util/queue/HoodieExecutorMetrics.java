@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.util.queue;
+
+import org.apache.hudi.common.metrics.Registry;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Metrics of one execution of a {@link HoodieExecutor}: the number of records handed over from the
+ * producers to the consumer, the throughput, the maximum depth of the queue, the time the producers
+ * waited for room in a full queue and the time the consumer waited on an empty queue. Executors
+ * without a queue, i.e., {@link SimpleExecutor}, report the time spent on producing and consuming
+ * the records instead, estimated from a sample of the records.
+ * <p>
+ * The metrics are collected per execution so that the hot paths do not touch shared state, and are
+ * published once the execution finishes to the {@link Registry} named {@link #METRICS_REGISTRY_NAME},
+ * prefixed with the name of the executor, from which they are reported along with the other
+ * metrics of the write client. The registry is local to the JVM running the executor, so on Spark the
+ * metrics only reach the driver with the executor metrics enabled, in which case the write client
+ * registers the registry as a distributed one that accumulates the counts of the Spark executors.
+ */
+public class HoodieExecutorMetrics {
+  public static final String METRICS_REGISTRY_NAME = "HoodieExecutor";
+  public static final String NUM_EXECUTIONS_METRIC = "numExecutions";
+  public static final String NUM_RECORDS_METRIC = "numRecords";
+  public static final String RECORDS_PER_SEC_METRIC = "recordsPerSec";
+  public static final String MAX_QUEUE_DEPTH_METRIC = "maxQueueDepth";
+  public static final String PRODUCER_WAIT_TIME_MS_METRIC = "producerWaitTimeMs";
+  public static final String CONSUMER_WAIT_TIME_MS_METRIC = "consumerWaitTimeMs";
+  public static final String PRODUCING_TIME_MS_METRIC = "producingTimeMs";
+  public static final String CONSUMING_TIME_MS_METRIC = "consumingTimeMs";
+
+  private final String executorName;
+  // Updated by the producer threads
+  private final AtomicLong producerWaitNanos = new AtomicLong();
+  private final AtomicLong maxQueueDepth = new AtomicLong();
+  // Updated by the consumer thread only, and read once the execution finishes
+  private long numRecords = 0L;
+  private long consumerWaitNanos = 0L;
+  private long producingNanos = 0L;
+  private long consumingNanos = 0L;
+  private long startNanos = -1L;
+  private long durationNanos = 0L;
+
+  public HoodieExecutorMetrics(String executorName) {
+    this.executorName = executorName;
+  }
+
+  public void start() {
+    startNanos = System.nanoTime();
+  }
+
+  public void incrementNumRecords() {
+    numRecords++;
+  }
+
+  public void addNumRecords(long count) {
+    numRecords += count;
+  }
+
+  public void addProducerWaitNanos(long nanos) {
+    producerWaitNanos.addAndGet(nanos);
+  }
+
+  public void addConsumerWaitNanos(long nanos) {
+    consumerWaitNanos += nanos;
+  }
+
+  public void addProducingNanos(long nanos) {
+    producingNanos += nanos;
+  }
+
+  public void addConsumingNanos(long nanos) {
+    consumingNanos += nanos;
+  }
+
+  public void updateQueueDepth(long depth) {
+    long current = maxQueueDepth.get();
+    while (depth > current && !maxQueueDepth.compareAndSet(current, depth)) {
+      current = maxQueueDepth.get();
+    }
+  }
+
+  /**
+   * Marks the end of the execution and publishes the metrics to the registry. Only the first
+   * call after {@link #start()} takes effect.
+   */
+  public void finish() {
+    if (startNanos < 0) {
+      return;
+    }
+    durationNanos = System.nanoTime() - startNanos;
+    startNanos = -1L;
+    Registry registry = Registry.getRegistry(METRICS_REGISTRY_NAME);
+    registry.increment(getMetricName(NUM_EXECUTIONS_METRIC));
+    registry.add(getMetricName(NUM_RECORDS_METRIC), numRecords);
+    registry.set(getMetricName(RECORDS_PER_SEC_METRIC), getRecordsPerSec());
+    registry.set(getMetricName(MAX_QUEUE_DEPTH_METRIC), maxQueueDepth.get());
+    registry.add(getMetricName(PRODUCER_WAIT_TIME_MS_METRIC), TimeUnit.NANOSECONDS.toMillis(producerWaitNanos.get()));
+    registry.add(getMetricName(CONSUMER_WAIT_TIME_MS_METRIC), TimeUnit.NANOSECONDS.toMillis(consumerWaitNanos));
+    registry.add(getMetricName(PRODUCING_TIME_MS_METRIC), TimeUnit.NANOSECONDS.toMillis(producingNanos));
+    registry.add(getMetricName(CONSUMING_TIME_MS_METRIC), TimeUnit.NANOSECONDS.toMillis(consumingNanos));
+  }
+
+  public String getMetricName(String metric) {
+    return executorName + "." + metric;
+  }
+
+  public long getNumRecords() {
+    return numRecords;
+  }
+
+  public long getRecordsPerSec() {
+    return durationNanos > 0 ? (long) (numRecords * (double) TimeUnit.SECONDS.toNanos(1) / durationNanos) : 0L;
+  }
+
+  public long getMaxQueueDepth() {
+    return maxQueueDepth.get();
+  }
+
+  public long getProducerWaitNanos() {
+    return producerWaitNanos.get();
+  }
+
+  public long getConsumerWaitNanos() {
+    return consumerWaitNanos;
+  }
+
+  public long getProducingNanos() {
+    return producingNanos;
+  }
+
+  public long getConsumingNanos() {
+    return consumingNanos;
+  }
+}
@@ -59,6 +59,13 @@ public interface HoodieMessageQueue<I, O> extends Closeable {
    */
   void seal();
 
+  /**
+   * Sets the {@link HoodieExecutorMetrics} to collect the queue depth and the wait times of the
+   * producers and the consumer into.
+   */
+  default void setMetrics(HoodieExecutorMetrics metrics) {
+  }
+
   /**
    * Shuts down the queue, cleaning up the resources
    */
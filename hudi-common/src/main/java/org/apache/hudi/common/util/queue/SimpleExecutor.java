@@ -41,6 +41,8 @@ import java.util.function.Function;
 public class SimpleExecutor<I, O, E> implements HoodieExecutor<E> {
 
   private static final Logger LOG = LoggerFactory.getLogger(SimpleExecutor.class);
+  // Only one in this many records is timed to keep the overhead of the metrics low
+  private static final int TIMING_SAMPLING_RATE = 64;
 
   // Record iterator (producer)
   private final Iterator<I> itr;
@@ -48,6 +50,8 @@ public class SimpleExecutor<I, O, E> implements HoodieExecutor<E> {
   private final HoodieConsumer<O, E> consumer;
 
   private final Function<I, O> transformFunction;
+  // Metrics of the execution
+  private final HoodieExecutorMetrics metrics;
 
   public SimpleExecutor(Iterator<I> inputItr,
                         HoodieConsumer<O, E> consumer,
@@ -55,6 +59,7 @@ public class SimpleExecutor<I, O, E> implements HoodieExecutor<E> {
     this.itr = inputItr;
     this.consumer = consumer;
     this.transformFunction = transformFunction;
+    this.metrics = new HoodieExecutorMetrics(SimpleExecutor.class.getSimpleName());
   }
 
   /**
@@ -64,10 +69,22 @@ public class SimpleExecutor<I, O, E> implements HoodieExecutor<E> {
   public E execute() {
     try {
       LOG.info("Starting consumer, consuming records from the records iterator directly");
+      metrics.start();
+      long numRecords = 0L;
       while (itr.hasNext()) {
-        O payload = transformFunction.apply(itr.next());
-        consumer.consume(payload);
+        if (numRecords++ % TIMING_SAMPLING_RATE == 0) {
+          long startNanos = System.nanoTime();
+          O payload = transformFunction.apply(itr.next());
+          long producedNanos = System.nanoTime();
+          consumer.consume(payload);
+          metrics.addProducingNanos((producedNanos - startNanos) * TIMING_SAMPLING_RATE);
+          metrics.addConsumingNanos((System.nanoTime() - producedNanos) * TIMING_SAMPLING_RATE);
+        } else {
+          consumer.consume(transformFunction.apply(itr.next()));
+        }
       }
+      metrics.addNumRecords(numRecords);
+      metrics.finish();
 
       return consumer.finish();
     } catch (Exception e) {
@@ -76,6 +93,10 @@ public class SimpleExecutor<I, O, E> implements HoodieExecutor<E> {
     }
   }
 
+  public HoodieExecutorMetrics getMetrics() {
+    return metrics;
+  }
+
   @Override
   public void shutdownNow() {
     // Consumer is already closed when the execution completes
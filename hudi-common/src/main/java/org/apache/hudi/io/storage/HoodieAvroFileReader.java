@@ -20,6 +20,7 @@ package org.apache.hudi.io.storage;
 
 import org.apache.hudi.common.model.HoodieAvroIndexedRecord;
 import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.common.util.collection.CloseableMappingIterator;
 
@@ -46,4 +47,23 @@ public abstract class HoodieAvroFileReader implements HoodieFileReader<IndexedRe
   }
 
   public abstract ClosableIterator<IndexedRecord> getIndexedRecordIterator(Schema readerSchema, Schema requestedSchema) throws IOException;
+
+  /**
+   * Returns an iterator of the records, skipping the blocks of records, e.g., Parquet row groups, whose values
+   * of the given string field are all out of the range {@code [minValue, maxValue]} based on the column
+   * statistics of the file. The records in the range are all returned, while the records out of the range may
+   * also be returned, so the callers still need to filter the records. The readers without column statistics
+   * return all the records.
+   *
+   * @param readerSchema    reader schema.
+   * @param requestedSchema requested schema.
+   * @param field           name of the top-level string field.
+   * @param minValue        inclusive lower bound of the field values, or empty if unbounded.
+   * @param maxValue        inclusive upper bound of the field values, or empty if unbounded.
+   * @return the iterator of the records.
+   */
+  public ClosableIterator<IndexedRecord> getIndexedRecordIterator(Schema readerSchema, Schema requestedSchema, String field,
+                                                                  Option<String> minValue, Option<String> maxValue) throws IOException {
+    return getIndexedRecordIterator(readerSchema, requestedSchema);
+  }
 }
@@ -23,6 +23,7 @@ import org.apache.hudi.common.config.HoodieReaderConfig;
 import org.apache.hudi.common.fs.FSUtils;
 import org.apache.hudi.common.model.HoodieFileFormat;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.io.hfile.HFileBlockCache;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
 
@@ -117,4 +118,16 @@ public class HoodieFileReaderFactory {
   protected static boolean isUseNativeHFileReaderEnabled(HoodieConfig hoodieConfig) {
     return hoodieConfig.getBooleanOrDefault(HoodieReaderConfig.USE_NATIVE_HFILE_READER);
   }
+
+  protected static boolean isHFileLocalMmapEnabled(HoodieConfig hoodieConfig) {
+    return hoodieConfig.getBooleanOrDefault(HoodieReaderConfig.HFILE_LOCAL_MMAP_ENABLED);
+  }
+
+  protected static Option<HFileBlockCache> getHFileBlockCache(HoodieConfig hoodieConfig) {
+    if (!hoodieConfig.getBooleanOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_ENABLED)) {
+      return Option.empty();
+    }
+    return Option.of(HFileBlockCache.getSharedInstance(
+        hoodieConfig.getLongOrDefault(HoodieReaderConfig.HFILE_BLOCK_CACHE_SIZE)));
+  }
 }
\ No newline at end of file
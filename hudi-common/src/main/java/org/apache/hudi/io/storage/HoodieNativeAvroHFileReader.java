@@ -33,21 +33,24 @@ import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.io.ByteArraySeekableDataInputStream;
+import org.apache.hudi.io.MappedFileSeekableDataInputStream;
 import org.apache.hudi.io.SeekableDataInputStream;
+import org.apache.hudi.io.hfile.HFileBlockCache;
 import org.apache.hudi.io.hfile.HFileReader;
 import org.apache.hudi.io.hfile.HFileReaderImpl;
+import org.apache.hudi.io.hfile.Key;
 import org.apache.hudi.io.hfile.KeyValue;
 import org.apache.hudi.io.hfile.UTF8StringKey;
 import org.apache.hudi.storage.HoodieStorage;
 import org.apache.hudi.storage.StoragePath;
+import org.apache.hudi.storage.StorageSchemes;
 import org.apache.hudi.util.Lazy;
 
 import org.apache.avro.Schema;
 import org.apache.avro.generic.GenericRecord;
 import org.apache.avro.generic.IndexedRecord;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.Arrays;
@@ -59,7 +62,6 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 import static org.apache.hudi.common.util.StringUtils.fromUTF8Bytes;
@@ -70,7 +72,6 @@ import static org.apache.hudi.io.hfile.HFileUtils.isPrefixOfKey;
  * An implementation of {@link HoodieAvroHFileReaderImplBase} using native {@link HFileReader}.
  */
 public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
-  private static final Logger LOG = LoggerFactory.getLogger(HoodieNativeAvroHFileReader.class);
   // Keys of the meta info that should be preloaded on demand from the HFile
   private static final Set<String> PRELOADED_META_INFO_KEYS = new HashSet<>(
       Arrays.asList(KEY_MIN_RECORD, KEY_MAX_RECORD, SCHEMA_KEY));
@@ -78,6 +79,10 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
   private final HoodieStorage storage;
   private final Option<StoragePath> path;
   private final Option<byte[]> bytesContent;
+  // Block cache shared across readers, only used when reading from a file
+  private final Option<HFileBlockCache> blockCache;
+  // Whether to memory-map the file if it is on the local file system
+  private final boolean useMmapForLocalFile;
   // In-memory cache for meta info
   private final Map<String, byte[]> metaInfoMap;
   private final Lazy<Schema> schema;
@@ -85,9 +90,16 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
   private long numKeyValueEntries = -1L;
 
   public HoodieNativeAvroHFileReader(HoodieStorage storage, StoragePath path, Option<Schema> schemaOption) {
+    this(storage, path, schemaOption, Option.empty(), false);
+  }
+
+  public HoodieNativeAvroHFileReader(HoodieStorage storage, StoragePath path, Option<Schema> schemaOption,
+                                     Option<HFileBlockCache> blockCache, boolean useMmapForLocalFile) {
     this.storage = storage;
     this.path = Option.of(path);
     this.bytesContent = Option.empty();
+    this.blockCache = blockCache;
+    this.useMmapForLocalFile = useMmapForLocalFile;
     this.metaInfoMap = new HashMap<>();
     this.schema = schemaOption.map(Lazy::eagerly).orElseGet(() -> Lazy.lazily(this::fetchSchema));
   }
@@ -96,6 +108,8 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
     this.storage = storage;
     this.path = Option.empty();
     this.bytesContent = Option.of(content);
+    this.blockCache = Option.empty();
+    this.useMmapForLocalFile = false;
     this.metaInfoMap = new HashMap<>();
     this.schema = schemaOption.map(Lazy::eagerly).orElseGet(() -> Lazy.lazily(this::fetchSchema));
   }
@@ -138,20 +152,12 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
   @Override
   public Set<Pair<String, Long>> filterRowKeys(Set<String> candidateRowKeys) {
     try (HFileReader reader = newHFileReader()) {
-      reader.seekTo();
-      // candidateRowKeys must be sorted
-      return new TreeSet<>(candidateRowKeys).stream()
-          .filter(k -> {
-            try {
-              return reader.seekTo(new UTF8StringKey(k)) == HFileReader.SEEK_TO_FOUND;
-            } catch (IOException e) {
-              LOG.error("Failed to check key availability: " + k);
-              return false;
-            }
-          })
+      Set<Pair<String, Long>> result = new HashSet<>();
+      reader.seekTo(candidateRowKeys.stream().map(UTF8StringKey::new).collect(Collectors.toList()))
           // Record position is not supported for HFile
-          .map(key -> Pair.of(key, HoodieRecordLocation.INVALID_POSITION))
-          .collect(Collectors.toSet());
+          .forEachRemaining(keyValue -> result.add(
+              Pair.of(keyValue.getKey().getContentInString(), HoodieRecordLocation.INVALID_POSITION)));
+      return result;
     } catch (IOException e) {
       throw new HoodieIOException("Unable to filter row keys in HFiles", e);
     }
@@ -286,7 +292,10 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
     long fileSize;
     if (path.isPresent()) {
       fileSize = storage.getPathInfo(path.get()).getLength();
-      inputStream = storage.openSeekable(path.get(), false);
+      inputStream = openSeekable(path.get(), fileSize);
+      if (blockCache.isPresent()) {
+        return new HFileReaderImpl(inputStream, fileSize, path.get().toString(), blockCache.get());
+      }
     } else {
       fileSize = bytesContent.get().length;
       inputStream = new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(bytesContent.get()));
@@ -294,6 +303,15 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
     return new HFileReaderImpl(inputStream, fileSize);
   }
 
+  private SeekableDataInputStream openSeekable(StoragePath filePath, long fileSize) throws IOException {
+    if (useMmapForLocalFile
+        && StorageSchemes.FILE.getScheme().equals(storage.getScheme())
+        && MappedFileSeekableDataInputStream.canMap(fileSize)) {
+      return MappedFileSeekableDataInputStream.open(new File(filePath.toUri().getPath()));
+    }
+    return storage.openSeekable(filePath, false);
+  }
+
   public ClosableIterator<IndexedRecord> getIndexedRecordsByKeysIterator(List<String> sortedKeys,
                                                                          Schema readerSchema)
       throws IOException {
@@ -372,7 +390,7 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
   }
 
   private static class RecordByKeyIterator implements ClosableIterator<IndexedRecord> {
-    private final Iterator<String> sortedKeyIterator;
+    private final Iterator<KeyValue> keyValueIterator;
 
     private final HFileReader reader;
 
@@ -383,9 +401,15 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
 
     RecordByKeyIterator(HFileReader reader, List<String> sortedKeys, Schema writerSchema,
                         Schema readerSchema) throws IOException {
-      this.sortedKeyIterator = sortedKeys.iterator();
       this.reader = reader;
-      this.reader.seekTo(); // position at the beginning of the file
+      List<Key> keys = sortedKeys.stream().map(UTF8StringKey::new).collect(Collectors.toList());
+      if (isSorted(keys)) {
+        // Looks up all keys in one pass, reading each data block at most once
+        this.keyValueIterator = reader.seekTo(keys);
+      } else {
+        this.reader.seekTo(); // position at the beginning of the file
+        this.keyValueIterator = new SequentialSeekIterator(reader, keys.iterator());
+      }
 
       this.writerSchema = writerSchema;
       this.readerSchema = readerSchema;
@@ -399,17 +423,9 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
           return true;
         }
 
-        while (sortedKeyIterator.hasNext()) {
-          UTF8StringKey key = new UTF8StringKey(sortedKeyIterator.next());
-          if (reader.seekTo(key) == HFileReader.SEEK_TO_FOUND) {
-            // Key is found
-            KeyValue keyValue = reader.getKeyValue().get();
-            next = deserialize(
-                key.getBytes(), key.getContentOffset(), key.getContentLength(),
-                keyValue.getBytes(), keyValue.getValueOffset(), keyValue.getValueLength(),
-                writerSchema, readerSchema);
-            return true;
-          }
+        if (keyValueIterator.hasNext()) {
+          next = getRecordFromKeyValue(keyValueIterator.next(), writerSchema, readerSchema);
+          return true;
         }
         return false;
       } catch (IOException e) {
@@ -434,6 +450,52 @@ public class HoodieNativeAvroHFileReader extends HoodieAvroHFileReaderImplBase {
     }
   }
 
+  private static boolean isSorted(List<Key> keys) {
+    for (int i = 1; i < keys.size(); i++) {
+      if (keys.get(i - 1).compareTo(keys.get(i)) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Looks up the keys one by one with {@link HFileReader#seekTo(Key)} in the given order,
+   * which only allows forward seeks.
+   */
+  private static class SequentialSeekIterator implements Iterator<KeyValue> {
+    private final HFileReader reader;
+    private final Iterator<Key> keyIterator;
+    private KeyValue next = null;
+
+    SequentialSeekIterator(HFileReader reader, Iterator<Key> keyIterator) {
+      this.reader = reader;
+      this.keyIterator = keyIterator;
+    }
+
+    @Override
+    public boolean hasNext() {
+      try {
+        while (next == null && keyIterator.hasNext()) {
+          if (reader.seekTo(keyIterator.next()) == HFileReader.SEEK_TO_FOUND) {
+            // Key is found
+            next = reader.getKeyValue().get();
+          }
+        }
+        return next != null;
+      } catch (IOException e) {
+        throw new HoodieIOException("Unable to read next record from HFile ", e);
+      }
+    }
+
+    @Override
+    public KeyValue next() {
+      KeyValue keyValue = next;
+      next = null;
+      return keyValue;
+    }
+  }
+
   private static class RecordByKeyPrefixIterator implements ClosableIterator<IndexedRecord> {
     private final Iterator<String> sortedKeyPrefixesIterator;
     private Iterator<IndexedRecord> recordsIterator;
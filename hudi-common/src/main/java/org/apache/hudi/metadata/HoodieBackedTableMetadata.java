@@ -20,11 +20,13 @@ package org.apache.hudi.metadata;
 
 import org.apache.hudi.avro.HoodieAvroUtils;
 import org.apache.hudi.avro.model.HoodieMetadataRecord;
+import org.apache.hudi.common.bloom.BloomFilter;
 import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.data.HoodieData;
 import org.apache.hudi.common.data.HoodieListData;
 import org.apache.hudi.common.engine.HoodieEngineContext;
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
 import org.apache.hudi.common.function.SerializableFunction;
 import org.apache.hudi.common.model.FileSlice;
 import org.apache.hudi.common.model.HoodieAvroRecord;
@@ -35,8 +37,10 @@ import org.apache.hudi.common.model.HoodieRecord;
 import org.apache.hudi.common.model.HoodieRecord.HoodieRecordType;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.InstantComparison;
 import org.apache.hudi.common.table.view.HoodieTableFileSystemView;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
 import org.apache.hudi.common.util.HoodieTimer;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.StringUtils;
@@ -70,13 +74,16 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static org.apache.hudi.common.config.HoodieMetadataConfig.DEFAULT_METADATA_ENABLE_FULL_SCAN_LOG_FILES;
 import static org.apache.hudi.common.util.CollectionUtils.toStream;
-import static org.apache.hudi.common.util.ConfigUtils.DEFAULT_HUDI_CONFIG_FOR_READER;
 import static org.apache.hudi.common.util.ValidationUtils.checkState;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_BLOOM_FILTERS;
 import static org.apache.hudi.metadata.HoodieTableMetadataUtil.PARTITION_NAME_COLUMN_STATS;
@@ -105,6 +112,15 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
   // Latest file slices in the metadata partitions
   private final Map<String, List<FileSlice>> partitionFileSliceMap = new ConcurrentHashMap<>();
 
+  // Local pool to look up the file slices concurrently within a single JVM, see HoodieMetadataConfig#LOOKUP_PARALLELISM
+  private transient ExecutorService lookupExecutor;
+
+  // Bloom filters of the base files of the record index file groups, see HoodieMetadataConfig#RECORD_INDEX_BLOOM_FILTER_LOOKUP_ENABLE
+  private final Transient<Map<String, Option<BloomFilter>>> baseFileBloomFilters = Transient.lazy(ConcurrentHashMap::new);
+
+  // Identifier of the snapshot of the metadata table in the record index lookup cache, see HoodieMetadataConfig#RECORD_INDEX_LOOKUP_CACHE_SIZE
+  private transient String recordIndexSnapshot;
+
   public HoodieBackedTableMetadata(HoodieEngineContext engineContext,
                                    HoodieStorage storage,
                                    HoodieMetadataConfig metadataConfig,
@@ -206,6 +222,13 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
         k -> HoodieTableMetadataUtil.getPartitionLatestMergedFileSlices(metadataMetaClient, getMetadataFileSystemView(), partitionName));
     checkState(!partitionFileSlices.isEmpty(), "Number of file slices for partition " + partitionName + " should be > 0");
 
+    if (shouldUseLookupExecutor(shouldLoadInMemory)) {
+      List<Pair<FileSlice, List<String>>> fileSliceKeys = partitionFileSlices.stream()
+          .map(fileSlice -> Pair.of(fileSlice, sortedKeyPrefixes))
+          .collect(Collectors.toList());
+      return HoodieListData.eager(lookupKeysFromFileSlicesConcurrently(partitionName, fileSliceKeys, false));
+    }
+
     return (shouldLoadInMemory ? HoodieListData.lazy(partitionFileSlices) :
         getEngineContext().parallelize(partitionFileSlices))
         .flatMap(
@@ -250,6 +273,23 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
       return Collections.emptyMap();
     }
 
+    Option<RecordIndexLookupCache> lookupCache = getRecordIndexLookupCache(partitionName);
+    if (!lookupCache.isPresent()) {
+      return readRecordsByKeys(keys, partitionName);
+    }
+    // Only read the keys not found by recent lookups on the same snapshot
+    String snapshot = getRecordIndexSnapshot();
+    Map<String, HoodieRecord<HoodieMetadataPayload>> result = lookupCache.get().getAll(snapshot, keys);
+    if (result.size() < keys.size()) {
+      List<String> keysToRead = keys.stream().filter(key -> !result.containsKey(key)).collect(Collectors.toList());
+      Map<String, HoodieRecord<HoodieMetadataPayload>> records = readRecordsByKeys(keysToRead, partitionName);
+      lookupCache.get().putAll(snapshot, records);
+      result.putAll(records);
+    }
+    return result;
+  }
+
+  private Map<String, HoodieRecord<HoodieMetadataPayload>> readRecordsByKeys(List<String> keys, String partitionName) {
     Map<String, HoodieRecord<HoodieMetadataPayload>> result;
 
     // Load the file slices for the partition. Each file slice is a shard which saves a portion of the keys.
@@ -259,7 +299,15 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
     checkState(numFileSlices > 0, "Number of file slices for partition " + partitionName + " should be > 0");
 
     // Lookup keys from each file slice
-    if (numFileSlices == 1) {
+    if (shouldUseLookupExecutor(false)) {
+      ArrayList<ArrayList<String>> partitionedKeys = partitionKeysByFileSlices(keys, numFileSlices);
+      List<Pair<FileSlice, List<String>>> fileSliceKeys = new ArrayList<>(numFileSlices);
+      for (int i = 0; i < numFileSlices; i++) {
+        fileSliceKeys.add(Pair.of(partitionFileSlices.get(i), partitionedKeys.get(i)));
+      }
+      result = lookupKeysFromFileSlicesConcurrently(partitionName, fileSliceKeys, true).stream()
+          .collect(Collectors.toMap(HoodieRecord::getRecordKey, Function.identity()));
+    } else if (numFileSlices == 1) {
       // Optimization for a single slice for smaller metadata table partitions
       result = lookupKeysFromFileSlice(partitionName, keys, partitionFileSlices.get(0));
     } else {
@@ -315,7 +363,8 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
       boolean fullKeys = true;
       List<Long> timings = new ArrayList<>(1);
       Map<String, HoodieRecord<HoodieMetadataPayload>> logRecords = readLogRecords(logRecordScanner, sortedKeys, fullKeys, timings);
-      return readFromBaseAndMergeWithLogRecords(baseFileReader, sortedKeys, fullKeys, logRecords, timings, partitionName);
+      List<String> baseFileKeys = filterKeysByBloomFilter(partitionName, fileSlice, baseFileReader, sortedKeys, fullKeys);
+      return readFromBaseAndMergeWithLogRecords(baseFileReader, baseFileKeys, fullKeys, logRecords, timings, partitionName);
     } catch (IOException ioe) {
       throw new HoodieIOException("Error merging records from metadata table for  " + keys.size() + " key : ", ioe);
     } finally {
@@ -325,6 +374,92 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
     }
   }
 
+  /**
+   * Whether to look up the file slices on the local lookup pool: the pool is enabled and the lookups run
+   * within the current JVM, with the local engine context or in memory.
+   */
+  private boolean shouldUseLookupExecutor(boolean shouldLoadInMemory) {
+    return metadataConfig.getLookupParallelism() > 0
+        && (shouldLoadInMemory || getEngineContext() instanceof HoodieLocalEngineContext);
+  }
+
+  private synchronized ExecutorService getLookupExecutor() {
+    if (lookupExecutor == null) {
+      lookupExecutor = Executors.newFixedThreadPool(metadataConfig.getLookupParallelism(),
+          new CustomizedThreadFactory("metadata-lookup", true));
+    }
+    return lookupExecutor;
+  }
+
+  /**
+   * Lookup the keys or key prefixes from the file slices concurrently on the local lookup pool.
+   * <p>
+   * For each file slice, the log records and the base file records are read by separate tasks once the
+   * readers are open, and merged when both are read, so that the log record scanning overlaps with the
+   * base file seeks. No task waits for another task, so the bounded pool cannot deadlock.
+   *
+   * @param partitionName Name of the partition
+   * @param fileSliceKeys The file slices with the keys or key prefixes to lookup in each of them
+   * @param fullKeys      Whether the keys are full keys or key prefixes
+   * @return The records found in the file slices
+   */
+  private List<HoodieRecord<HoodieMetadataPayload>> lookupKeysFromFileSlicesConcurrently(String partitionName,
+                                                                                        List<Pair<FileSlice, List<String>>> fileSliceKeys,
+                                                                                        boolean fullKeys) {
+    ExecutorService executor = getLookupExecutor();
+    List<CompletableFuture<Map<String, HoodieRecord<HoodieMetadataPayload>>>> futures = fileSliceKeys.stream()
+        .filter(fileSliceKey -> !fileSliceKey.getRight().isEmpty())
+        .map(fileSliceKey -> lookupKeysFromFileSliceAsync(partitionName, fileSliceKey.getRight(), fileSliceKey.getLeft(), fullKeys, executor))
+        .collect(Collectors.toList());
+    List<HoodieRecord<HoodieMetadataPayload>> result = new ArrayList<>();
+    try {
+      futures.forEach(future -> result.addAll(future.join().values()));
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof HoodieException) {
+        throw (HoodieException) e.getCause();
+      }
+      throw new HoodieException("Error looking up keys from metadata table partition " + partitionName, e.getCause());
+    }
+    return result;
+  }
+
+  private CompletableFuture<Map<String, HoodieRecord<HoodieMetadataPayload>>> lookupKeysFromFileSliceAsync(String partitionName,
+                                                                                                          List<String> keys,
+                                                                                                          FileSlice fileSlice,
+                                                                                                          boolean fullKeys,
+                                                                                                          ExecutorService executor) {
+    // Sort it here once so that we don't need to sort individually for base file and for each individual log files.
+    List<String> sortedKeys = new ArrayList<>(keys);
+    Collections.sort(sortedKeys);
+    CompletableFuture<Pair<HoodieSeekingFileReader<?>, HoodieMetadataLogRecordReader>> readersFuture =
+        CompletableFuture.supplyAsync(() -> getOrCreateReaders(partitionName, fileSlice), executor);
+    CompletableFuture<Map<String, HoodieRecord<HoodieMetadataPayload>>> logRecordsFuture = readersFuture.thenApplyAsync(
+        readers -> readLogRecords(readers.getRight(), sortedKeys, fullKeys, new ArrayList<>(1)), executor);
+    CompletableFuture<Option<Map<String, HoodieRecord<HoodieMetadataPayload>>>> baseRecordsFuture = readersFuture.thenApplyAsync(readers -> {
+      if (readers.getLeft() == null) {
+        return Option.empty();
+      }
+      try {
+        HoodieTimer readTimer = HoodieTimer.start();
+        List<String> baseFileKeys = filterKeysByBloomFilter(partitionName, fileSlice, readers.getLeft(), sortedKeys, fullKeys);
+        Map<String, HoodieRecord<HoodieMetadataPayload>> records =
+            fetchBaseFileRecordsByKeys(readers.getLeft(), baseFileKeys, fullKeys, partitionName);
+        metrics.ifPresent(m -> m.updateMetrics(HoodieMetadataMetrics.BASEFILE_READ_STR, readTimer.endTimer()));
+        return Option.of(records);
+      } catch (IOException ioe) {
+        throw new HoodieIOException("Error merging records from metadata table for  " + keys.size() + " key : ", ioe);
+      }
+    }, executor);
+    return logRecordsFuture
+        .thenCombine(baseRecordsFuture, (logRecords, baseRecords) ->
+            baseRecords.isPresent() ? mergeLogRecords(baseRecords.get(), logRecords) : logRecords)
+        .whenComplete((records, error) -> {
+          if (!reuse && !readersFuture.isCompletedExceptionally()) {
+            closeReader(readersFuture.join());
+          }
+        });
+  }
+
   private Map<String, HoodieRecord<HoodieMetadataPayload>> readLogRecords(HoodieMetadataLogRecordReader logRecordReader,
                                                                           List<String> sortedKeys,
                                                                           boolean fullKey,
@@ -364,6 +499,14 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
 
     metrics.ifPresent(m -> m.updateMetrics(HoodieMetadataMetrics.BASEFILE_READ_STR, readTimer.endTimer()));
 
+    mergeLogRecords(records, logRecords);
+
+    timings.add(timer.endTimer());
+    return records;
+  }
+
+  private static Map<String, HoodieRecord<HoodieMetadataPayload>> mergeLogRecords(Map<String, HoodieRecord<HoodieMetadataPayload>> records,
+                                                                                  Map<String, HoodieRecord<HoodieMetadataPayload>> logRecords) {
     // Iterate over all provided log-records, merging them into existing records
     logRecords.values().forEach(logRecord ->
         records.merge(
@@ -374,16 +517,57 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
               return mergedPayload.isDeleted() ? null : new HoodieAvroRecord<>(oldRecord.getKey(), mergedPayload);
             }
         ));
-
-    timings.add(timer.endTimer());
     return records;
   }
 
+  /**
+   * Filter out the keys ruled out by the bloom filter of the base file of a record index file group, so that
+   * the base file is not seeked for them, e.g., the new keys of inserts. The log records are still read for
+   * all the keys, as the keys added after the base file was written are only in the log files.
+   *
+   * @param partitionName  Name of the partition
+   * @param fileSlice      The file slice to read
+   * @param baseFileReader The reader of the base file of the file slice
+   * @param sortedKeys     The sorted list of keys or key prefixes to lookup
+   * @param fullKeys       Whether the keys are full keys or key prefixes
+   * @return The sorted list of keys to lookup in the base file
+   */
+  private List<String> filterKeysByBloomFilter(String partitionName, FileSlice fileSlice, HoodieSeekingFileReader<?> baseFileReader,
+                                               List<String> sortedKeys, boolean fullKeys) {
+    if (baseFileReader == null || !fullKeys || !metadataConfig.isRecordIndexBloomFilterLookupEnabled()
+        || !MetadataPartitionType.RECORD_INDEX.getPartitionPath().equals(partitionName)) {
+      return sortedKeys;
+    }
+    // The base files are immutable, so the bloom filter is read once for each base file
+    Option<BloomFilter> bloomFilter = baseFileBloomFilters.get().computeIfAbsent(
+        fileSlice.getBaseFile().get().getPath(), path -> readBloomFilter(baseFileReader, path));
+    if (!bloomFilter.isPresent()) {
+      return sortedKeys;
+    }
+    List<String> baseFileKeys = sortedKeys.stream().filter(bloomFilter.get()::mightContain).collect(Collectors.toList());
+    LOG.debug("Bloom filter of metadata base file {} ruled out {} of {} keys", fileSlice.getBaseFile().get().getFileName(),
+        sortedKeys.size() - baseFileKeys.size(), sortedKeys.size());
+    return baseFileKeys;
+  }
+
+  private static Option<BloomFilter> readBloomFilter(HoodieSeekingFileReader<?> baseFileReader, String path) {
+    try {
+      return Option.ofNullable(baseFileReader.readBloomFilter());
+    } catch (Exception e) {
+      // The base files written without a bloom filter are seeked for all the keys
+      LOG.warn("Failed to read the bloom filter of metadata base file {}", path, e);
+      return Option.empty();
+    }
+  }
+
   @SuppressWarnings("unchecked")
   private Map<String, HoodieRecord<HoodieMetadataPayload>> fetchBaseFileRecordsByKeys(HoodieSeekingFileReader reader,
                                                                                       List<String> sortedKeys,
                                                                                       boolean fullKeys,
                                                                                       String partitionName) throws IOException {
+    if (sortedKeys.isEmpty()) {
+      return new HashMap<>();
+    }
     Map<String, HoodieRecord<HoodieMetadataPayload>> result;
     try (ClosableIterator<HoodieRecord<?>> records = fullKeys
         ? reader.getRecordsByKeysIterator(sortedKeys)
@@ -454,7 +638,7 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
       StoragePath baseFilePath = baseFile.get().getStoragePath();
       baseFileReader = (HoodieSeekingFileReader<?>) HoodieIOFactory.getIOFactory(metadataMetaClient.getStorage())
           .getReaderFactory(HoodieRecordType.AVRO)
-          .getFileReader(DEFAULT_HUDI_CONFIG_FOR_READER, baseFilePath);
+          .getFileReader(metadataConfig, baseFilePath);
       baseFileOpenMs = timer.endTimer();
       LOG.info("Opened metadata base file from {} at instant {} in {} ms", baseFilePath,
           baseFile.get().getCommitTime(), baseFileOpenMs);
@@ -466,6 +650,30 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
     return Pair.of(baseFileReader, baseFileOpenMs);
   }
 
+  private Option<RecordIndexLookupCache> getRecordIndexLookupCache(String partitionName) {
+    if (metadataConfig.getRecordIndexLookupCacheSize() > 0 && MetadataPartitionType.RECORD_INDEX.getPartitionPath().equals(partitionName)) {
+      return Option.of(RecordIndexLookupCache.getSharedInstance(metadataConfig.getRecordIndexLookupCacheSize()));
+    }
+    return Option.empty();
+  }
+
+  /**
+   * Returns the identifier of the snapshot of the metadata table read by this instance until the next {@link #reset()}: the
+   * metadata table and the completed instants of both the table and the metadata table, which decide the merged records.
+   */
+  private synchronized String getRecordIndexSnapshot() {
+    if (recordIndexSnapshot == null) {
+      recordIndexSnapshot = metadataBasePath + "_" + getCompletedInstantsId(metadataMetaClient) + "_" + getCompletedInstantsId(dataMetaClient);
+    }
+    return recordIndexSnapshot;
+  }
+
+  private static String getCompletedInstantsId(HoodieTableMetaClient metaClient) {
+    HoodieTimeline completedTimeline = metaClient.getActiveTimeline().filterCompletedInstants();
+    return completedTimeline.lastInstant().map(HoodieInstant::requestedTime).orElse("") + "_"
+        + completedTimeline.getLatestCompletionTime().orElse("") + "_" + completedTimeline.countInstants();
+  }
+
   private Set<String> getValidInstantTimestamps() {
     if (validInstantTimestamps == null) {
       validInstantTimestamps = HoodieTableMetadataUtil.getValidInstantTimestamps(dataMetaClient, metadataMetaClient);
@@ -540,7 +748,14 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
   @Override
   public void close() {
     closePartitionReaders();
+    synchronized (this) {
+      if (lookupExecutor != null) {
+        lookupExecutor.shutdownNow();
+        lookupExecutor = null;
+      }
+    }
     partitionFileSliceMap.clear();
+    baseFileBloomFilters.get().clear();
     if (this.metadataFileSystemView != null) {
       this.metadataFileSystemView.close();
       this.metadataFileSystemView = null;
@@ -637,10 +852,12 @@ public class HoodieBackedTableMetadata extends BaseTableMetadata {
       metadataFileSystemView = null;
     }
     validInstantTimestamps = null;
+    recordIndexSnapshot = null;
     // the cached reader has max instant time restriction, they should be cleared
     // because the metadata timeline may have changed.
     closePartitionReaders();
     partitionFileSliceMap.clear();
+    baseFileBloomFilters.get().clear();
   }
 
   @Override
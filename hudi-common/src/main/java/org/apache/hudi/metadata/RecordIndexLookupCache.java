@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.metadata;
+
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.common.util.collection.Pair;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A count-bounded LRU cache of the record index entries found by recent lookups, keyed by the
+ * snapshot of the metadata table the entries are read from and the record key.
+ * <p>
+ * The snapshot identifies the metadata table and the completed instants of both the table and
+ * the metadata table, see {@link HoodieBackedTableMetadata}, so an entry is only served to the
+ * readers of the same snapshot, and the entries of old snapshots age out of the cache. One cache
+ * instance is shared by all the metadata table readers in the process, see {@link #getSharedInstance(int)}.
+ */
+public class RecordIndexLookupCache {
+  private static RecordIndexLookupCache sharedInstance;
+
+  private final int maxEntries;
+  // Access-ordered so that the eldest entry is the least recently used record
+  private final LinkedHashMap<Pair<String, String>, HoodieRecord<HoodieMetadataPayload>> cache;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+
+  public RecordIndexLookupCache(int maxEntries) {
+    ValidationUtils.checkArgument(maxEntries > 0,
+        "The size of the record index lookup cache must be positive: " + maxEntries);
+    this.maxEntries = maxEntries;
+    this.cache = new LinkedHashMap<Pair<String, String>, HoodieRecord<HoodieMetadataPayload>>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Pair<String, String>, HoodieRecord<HoodieMetadataPayload>> eldest) {
+        return size() > RecordIndexLookupCache.this.maxEntries;
+      }
+    };
+  }
+
+  /**
+   * Returns the cache shared by all the metadata table readers in the process, creating it on the
+   * first call. The size only takes effect when the shared cache is created.
+   *
+   * @param maxEntries maximum number of cached record index entries.
+   * @return the shared {@link RecordIndexLookupCache} instance.
+   */
+  public static synchronized RecordIndexLookupCache getSharedInstance(int maxEntries) {
+    if (sharedInstance == null) {
+      sharedInstance = new RecordIndexLookupCache(maxEntries);
+    }
+    return sharedInstance;
+  }
+
+  /**
+   * Returns the cached records of the given keys read from the given snapshot.
+   *
+   * @param snapshot identifier of the snapshot of the metadata table.
+   * @param keys     record keys to look up.
+   * @return A {@code Map} of key to the cached record, for the keys found in the cache.
+   */
+  public synchronized Map<String, HoodieRecord<HoodieMetadataPayload>> getAll(String snapshot, Collection<String> keys) {
+    Map<String, HoodieRecord<HoodieMetadataPayload>> result = new HashMap<>();
+    for (String key : keys) {
+      HoodieRecord<HoodieMetadataPayload> record = cache.get(Pair.of(snapshot, key));
+      if (record != null) {
+        result.put(key, record);
+      }
+    }
+    hitCount.addAndGet(result.size());
+    missCount.addAndGet(keys.size() - result.size());
+    return result;
+  }
+
+  /**
+   * Caches the records read from the given snapshot.
+   *
+   * @param snapshot identifier of the snapshot of the metadata table.
+   * @param records  A {@code Map} of key to the record read.
+   */
+  public synchronized void putAll(String snapshot, Map<String, HoodieRecord<HoodieMetadataPayload>> records) {
+    records.forEach((key, record) -> cache.put(Pair.of(snapshot, key), record));
+  }
+
+  public synchronized void clear() {
+    cache.clear();
+  }
+
+  public synchronized int size() {
+    return cache.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+}
@@ -20,6 +20,7 @@ package org.apache.hudi.timeline;
 
 import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 
+import org.apache.http.client.fluent.Content;
 import org.apache.http.client.utils.URIBuilder;
 
 import org.slf4j.Logger;
@@ -41,12 +42,14 @@ public class TimelineServiceClient extends TimelineServiceClientBase {
   protected final String timelineServerHost;
   protected final int timelineServerPort;
   protected final int timeoutMs;
+  protected final TimelineServiceWireFormat wireFormat;
 
   public TimelineServiceClient(FileSystemViewStorageConfig config) {
     super(config);
     this.timelineServerHost = config.getRemoteViewServerHost();
     this.timelineServerPort = config.getRemoteViewServerPort();
     this.timeoutMs = (int) TimeUnit.SECONDS.toMillis(config.getRemoteTimelineClientTimeoutSecs());
+    this.wireFormat = config.getRemoteTimelineClientWireFormat();
   }
 
   @Override
@@ -61,16 +64,27 @@ public class TimelineServiceClient extends TimelineServiceClientBase {
     String url = builder.toString();
     LOG.debug("Sending request : ({})", url);
     org.apache.http.client.fluent.Response response = get(request.getMethod(), url, timeoutMs);
-    return new Response(response.returnContent().asString());
+    Content content = response.returnContent();
+    TimelineServiceWireFormat responseFormat = content.getType() != null
+        ? TimelineServiceWireFormat.fromContentType(content.getType().getMimeType())
+        : TimelineServiceWireFormat.JSON;
+    return new Response(content.asBytes(), responseFormat);
   }
 
   private org.apache.http.client.fluent.Response get(RequestMethod method, String url, int timeoutMs) throws IOException {
+    org.apache.http.client.fluent.Request request;
     switch (method) {
       case GET:
-        return org.apache.http.client.fluent.Request.Get(url).connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
+        request = org.apache.http.client.fluent.Request.Get(url);
+        break;
       case POST:
       default:
-        return org.apache.http.client.fluent.Request.Post(url).connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
+        request = org.apache.http.client.fluent.Request.Post(url);
+        break;
     }
+    if (wireFormat != TimelineServiceWireFormat.JSON) {
+      request.addHeader(TimelineServiceWireFormat.ACCEPT_HEADER, wireFormat.getAcceptHeader());
+    }
+    return request.connectTimeout(timeoutMs).socketTimeout(timeoutMs).execute();
   }
 }
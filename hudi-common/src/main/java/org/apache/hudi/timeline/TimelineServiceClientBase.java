@@ -22,7 +22,6 @@ import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.RetryHelper;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
@@ -34,6 +33,9 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.apache.hudi.common.util.StringUtils.fromUTF8Bytes;
+import static org.apache.hudi.common.util.StringUtils.getUTF8Bytes;
+
 /**
  * Base class for a client to trigger HTTP calls (GET or POST)
  * to the Timeline Server from the executors.
@@ -119,18 +121,31 @@ public abstract class TimelineServiceClientBase implements Serializable {
 
   public static class Response {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper().registerModule(new AfterburnerModule());
-    private final String content;
+    private final byte[] content;
+    private final TimelineServiceWireFormat format;
 
     public Response(String content) {
+      this(getUTF8Bytes(content), TimelineServiceWireFormat.JSON);
+    }
+
+    public Response(byte[] content, TimelineServiceWireFormat format) {
       this.content = content;
+      this.format = format;
     }
 
     public String getContent() {
-      return content;
+      return fromUTF8Bytes(content);
     }
 
-    public <T> T getDecodedContent(TypeReference reference) throws JsonProcessingException {
-      return (T) OBJECT_MAPPER.readValue(content, reference);
+    public TimelineServiceWireFormat getFormat() {
+      return format;
+    }
+
+    public <T> T getDecodedContent(TypeReference reference) throws IOException {
+      if (format == TimelineServiceWireFormat.JSON) {
+        return (T) OBJECT_MAPPER.readValue(content, reference);
+      }
+      return format.decode(content);
     }
   }
 
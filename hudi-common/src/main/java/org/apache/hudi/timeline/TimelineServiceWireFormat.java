@@ -0,0 +1,201 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline;
+
+import org.apache.hudi.common.util.SerializationUtils;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.exception.HoodieIOException;
+
+import io.airlift.compress.zstd.ZstdCompressor;
+import io.airlift.compress.zstd.ZstdDecompressor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Encodings of the responses from the timeline server, negotiated per request through the
+ * {@code Accept} header sent by the client and the {@code Content-Type} header of the response.
+ * <p>
+ * The client lists the encodings it accepts, in the order of preference, up to {@link #JSON},
+ * which every server supports. The server picks the first encoding it supports, so that a client
+ * talking to a server without the binary encodings, or to an endpoint answering in JSON only, e.g.,
+ * the marker requests, falls back to JSON.
+ * <p>
+ * The binary encodings are not tolerant to changes of the encoded classes, as Kryo encodes the fields
+ * positionally. So the client sends the {@link #BINARY_ENCODING_VERSION} as the {@code v} parameter of the
+ * binary content types it accepts, and the server only picks a binary encoding of the same version,
+ * answering in JSON otherwise, e.g., to the clients of another Hudi release.
+ */
+public enum TimelineServiceWireFormat {
+  // Jackson JSON, the only encoding before the binary encodings were added
+  JSON("application/json"),
+  // Kryo encoding of the data transfer objects, without the field names and the number parsing
+  KRYO("application/x-hudi-kryo"),
+  // Kryo encoding compressed with ZSTD; the server falls back to KRYO for small responses
+  KRYO_ZSTD("application/x-hudi-kryo-zstd");
+
+  public static final String ACCEPT_HEADER = "Accept";
+  // Version of the binary encodings, to bump whenever a class encoded in the binary responses changes,
+  // e.g., the data transfer objects of the file system view
+  public static final int BINARY_ENCODING_VERSION = 1;
+  private static final String VERSION_PARAM = "v";
+  // Responses smaller than this are not worth compressing
+  public static final int MIN_SIZE_FOR_COMPRESSION = 64 * 1024;
+
+  private final String contentType;
+
+  TimelineServiceWireFormat(String contentType) {
+    this.contentType = contentType;
+  }
+
+  public String getContentType() {
+    return contentType;
+  }
+
+  /**
+   * @return the value of the {@code Accept} header for the client preferring this encoding.
+   */
+  public String getAcceptHeader() {
+    return Arrays.stream(values())
+        .filter(format -> format.ordinal() <= ordinal())
+        .sorted((a, b) -> b.ordinal() - a.ordinal())
+        .map(format -> format == JSON
+            ? format.contentType : format.contentType + ";" + VERSION_PARAM + "=" + BINARY_ENCODING_VERSION)
+        .collect(Collectors.joining(", "));
+  }
+
+  /**
+   * Picks the binary encoding of a response to a client, based on its {@code Accept} header.
+   *
+   * @param acceptHeader value of the {@code Accept} header of the request, may be null.
+   * @return the preferred binary encoding accepted by the client in the {@link #BINARY_ENCODING_VERSION},
+   * or {@link #JSON} if none.
+   */
+  public static TimelineServiceWireFormat fromAcceptHeader(String acceptHeader) {
+    if (StringUtils.isNullOrEmpty(acceptHeader)) {
+      return JSON;
+    }
+    Set<String> acceptedTypes = Arrays.stream(acceptHeader.split(","))
+        .filter(TimelineServiceWireFormat::hasBinaryEncodingVersion)
+        .map(TimelineServiceWireFormat::getMimeType)
+        .collect(Collectors.toSet());
+    if (acceptedTypes.contains(KRYO_ZSTD.contentType)) {
+      return KRYO_ZSTD;
+    }
+    return acceptedTypes.contains(KRYO.contentType) ? KRYO : JSON;
+  }
+
+  /**
+   * @param contentType value of the {@code Content-Type} header of the response, may be null.
+   * @return the encoding of the response, {@link #JSON} for any content type other than the binary ones.
+   */
+  public static TimelineServiceWireFormat fromContentType(String contentType) {
+    if (!StringUtils.isNullOrEmpty(contentType)) {
+      String mimeType = getMimeType(contentType);
+      for (TimelineServiceWireFormat format : values()) {
+        if (format != JSON && format.contentType.equals(mimeType)) {
+          return format;
+        }
+      }
+    }
+    return JSON;
+  }
+
+  /**
+   * Encodes the object in the binary encoding. Responses encoded with {@link #KRYO_ZSTD} smaller
+   * than {@link #MIN_SIZE_FOR_COMPRESSION} are returned uncompressed, as {@link #KRYO}.
+   *
+   * @param obj the object to encode.
+   * @return the encoding actually used and the encoded bytes.
+   */
+  public EncodedContent encode(Object obj) {
+    if (this == JSON) {
+      throw new UnsupportedOperationException("JSON responses are encoded with Jackson");
+    }
+    try {
+      byte[] bytes = SerializationUtils.serialize(obj);
+      if (this == KRYO || bytes.length < MIN_SIZE_FOR_COMPRESSION) {
+        return new EncodedContent(KRYO, bytes);
+      }
+      ZstdCompressor compressor = new ZstdCompressor();
+      byte[] compressed = new byte[compressor.maxCompressedLength(bytes.length)];
+      int compressedLength = compressor.compress(bytes, 0, bytes.length, compressed, 0, compressed.length);
+      return new EncodedContent(KRYO_ZSTD, Arrays.copyOf(compressed, compressedLength));
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to encode the response of the timeline server", e);
+    }
+  }
+
+  /**
+   * Decodes the bytes encoded by {@link #encode(Object)} with this binary encoding.
+   */
+  public <T> T decode(byte[] content) {
+    switch (this) {
+      case KRYO:
+        return SerializationUtils.deserialize(content);
+      case KRYO_ZSTD:
+        long decompressedSize = ZstdDecompressor.getDecompressedSize(content, 0, content.length);
+        byte[] decompressed = new byte[Math.toIntExact(decompressedSize)];
+        new ZstdDecompressor().decompress(content, 0, content.length, decompressed, 0, decompressed.length);
+        return SerializationUtils.deserialize(decompressed);
+      default:
+        throw new UnsupportedOperationException("JSON responses are decoded with Jackson");
+    }
+  }
+
+  private static boolean hasBinaryEncodingVersion(String acceptedType) {
+    String[] parts = acceptedType.split(";");
+    for (int i = 1; i < parts.length; i++) {
+      String[] param = parts[i].split("=", 2);
+      if (param.length == 2 && param[0].trim().equals(VERSION_PARAM)) {
+        return param[1].trim().equals(String.valueOf(BINARY_ENCODING_VERSION));
+      }
+    }
+    return false;
+  }
+
+  private static String getMimeType(String contentType) {
+    int paramsStart = contentType.indexOf(';');
+    return (paramsStart >= 0 ? contentType.substring(0, paramsStart) : contentType).trim().toLowerCase(Locale.ROOT);
+  }
+
+  /**
+   * Bytes of a response along with their encoding.
+   */
+  public static class EncodedContent {
+    private final TimelineServiceWireFormat format;
+    private final byte[] bytes;
+
+    EncodedContent(TimelineServiceWireFormat format, byte[] bytes) {
+      this.format = format;
+      this.bytes = bytes;
+    }
+
+    public TimelineServiceWireFormat getFormat() {
+      return format;
+    }
+
+    public byte[] getBytes() {
+      return bytes;
+    }
+  }
+}
@@ -0,0 +1,62 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestRecordKeyRange {
+
+  @Test
+  public void testFromSplitPoints() {
+    List<RecordKeyRange> ranges = RecordKeyRange.fromSplitPoints(Arrays.asList("key10", "key20"));
+    assertEquals(Arrays.asList(new RecordKeyRange(null, "key10"), new RecordKeyRange("key10", "key20"),
+        new RecordKeyRange("key20", null)), ranges);
+    // Each key is in exactly one range
+    for (String key : Arrays.asList("", "key0", "key10", "key15", "key20", "key99")) {
+      assertEquals(1, ranges.stream().filter(range -> range.contains(key)).count(), key);
+    }
+    assertTrue(ranges.get(1).contains("key10"));
+    assertFalse(ranges.get(1).contains("key20"));
+
+    assertEquals(Collections.singletonList(new RecordKeyRange(null, null)), RecordKeyRange.fromSplitPoints(Collections.emptyList()));
+    assertThrows(IllegalArgumentException.class, () -> RecordKeyRange.fromSplitPoints(Arrays.asList("key20", "key10")));
+    assertThrows(IllegalArgumentException.class, () -> RecordKeyRange.fromSplitPoints(Arrays.asList("key10", "key10")));
+  }
+
+  @Test
+  public void testCompareKeysInByteOrder() {
+    // Supplementary characters sort after the BMP characters above the surrogates in UTF-8 byte order
+    String supplementary = new String(Character.toChars(0x1F600));
+    String bmp = new String(Character.toChars(0xFF01));
+    assertTrue(bmp.compareTo(supplementary) > 0);
+    assertTrue(RecordKeyRange.compareKeys(bmp, supplementary) < 0);
+    assertTrue(RecordKeyRange.compareKeys("a", "ab") < 0);
+    assertEquals(0, RecordKeyRange.compareKeys("ab", "ab"));
+  }
+}
@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.table.read;
+
+import org.apache.hudi.common.config.RecordMergeMode;
+import org.apache.hudi.common.config.TypedProperties;
+import org.apache.hudi.common.engine.HoodieReaderContext;
+import org.apache.hudi.common.model.DeleteRecord;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieException;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.hudi.common.config.HoodieMemoryConfig.MAX_MEMORY_FOR_MERGE;
+import static org.apache.hudi.common.config.HoodieMemoryConfig.SPILLABLE_MAP_BASE_PATH;
+import static org.apache.hudi.common.table.read.SortedKeyBasedFileGroupRecordBuffer.compareRecordKeys;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests {@link SortedKeyBasedFileGroupRecordBuffer}.
+ */
+class TestSortedKeyBasedFileGroupRecordBuffer {
+  private static final int NUM_BASE_RECORDS = 200;
+  private static final int NUM_LOG_RECORDS = 300;
+
+  private final Schema schema = new Schema.Parser().parse("{"
+      + "\"type\": \"record\","
+      + "\"name\": \"EventRecord\","
+      + "\"namespace\": \"com.example.avro\","
+      + "\"fields\": ["
+      + "{\"name\": \"id\", \"type\": \"string\"},"
+      + "{\"name\": \"ts\", \"type\": \"long\"},"
+      + "{\"name\": \"op\", \"type\": \"string\"}"
+      + "]"
+      + "}");
+  private final HoodieReaderContext<GenericRecord> readerContext = mock(HoodieReaderContext.class);
+  private final FileGroupReaderSchemaHandler schemaHandler = mock(FileGroupReaderSchemaHandler.class);
+  private final TypedProperties props = new TypedProperties();
+
+  @TempDir
+  Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    when(readerContext.getSchemaHandler()).thenReturn(schemaHandler);
+    when(schemaHandler.getRequiredSchema()).thenReturn(schema);
+    when(schemaHandler.getCustomDeleteMarkerKeyValue()).thenReturn(Option.empty());
+    when(readerContext.getRecordMerger()).thenReturn(Option.empty());
+    when(readerContext.getRecordKey(any(), any()))
+        .thenAnswer(invocation -> invocation.<GenericRecord>getArgument(0).get("id").toString());
+    when(readerContext.getOrderingValue(any(), any(), any()))
+        .thenAnswer(invocation -> (Comparable) invocation.<GenericRecord>getArgument(0).get("ts"));
+    when(readerContext.encodeAvroSchema(any())).thenReturn(1);
+    when(readerContext.getSchemaFromBufferRecord(any())).thenReturn(schema);
+    when(readerContext.toBinaryRow(any(), any())).thenAnswer(invocation -> invocation.getArgument(1));
+    when(readerContext.seal(any())).thenAnswer(invocation -> invocation.getArgument(0));
+    props.setProperty(SPILLABLE_MAP_BASE_PATH.key(), tempDir.toString());
+  }
+
+  @Test
+  void testCompareRecordKeys() {
+    assertEquals(0, compareRecordKeys("key1", "key1"));
+    assertTrue(compareRecordKeys("key1", "key2") < 0);
+    assertTrue(compareRecordKeys("key", "key1") < 0);
+    assertTrue(compareRecordKeys("key10", "key9") < 0);
+    // Supplementary characters sort after all the characters in the BMP, as in UTF-8 byte order
+    String supplementary = new String(Character.toChars(0x1F600));
+    assertTrue("\uFFFF".compareTo(supplementary) > 0);
+    assertTrue(compareRecordKeys("\uFFFF", supplementary) < 0);
+  }
+
+  @Test
+  void testMergeWithoutSpilling() throws IOException {
+    SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer = createBuffer();
+    try {
+      processLogRecords(buffer);
+      assertEquals(0, buffer.getNumSortedRuns());
+      buffer.setBaseFileIterator(createBaseFileIterator(false));
+      List<GenericRecord> mergedRecords = readAll(buffer);
+      // Without spilling the log-only records are emitted after the base file records
+      assertEquals(getExpectedKeys().stream().sorted().collect(Collectors.toList()),
+          mergedRecords.stream().map(record -> record.get("id").toString()).sorted().collect(Collectors.toList()));
+      mergedRecords.forEach(this::validateMergedRecord);
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  void testMergeWithSortedRuns() throws IOException {
+    props.setProperty(MAX_MEMORY_FOR_MERGE.key(), String.valueOf(16 * 1024L));
+    SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer = createBuffer();
+    try {
+      processLogRecords(buffer);
+      assertTrue(buffer.getNumSortedRuns() > 1);
+      assertThrows(UnsupportedOperationException.class, buffer::getLogRecords);
+
+      buffer.setBaseFileIterator(createBaseFileIterator(false));
+      List<GenericRecord> mergedRecords = readAll(buffer);
+      assertEquals(getExpectedKeys(), mergedRecords.stream().map(record -> record.get("id").toString()).collect(Collectors.toList()));
+      mergedRecords.forEach(this::validateMergedRecord);
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  void testUnsortedBaseFileWithSortedRuns() throws IOException {
+    props.setProperty(MAX_MEMORY_FOR_MERGE.key(), String.valueOf(16 * 1024L));
+    SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer = createBuffer();
+    try {
+      processLogRecords(buffer);
+      buffer.setBaseFileIterator(createBaseFileIterator(true));
+      assertThrows(HoodieException.class, () -> readAll(buffer));
+    } finally {
+      buffer.close();
+    }
+  }
+
+  @Test
+  void testSortedRunsOnlyForBaseFilesSortedByRecordKey() {
+    assertTrue(HoodieFileGroupReader.isBaseFileSortedByRecordKey(Option.empty()));
+    assertTrue(HoodieFileGroupReader.isBaseFileSortedByRecordKey(
+        Option.of(new HoodieBaseFile("/tmp/files/fileId1_1-0-1_100.hfile"))));
+    assertFalse(HoodieFileGroupReader.isBaseFileSortedByRecordKey(
+        Option.of(new HoodieBaseFile("/tmp/files/fileId1_1-0-1_100.parquet"))));
+    assertFalse(HoodieFileGroupReader.isBaseFileSortedByRecordKey(
+        Option.of(new HoodieBaseFile("/tmp/files/fileId1_1-0-1_100.orc"))));
+  }
+
+  private SortedKeyBasedFileGroupRecordBuffer<GenericRecord> createBuffer() {
+    return new SortedKeyBasedFileGroupRecordBuffer<>(readerContext, mock(HoodieTableMetaClient.class),
+        RecordMergeMode.COMMIT_TIME_ORDERING, Option.empty(), Option.empty(), props, new HoodieReadStats());
+  }
+
+  /**
+   * Writes all the keys with op "u1" in a random order, then updates the even keys with op "u2",
+   * then deletes the keys divisible by 5.
+   */
+  private void processLogRecords(SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer) throws IOException {
+    List<Integer> keys = IntStream.range(0, NUM_LOG_RECORDS).boxed().collect(Collectors.toList());
+    Collections.shuffle(keys, new Random(0x5eed));
+    for (int key : keys) {
+      processLogRecord(buffer, key, 1L, "u1");
+    }
+    for (int key : keys) {
+      if (key % 2 == 0) {
+        processLogRecord(buffer, key, 2L, "u2");
+      }
+    }
+    for (int key : keys) {
+      if (key % 5 == 0) {
+        DeleteRecord deleteRecord = DeleteRecord.create(getKey(key), "");
+        buffer.processNextDeletedRecord(deleteRecord, deleteRecord.getRecordKey());
+      }
+    }
+  }
+
+  private void processLogRecord(SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer, int key, long ts, String op) throws IOException {
+    BufferedRecord<GenericRecord> record = BufferedRecord.forRecordWithContext(
+        createRecord(key, ts, op), schema, readerContext, Option.empty(), false);
+    buffer.processNextDataRecord(record, record.getRecordKey());
+  }
+
+  private ClosableIterator<GenericRecord> createBaseFileIterator(boolean unsorted) {
+    List<GenericRecord> baseRecords = IntStream.range(0, NUM_BASE_RECORDS)
+        .mapToObj(key -> createRecord(key, 0L, "b")).collect(Collectors.toList());
+    if (unsorted) {
+      Collections.reverse(baseRecords);
+    }
+    Iterator<GenericRecord> iterator = baseRecords.iterator();
+    return new ClosableIterator<GenericRecord>() {
+      @Override
+      public void close() {
+      }
+
+      @Override
+      public boolean hasNext() {
+        return iterator.hasNext();
+      }
+
+      @Override
+      public GenericRecord next() {
+        return iterator.next();
+      }
+    };
+  }
+
+  private static List<GenericRecord> readAll(SortedKeyBasedFileGroupRecordBuffer<GenericRecord> buffer) throws IOException {
+    List<GenericRecord> records = new ArrayList<>();
+    while (buffer.hasNext()) {
+      records.add(buffer.next());
+    }
+    assertFalse(buffer.hasNext());
+    return records;
+  }
+
+  private static List<String> getExpectedKeys() {
+    return IntStream.range(0, NUM_LOG_RECORDS).filter(key -> key % 5 != 0)
+        .mapToObj(TestSortedKeyBasedFileGroupRecordBuffer::getKey).collect(Collectors.toList());
+  }
+
+  private void validateMergedRecord(GenericRecord record) {
+    int key = Integer.parseInt(record.get("id").toString().substring("key-".length()));
+    assertEquals(key % 2 == 0 ? "u2" : "u1", record.get("op").toString());
+  }
+
+  private GenericRecord createRecord(int key, long ts, String op) {
+    GenericRecord record = new GenericData.Record(schema);
+    record.put("id", getKey(key));
+    record.put("ts", ts);
+    record.put("op", op);
+    return record;
+  }
+
+  private static String getKey(int key) {
+    return String.format("key-%03d", key);
+  }
+}
@@ -25,7 +25,9 @@ import org.junit.jupiter.api.Test;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * Test cases for {@link LSMTimeline}.
@@ -47,6 +49,20 @@ public class TestLSMTimeline {
     assertThrows(HoodieException.class, () -> LSMTimeline.getMaxInstantTime("invalid_file_name.parquet"));
   }
 
+  @Test
+  void testIsFileInRange() {
+    String fileName = "003_006_0.parquet";
+    assertTrue(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.StartTsFilter("005"), fileName));
+    assertTrue(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.StartTsFilter("001"), fileName));
+    assertFalse(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.StartTsFilter("007"), fileName));
+    assertTrue(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.ClosedOpenTimeRangeFilter("001", "004"), fileName));
+    assertFalse(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.ClosedOpenTimeRangeFilter("001", "003"), fileName));
+    // the file spans the whole range of the filter
+    assertTrue(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.ClosedClosedTimeRangeFilter("004", "005"), fileName));
+    assertTrue(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.TimeRangeFilter("003", "006"), fileName));
+    assertFalse(LSMTimeline.isFileInRange(new HoodieArchivedTimeline.TimeRangeFilter("006", "008"), fileName));
+  }
+
   @Test
   void testParseFileLayer() {
     String fileName = "001_002_0.parquet";
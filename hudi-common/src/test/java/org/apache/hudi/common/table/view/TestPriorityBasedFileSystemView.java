@@ -51,6 +51,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -803,6 +804,32 @@ public class TestPriorityBasedFileSystemView {
     });
   }
 
+  @Test
+  public void testGetLatestFileSlicesPaginated() {
+    FileSlicePage actual;
+    FileSlicePage expected = new FileSlicePage(testFileSliceStream.collect(Collectors.toList()), Option.of("table2/file.123"));
+    String partitionPath = "/table2";
+    Option<String> cursor = Option.of("table2/file.000");
+
+    when(primary.getLatestFileSlicesPaginated(partitionPath, cursor, 10)).thenReturn(expected);
+    actual = fsView.getLatestFileSlicesPaginated(partitionPath, cursor, 10);
+    assertEquals(expected, actual);
+    verify(secondaryViewCreator, never()).apply(engineContext);
+
+    resetMocks();
+    when(secondaryViewCreator.apply(engineContext)).thenReturn(secondary);
+    when(primary.getLatestFileSlicesPaginated(partitionPath, cursor, 10)).thenThrow(new RuntimeException());
+    when(secondary.getLatestFileSlicesPaginated(partitionPath, cursor, 10)).thenReturn(expected);
+    actual = fsView.getLatestFileSlicesPaginated(partitionPath, cursor, 10);
+    assertEquals(expected, actual);
+
+    resetMocks();
+    when(secondary.getLatestFileSlicesPaginated(partitionPath, cursor, 10)).thenThrow(new RuntimeException());
+    assertThrows(RuntimeException.class, () -> {
+      fsView.getLatestFileSlicesPaginated(partitionPath, cursor, 10);
+    });
+  }
+
   @Test
   public void testLoadPartitions() {
     String partitionPath = "/table2";
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TestCompactRecordKeySet {
+
+  @Test
+  public void testAddAndContains() {
+    List<String> candidateKeys = new ArrayList<>();
+    for (int i = 0; i < 10000; i++) {
+      candidateKeys.add("key" + i);
+    }
+    CompactRecordKeySet keySet = new CompactRecordKeySet(candidateKeys);
+    assertTrue(keySet.isEmpty());
+    for (int i = 0; i < 10000; i += 2) {
+      assertTrue(keySet.add("key" + i));
+    }
+    assertFalse(keySet.add("key0"));
+    assertEquals(5000, keySet.size());
+    for (int i = 0; i < 10000; i++) {
+      assertEquals(i % 2 == 0, keySet.contains("key" + i));
+    }
+    assertFalse(keySet.contains("key10000"));
+    assertThrows(IllegalArgumentException.class, () -> keySet.add("key10000"));
+  }
+
+  @Test
+  public void testCollidingKeys() {
+    // All keys of the same length share a hash, including the empty key with hash 0
+    List<String> candidateKeys = Arrays.asList("", "a", "b", "c", "aa", "bb", "b", "ccc");
+    CompactRecordKeySet keySet = new CompactRecordKeySet(candidateKeys, String::length);
+    assertTrue(keySet.add("a"));
+    assertTrue(keySet.add("bb"));
+    assertTrue(keySet.add(""));
+    assertFalse(keySet.add("a"));
+    assertEquals(3, keySet.size());
+    assertTrue(keySet.contains("a"));
+    assertTrue(keySet.contains("bb"));
+    assertTrue(keySet.contains(""));
+    assertFalse(keySet.contains("b"));
+    assertFalse(keySet.contains("c"));
+    assertFalse(keySet.contains("aa"));
+    assertTrue(keySet.add("b"));
+    assertTrue(keySet.contains("b"));
+    assertEquals(4, keySet.size());
+    assertFalse(keySet.contains("ccc"));
+    assertTrue(keySet.add("ccc"));
+    assertTrue(keySet.contains("ccc"));
+    assertEquals(5, keySet.size());
+  }
+
+  @Test
+  public void testEmptyCandidateKeys() {
+    CompactRecordKeySet keySet = new CompactRecordKeySet(Collections.emptySet());
+    assertFalse(keySet.contains("key"));
+    assertThrows(IllegalArgumentException.class, () -> keySet.add("key"));
+  }
+}
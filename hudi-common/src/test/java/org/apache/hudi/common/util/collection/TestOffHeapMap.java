@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.util.collection;
+
+import org.apache.hudi.common.model.HoodieKey;
+import org.apache.hudi.common.serialization.DefaultSerializer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link OffHeapMap}.
+ */
+public class TestOffHeapMap {
+
+  @Test
+  public void testMapOperations() {
+    OffHeapMap<String, String> map = new OffHeapMap<>(new DefaultSerializer<>(), 4096);
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0; i < 5000; i++) {
+      map.put("key-" + i, "value-" + i);
+      expected.put("key-" + i, "value-" + i);
+    }
+    assertEquals(expected.size(), map.size());
+    assertEquals("value-42", map.get("key-42"));
+    assertTrue(map.containsKey("key-4999"));
+    assertFalse(map.containsKey("key-5000"));
+    assertNull(map.get("key-5000"));
+
+    // Overwrites and removals
+    for (int i = 0; i < 5000; i += 2) {
+      map.put("key-" + i, "new-value-" + i);
+      expected.put("key-" + i, "new-value-" + i);
+    }
+    for (int i = 1; i < 5000; i += 3) {
+      assertEquals(expected.remove("key-" + i), map.remove("key-" + i));
+    }
+    assertNull(map.remove("key-1"));
+    assertEquals(expected, new HashMap<>(map));
+    assertEquals(expected.keySet(), map.keySet());
+
+    Iterator<Map.Entry<String, String>> iterator = map.entrySet().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getKey().endsWith("0")) {
+        iterator.remove();
+      }
+    }
+    expected.keySet().removeIf(key -> key.endsWith("0"));
+    assertEquals(expected, new HashMap<>(map));
+
+    map.clear();
+    assertTrue(map.isEmpty());
+    assertEquals(0L, map.getLiveEntrySizeInBytes());
+    assertFalse(map.entrySet().iterator().hasNext());
+  }
+
+  @Test
+  public void testExactSizeAccountingAndCompaction() {
+    int arenaSize = 1024;
+    OffHeapMap<Long, byte[]> map = new OffHeapMap<>(new DefaultSerializer<>(), arenaSize);
+    long emptySize = map.getSizeInBytes();
+    map.put(1L, new byte[100]);
+    assertEquals(emptySize + arenaSize, map.getSizeInBytes());
+
+    // Repeated overwrites of the same key do not grow the map without bound
+    for (int i = 0; i < 1000; i++) {
+      map.put(1L, new byte[100]);
+    }
+    assertEquals(1, map.size());
+    long liveSize = map.getLiveEntrySizeInBytes();
+    assertTrue(liveSize > 100 && liveSize < 200);
+    assertTrue(map.getSizeInBytes() <= emptySize + 2L * arenaSize);
+
+    // An entry larger than the arena size
+    map.put(2L, new byte[4 * arenaSize]);
+    assertEquals(4 * arenaSize, map.get(2L).length);
+    assertEquals(100, map.get(1L).length);
+  }
+
+  @Test
+  public void testKeyEncodings() {
+    for (Object key : new Object[] {"", "record-key", 0L, -1L, Long.MAX_VALUE, 42, new HoodieKey("record-key", "partition")}) {
+      assertEquals(key, OffHeapMap.deserializeKey(OffHeapMap.serializeKey(key)));
+    }
+    OffHeapMap<Serializable, String> map = new OffHeapMap<>(new DefaultSerializer<>());
+    map.put(1L, "long");
+    map.put("1", "string");
+    map.put(1, "int");
+    assertEquals(3, map.size());
+    assertEquals("long", map.get(1L));
+    assertEquals("string", map.get("1"));
+    assertEquals("int", map.get(1));
+  }
+}
@@ -24,6 +24,7 @@ import java.nio.ByteBuffer;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 /**
@@ -113,4 +114,37 @@ public class TestByteBufferBackedInputStream {
     int secondByte = stream.read();
     assertEquals(secondByte, 0xE);
   }
+
+  @Test
+  public void testSlice() {
+    byte[] sourceBytes = { 0xD, 0xE, 0xA, 0xD, 0xD, 0xA, 0xE, 0xD };
+
+    ByteBufferBackedInputStream stream = new ByteBufferBackedInputStream(sourceBytes, 1, 6);
+    assertEquals(0xE, stream.read());
+
+    // Slicing shares the backing array (while keeping stream's state intact)
+    ByteBuffer slice = stream.slice(2, 3);
+    assertEquals(0, slice.position());
+    assertEquals(3, slice.remaining());
+    assertSame(sourceBytes, slice.array());
+    assertEquals(3, slice.arrayOffset());
+    assertEquals(0xD, slice.get(0));
+    assertEquals(0xA, slice.get(2));
+    assertThrows(IllegalArgumentException.class, () -> stream.slice(4, 3));
+
+    assertEquals(0xA, stream.read());
+  }
+
+  @Test
+  public void testCopyFromDirectBuffer() {
+    ByteBuffer sourceBuffer = ByteBuffer.allocateDirect(8);
+    sourceBuffer.put(new byte[] { 0xD, 0xE, 0xA, 0xD, 0xD, 0xA, 0xE, 0xD });
+    sourceBuffer.flip();
+
+    ByteBufferBackedInputStream stream = new ByteBufferBackedInputStream(sourceBuffer);
+    byte[] targetBytes = new byte[5];
+    stream.copyFrom(2, targetBytes, 0, targetBytes.length);
+    assertArrayEquals(new byte[] { 0xA, 0xD, 0xD, 0xA, 0xE }, targetBytes);
+    assertEquals(0xD, stream.read());
+  }
 }
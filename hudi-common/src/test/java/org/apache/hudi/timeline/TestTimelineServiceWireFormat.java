@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline;
+
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link TimelineServiceWireFormat}.
+ */
+class TestTimelineServiceWireFormat {
+
+  @Test
+  void testNegotiation() {
+    assertEquals("application/json", TimelineServiceWireFormat.JSON.getAcceptHeader());
+    String version = ";v=" + TimelineServiceWireFormat.BINARY_ENCODING_VERSION;
+    assertEquals("application/x-hudi-kryo" + version + ", application/json", TimelineServiceWireFormat.KRYO.getAcceptHeader());
+    assertEquals("application/x-hudi-kryo-zstd" + version + ", application/x-hudi-kryo" + version + ", application/json",
+        TimelineServiceWireFormat.KRYO_ZSTD.getAcceptHeader());
+
+    for (TimelineServiceWireFormat format : TimelineServiceWireFormat.values()) {
+      assertEquals(format, TimelineServiceWireFormat.fromAcceptHeader(format.getAcceptHeader()));
+      assertEquals(format, TimelineServiceWireFormat.fromContentType(format.getContentType()));
+    }
+    assertEquals(TimelineServiceWireFormat.JSON, TimelineServiceWireFormat.fromAcceptHeader(null));
+    assertEquals(TimelineServiceWireFormat.JSON, TimelineServiceWireFormat.fromAcceptHeader("*/*"));
+    assertEquals(TimelineServiceWireFormat.KRYO,
+        TimelineServiceWireFormat.fromAcceptHeader("text/html,application/x-hudi-kryo;q=0.9" + version));
+    // Clients without the same version of the binary encodings get JSON
+    assertEquals(TimelineServiceWireFormat.JSON,
+        TimelineServiceWireFormat.fromAcceptHeader("application/x-hudi-kryo, application/json"));
+    assertEquals(TimelineServiceWireFormat.JSON, TimelineServiceWireFormat.fromAcceptHeader(
+        "application/x-hudi-kryo;v=" + (TimelineServiceWireFormat.BINARY_ENCODING_VERSION + 1) + ", application/json"));
+    // Responses of servers or endpoints without the binary encodings are decoded as JSON
+    assertEquals(TimelineServiceWireFormat.JSON, TimelineServiceWireFormat.fromContentType(null));
+    assertEquals(TimelineServiceWireFormat.JSON, TimelineServiceWireFormat.fromContentType("text/plain; charset=UTF-8"));
+    assertEquals(TimelineServiceWireFormat.KRYO_ZSTD,
+        TimelineServiceWireFormat.fromContentType("application/x-hudi-kryo-zstd; charset=UTF-8"));
+  }
+
+  @Test
+  void testEncodeAndDecode() throws IOException {
+    Map<String, List<FileSliceDTO>> smallResponse = createFileSliceDTOs(2, 3);
+    TimelineServiceWireFormat.EncodedContent kryoContent = TimelineServiceWireFormat.KRYO.encode(smallResponse);
+    assertEquals(TimelineServiceWireFormat.KRYO, kryoContent.getFormat());
+    assertFileSlicesEqual(smallResponse, decode(kryoContent));
+
+    // Small responses are not compressed
+    kryoContent = TimelineServiceWireFormat.KRYO_ZSTD.encode(smallResponse);
+    assertEquals(TimelineServiceWireFormat.KRYO, kryoContent.getFormat());
+    assertFileSlicesEqual(smallResponse, decode(kryoContent));
+
+    Map<String, List<FileSliceDTO>> largeResponse = createFileSliceDTOs(10, 1000);
+    TimelineServiceWireFormat.EncodedContent uncompressedContent = TimelineServiceWireFormat.KRYO.encode(largeResponse);
+    TimelineServiceWireFormat.EncodedContent compressedContent = TimelineServiceWireFormat.KRYO_ZSTD.encode(largeResponse);
+    assertEquals(TimelineServiceWireFormat.KRYO_ZSTD, compressedContent.getFormat());
+    assertTrue(compressedContent.getBytes().length < uncompressedContent.getBytes().length);
+    assertFileSlicesEqual(largeResponse, decode(compressedContent));
+
+    assertThrows(UnsupportedOperationException.class, () -> TimelineServiceWireFormat.JSON.encode(smallResponse));
+  }
+
+  @Test
+  void testEncodeArraysAsList() throws IOException {
+    List<FileSliceDTO> response = Arrays.asList(createFileSliceDTOs(1, 1).get("partition-0").get(0));
+    List<FileSliceDTO> decoded = decode(TimelineServiceWireFormat.KRYO.encode(response));
+    assertEquals(FileSliceDTO.toFileSlice(response.get(0)), FileSliceDTO.toFileSlice(decoded.get(0)));
+  }
+
+  private static <T> T decode(TimelineServiceWireFormat.EncodedContent content) throws IOException {
+    return new TimelineServiceClientBase.Response(content.getBytes(), content.getFormat())
+        .getDecodedContent(new TypeReference<T>() {});
+  }
+
+  private static Map<String, List<FileSliceDTO>> createFileSliceDTOs(int numPartitions, int numFileSlicesPerPartition) {
+    Map<String, List<FileSliceDTO>> fileSlices = new HashMap<>();
+    for (int i = 0; i < numPartitions; i++) {
+      String partitionPath = "partition-" + i;
+      List<FileSliceDTO> partitionFileSlices = new ArrayList<>();
+      for (int j = 0; j < numFileSlicesPerPartition; j++) {
+        String fileId = UUID.randomUUID().toString();
+        FileSlice fileSlice = new FileSlice(partitionPath, "001", fileId);
+        fileSlice.setBaseFile(new HoodieBaseFile(
+            "file:/tmp/table/" + partitionPath + "/" + FSUtils.makeBaseFileName("001", "1-0-1", fileId, ".parquet")));
+        fileSlice.addLogFile(new HoodieLogFile(
+            "file:/tmp/table/" + partitionPath + "/" + FSUtils.makeLogFileName(fileId, ".log", "002", 1, "1-0-1")));
+        partitionFileSlices.add(FileSliceDTO.fromFileSlice(fileSlice));
+      }
+      fileSlices.put(partitionPath, partitionFileSlices);
+    }
+    return fileSlices;
+  }
+
+  private static void assertFileSlicesEqual(Map<String, List<FileSliceDTO>> expected, Map<String, List<FileSliceDTO>> actual) {
+    assertEquals(expected.keySet(), actual.keySet());
+    expected.forEach((partitionPath, fileSlices) -> assertEquals(
+        fileSlices.stream().map(FileSliceDTO::toFileSlice).collect(Collectors.toList()),
+        actual.get(partitionPath).stream().map(FileSliceDTO::toFileSlice).collect(Collectors.toList())));
+  }
+}
@@ -48,7 +48,8 @@ public class HoodieAvroFileReaderFactory extends HoodieFileReaderFactory {
                                                 StoragePath path,
                                                 Option<Schema> schemaOption) throws IOException {
     if (isUseNativeHFileReaderEnabled(hoodieConfig)) {
-      return new HoodieNativeAvroHFileReader(storage, path, schemaOption);
+      return new HoodieNativeAvroHFileReader(storage, path, schemaOption, getHFileBlockCache(hoodieConfig),
+          isHFileLocalMmapEnabled(hoodieConfig));
     }
     if (schemaOption.isPresent()) {
       return new HoodieHBaseAvroHFileReader(storage.getConf(), path, schemaOption);
@@ -30,6 +30,7 @@ import org.apache.hudi.common.util.ParquetReaderIterator;
 import org.apache.hudi.common.util.collection.ClosableIterator;
 import org.apache.hudi.common.util.collection.CloseableMappingIterator;
 import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.io.storage.HoodieAvroFileReader;
 import org.apache.hudi.io.storage.HoodieFileReader;
 import org.apache.hudi.io.storage.HoodieIOFactory;
@@ -44,12 +45,19 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.parquet.avro.AvroReadSupport;
 import org.apache.parquet.avro.AvroSchemaConverter;
 import org.apache.parquet.avro.HoodieAvroParquetReaderBuilder;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators;
 import org.apache.parquet.hadoop.ParquetInputFormat;
 import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.io.api.Binary;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 
 import static org.apache.hudi.common.util.TypeUtils.unsafeCast;
@@ -83,6 +91,56 @@ public class HoodieAvroParquetReader extends HoodieAvroFileReader {
     return new CloseableMappingIterator<>(iterator, data -> unsafeCast(new HoodieAvroIndexedRecord(data)));
   }
 
+  /**
+   * Returns an iterator over the records of the row groups located in the given byte ranges of the file,
+   * in the order of the ranges. A row group is located in a range if the midpoint of its column chunks is
+   * within the range, so each range should span whole row groups, e.g., from the starting position of a row
+   * group to the end of the last row group to read.
+   *
+   * @param readerSchema the schema to read the records in.
+   * @param fileRanges   start (inclusive) and end (exclusive) byte offsets of the ranges to read.
+   * @return the iterator over the records of the row groups in the ranges.
+   */
+  public ClosableIterator<HoodieRecord<IndexedRecord>> getRecordIterator(Schema readerSchema, List<Pair<Long, Long>> fileRanges) {
+    Iterator<Pair<Long, Long>> rangeIterator = fileRanges.iterator();
+    ClosableIterator<IndexedRecord> iterator = new ClosableIterator<IndexedRecord>() {
+      private ClosableIterator<IndexedRecord> current = null;
+
+      @Override
+      public boolean hasNext() {
+        while (current == null || !current.hasNext()) {
+          if (!rangeIterator.hasNext()) {
+            return false;
+          }
+          close();
+          try {
+            current = getIndexedRecordIteratorInternal(readerSchema, Option.empty(), Option.of(rangeIterator.next()));
+          } catch (IOException e) {
+            throw new HoodieIOException("Failed to read row groups from parquet file " + path, e);
+          }
+        }
+        return true;
+      }
+
+      @Override
+      public IndexedRecord next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return current.next();
+      }
+
+      @Override
+      public void close() {
+        if (current != null) {
+          current.close();
+          current = null;
+        }
+      }
+    };
+    return new CloseableMappingIterator<>(iterator, data -> unsafeCast(new HoodieAvroIndexedRecord(data)));
+  }
+
   @Override
   public String[] readMinMaxRecordKeys() {
     return parquetUtils.readMinMaxRecordKeys(storage, path);
@@ -100,12 +158,27 @@ public class HoodieAvroParquetReader extends HoodieAvroFileReader {
 
   @Override
   protected ClosableIterator<IndexedRecord> getIndexedRecordIterator(Schema schema) throws IOException {
-    return getIndexedRecordIteratorInternal(schema);
+    return getIndexedRecordIteratorInternal(schema, Option.empty(), Option.empty());
   }
 
   @Override
   public ClosableIterator<IndexedRecord> getIndexedRecordIterator(Schema readerSchema, Schema requestedSchema) throws IOException {
-    return getIndexedRecordIteratorInternal(requestedSchema);
+    return getIndexedRecordIteratorInternal(requestedSchema, Option.empty(), Option.empty());
+  }
+
+  @Override
+  public ClosableIterator<IndexedRecord> getIndexedRecordIterator(Schema readerSchema, Schema requestedSchema, String field,
+                                                                  Option<String> minValue, Option<String> maxValue) throws IOException {
+    Operators.BinaryColumn column = FilterApi.binaryColumn(field);
+    FilterPredicate predicate = null;
+    if (minValue.isPresent()) {
+      predicate = FilterApi.gtEq(column, Binary.fromString(minValue.get()));
+    }
+    if (maxValue.isPresent()) {
+      FilterPredicate maxPredicate = FilterApi.ltEq(column, Binary.fromString(maxValue.get()));
+      predicate = predicate == null ? maxPredicate : FilterApi.and(predicate, maxPredicate);
+    }
+    return getIndexedRecordIteratorInternal(requestedSchema, Option.ofNullable(predicate), Option.empty());
   }
 
   @Override
@@ -166,7 +239,8 @@ public class HoodieAvroParquetReader extends HoodieAvroFileReader {
     return conf;
   }
 
-  private ClosableIterator<IndexedRecord> getIndexedRecordIteratorInternal(Schema schema) throws IOException {
+  private ClosableIterator<IndexedRecord> getIndexedRecordIteratorInternal(Schema schema, Option<FilterPredicate> filter,
+                                                                         Option<Pair<Long, Long>> fileRange) throws IOException {
     // NOTE: We have to set both Avro read-schema and projection schema to make
     //       sure that in case the file-schema is not equal to read-schema we'd still
     //       be able to read that file (in case projection is a proper one)
@@ -180,11 +254,19 @@ public class HoodieAvroParquetReader extends HoodieAvroFileReader {
       AvroReadSupport.setAvroReadSchema(hadoopConf, schema);
       AvroReadSupport.setRequestedProjection(hadoopConf, schema);
     }
-    ParquetReader<IndexedRecord> reader =
+    ParquetReader.Builder<IndexedRecord> builder =
         new HoodieAvroParquetReaderBuilder<IndexedRecord>(path).withConf(hadoopConf)
             .set(AvroSchemaConverter.ADD_LIST_ELEMENT_RECORDS, hadoopConf.get(AvroSchemaConverter.ADD_LIST_ELEMENT_RECORDS))
-            .set(ParquetInputFormat.STRICT_TYPE_CHECKING, hadoopConf.get(ParquetInputFormat.STRICT_TYPE_CHECKING))
-            .build();
+            .set(ParquetInputFormat.STRICT_TYPE_CHECKING, hadoopConf.get(ParquetInputFormat.STRICT_TYPE_CHECKING));
+    if (filter.isPresent()) {
+      // Skips the row groups by the column statistics
+      builder = builder.withFilter(FilterCompat.get(filter.get()));
+    }
+    if (fileRange.isPresent()) {
+      // Only reads the row groups whose midpoint is within the range
+      builder = builder.withFileRange(fileRange.get().getLeft(), fileRange.get().getRight());
+    }
+    ParquetReader<IndexedRecord> reader = builder.build();
     ParquetReaderIterator<IndexedRecord> parquetReaderIterator = promotedSchema.isPresent()
         ? new HoodieAvroParquetReaderIterator(reader, promotedSchema.get())
         : new ParquetReaderIterator<>(reader);
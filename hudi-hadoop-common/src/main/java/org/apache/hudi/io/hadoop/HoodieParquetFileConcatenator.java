@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io.hadoop;
+
+import org.apache.hudi.avro.HoodieBloomFilterWriteSupport;
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.model.HoodieFileFormat;
+import org.apache.hudi.common.util.ParquetUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.hadoop.fs.HadoopFSUtils;
+import org.apache.hudi.io.storage.HoodieIOFactory;
+import org.apache.hudi.parquet.io.OutputStreamBackedOutputFile;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.schema.MessageType;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Concatenates Parquet files with the same schema, written by the Hudi writer, into one file by copying
+ * their row groups as compressed column chunks, in the order of the files.
+ * <p>
+ * The footer of the new file has the key-value metadata of the first file, except for the Hudi bloom filter,
+ * which is the one of the first file with the record keys of the other files added, and the min/max record
+ * keys, which are computed from the ones of all the files. The new file is overwritten if it exists, and
+ * deleted if the concatenation fails.
+ */
+public class HoodieParquetFileConcatenator {
+
+  /**
+   * Concatenates the files into the new file.
+   *
+   * @param storage    {@link HoodieStorage} instance of the files.
+   * @param inputPaths paths of the files to concatenate, in order.
+   * @param outputPath path of the new file.
+   */
+  public static void concatenate(HoodieStorage storage, List<StoragePath> inputPaths, StoragePath outputPath) {
+    List<ParquetMetadata> footers = new ArrayList<>(inputPaths.size());
+    for (StoragePath inputPath : inputPaths) {
+      footers.add(ParquetUtils.readMetadata(storage, inputPath));
+    }
+    MessageType schema = footers.get(0).getFileMetaData().getSchema();
+    for (int i = 1; i < footers.size(); i++) {
+      if (!schema.equals(footers.get(i).getFileMetaData().getSchema())) {
+        throw new HoodieIOException("Parquet schema of " + inputPaths.get(i) + " differs from the one of " + inputPaths.get(0));
+      }
+    }
+    Map<String, String> keyValueMetadata = new HashMap<>(footers.get(0).getFileMetaData().getKeyValueMetaData());
+    updateRecordKeyMetadata(keyValueMetadata, storage, inputPaths, footers);
+
+    Configuration conf = storage.getConf().unwrapAs(Configuration.class);
+    Path outputHadoopPath = new Path(outputPath.toUri());
+    boolean succeeded = false;
+    try (FSDataOutputStream outputStream = HadoopFSUtils.getFs(outputHadoopPath, conf).create(outputHadoopPath, true)) {
+      ParquetFileWriter writer = new ParquetFileWriter(new OutputStreamBackedOutputFile(outputStream), schema,
+          ParquetFileWriter.Mode.OVERWRITE, ParquetWriter.DEFAULT_BLOCK_SIZE, 0);
+      writer.start();
+      for (StoragePath inputPath : inputPaths) {
+        writer.appendFile(HadoopInputFile.fromPath(new Path(inputPath.toUri()), conf));
+      }
+      writer.end(keyValueMetadata);
+      succeeded = true;
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to concatenate parquet files " + inputPaths + " into " + outputPath, e);
+    } finally {
+      if (!succeeded) {
+        HoodieParquetRowGroupCopier.deleteQuietly(storage, outputPath);
+      }
+    }
+  }
+
+  private static void updateRecordKeyMetadata(Map<String, String> keyValueMetadata, HoodieStorage storage,
+                                              List<StoragePath> inputPaths, List<ParquetMetadata> footers) {
+    if (keyValueMetadata.containsKey(HoodieBloomFilterWriteSupport.HOODIE_AVRO_BLOOM_FILTER_METADATA_KEY)) {
+      BloomFilter bloomFilter = HoodieIOFactory.getIOFactory(storage).getFileFormatUtils(HoodieFileFormat.PARQUET)
+          .readBloomFilterFromMetadata(storage, inputPaths.get(0));
+      for (StoragePath inputPath : inputPaths.subList(1, inputPaths.size())) {
+        try (HoodieAvroParquetReader reader = new HoodieAvroParquetReader(storage, inputPath);
+             ClosableIterator<String> keyIterator = reader.getRecordKeyIterator()) {
+          keyIterator.forEachRemaining(bloomFilter::add);
+        } catch (IOException e) {
+          throw new HoodieIOException("Failed to read record keys from " + inputPath, e);
+        }
+      }
+      HoodieParquetRowGroupCopier.putBloomFilter(keyValueMetadata, bloomFilter);
+    }
+
+    // The files without records have no min/max record keys
+    String minRecordKey = null;
+    String maxRecordKey = null;
+    for (ParquetMetadata footer : footers) {
+      Map<String, String> metadata = footer.getFileMetaData().getKeyValueMetaData();
+      String fileMin = metadata.get(HoodieBloomFilterWriteSupport.HOODIE_MIN_RECORD_KEY_FOOTER);
+      String fileMax = metadata.get(HoodieBloomFilterWriteSupport.HOODIE_MAX_RECORD_KEY_FOOTER);
+      if (fileMin != null && (minRecordKey == null || minRecordKey.compareTo(fileMin) > 0)) {
+        minRecordKey = fileMin;
+      }
+      if (fileMax != null && (maxRecordKey == null || maxRecordKey.compareTo(fileMax) < 0)) {
+        maxRecordKey = fileMax;
+      }
+    }
+    if (minRecordKey != null) {
+      keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_MIN_RECORD_KEY_FOOTER, minRecordKey);
+      keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_MAX_RECORD_KEY_FOOTER, maxRecordKey);
+    }
+  }
+}
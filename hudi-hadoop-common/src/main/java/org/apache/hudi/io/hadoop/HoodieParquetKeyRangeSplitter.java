@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io.hadoop;
+
+import org.apache.hudi.common.table.log.RecordKeyRange;
+import org.apache.hudi.common.util.ParquetUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Computes the record keys splitting a Parquet base file into key ranges with about the same number of
+ * records, see {@link RecordKeyRange#fromSplitPoints}.
+ * <p>
+ * If the record key ranges of the row groups do not overlap, e.g., the file is written in the order of the
+ * record keys, the split points are the minimum keys of the row groups, based on the statistics in the footer.
+ * Otherwise, the record key column is read and sampled to estimate the quantiles of the keys. Either way,
+ * the ranges cover all the record keys, and only the balance of the ranges depends on the estimation.
+ */
+public class HoodieParquetKeyRangeSplitter {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieParquetKeyRangeSplitter.class);
+
+  // Number of keys sampled per key range to estimate the quantiles
+  private static final int SAMPLES_PER_SPLIT = 100;
+
+  /**
+   * Returns up to {@code numSplits - 1} split points in ascending order, which may be fewer if the file
+   * has too few distinct keys.
+   *
+   * @param storage   {@link HoodieStorage} instance.
+   * @param filePath  path of the Parquet base file.
+   * @param numSplits the number of key ranges to split the file into.
+   * @return the split points.
+   */
+  public static List<String> getSplitPoints(HoodieStorage storage, StoragePath filePath, int numSplits) {
+    if (numSplits < 2) {
+      return Collections.emptyList();
+    }
+    ParquetMetadata footer = ParquetUtils.readMetadata(storage, filePath);
+    List<String> splitPoints = getSplitPointsFromStatistics(footer.getBlocks(), numSplits);
+    if (splitPoints == null) {
+      splitPoints = getSplitPointsFromSamples(storage, filePath, footer, numSplits);
+    }
+    LOG.info("Split {} into {} record key ranges by the split points {}", filePath, splitPoints.size() + 1, splitPoints);
+    return splitPoints;
+  }
+
+  /**
+   * Returns the split points on the row group boundaries if there are enough row groups and the record key
+   * ranges of the row groups are ascending and disjoint, or null otherwise.
+   */
+  private static List<String> getSplitPointsFromStatistics(List<BlockMetaData> blocks, int numSplits) {
+    if (blocks.size() < numSplits) {
+      return null;
+    }
+    PrimitiveComparator<Binary> comparator = null;
+    Binary previousMax = null;
+    long numRecords = 0;
+    for (BlockMetaData block : blocks) {
+      Statistics<Binary> stats = HoodieParquetRowGroupCopier.getRecordKeyStatistics(block);
+      if (stats == null || !stats.hasNonNullValue()) {
+        return null;
+      }
+      comparator = stats.comparator();
+      if (previousMax != null && comparator.compare(previousMax, stats.genericGetMin()) >= 0) {
+        return null;
+      }
+      previousMax = stats.genericGetMax();
+      numRecords += block.getRowCount();
+    }
+
+    List<String> splitPoints = new ArrayList<>();
+    long startRecord = 0;
+    int nextSplit = 1;
+    for (BlockMetaData block : blocks) {
+      // Starts a new range at the first row group beyond the next quantile
+      if (startRecord > 0 && startRecord * numSplits >= numRecords * nextSplit) {
+        splitPoints.add(HoodieParquetRowGroupCopier.getRecordKeyStatistics(block).genericGetMin().toStringUsingUTF8());
+        while (nextSplit < numSplits && startRecord * numSplits >= numRecords * nextSplit) {
+          nextSplit++;
+        }
+      }
+      startRecord += block.getRowCount();
+    }
+    return splitPoints;
+  }
+
+  private static List<String> getSplitPointsFromSamples(HoodieStorage storage, StoragePath filePath,
+                                                        ParquetMetadata footer, int numSplits) {
+    long numRecords = footer.getBlocks().stream().mapToLong(BlockMetaData::getRowCount).sum();
+    long stride = Math.max(1L, numRecords / ((long) numSplits * SAMPLES_PER_SPLIT));
+    List<String> samples = new ArrayList<>();
+    try (HoodieAvroParquetReader reader = new HoodieAvroParquetReader(storage, filePath);
+         ClosableIterator<String> keyIterator = reader.getRecordKeyIterator()) {
+      long position = 0;
+      while (keyIterator.hasNext()) {
+        String key = keyIterator.next();
+        if (position++ % stride == 0) {
+          samples.add(key);
+        }
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to read record keys from " + filePath, e);
+    }
+    if (samples.isEmpty()) {
+      return Collections.emptyList();
+    }
+    samples.sort(RecordKeyRange::compareKeys);
+
+    List<String> splitPoints = new ArrayList<>();
+    for (int i = 1; i < numSplits; i++) {
+      String splitPoint = samples.get((int) ((long) samples.size() * i / numSplits));
+      // Skips the duplicate keys so that no range is empty by construction
+      if (RecordKeyRange.compareKeys(splitPoint, samples.get(0)) > 0 && (splitPoints.isEmpty()
+          || RecordKeyRange.compareKeys(splitPoint, splitPoints.get(splitPoints.size() - 1)) > 0)) {
+        splitPoints.add(splitPoint);
+      }
+    }
+    return splitPoints;
+  }
+}
@@ -0,0 +1,435 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io.hadoop;
+
+import org.apache.hudi.avro.HoodieBloomFilterWriteSupport;
+import org.apache.hudi.common.bloom.BloomFilter;
+import org.apache.hudi.common.bloom.BloomFilterTypeCode;
+import org.apache.hudi.common.model.HoodieFileFormat;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.util.ParquetUtils;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.hadoop.fs.HadoopFSUtils;
+import org.apache.hudi.io.storage.HoodieIOFactory;
+import org.apache.hudi.parquet.io.OutputStreamBackedOutputFile;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.apache.avro.Schema;
+import org.apache.avro.generic.IndexedRecord;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.avro.AvroSchemaConverter;
+import org.apache.parquet.bytes.BytesInput;
+import org.apache.parquet.bytes.BytesUtils;
+import org.apache.parquet.bytes.HeapByteBufferAllocator;
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.Encoding;
+import org.apache.parquet.column.page.DictionaryPage;
+import org.apache.parquet.column.statistics.Statistics;
+import org.apache.parquet.column.values.rle.RunLengthBitPackingHybridEncoder;
+import org.apache.parquet.format.DataPageHeader;
+import org.apache.parquet.format.DictionaryPageHeader;
+import org.apache.parquet.format.PageHeader;
+import org.apache.parquet.format.PageType;
+import org.apache.parquet.format.Util;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.CodecFactory;
+import org.apache.parquet.hadoop.ParquetFileWriter;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnChunkMetaData;
+import org.apache.parquet.hadoop.metadata.ColumnPath;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.hadoop.util.HadoopInputFile;
+import org.apache.parquet.io.SeekableInputStream;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.MessageType;
+import org.apache.parquet.schema.PrimitiveComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Merges a Parquet base file at the row group level: the row groups that cannot contain any of the
+ * given record keys, based on the min/max statistics of the record key column, are copied to the new
+ * file as compressed pages without decoding them, except for the `_hoodie_file_name` meta field, which is
+ * rewritten with the new file name, while the other row groups are read, merged
+ * and written to a separate file by the caller. {@link #writeMergedFile} then assembles the new file
+ * from the copied row groups and the row groups of the separate file.
+ * <p>
+ * Both files must have the same Parquet schema. The Hudi bloom filter in the footer of the new file is
+ * the one of the base file with the keys of the rewritten records added, which may contain the keys of
+ * the records deleted by the merge, and the min/max record keys are computed from the copied row groups
+ * and the rewritten records.
+ */
+public class HoodieParquetRowGroupCopier {
+
+  private static final Logger LOG = LoggerFactory.getLogger(HoodieParquetRowGroupCopier.class);
+
+  private static final ColumnPath RECORD_KEY_COLUMN_PATH = ColumnPath.get(HoodieRecord.RECORD_KEY_METADATA_FIELD);
+  private static final ColumnPath FILE_NAME_COLUMN_PATH = ColumnPath.get(HoodieRecord.FILENAME_METADATA_FIELD);
+  private static final ParquetMetadataConverter METADATA_CONVERTER = new ParquetMetadataConverter();
+
+  private final HoodieStorage storage;
+  private final StoragePath baseFilePath;
+  private final ParquetMetadata footer;
+  private final List<BlockMetaData> rowGroupsToCopy = new ArrayList<>();
+  private final List<Pair<Long, Long>> fileRangesToRewrite = new ArrayList<>();
+
+  public HoodieParquetRowGroupCopier(HoodieStorage storage, StoragePath baseFilePath) {
+    this.storage = storage;
+    this.baseFilePath = baseFilePath;
+    this.footer = ParquetUtils.readMetadata(storage, baseFilePath);
+  }
+
+  /**
+   * Selects the row groups of the base file to copy as is, which are the row groups whose record key
+   * range does not contain any of the given record keys. No row group is copied if the Parquet schema of
+   * the base file differs from the one the records are written with, if the record key statistics are
+   * missing in any row group, or if any row group may have V2 data pages.
+   *
+   * @param writerSchema    the Avro schema the merged records are written with.
+   * @param recordKeys      the keys of the incoming records.
+   * @param withBloomFilter whether the merged records are written with a Hudi bloom filter.
+   * @return whether any row group is copied.
+   */
+  public boolean selectRowGroupsToCopy(Schema writerSchema, Collection<String> recordKeys, boolean withBloomFilter) {
+    rowGroupsToCopy.clear();
+    fileRangesToRewrite.clear();
+    MessageType fileSchema = footer.getFileMetaData().getSchema();
+    if (!fileSchema.equals(new AvroSchemaConverter(storage.getConf().unwrapAs(Configuration.class)).convert(writerSchema))) {
+      LOG.info("Parquet schema of {} differs from the writer schema, rewriting all the row groups", baseFilePath);
+      return false;
+    }
+    if (withBloomFilter && !footer.getFileMetaData().getKeyValueMetaData()
+        .containsKey(HoodieBloomFilterWriteSupport.HOODIE_AVRO_BLOOM_FILTER_METADATA_KEY)) {
+      return false;
+    }
+    List<Statistics<Binary>> keyStats = new ArrayList<>();
+    for (BlockMetaData block : footer.getBlocks()) {
+      Statistics<Binary> stats = getRecordKeyStatistics(block);
+      if (stats == null || !stats.hasNonNullValue() || !hasOnlyV1Pages(block)) {
+        return false;
+      }
+      keyStats.add(stats);
+    }
+    if (keyStats.isEmpty()) {
+      return false;
+    }
+
+    // Sorts the keys in the order of the statistics to binary search the key range of each row group
+    PrimitiveComparator<Binary> comparator = keyStats.get(0).comparator();
+    List<Binary> sortedKeys = new ArrayList<>(recordKeys.size());
+    recordKeys.forEach(key -> sortedKeys.add(Binary.fromString(key)));
+    sortedKeys.sort(comparator);
+
+    List<BlockMetaData> blocks = footer.getBlocks();
+    BlockMetaData rewriteRangeStart = null;
+    for (int i = 0; i < blocks.size(); i++) {
+      BlockMetaData block = blocks.get(i);
+      Statistics<Binary> stats = keyStats.get(i);
+      int index = Collections.binarySearch(sortedKeys, stats.genericGetMin(), comparator);
+      int firstKeyNotLessThanMin = index >= 0 ? index : -index - 1;
+      boolean mayContainKeys = firstKeyNotLessThanMin < sortedKeys.size()
+          && comparator.compare(sortedKeys.get(firstKeyNotLessThanMin), stats.genericGetMax()) <= 0;
+      if (mayContainKeys) {
+        if (rewriteRangeStart == null) {
+          rewriteRangeStart = block;
+        }
+      } else {
+        rowGroupsToCopy.add(block);
+        if (rewriteRangeStart != null) {
+          fileRangesToRewrite.add(Pair.of(rewriteRangeStart.getStartingPos(), block.getStartingPos()));
+          rewriteRangeStart = null;
+        }
+      }
+    }
+    if (rewriteRangeStart != null) {
+      BlockMetaData lastBlock = blocks.get(blocks.size() - 1);
+      fileRangesToRewrite.add(Pair.of(rewriteRangeStart.getStartingPos(), lastBlock.getStartingPos() + lastBlock.getCompressedSize()));
+    }
+    LOG.info("Copying {} of {} row groups with {} records from {}", rowGroupsToCopy.size(), blocks.size(),
+        getNumRecordsToCopy(), baseFilePath);
+    return !rowGroupsToCopy.isEmpty();
+  }
+
+  public boolean isCopyingRowGroups() {
+    return !rowGroupsToCopy.isEmpty();
+  }
+
+  public long getNumRecordsToCopy() {
+    return rowGroupsToCopy.stream().mapToLong(BlockMetaData::getRowCount).sum();
+  }
+
+  /**
+   * Returns an iterator over the records of the row groups that are not copied.
+   *
+   * @param readerSchema the schema to read the records in.
+   * @return the iterator over the records to merge.
+   */
+  public ClosableIterator<HoodieRecord<IndexedRecord>> getRecordIteratorToRewrite(Schema readerSchema) {
+    return new HoodieAvroParquetReader(storage, baseFilePath).getRecordIterator(readerSchema, fileRangesToRewrite);
+  }
+
+  /**
+   * Writes the new file with the copied row groups of the base file followed by all the row groups of
+   * the file holding the rewritten records. The partially written new file is deleted on failure.
+   *
+   * @param rewrittenFileStorage {@link HoodieStorage} instance of the file holding the rewritten records.
+   * @param rewrittenFilePath    path of the file holding the rewritten records.
+   * @param newFileStorage       {@link HoodieStorage} instance of the new file.
+   * @param newFilePath          path of the new file.
+   * @param rowGroupSize         the row group size of the new file.
+   */
+  public void writeMergedFile(HoodieStorage rewrittenFileStorage, StoragePath rewrittenFilePath,
+                              HoodieStorage newFileStorage, StoragePath newFilePath, long rowGroupSize) {
+    ParquetMetadata rewrittenFooter = ParquetUtils.readMetadata(rewrittenFileStorage, rewrittenFilePath);
+    MessageType schema = footer.getFileMetaData().getSchema();
+    if (!schema.equals(rewrittenFooter.getFileMetaData().getSchema())) {
+      throw new HoodieIOException("Parquet schema of the rewritten records " + rewrittenFilePath
+          + " differs from the one of the base file " + baseFilePath);
+    }
+    Map<String, String> keyValueMetadata = new HashMap<>(rewrittenFooter.getFileMetaData().getKeyValueMetaData());
+    updateRecordKeyMetadata(keyValueMetadata, rewrittenFileStorage, rewrittenFilePath);
+
+    Configuration newFileConf = newFileStorage.getConf().unwrapAs(Configuration.class);
+    Path newFileHadoopPath = new Path(newFilePath.toUri());
+    boolean succeeded = false;
+    try (FSDataOutputStream outputStream = HadoopFSUtils.getFs(newFileHadoopPath, newFileConf).create(newFileHadoopPath, false);
+         SeekableInputStream baseFileStream = HadoopInputFile.fromPath(
+             new Path(baseFilePath.toUri()), storage.getConf().unwrapAs(Configuration.class)).newStream()) {
+      ParquetFileWriter writer = new ParquetFileWriter(new OutputStreamBackedOutputFile(outputStream), schema,
+          ParquetFileWriter.Mode.CREATE, rowGroupSize, 0);
+      writer.start();
+      CodecFactory codecFactory = new CodecFactory(newFileConf, 0);
+      try {
+        for (BlockMetaData block : rowGroupsToCopy) {
+          appendRowGroup(writer, baseFileStream, block, schema, codecFactory, newFilePath.getName());
+        }
+      } finally {
+        codecFactory.release();
+      }
+      writer.appendFile(HadoopInputFile.fromPath(
+          new Path(rewrittenFilePath.toUri()), rewrittenFileStorage.getConf().unwrapAs(Configuration.class)));
+      writer.end(keyValueMetadata);
+      succeeded = true;
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to write merged parquet file " + newFilePath, e);
+    } finally {
+      if (!succeeded) {
+        deleteQuietly(newFileStorage, newFilePath);
+      }
+    }
+  }
+
+  /**
+   * Appends a row group of another file to the writer, copying the compressed pages of the column chunks
+   * without decoding them, except for the column chunk of the `_hoodie_file_name` meta field, which is
+   * rewritten with the given file name. The column chunks must only have V1 data pages, see
+   * {@link #hasOnlyV1Pages}.
+   *
+   * @param writer       the writer of the new file.
+   * @param from         the stream of the file of the row group.
+   * @param block        the row group to append.
+   * @param schema       the Parquet schema of both files.
+   * @param codecFactory the codec factory to compress the rewritten column chunk with.
+   * @param fileName     the name of the new file.
+   */
+  static void appendRowGroup(ParquetFileWriter writer, SeekableInputStream from, BlockMetaData block,
+                             MessageType schema, CodecFactory codecFactory, String fileName) throws IOException {
+    writer.startBlock(block.getRowCount());
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      ColumnDescriptor descriptor = schema.getColumnDescription(chunk.getPath().toArray());
+      if (FILE_NAME_COLUMN_PATH.equals(chunk.getPath())) {
+        writeConstantColumnChunk(writer, descriptor, chunk.getCodec(), block.getRowCount(), Binary.fromString(fileName), codecFactory);
+      } else {
+        copyColumnChunk(writer, from, descriptor, chunk);
+      }
+    }
+    writer.endBlock();
+  }
+
+  /**
+   * Returns whether the column chunks of the row group are known to only have V1 data pages, which are
+   * the ones {@link #appendRowGroup} can copy.
+   */
+  static boolean hasOnlyV1Pages(BlockMetaData block) {
+    for (ColumnChunkMetaData chunk : block.getColumns()) {
+      if (chunk.getEncodingStats() == null || chunk.getEncodingStats().usesV2Pages()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Copies the compressed pages of the column chunk. The pages of the Parquet writers since 1.11 have no
+   * statistics, so the statistics of the column chunk are attached to its first data page.
+   */
+  private static void copyColumnChunk(ParquetFileWriter writer, SeekableInputStream from, ColumnDescriptor descriptor,
+                                      ColumnChunkMetaData chunk) throws IOException {
+    writer.startColumn(descriptor, chunk.getValueCount(), chunk.getCodec());
+    Statistics<?> statistics = chunk.getStatistics();
+    from.seek(chunk.getStartingPos());
+    long end = chunk.getStartingPos() + chunk.getTotalSize();
+    while (from.getPos() < end) {
+      PageHeader header = Util.readPageHeader(from);
+      byte[] bytes = new byte[header.getCompressed_page_size()];
+      from.readFully(bytes);
+      if (header.getType() == PageType.DICTIONARY_PAGE) {
+        DictionaryPageHeader dictionaryHeader = header.getDictionary_page_header();
+        writer.writeDictionaryPage(new DictionaryPage(BytesInput.from(bytes), header.getUncompressed_page_size(),
+            dictionaryHeader.getNum_values(), METADATA_CONVERTER.getEncoding(dictionaryHeader.getEncoding())));
+      } else if (header.getType() == PageType.DATA_PAGE) {
+        DataPageHeader dataHeader = header.getData_page_header();
+        writer.writeDataPage(dataHeader.getNum_values(), header.getUncompressed_page_size(), BytesInput.from(bytes), statistics,
+            METADATA_CONVERTER.getEncoding(dataHeader.getRepetition_level_encoding()),
+            METADATA_CONVERTER.getEncoding(dataHeader.getDefinition_level_encoding()),
+            METADATA_CONVERTER.getEncoding(dataHeader.getEncoding()));
+        statistics = Statistics.createStats(descriptor.getPrimitiveType());
+      } else {
+        throw new IOException("Unsupported page type " + header.getType() + " in column " + chunk.getPath());
+      }
+    }
+    writer.endColumn();
+  }
+
+  /**
+   * Writes a column chunk of a non-repeated binary column with the same value in all the rows, as a
+   * dictionary page with the value and a data page referencing it.
+   */
+  @SuppressWarnings("unchecked")
+  private static void writeConstantColumnChunk(ParquetFileWriter writer, ColumnDescriptor descriptor, CompressionCodecName codec,
+                                               long rowCount, Binary value, CodecFactory codecFactory) throws IOException {
+    BytesInput dictionary = BytesInput.concat(BytesInput.fromInt(value.length()), BytesInput.from(value.getBytes()));
+    List<BytesInput> dataPage = new ArrayList<>();
+    if (descriptor.getMaxDefinitionLevel() > 0) {
+      BytesInput definitionLevels = encodeConstant(descriptor.getMaxDefinitionLevel(), descriptor.getMaxDefinitionLevel(), rowCount);
+      dataPage.add(BytesInput.fromInt((int) definitionLevels.size()));
+      dataPage.add(definitionLevels);
+    }
+    // The dictionary ids are encoded with the bit width prepended
+    dataPage.add(BytesInput.from(new byte[] {0}));
+    dataPage.add(encodeConstant(0, 0, rowCount));
+    BytesInput uncompressedDataPage = BytesInput.concat(dataPage);
+
+    Statistics<Binary> statistics = (Statistics<Binary>) Statistics.createStats(descriptor.getPrimitiveType());
+    statistics.updateStats(value);
+    CodecFactory.BytesCompressor compressor = codecFactory.getCompressor(codec);
+    writer.startColumn(descriptor, rowCount, codec);
+    writer.writeDictionaryPage(new DictionaryPage(BytesInput.copy(compressor.compress(dictionary)), (int) dictionary.size(), 1,
+        Encoding.PLAIN_DICTIONARY));
+    writer.writeDataPage((int) rowCount, (int) uncompressedDataPage.size(), BytesInput.copy(compressor.compress(uncompressedDataPage)),
+        statistics, Encoding.RLE, Encoding.RLE, Encoding.PLAIN_DICTIONARY);
+    writer.endColumn();
+  }
+
+  private static BytesInput encodeConstant(int value, int maxValue, long count) throws IOException {
+    RunLengthBitPackingHybridEncoder encoder = new RunLengthBitPackingHybridEncoder(
+        BytesUtils.getWidthFromMaxInt(maxValue), 64, 64, new HeapByteBufferAllocator());
+    for (long i = 0; i < count; i++) {
+      encoder.writeInt(value);
+    }
+    return BytesInput.copy(encoder.toBytes());
+  }
+
+  /**
+   * Deletes the file, only logging the failure.
+   */
+  static void deleteQuietly(HoodieStorage storage, StoragePath path) {
+    try {
+      storage.deleteFile(path);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the partially written file {}", path, e);
+    }
+  }
+
+  private void updateRecordKeyMetadata(Map<String, String> keyValueMetadata, HoodieStorage rewrittenFileStorage,
+                                       StoragePath rewrittenFilePath) {
+    if (keyValueMetadata.containsKey(HoodieBloomFilterWriteSupport.HOODIE_AVRO_BLOOM_FILTER_METADATA_KEY)) {
+      BloomFilter bloomFilter = HoodieIOFactory.getIOFactory(storage).getFileFormatUtils(HoodieFileFormat.PARQUET)
+          .readBloomFilterFromMetadata(storage, baseFilePath);
+      try (ClosableIterator<String> keyIterator =
+               new HoodieAvroParquetReader(rewrittenFileStorage, rewrittenFilePath).getRecordKeyIterator()) {
+        keyIterator.forEachRemaining(bloomFilter::add);
+      } catch (IOException e) {
+        throw new HoodieIOException("Failed to read record keys from " + rewrittenFilePath, e);
+      }
+      putBloomFilter(keyValueMetadata, bloomFilter);
+    }
+
+    String minRecordKey = keyValueMetadata.get(HoodieBloomFilterWriteSupport.HOODIE_MIN_RECORD_KEY_FOOTER);
+    String maxRecordKey = keyValueMetadata.get(HoodieBloomFilterWriteSupport.HOODIE_MAX_RECORD_KEY_FOOTER);
+    if (minRecordKey == null && !footer.getFileMetaData().getKeyValueMetaData()
+        .containsKey(HoodieBloomFilterWriteSupport.HOODIE_MIN_RECORD_KEY_FOOTER)) {
+      // The record key range is not tracked by the writer
+      return;
+    }
+    for (BlockMetaData block : rowGroupsToCopy) {
+      Statistics<Binary> stats = getRecordKeyStatistics(block);
+      String blockMin = stats.genericGetMin().toStringUsingUTF8();
+      String blockMax = stats.genericGetMax().toStringUsingUTF8();
+      if (minRecordKey == null || minRecordKey.compareTo(blockMin) > 0) {
+        minRecordKey = blockMin;
+      }
+      if (maxRecordKey == null || maxRecordKey.compareTo(blockMax) < 0) {
+        maxRecordKey = blockMax;
+      }
+    }
+    keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_MIN_RECORD_KEY_FOOTER, minRecordKey);
+    keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_MAX_RECORD_KEY_FOOTER, maxRecordKey);
+  }
+
+  /**
+   * Puts the Hudi bloom filter into the key-value metadata of a Parquet footer.
+   */
+  static void putBloomFilter(Map<String, String> keyValueMetadata, BloomFilter bloomFilter) {
+    keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_AVRO_BLOOM_FILTER_METADATA_KEY, bloomFilter.serializeToString());
+    if (bloomFilter.getBloomFilterTypeCode() != BloomFilterTypeCode.SIMPLE) {
+      keyValueMetadata.put(HoodieBloomFilterWriteSupport.HOODIE_BLOOM_FILTER_TYPE_CODE, bloomFilter.getBloomFilterTypeCode().name());
+    } else {
+      keyValueMetadata.remove(HoodieBloomFilterWriteSupport.HOODIE_BLOOM_FILTER_TYPE_CODE);
+    }
+  }
+
+  /**
+   * Returns the statistics of the record key column in the row group, or null if absent.
+   */
+  @SuppressWarnings("unchecked")
+  static Statistics<Binary> getRecordKeyStatistics(BlockMetaData block) {
+    for (ColumnChunkMetaData column : block.getColumns()) {
+      if (RECORD_KEY_COLUMN_PATH.equals(column.getPath())) {
+        return (Statistics<Binary>) column.getStatistics();
+      }
+    }
+    return null;
+  }
+}
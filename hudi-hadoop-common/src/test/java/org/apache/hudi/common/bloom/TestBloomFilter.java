@@ -18,6 +18,7 @@
 
 package org.apache.hudi.common.bloom;
 
+import org.apache.hudi.common.util.StringUtils;
 import org.apache.hudi.common.util.hash.Hash;
 
 import org.junit.jupiter.params.ParameterizedTest;
@@ -25,8 +26,10 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -36,7 +39,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Unit tests {@link SimpleBloomFilter} and {@link HoodieDynamicBoundedBloomFilter}.
+ * Unit tests {@link SimpleBloomFilter}, {@link HoodieDynamicBoundedBloomFilter} and {@link BlockedBloomFilter}.
  */
 public class TestBloomFilter {
 
@@ -45,7 +48,8 @@ public class TestBloomFilter {
   public static List<Arguments> bloomFilterTypeCodes() {
     return Arrays.asList(
         Arguments.of(BloomFilterTypeCode.SIMPLE.name()),
-        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name())
+        Arguments.of(BloomFilterTypeCode.DYNAMIC_V0.name()),
+        Arguments.of(BloomFilterTypeCode.BLOCKED_V0.name())
     );
   }
 
@@ -98,6 +102,45 @@ public class TestBloomFilter {
     }
   }
 
+  @ParameterizedTest
+  @MethodSource("bloomFilterTypeCodes")
+  public void testMightContainAll(String typeCode) {
+    int size = 10000;
+    BloomFilter filter = getBloomFilter(typeCode, size, 0.01, size * 10);
+    List<String> keys = new ArrayList<>();
+    for (int i = 0; i < size; i++) {
+      String key = UUID.randomUUID().toString();
+      keys.add(key);
+      filter.add(key);
+    }
+    // Half of the keys are absent
+    for (int i = 0; i < size; i++) {
+      keys.add(UUID.randomUUID().toString());
+    }
+    byte[][] keyBytes = keys.stream().map(StringUtils::getUTF8Bytes).toArray(byte[][]::new);
+    BitSet matches = new BitSet();
+    // Stale bits of the output are cleared
+    matches.set(0, keys.size());
+    filter.mightContainAll(keyBytes, matches);
+    int numFalsePositives = 0;
+    for (int i = 0; i < keys.size(); i++) {
+      assertEquals(filter.mightContain(keys.get(i)), matches.get(i), "Batch and single probes differ for " + keys.get(i));
+      if (i < size) {
+        assertTrue(matches.get(i), "Filter should have returned true for " + keys.get(i));
+      } else if (matches.get(i)) {
+        numFalsePositives++;
+      }
+    }
+    assertTrue(numFalsePositives < size * 0.03, "Too many false positives: " + numFalsePositives);
+
+    BloomFilter recreatedBloomFilter = BloomFilterFactory.fromByteBuffer(
+        ByteBuffer.wrap(StringUtils.getUTF8Bytes(filter.serializeToString())), typeCode);
+    assertEquals(typeCode, recreatedBloomFilter.getBloomFilterTypeCode().name());
+    BitSet recreatedMatches = new BitSet();
+    recreatedBloomFilter.mightContainAll(keyBytes, recreatedMatches);
+    assertEquals(matches, recreatedMatches);
+  }
+
   public static List<Arguments> bloomFilterParams() {
     return Arrays.asList(
         Arguments.of("hadoop", BloomFilterTypeCode.SIMPLE.name(), 200, 0.000001, Hash.MURMUR_HASH, -1),
@@ -110,7 +153,9 @@ public class TestBloomFilter {
         Arguments.of("hadoop", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.JENKINS_HASH, 5000),
         Arguments.of("hudi", BloomFilterTypeCode.SIMPLE.name(), 1000, 0.000001, Hash.MURMUR_HASH, -1),
         Arguments.of("hudi", BloomFilterTypeCode.SIMPLE.name(), 5000, 0.000001, Hash.MURMUR_HASH, -1),
-        Arguments.of("hudi", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.MURMUR_HASH, 5000)
+        Arguments.of("hudi", BloomFilterTypeCode.DYNAMIC_V0.name(), 1000, 0.000001, Hash.MURMUR_HASH, 5000),
+        Arguments.of("hudi", BloomFilterTypeCode.BLOCKED_V0.name(), 1000, 0.000001, Hash.MURMUR_HASH, -1),
+        Arguments.of("hudi", BloomFilterTypeCode.BLOCKED_V0.name(), 10000, 0.000001, Hash.MURMUR_HASH, -1)
     );
   }
 
@@ -32,6 +32,7 @@ import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
 import org.apache.hudi.common.table.timeline.HoodieArchivedTimeline;
 import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.table.timeline.InstantMetadataCache;
 import org.apache.hudi.common.table.timeline.TimelineMetadataUtils;
 import org.apache.hudi.common.table.timeline.TimelineUtils;
 import org.apache.hudi.common.table.timeline.versioning.v2.ActiveTimelineV2;
@@ -40,6 +41,7 @@ import org.apache.hudi.common.table.timeline.versioning.v2.InstantComparatorV2;
 import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
 import org.apache.hudi.common.util.CollectionUtils;
 import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.collection.Pair;
 import org.apache.hudi.storage.StoragePath;
 
 import org.junit.jupiter.api.AfterEach;
@@ -294,6 +296,59 @@ public class TestTimelineUtils extends HoodieCommonTestHarness {
     assertEquals(newValueForMetadata, extraMetadataEntries.get("2").get());
   }
 
+  @Test
+  public void testReadCommitPartitionsAndExtraMetadata() throws Exception {
+    HoodieActiveTimeline activeTimeline = metaClient.getActiveTimeline();
+    String ts1 = "1";
+    HoodieInstant instant1 = new HoodieInstant(INFLIGHT, COMMIT_ACTION, ts1, InstantComparatorV2.REQUESTED_TIME_BASED_COMPARATOR);
+    activeTimeline.createNewInstant(instant1);
+    activeTimeline.saveAsComplete(instant1, getCommitMetadata(basePath, ts1, ts1, 2, Collections.singletonMap("key", "value1")));
+
+    String ts2 = "2";
+    HoodieInstant instant2 = new HoodieInstant(INFLIGHT, REPLACE_COMMIT_ACTION, ts2, InstantComparatorV2.REQUESTED_TIME_BASED_COMPARATOR);
+    activeTimeline.createNewInstant(instant2);
+    activeTimeline.saveAsComplete(instant2, Option.of(getReplaceCommitMetadata(basePath, ts2, "p1", 2,
+        "p2", 3, Collections.singletonMap("key", "value2"), WriteOperationType.INSERT_OVERWRITE)));
+
+    String ts3 = "3";
+    HoodieInstant instant3 = new HoodieInstant(INFLIGHT, COMMIT_ACTION, ts3, InstantComparatorV2.REQUESTED_TIME_BASED_COMPARATOR);
+    activeTimeline.createNewInstant(instant3);
+    activeTimeline.saveAsComplete(instant3, Option.empty());
+    metaClient.reloadActiveTimeline();
+
+    // the projections match the fully deserialized commit metadata
+    HoodieTimeline timeline = metaClient.getActiveTimeline().getCommitsTimeline().filterCompletedInstants();
+    List<HoodieInstant> instants = timeline.getInstants();
+    assertEquals(3, instants.size());
+    Pair<Set<String>, Set<String>> partitions = timeline.readCommitPartitions(instants.get(0));
+    assertEquals(timeline.readCommitMetadata(instants.get(0)).getWritePartitionPaths(), partitions.getLeft());
+    assertTrue(partitions.getRight().isEmpty());
+    assertEquals(Collections.singletonMap("key", "value1"), timeline.readExtraMetadata(instants.get(0)));
+
+    partitions = timeline.readCommitPartitions(instants.get(1));
+    HoodieReplaceCommitMetadata replaceMetadata = timeline.readReplaceCommitMetadata(instants.get(1));
+    assertEquals(Collections.singleton("p2"), partitions.getLeft());
+    assertEquals(replaceMetadata.getPartitionToReplaceFileIds().keySet(), partitions.getRight());
+    assertEquals(replaceMetadata.getExtraMetadata(), timeline.readExtraMetadata(instants.get(1)));
+
+    // an empty commit has nothing to project
+    partitions = timeline.readCommitPartitions(instants.get(2));
+    assertTrue(partitions.getLeft().isEmpty());
+    assertTrue(partitions.getRight().isEmpty());
+    assertTrue(timeline.readExtraMetadata(instants.get(2)).isEmpty());
+
+    // the cache is shared by the timelines of the meta client across reloads
+    InstantMetadataCache cache = metaClient.getInstantMetadataCache();
+    assertEquals(3, cache.size());
+    metaClient.reloadActiveTimeline();
+    assertEquals(Arrays.asList("1", "p1", "p2"), TimelineUtils.getWrittenPartitions(metaClient.getActiveTimeline()).stream()
+        .sorted().collect(Collectors.toList()));
+    Map<String, Option<String>> extraMetadataEntries = TimelineUtils.getAllExtraMetadataForKey(metaClient, "key");
+    assertEquals("value2", extraMetadataEntries.get(ts2).get());
+    assertFalse(extraMetadataEntries.get(ts3).isPresent());
+    assertEquals(3, cache.size());
+  }
+
   @Test
   public void testGetCommitsTimelineAfter() throws IOException {
     // Should only load active timeline
@@ -0,0 +1,157 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.common.table.log;
+
+import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodieRecord;
+import org.apache.hudi.common.table.log.block.HoodieDataBlock;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock;
+import org.apache.hudi.common.table.log.block.HoodieLogBlock.HeaderMetadataType;
+import org.apache.hudi.common.testutils.SchemaTestUtil;
+import org.apache.hudi.common.util.collection.ClosableIterator;
+import org.apache.hudi.exception.HoodieIOException;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.StoragePath;
+
+import org.apache.avro.generic.IndexedRecord;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.hudi.common.testutils.HoodieCommonTestHarness.getDataBlock;
+import static org.apache.hudi.common.testutils.HoodieTestUtils.getStorage;
+import static org.apache.hudi.common.testutils.SchemaTestUtil.getSimpleSchema;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link HoodiePrefetchingLogFormatReader}.
+ */
+public class TestHoodiePrefetchingLogFormatReader {
+  private static final int NUM_LOG_FILES = 5;
+  private static final int NUM_BLOCKS_PER_FILE = 3;
+  private static final int NUM_RECORDS_PER_BLOCK = 20;
+
+  @TempDir
+  Path tempDir;
+  private HoodieStorage storage;
+  private List<HoodieLogFile> logFiles;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    StoragePath partitionPath = new StoragePath(tempDir.toUri());
+    storage = getStorage(partitionPath);
+    logFiles = new ArrayList<>();
+    int instantTime = 100;
+    for (int i = 0; i < NUM_LOG_FILES; i++) {
+      try (HoodieLogFormat.Writer writer = HoodieLogFormat.newWriterBuilder().onParentPath(partitionPath)
+          .withFileExtension(HoodieLogFile.DELTA_EXTENSION)
+          .withFileId("test-fileid" + i).withInstantTime("100").withStorage(storage).build()) {
+        for (int j = 0; j < NUM_BLOCKS_PER_FILE; j++) {
+          List<IndexedRecord> records = SchemaTestUtil.generateTestRecords(0, NUM_RECORDS_PER_BLOCK);
+          Map<HeaderMetadataType, String> header = new HashMap<>();
+          header.put(HeaderMetadataType.INSTANT_TIME, String.valueOf(instantTime++));
+          header.put(HeaderMetadataType.SCHEMA, getSimpleSchema().toString());
+          writer.appendBlock(getDataBlock(HoodieLogBlock.HoodieLogBlockType.AVRO_DATA_BLOCK, records, header));
+        }
+        logFiles.add(writer.getLogFile());
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @CsvSource({"1, 1, 1", "3, 1, 1", "3, 2, 1048576", "8, 4, 268435456"})
+  public void testReadInLogOrder(int parallelism, int maxBufferedBlocks, long maxBufferedBytes) throws IOException {
+    List<String> expectedBlocks = new ArrayList<>();
+    try (HoodieLogFormatReader reader = new HoodieLogFormatReader(storage, new ArrayList<>(logFiles), getSimpleSchema(),
+        false, HoodieLogFileReader.DEFAULT_BUFFER_SIZE, false, HoodieRecord.RECORD_KEY_METADATA_FIELD, null)) {
+      while (reader.hasNext()) {
+        expectedBlocks.add(describe(reader.getLogFile(), reader.next()));
+      }
+    }
+    assertEquals(NUM_LOG_FILES * NUM_BLOCKS_PER_FILE, expectedBlocks.size());
+
+    List<String> actualBlocks = new ArrayList<>();
+    try (HoodiePrefetchingLogFormatReader reader = new HoodiePrefetchingLogFormatReader(storage, new ArrayList<>(logFiles),
+        getSimpleSchema(), HoodieLogFileReader.DEFAULT_BUFFER_SIZE, false, HoodieRecord.RECORD_KEY_METADATA_FIELD, null,
+        parallelism, maxBufferedBlocks, maxBufferedBytes)) {
+      while (reader.hasNext()) {
+        HoodieLogFile logFile = reader.getLogFile();
+        HoodieLogBlock block = reader.next();
+        // The content is read by the prefetching thread
+        assertTrue(block.getContent().isPresent());
+        actualBlocks.add(describe(logFile, block));
+      }
+      assertFalse(reader.hasNext());
+      assertEquals(0L, reader.getBufferedBytes());
+    }
+    assertEquals(expectedBlocks, actualBlocks);
+  }
+
+  @Test
+  public void testCloseBeforeReadingAllBlocks() throws IOException {
+    HoodiePrefetchingLogFormatReader reader = new HoodiePrefetchingLogFormatReader(storage, new ArrayList<>(logFiles),
+        getSimpleSchema(), HoodieLogFileReader.DEFAULT_BUFFER_SIZE, false, HoodieRecord.RECORD_KEY_METADATA_FIELD, null,
+        2, 1, 1L);
+    assertTrue(reader.hasNext());
+    assertEquals(logFiles.get(0).getFileName(), reader.getLogFile().getFileName());
+    reader.next();
+    reader.close();
+    assertThrows(IllegalStateException.class, reader::hasNext);
+  }
+
+  @Test
+  public void testMissingLogFile() throws IOException {
+    List<HoodieLogFile> files = new ArrayList<>(logFiles);
+    files.add(1, new HoodieLogFile(new StoragePath(tempDir.toUri().toString(), ".missing-file_100.log.1_1-0-1")));
+    try (HoodiePrefetchingLogFormatReader reader = new HoodiePrefetchingLogFormatReader(storage, files,
+        getSimpleSchema(), HoodieLogFileReader.DEFAULT_BUFFER_SIZE, false, HoodieRecord.RECORD_KEY_METADATA_FIELD, null,
+        2, 2, 1024L)) {
+      for (int i = 0; i < NUM_BLOCKS_PER_FILE; i++) {
+        assertTrue(reader.hasNext());
+        reader.next();
+      }
+      assertThrows(HoodieIOException.class, reader::hasNext);
+    }
+  }
+
+  private static String describe(HoodieLogFile logFile, HoodieLogBlock block) throws IOException {
+    int numRecords = 0;
+    try (ClosableIterator<HoodieRecord<IndexedRecord>> iterator =
+             ((HoodieDataBlock) block).getRecordIterator(HoodieRecord.HoodieRecordType.AVRO)) {
+      while (iterator.hasNext()) {
+        iterator.next();
+        numRecords++;
+      }
+    }
+    return logFile.getFileName() + ":" + block.getLogBlockHeader().get(HeaderMetadataType.INSTANT_TIME) + ":" + numRecords;
+  }
+}
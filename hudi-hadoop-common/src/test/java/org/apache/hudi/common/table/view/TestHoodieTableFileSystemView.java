@@ -38,6 +38,7 @@ import org.apache.hudi.common.model.HoodieFileFormat;
 import org.apache.hudi.common.model.HoodieFileGroup;
 import org.apache.hudi.common.model.HoodieFileGroupId;
 import org.apache.hudi.common.model.HoodieLogFile;
+import org.apache.hudi.common.model.HoodiePartitionMetadata;
 import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
 import org.apache.hudi.common.model.HoodieTableType;
 import org.apache.hudi.common.model.HoodieWriteStat;
@@ -746,6 +747,51 @@ public class TestHoodieTableFileSystemView extends HoodieCommonTestHarness {
     assertEquals(1, fsView.getLatestFileSliceInRange(Collections.singletonList("1")).count());
   }
 
+  @Test
+  void testPaginatedLatestFileSlices() throws Exception {
+    List<String> partitionPaths = Arrays.asList("2016/05/01", "2016/05/02", "2016/05/03");
+    String instantTime1 = "1";
+    List<HoodieFileGroupId> fileGroupIds = new ArrayList<>();
+    for (String partitionPath : partitionPaths) {
+      Paths.get(basePath, partitionPath).toFile().mkdirs();
+      new HoodiePartitionMetadata(metaClient.getStorage(), instantTime1, metaClient.getBasePath(),
+          new StoragePath(basePath, partitionPath), Option.empty()).trySave();
+      for (int i = 0; i < 5; i++) {
+        String fileId = UUID.randomUUID().toString();
+        Paths.get(basePath, partitionPath, FSUtils.makeBaseFileName(instantTime1, TEST_WRITE_TOKEN, fileId, BASE_FILE_EXTENSION))
+            .toFile().createNewFile();
+        fileGroupIds.add(new HoodieFileGroupId(partitionPath, fileId));
+      }
+    }
+    HoodieInstant instant1 = INSTANT_GENERATOR.createNewInstant(State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, instantTime1);
+    saveAsComplete(metaClient.getActiveTimeline(), instant1, new HoodieCommitMetadata());
+    refreshFsView();
+    Collections.sort(fileGroupIds);
+
+    // Pages of a partition
+    String partitionPath = partitionPaths.get(1);
+    FileSlicePage page = fsView.getLatestFileSlicesPaginated(partitionPath, Option.empty(), 2);
+    assertEquals(2, page.getFileSlices().size());
+    assertTrue(page.getNextCursor().isPresent());
+    List<HoodieFileGroupId> partitionFileGroupIds = FileSlicePage.streamAllPages(
+        cursor -> fsView.getLatestFileSlicesPaginated(partitionPath, cursor, 2))
+        .map(FileSlice::getFileGroupId).collect(Collectors.toList());
+    assertEquals(fileGroupIds.stream().filter(id -> id.getPartitionPath().equals(partitionPath)).collect(Collectors.toList()),
+        partitionFileGroupIds);
+    page = fsView.getLatestFileSlicesPaginated(partitionPath, Option.empty(), 5);
+    assertEquals(5, page.getFileSlices().size());
+    assertFalse(page.getNextCursor().isPresent());
+
+    // Pages across the partitions, with pages ending at and spanning partition boundaries
+    for (int pageSize : new int[] {1, 4, 5, 15, 20}) {
+      List<HoodieFileGroupId> allFileGroupIds = FileSlicePage.streamAllPages(
+          cursor -> fsView.getAllLatestFileSlicesBeforeOrOnPaginated(instantTime1, cursor, pageSize))
+          .map(FileSlice::getFileGroupId).collect(Collectors.toList());
+      assertEquals(fileGroupIds, allFileGroupIds, "Page size " + pageSize);
+    }
+    assertEquals(0, fsView.getAllLatestFileSlicesBeforeOrOnPaginated("0", Option.empty(), 10).getFileSlices().size());
+  }
+
   /**
    * Returns all file-slices including uncommitted ones.
    *
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.model.HoodieBaseFile;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieInstant.State;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.metadata.FileSystemBackedTableMetadata;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests memory-mapped snapshot based file system view {@link MemoryMappedFileSystemView}.
+ */
+public class TestMemoryMappedFileSystemView extends TestHoodieTableFileSystemView {
+
+  @Override
+  protected SyncableFileSystemView getFileSystemView(HoodieTimeline timeline) throws IOException {
+    return getFileSystemView(timeline, Files.createTempDirectory(tempDir, null));
+  }
+
+  @Test
+  public void testReloadFromSnapshot() throws Exception {
+    String partitionPath = "2016/05/01";
+    Paths.get(basePath, partitionPath).toFile().mkdirs();
+    String fileName1 = createBaseFileAndCommit(partitionPath, "1");
+    Path snapshotBasePath = Files.createTempDirectory(tempDir, null);
+
+    MemoryMappedFileSystemView view = getFileSystemView(
+        metaClient.reloadActiveTimeline().filterCompletedAndCompactionInstants(), snapshotBasePath);
+    assertFalse(view.getSnapshot().isPresent());
+    assertEquals(fileName1, view.getLatestBaseFiles(partitionPath).findFirst().get().getFileName());
+    // Closing the view writes the snapshot of the loaded partitions
+    view.close();
+    assertEquals(1, getSnapshotFiles(snapshotBasePath).size());
+
+    // A new view on the same timeline reads the partition from the snapshot without listing it,
+    // which is verified by deleting the base file on storage
+    Files.delete(Paths.get(basePath, partitionPath, fileName1));
+    view = getFileSystemView(metaClient.reloadActiveTimeline().filterCompletedAndCompactionInstants(), snapshotBasePath);
+    assertTrue(view.getSnapshot().isPresent());
+    assertTrue(view.getSnapshot().get().containsPartition(partitionPath));
+    assertEquals(fileName1, view.getLatestBaseFiles(partitionPath).findFirst().get().getFileName());
+
+    // A new instant changes the timeline, so that the partition is listed again on sync and
+    // the snapshot of the new timeline is written, while the previous one is kept within the grace period
+    Path firstSnapshotFile = getSnapshotFiles(snapshotBasePath).get(0);
+    String fileName2 = createBaseFileAndCommit(partitionPath, "2");
+    view.sync();
+    List<HoodieBaseFile> baseFiles = view.getLatestBaseFiles(partitionPath).collect(Collectors.toList());
+    assertEquals(1, baseFiles.size());
+    assertEquals(fileName2, baseFiles.get(0).getFileName());
+    view.close();
+    assertEquals(2, getSnapshotFiles(snapshotBasePath).size());
+
+    // Stale snapshots and leftover temporary files are deleted once the grace period is over
+    FileTime staleTime = FileTime.fromMillis(System.currentTimeMillis() - 2 * MemoryMappedFileSystemView.STALE_SNAPSHOT_GRACE_PERIOD_MS);
+    Files.setLastModifiedTime(firstSnapshotFile, staleTime);
+    Path staleTempFile = Files.createTempFile(firstSnapshotFile.getParent(),
+        "stale" + FileSystemViewSnapshot.SNAPSHOT_FILE_EXTENSION + ".", FileSystemViewSnapshot.TEMP_FILE_EXTENSION);
+    Files.setLastModifiedTime(staleTempFile, staleTime);
+    Path recentTempFile = Files.createTempFile(firstSnapshotFile.getParent(),
+        "recent" + FileSystemViewSnapshot.SNAPSHOT_FILE_EXTENSION + ".", FileSystemViewSnapshot.TEMP_FILE_EXTENSION);
+    String fileName3 = createBaseFileAndCommit(partitionPath, "3");
+    view = getFileSystemView(metaClient.reloadActiveTimeline().filterCompletedAndCompactionInstants(), snapshotBasePath);
+    assertTrue(view.getLatestBaseFiles(partitionPath).anyMatch(baseFile -> baseFile.getFileName().equals(fileName3)));
+    view.close();
+    List<Path> snapshotFiles = getSnapshotFiles(snapshotBasePath);
+    assertEquals(2, snapshotFiles.size());
+    assertFalse(snapshotFiles.contains(firstSnapshotFile));
+    assertTrue(snapshotFiles.stream().anyMatch(file -> file.getFileName().toString().equals(
+        metaClient.reloadActiveTimeline().filterCompletedAndCompactionInstants().getTimelineHash() + FileSystemViewSnapshot.SNAPSHOT_FILE_EXTENSION)));
+    assertFalse(Files.exists(staleTempFile));
+    assertTrue(Files.exists(recentTempFile));
+
+    view = getFileSystemView(metaClient.reloadActiveTimeline().filterCompletedAndCompactionInstants(), snapshotBasePath);
+    assertTrue(view.getSnapshot().isPresent());
+    assertTrue(view.getLatestBaseFiles(partitionPath).anyMatch(baseFile -> baseFile.getFileName().equals(fileName3)));
+    view.close();
+  }
+
+  private MemoryMappedFileSystemView getFileSystemView(HoodieTimeline timeline, Path snapshotBasePath) {
+    HoodieTableMetadata tableMetadata = new FileSystemBackedTableMetadata(getEngineContext(), metaClient.getTableConfig(), metaClient.getStorage(),
+        metaClient.getBasePath().toString());
+    return new MemoryMappedFileSystemView(tableMetadata, metaClient, timeline,
+        FileSystemViewStorageConfig.newBuilder().withStorageType(FileSystemViewStorageType.MEMORY_MAPPED_SNAPSHOT)
+            .withSnapshotBasePath(snapshotBasePath.toString()).build());
+  }
+
+  private String createBaseFileAndCommit(String partitionPath, String instantTime) throws IOException {
+    String fileName = FSUtils.makeBaseFileName(instantTime, "1-0-1", UUID.randomUUID().toString(), BASE_FILE_EXTENSION);
+    Paths.get(basePath, partitionPath, fileName).toFile().createNewFile();
+    HoodieActiveTimeline timeline = metaClient.getActiveTimeline();
+    HoodieInstant requested = INSTANT_GENERATOR.createNewInstant(State.REQUESTED, HoodieTimeline.COMMIT_ACTION, instantTime);
+    timeline.createNewInstant(requested);
+    timeline.transitionRequestedToInflight(requested, Option.empty());
+    HoodieInstant inflight = INSTANT_GENERATOR.createNewInstant(State.INFLIGHT, HoodieTimeline.COMMIT_ACTION, instantTime);
+    timeline.saveAsComplete(inflight, Option.of(new HoodieCommitMetadata()));
+    return fileName;
+  }
+
+  private static List<Path> getSnapshotFiles(Path snapshotBasePath) throws IOException {
+    try (Stream<Path> files = Files.walk(snapshotBasePath)) {
+      return files.filter(file -> file.toString().endsWith(FileSystemViewSnapshot.SNAPSHOT_FILE_EXTENSION))
+          .collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.common.table.view;
+
+import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
+import org.apache.hudi.metadata.FileSystemBackedTableMetadata;
+import org.apache.hudi.metadata.HoodieTableMetadata;
+
+/**
+ * Tests memory-mapped snapshot based incremental fs view sync {@link MemoryMappedFileSystemView}.
+ * <p>
+ * The views of a test share the snapshot files, so that a new view built on a timeline reads
+ * the snapshot written by an incrementally synced view on the same timeline.
+ */
+public class TestMemoryMappedIncrementalFSViewSync extends TestIncrementalFSViewSync {
+
+  @Override
+  protected SyncableFileSystemView getFileSystemView(HoodieTableMetaClient metaClient, HoodieTimeline timeline) {
+    HoodieTableMetadata tableMetadata = new FileSystemBackedTableMetadata(getEngineContext(), metaClient.getTableConfig(), metaClient.getStorage(),
+        metaClient.getBasePath().toString());
+    return new MemoryMappedFileSystemView(tableMetadata, metaClient, timeline,
+        FileSystemViewStorageConfig.newBuilder().withIncrementalTimelineSync(true)
+            .withSnapshotBasePath(tempDir.resolve("snapshot").toString()).build());
+  }
+}
@@ -47,7 +47,11 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
 import java.util.ArrayList;
@@ -462,12 +466,40 @@ public class TestExternalSpillableMap extends HoodieCommonTestHarness {
     }
   }
 
+  @ParameterizedTest
+  @EnumSource(value = ExternalSpillableMap.DiskMapType.class)
+  void testJavaSerializationOfInMemoryEntries(ExternalSpillableMap.DiskMapType diskMapType) throws Exception {
+    try (ExternalSpillableMap<String, String> records =
+             new ExternalSpillableMap<>(1024 * 1024, basePath, new DefaultSizeEstimator<>(),
+                 new DefaultSizeEstimator<>(), diskMapType, new DefaultSerializer<>(), false, TEST_LOGGING_CONTEXT)) {
+      for (int i = 0; i < 10; i++) {
+        records.put("key" + i, "value" + i);
+      }
+      ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+        out.writeObject(records);
+      }
+      try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+           ExternalSpillableMap<String, String> deserialized = (ExternalSpillableMap<String, String>) in.readObject()) {
+        assertEquals(10, deserialized.size());
+        assertEquals(records.getCurrentInMemoryMapSize(), deserialized.getCurrentInMemoryMapSize());
+        for (int i = 0; i < 10; i++) {
+          assertEquals("value" + i, deserialized.get("key" + i));
+        }
+        // the deserialized map stays writable
+        deserialized.put("key10", "value10");
+        assertEquals("value10", deserialized.get("key10"));
+      }
+    }
+  }
+
   private static Stream<Arguments> testArguments() {
     // Arguments : 1. Disk Map Type 2. isCompressionEnabled for BitCaskMap
     return Stream.of(
         arguments(ExternalSpillableMap.DiskMapType.BITCASK, false),
         arguments(ExternalSpillableMap.DiskMapType.ROCKS_DB, false),
         arguments(ExternalSpillableMap.DiskMapType.UNKNOWN, false),
+        arguments(ExternalSpillableMap.DiskMapType.OFF_HEAP, false),
         arguments(ExternalSpillableMap.DiskMapType.BITCASK, true)
     );
   }
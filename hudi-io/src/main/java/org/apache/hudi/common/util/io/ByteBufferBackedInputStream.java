@@ -132,8 +132,40 @@ public class ByteBufferBackedInputStream extends InputStream {
     }
     // Determine total number of bytes available to read
     int available = Math.min(length, buffer.limit() - bufferPos);
-    // Get current buffer position in the backing array
-    System.arraycopy(buffer.array(), bufferPos, targetBuffer, offset, available);
+    if (buffer.hasArray()) {
+      // Get current buffer position in the backing array
+      System.arraycopy(buffer.array(), buffer.arrayOffset() + bufferPos, targetBuffer, offset, available);
+    } else {
+      // Direct buffer, e.g., a memory-mapped file; copy through an independent view
+      ByteBuffer view = buffer.duplicate();
+      view.position(bufferPos);
+      view.get(targetBuffer, offset, available);
+    }
     return available;
   }
+
+  /**
+   * Returns a view of {@code length} bytes starting from position {@code pos}, sharing the
+   * content of the backing buffer without copying it. The position of the returned buffer is
+   * zero and its limit is {@code length}.
+   *
+   * NOTE: This does not change the current position of the stream and is thread-safe
+   *
+   * @param pos    absolute position w/in stream to start the view at
+   * @param length length of the view
+   * @return a {@link ByteBuffer} view of the bytes
+   */
+  public ByteBuffer slice(long pos, int length) {
+    int bufferPos = bufferOffset + (int) pos;
+    if (pos < 0 || length < 0 || bufferPos > buffer.limit() - length) {
+      throw new IllegalArgumentException(
+          String.format("Can't slice past the backing buffer boundary (offset %d, length %d, buffer length %d)",
+              pos, length, buffer.limit() - bufferOffset)
+      );
+    }
+    ByteBuffer view = buffer.duplicate();
+    view.limit(bufferPos + length);
+    view.position(bufferPos);
+    return view.slice();
+  }
 }
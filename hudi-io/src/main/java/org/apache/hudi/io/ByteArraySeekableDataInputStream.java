@@ -19,9 +19,11 @@
 
 package org.apache.hudi.io;
 
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * Implementation of {@link SeekableDataInputStream} based on byte array
@@ -44,4 +46,9 @@ public class ByteArraySeekableDataInputStream extends SeekableDataInputStream {
   public void seek(long pos) throws IOException {
     stream.seek(pos);
   }
+
+  @Override
+  public Option<ByteBuffer> slice(long pos, int length) {
+    return Option.of(stream.slice(pos, length));
+  }
 }
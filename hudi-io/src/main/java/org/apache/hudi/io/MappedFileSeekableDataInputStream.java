@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Implementation of {@link SeekableDataInputStream} based on a local file memory-mapped
+ * into the address space of the process.
+ * <p>
+ * Reads are served from the OS page cache without system calls or intermediate buffering,
+ * which favors the random access pattern of file formats like HFile. The file is mapped
+ * read-only as a whole, so only files up to {@link #MAX_MAPPED_FILE_SIZE} bytes can be
+ * opened; use {@link #canMap(long)} to check and fall back to a regular stream otherwise.
+ * <p>
+ * The mapping is released when the stream becomes unreachable and is garbage collected,
+ * not on {@link #close()}.
+ */
+public class MappedFileSeekableDataInputStream extends SeekableDataInputStream {
+  public static final long MAX_MAPPED_FILE_SIZE = Integer.MAX_VALUE;
+
+  private final ByteBufferBackedInputStream stream;
+
+  private MappedFileSeekableDataInputStream(ByteBufferBackedInputStream stream) {
+    super(stream);
+    this.stream = stream;
+  }
+
+  /**
+   * Memory-maps the local file and opens a stream on it.
+   *
+   * @param file local file to open.
+   * @return {@link MappedFileSeekableDataInputStream} instance.
+   * @throws IOException upon error opening or mapping the file, or if the file is too large to map.
+   */
+  public static MappedFileSeekableDataInputStream open(File file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long fileSize = channel.size();
+      if (!canMap(fileSize)) {
+        throw new IOException("File is too large to be memory-mapped: " + file + ", size=" + fileSize);
+      }
+      // The mapping stays valid after the channel is closed
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+      return new MappedFileSeekableDataInputStream(new ByteBufferBackedInputStream(buffer));
+    }
+  }
+
+  /**
+   * @param fileSize size of the file in bytes.
+   * @return whether a file of the given size can be memory-mapped by this stream.
+   */
+  public static boolean canMap(long fileSize) {
+    return fileSize >= 0 && fileSize <= MAX_MAPPED_FILE_SIZE;
+  }
+
+  @Override
+  public long getPos() throws IOException {
+    return stream.getPosition();
+  }
+
+  @Override
+  public void seek(long pos) throws IOException {
+    stream.seek(pos);
+  }
+
+  @Override
+  public Option<ByteBuffer> slice(long pos, int length) {
+    return Option.of(stream.slice(pos, length));
+  }
+}
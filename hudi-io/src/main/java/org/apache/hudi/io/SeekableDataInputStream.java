@@ -19,9 +19,12 @@
 
 package org.apache.hudi.io;
 
+import org.apache.hudi.common.util.Option;
+
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 
 /**
  * A {@link InputStream} that supports random access by allowing to seek to
@@ -50,4 +53,20 @@ public abstract class SeekableDataInputStream extends DataInputStream {
    * @throws IOException upon error.
    */
   public abstract void seek(long pos) throws IOException;
+
+  /**
+   * Returns a view of {@code length} bytes starting at position {@code pos} without copying
+   * them, if the stream is backed by memory, e.g., a byte array or a memory-mapped file.
+   * The current position of the stream is not changed. The returned buffer must not be
+   * modified.
+   *
+   * @param pos    position within the stream to start the view at.
+   * @param length number of bytes in the view.
+   * @return the bytes as a {@link ByteBuffer} with position zero and limit {@code length},
+   * or empty if the stream cannot provide the bytes without copying them.
+   * @throws IOException upon error.
+   */
+  public Option<ByteBuffer> slice(long pos, int length) throws IOException {
+    return Option.empty();
+  }
 }
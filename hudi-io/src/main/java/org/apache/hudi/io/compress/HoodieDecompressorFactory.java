@@ -20,6 +20,9 @@
 package org.apache.hudi.io.compress;
 
 import org.apache.hudi.io.compress.airlift.HoodieAirliftGzipDecompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftLz4Decompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftSnappyDecompressor;
+import org.apache.hudi.io.compress.airlift.HoodieAirliftZstdDecompressor;
 import org.apache.hudi.io.compress.builtin.HoodieNoneDecompressor;
 
 /**
@@ -32,6 +35,12 @@ public class HoodieDecompressorFactory {
         return new HoodieNoneDecompressor();
       case GZIP:
         return new HoodieAirliftGzipDecompressor();
+      case LZ4:
+        return new HoodieAirliftLz4Decompressor();
+      case SNAPPY:
+        return new HoodieAirliftSnappyDecompressor();
+      case ZSTD:
+        return new HoodieAirliftZstdDecompressor();
       default:
         throw new IllegalArgumentException(
             "The decompression is not supported for compression codec: " + compressionCodec);
@@ -179,6 +179,14 @@ public abstract class HFileBlock {
     return onDiskSizeWithoutHeader + HFILEBLOCK_HEADER_SIZE;
   }
 
+  /**
+   * @return the size of the unpacked block in bytes, including the header and checksums,
+   * regardless of the size of the byte buffer holding the block.
+   */
+  public int getUnpackedSizeWithHeader() {
+    return HFILEBLOCK_HEADER_SIZE + uncompressedSizeWithoutHeader + sizeCheckSum;
+  }
+
   /**
    * Decodes and decompresses the block content if the block content is compressed.
    * <p>
@@ -202,6 +210,9 @@ public abstract class HFileBlock {
               HFILEBLOCK_HEADER_SIZE,
               byteBuff.length - HFILEBLOCK_HEADER_SIZE);
         }
+        // The compressed bytes are no longer needed; release them so that a cached
+        // block only holds on to the uncompressed bytes
+        compressedByteBuff = null;
       }
       isUnpacked = true;
     }
@@ -214,7 +225,6 @@ public abstract class HFileBlock {
    * bytes.
    */
   protected byte[] allocateBufferForUnpacking() {
-    int capacity = HFILEBLOCK_HEADER_SIZE + uncompressedSizeWithoutHeader + sizeCheckSum;
-    return new byte[capacity];
+    return new byte[getUnpackedSizeWithHeader()];
   }
 }
@@ -0,0 +1,208 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io.hfile;
+
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.util.ValidationUtils;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded LRU cache of unpacked {@link HFileBlock}s, keyed by the HFile and the
+ * offset of the block in the file.
+ * <p>
+ * The cached blocks are immutable after unpacking, and the read position of each reader
+ * is kept in its own {@link HFileCursor}, so one cache instance can be shared by all
+ * {@link HFileReaderImpl} instances in the process, see {@link #getSharedInstance(long)}.
+ * The size of a block is accounted as its unpacked size, as an uncompressed block may be
+ * parsed in place from a buffer holding more than the block.
+ * <p>
+ * The number of hits, misses and evictions and the current size of the cache are published
+ * to the {@link Registry} named {@link #METRICS_REGISTRY_NAME}.
+ */
+public class HFileBlockCache {
+  public static final String METRICS_REGISTRY_NAME = "HFileBlockCache";
+  public static final String HIT_COUNT_METRIC = "hitCount";
+  public static final String MISS_COUNT_METRIC = "missCount";
+  public static final String EVICTION_COUNT_METRIC = "evictionCount";
+  public static final String SIZE_IN_BYTES_METRIC = "sizeInBytes";
+
+  private static HFileBlockCache sharedInstance;
+
+  private final long capacityInBytes;
+  // Access-ordered so that the iteration starts from the least recently used block
+  private final LinkedHashMap<BlockCacheKey, HFileBlock> blockMap;
+  private final Registry metrics;
+  private final AtomicLong hitCount = new AtomicLong();
+  private final AtomicLong missCount = new AtomicLong();
+  private final AtomicLong evictionCount = new AtomicLong();
+  private long sizeInBytes = 0L;
+
+  public HFileBlockCache(long capacityInBytes) {
+    ValidationUtils.checkArgument(capacityInBytes > 0,
+        "The capacity of the HFile block cache must be positive: " + capacityInBytes);
+    this.capacityInBytes = capacityInBytes;
+    this.blockMap = new LinkedHashMap<>(16, 0.75f, true);
+    this.metrics = Registry.getRegistry(METRICS_REGISTRY_NAME);
+  }
+
+  /**
+   * Returns the block cache shared by all HFile readers in the process, creating it on the
+   * first call. The capacity only takes effect when the shared cache is created.
+   *
+   * @param capacityInBytes maximum total size of the cached blocks in bytes.
+   * @return the shared {@link HFileBlockCache} instance.
+   */
+  public static synchronized HFileBlockCache getSharedInstance(long capacityInBytes) {
+    if (sharedInstance == null) {
+      sharedInstance = new HFileBlockCache(capacityInBytes);
+    }
+    return sharedInstance;
+  }
+
+  /**
+   * Gets the block from the cache, or loads it with the given loader and caches it if absent.
+   * <p>
+   * The loader is invoked without holding the cache lock, so concurrent misses on the same
+   * block may both load it; the last loaded block wins, which is harmless as blocks are
+   * immutable.
+   *
+   * @param fileId identifier of the HFile, e.g., the full path.
+   * @param offset offset of the block in the HFile.
+   * @param loader loader to read and unpack the block on a cache miss.
+   * @return the cached or loaded {@link HFileBlock}.
+   * @throws IOException upon error loading the block.
+   */
+  public HFileBlock getOrLoad(String fileId, long offset, BlockLoader loader) throws IOException {
+    BlockCacheKey key = new BlockCacheKey(fileId, offset);
+    HFileBlock block;
+    synchronized (this) {
+      block = blockMap.get(key);
+    }
+    if (block != null) {
+      hitCount.incrementAndGet();
+      metrics.increment(HIT_COUNT_METRIC);
+      return block;
+    }
+    missCount.incrementAndGet();
+    metrics.increment(MISS_COUNT_METRIC);
+    block = loader.load();
+    put(key, block);
+    return block;
+  }
+
+  /**
+   * Removes all the cached blocks.
+   */
+  public synchronized void clear() {
+    blockMap.clear();
+    sizeInBytes = 0L;
+    metrics.set(SIZE_IN_BYTES_METRIC, sizeInBytes);
+  }
+
+  public long getCapacityInBytes() {
+    return capacityInBytes;
+  }
+
+  public synchronized long getSizeInBytes() {
+    return sizeInBytes;
+  }
+
+  public synchronized int getNumBlocks() {
+    return blockMap.size();
+  }
+
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  private synchronized void put(BlockCacheKey key, HFileBlock block) {
+    long blockSize = block.getUnpackedSizeWithHeader();
+    if (blockSize > capacityInBytes) {
+      // Never cache a block that does not fit, which would evict everything else
+      return;
+    }
+    HFileBlock previous = blockMap.put(key, block);
+    if (previous != null) {
+      sizeInBytes -= previous.getUnpackedSizeWithHeader();
+    }
+    sizeInBytes += blockSize;
+    Iterator<Map.Entry<BlockCacheKey, HFileBlock>> iterator = blockMap.entrySet().iterator();
+    while (sizeInBytes > capacityInBytes && iterator.hasNext()) {
+      Map.Entry<BlockCacheKey, HFileBlock> eldest = iterator.next();
+      sizeInBytes -= eldest.getValue().getUnpackedSizeWithHeader();
+      iterator.remove();
+      evictionCount.incrementAndGet();
+      metrics.increment(EVICTION_COUNT_METRIC);
+    }
+    metrics.set(SIZE_IN_BYTES_METRIC, sizeInBytes);
+  }
+
+  /**
+   * Reads and unpacks a block on a cache miss.
+   */
+  @FunctionalInterface
+  public interface BlockLoader {
+    HFileBlock load() throws IOException;
+  }
+
+  /**
+   * Key of a cached block: the HFile and the offset of the block in the file.
+   */
+  private static class BlockCacheKey {
+    private final String fileId;
+    private final long offset;
+
+    BlockCacheKey(String fileId, long offset) {
+      this.fileId = fileId;
+      this.offset = offset;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (o == null || getClass() != o.getClass()) {
+        return false;
+      }
+      BlockCacheKey that = (BlockCacheKey) o;
+      return offset == that.offset && fileId.equals(that.fileId);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(fileId, offset);
+    }
+  }
+}
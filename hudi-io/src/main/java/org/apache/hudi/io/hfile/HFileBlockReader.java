@@ -19,19 +19,29 @@
 
 package org.apache.hudi.io.hfile;
 
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.io.SeekableDataInputStream;
 
 import java.io.EOFException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 /**
  * A reader to read one or more HFile blocks based on the start and end offsets.
+ * <p>
+ * If the stream is backed by memory (see {@link SeekableDataInputStream#slice(long, int)}),
+ * the blocks are parsed from the backing array in place when it is accessible, or copied
+ * from the backing buffer in one go otherwise, e.g., for a memory-mapped file, instead of
+ * reading the range through the stream.
  */
 public class HFileBlockReader {
   private final HFileContext context;
   private final long streamStartOffset;
   private final SeekableDataInputStream stream;
-  private final byte[] byteBuff;
+  private final int length;
+  private byte[] byteBuff;
+  // Offset of the range of bytes in byteBuff, non-zero if byteBuff is a shared backing array
+  private int baseOffset;
   private int offset;
   private boolean isReadFully = false;
 
@@ -53,7 +63,7 @@ public class HFileBlockReader {
     this.offset = 0;
     long length = endOffset - startOffset;
     if (length >= 0 && length <= Integer.MAX_VALUE) {
-      this.byteBuff = new byte[(int) length];
+      this.length = (int) length;
     } else {
       throw new IllegalArgumentException(
           "The range of bytes is too large or invalid: ["
@@ -69,18 +79,16 @@ public class HFileBlockReader {
    * @throws IOException if the type of next block does not match the expected type.
    */
   public HFileBlock nextBlock(HFileBlockType expectedBlockType) throws IOException {
-    if (offset >= byteBuff.length) {
+    if (offset >= length) {
       throw new EOFException("No more data to read");
     }
 
     if (!isReadFully) {
-      // Full range of bytes are read fully into a byte array
-      stream.seek(streamStartOffset);
-      stream.readFully(byteBuff);
+      readFully();
       isReadFully = true;
     }
 
-    HFileBlock block = HFileBlock.parse(context, byteBuff, offset);
+    HFileBlock block = HFileBlock.parse(context, byteBuff, baseOffset + offset);
     block.unpack();
 
     if (block.getBlockType() != expectedBlockType) {
@@ -91,4 +99,23 @@ public class HFileBlockReader {
     offset += block.getOnDiskSizeWithHeader();
     return block;
   }
+
+  private void readFully() throws IOException {
+    Option<ByteBuffer> slice = stream.slice(streamStartOffset, length);
+    if (slice.isPresent() && slice.get().hasArray()) {
+      // Zero-copy: the blocks are parsed from the backing array in place
+      byteBuff = slice.get().array();
+      baseOffset = slice.get().arrayOffset() + slice.get().position();
+      return;
+    }
+    byteBuff = new byte[length];
+    baseOffset = 0;
+    if (slice.isPresent()) {
+      slice.get().get(byteBuff);
+    } else {
+      // Full range of bytes are read fully into a byte array
+      stream.seek(streamStartOffset);
+      stream.readFully(byteBuff);
+    }
+  }
 }
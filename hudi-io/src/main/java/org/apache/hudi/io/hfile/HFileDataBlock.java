@@ -120,11 +120,13 @@ public class HFileDataBlock extends HFileBlock {
   /**
    * Reads the key value at the offset.
    *
-   * @param offset offset to read relative to the start of {@code byteBuff}.
+   * @param offset offset to read relative to the start of the block.
    * @return the {@link KeyValue} instance.
    */
   public KeyValue readKeyValue(int offset) {
-    return new KeyValue(byteBuff, offset);
+    // The block may not start at the beginning of {@code byteBuff} if multiple
+    // uncompressed blocks are read together into one byte array
+    return new KeyValue(byteBuff, startOffsetInBuff + offset);
   }
 
   /**
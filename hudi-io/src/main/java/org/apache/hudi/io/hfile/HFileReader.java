@@ -24,6 +24,8 @@ import org.apache.hudi.common.util.Option;
 import java.io.Closeable;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * HFile reader that supports seeks.
@@ -119,6 +121,26 @@ public interface HFileReader extends Closeable {
    */
   int seekTo(Key key) throws IOException;
 
+  /**
+   * Looks up multiple keys in one forward pass over the data blocks and returns the
+   * {@link KeyValue}s of the keys found, in the sorted order of the keys.
+   * <p>
+   * The keys are sorted and grouped by the data block that may contain them, so each
+   * data block is read and scanned at most once regardless of the number of keys in it,
+   * and adjacent data blocks are read together with a single range read.
+   * If there are multiple key-value pairs with the same key, only the first one is returned,
+   * which is consistent with {@link #seekTo(Key)}.
+   * <p>
+   * This does not use or change the position of this reader, so it can be mixed with the
+   * other seek and scan calls.
+   *
+   * @param keys {@link Key}s to look up; they do not need to be sorted.
+   * @return an iterator of the {@link KeyValue}s found; the blocks are read lazily as the
+   * iterator advances.
+   * @throws IOException upon read errors.
+   */
+  Iterator<KeyValue> seekTo(List<Key> keys) throws IOException;
+
   /**
    * Positions this reader at the start of the file.
    *
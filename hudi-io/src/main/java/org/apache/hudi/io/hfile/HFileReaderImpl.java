@@ -21,6 +21,7 @@ package org.apache.hudi.io.hfile;
 
 import org.apache.hudi.common.util.Option;
 import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.io.SeekableDataInputStream;
 
 import org.apache.logging.log4j.util.Strings;
@@ -29,9 +30,13 @@ import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Queue;
 import java.util.TreeMap;
 
@@ -42,8 +47,15 @@ import static org.apache.hudi.io.hfile.HFileUtils.readMajorVersion;
  * An implementation a {@link HFileReader}.
  */
 public class HFileReaderImpl implements HFileReader {
+  // Maximum number of bytes of adjacent data blocks to read with a single range read
+  // when looking up multiple keys, which bounds the blocks held in memory at a time
+  private static final long MAX_COALESCED_READ_SIZE = 8 * 1024 * 1024L;
+
   private final SeekableDataInputStream stream;
   private final long fileSize;
+  // Identifier of the file for the block cache, e.g., the full path
+  private final Option<String> fileId;
+  private final Option<HFileBlockCache> blockCache;
 
   private final HFileCursor cursor;
   private boolean isMetadataInitialized = false;
@@ -56,8 +68,29 @@ public class HFileReaderImpl implements HFileReader {
   private Option<HFileDataBlock> currentDataBlock;
 
   public HFileReaderImpl(SeekableDataInputStream stream, long fileSize) {
+    this(stream, fileSize, Option.empty(), Option.empty());
+  }
+
+  /**
+   * Instantiates the {@link HFileReaderImpl} that reads the data, meta and non-root index
+   * blocks through a {@link HFileBlockCache}.
+   *
+   * @param stream     HFile input.
+   * @param fileSize   HFile size.
+   * @param fileId     identifier of the HFile in the block cache, e.g., the full path.
+   * @param blockCache the block cache to use.
+   */
+  public HFileReaderImpl(SeekableDataInputStream stream, long fileSize,
+                         String fileId, HFileBlockCache blockCache) {
+    this(stream, fileSize, Option.of(fileId), Option.of(blockCache));
+  }
+
+  private HFileReaderImpl(SeekableDataInputStream stream, long fileSize,
+                          Option<String> fileId, Option<HFileBlockCache> blockCache) {
     this.stream = stream;
     this.fileSize = fileSize;
+    this.fileId = fileId;
+    this.blockCache = blockCache;
     this.cursor = new HFileCursor();
     this.currentDataBlockEntry = Option.empty();
     this.currentDataBlock = Option.empty();
@@ -101,10 +134,7 @@ public class HFileReaderImpl implements HFileReader {
     if (blockIndexEntry == null) {
       return Option.empty();
     }
-    HFileBlockReader blockReader = new HFileBlockReader(
-        context, stream, blockIndexEntry.getOffset(),
-        blockIndexEntry.getOffset() + blockIndexEntry.getSize());
-    HFileMetaBlock block = (HFileMetaBlock) blockReader.nextBlock(HFileBlockType.META);
+    HFileMetaBlock block = (HFileMetaBlock) readBlock(blockIndexEntry, HFileBlockType.META);
     return Option.of(block.readContent());
   }
 
@@ -195,6 +225,35 @@ public class HFileReaderImpl implements HFileReader {
             + "key=" + key + " cursor=" + cursor);
   }
 
+  @Override
+  public Iterator<KeyValue> seekTo(List<Key> keys) throws IOException {
+    initializeMetadata();
+    if (trailer.getNumKeyValueEntries() == 0 || keys.isEmpty()) {
+      return Collections.emptyIterator();
+    }
+    List<Key> sortedKeys = new ArrayList<>(keys);
+    Collections.sort(sortedKeys);
+    // Groups the sorted keys by the data block that may contain them, so that the block
+    // index is only searched once per data block instead of once per key
+    List<DataBlockLookUp> blockLookUps = new ArrayList<>();
+    DataBlockLookUp currentLookUp = null;
+    for (Key key : sortedKeys) {
+      if (currentLookUp != null && currentLookUp.mayContain(key)) {
+        currentLookUp.addKey(key);
+        continue;
+      }
+      Map.Entry<Key, BlockIndexEntry> floorEntry = dataBlockIndexEntryMap.floorEntry(key);
+      if (floorEntry == null) {
+        // The key is smaller than the first key of the file
+        continue;
+      }
+      currentLookUp = new DataBlockLookUp(floorEntry.getValue());
+      currentLookUp.addKey(key);
+      blockLookUps.add(currentLookUp);
+    }
+    return new MultiKeyLookUpIterator(blockLookUps);
+  }
+
   @Override
   public boolean seekTo() throws IOException {
     initializeMetadata();
@@ -304,10 +363,157 @@ public class HFileReaderImpl implements HFileReader {
   }
 
   private HFileDataBlock instantiateHFileDataBlock(BlockIndexEntry blockToRead) throws IOException {
+    return (HFileDataBlock) readBlock(blockToRead, HFileBlockType.DATA);
+  }
+
+  /**
+   * Reads a single block, through the block cache if present.
+   *
+   * @param blockToRead       index entry of the block to read.
+   * @param expectedBlockType expected block type.
+   * @return the unpacked {@link HFileBlock}.
+   * @throws IOException upon read errors or block type mismatch.
+   */
+  private HFileBlock readBlock(BlockIndexEntry blockToRead,
+                               HFileBlockType expectedBlockType) throws IOException {
+    if (blockCache.isPresent()) {
+      HFileBlock block = blockCache.get().getOrLoad(
+          fileId.get(), blockToRead.getOffset(),
+          () -> readBlockFromStream(blockToRead, expectedBlockType));
+      if (block.getBlockType() != expectedBlockType) {
+        throw new IOException("Unexpected block type: " + block.getBlockType()
+            + "; expecting " + expectedBlockType);
+      }
+      return block;
+    }
+    return readBlockFromStream(blockToRead, expectedBlockType);
+  }
+
+  private HFileBlock readBlockFromStream(BlockIndexEntry blockToRead,
+                                         HFileBlockType expectedBlockType) throws IOException {
     HFileBlockReader blockReader = new HFileBlockReader(
         context, stream, blockToRead.getOffset(),
         blockToRead.getOffset() + (long) blockToRead.getSize());
-    return (HFileDataBlock) blockReader.nextBlock(HFileBlockType.DATA);
+    return blockReader.nextBlock(expectedBlockType);
+  }
+
+  /**
+   * Keys to look up in one data block, sorted.
+   */
+  private static class DataBlockLookUp {
+    private final BlockIndexEntry blockIndexEntry;
+    private final List<Key> keys = new ArrayList<>();
+
+    DataBlockLookUp(BlockIndexEntry blockIndexEntry) {
+      this.blockIndexEntry = blockIndexEntry;
+    }
+
+    void addKey(Key key) {
+      keys.add(key);
+    }
+
+    /**
+     * @param key lookup key that is not smaller than the keys added so far.
+     * @return whether the key can only be in this data block.
+     */
+    boolean mayContain(Key key) {
+      return !blockIndexEntry.getNextBlockFirstKey().isPresent()
+          || key.compareTo(blockIndexEntry.getNextBlockFirstKey().get()) < 0;
+    }
+
+    /**
+     * Scans the data block once for all the keys and adds the matched key-value pairs to
+     * the result.
+     */
+    void lookUp(HFileDataBlock dataBlock, List<KeyValue> result) {
+      int blockStartOffset = (int) blockIndexEntry.getOffset();
+      HFileCursor blockCursor = new HFileCursor();
+      blockCursor.setOffset(blockStartOffset + HFILEBLOCK_HEADER_SIZE);
+      Key lastKey = null;
+      for (Key key : keys) {
+        if (lastKey != null && key.compareTo(lastKey) == 0) {
+          // Duplicate lookup key
+          continue;
+        }
+        lastKey = key;
+        if (dataBlock.seekTo(blockCursor, key, blockStartOffset) == SEEK_TO_FOUND) {
+          result.add(blockCursor.getKeyValue().get());
+        }
+      }
+    }
+  }
+
+  /**
+   * Iterator of the key-value pairs found by {@link #seekTo(List)}. The data blocks are
+   * read in batches, where each batch consists of adjacent data blocks that are read with a
+   * single range read, up to {@link #MAX_COALESCED_READ_SIZE} bytes. When a block cache is
+   * present, the data blocks are read through the cache one by one instead.
+   */
+  private class MultiKeyLookUpIterator implements Iterator<KeyValue> {
+    private final List<DataBlockLookUp> blockLookUps;
+    private int nextLookUpIndex = 0;
+    private Iterator<KeyValue> currentBatch = Collections.emptyIterator();
+
+    MultiKeyLookUpIterator(List<DataBlockLookUp> blockLookUps) {
+      this.blockLookUps = blockLookUps;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (!currentBatch.hasNext() && nextLookUpIndex < blockLookUps.size()) {
+        try {
+          currentBatch = lookUpNextBatch().iterator();
+        } catch (IOException e) {
+          throw new HoodieIOException("Unable to look up keys in HFile", e);
+        }
+      }
+      return currentBatch.hasNext();
+    }
+
+    @Override
+    public KeyValue next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      return currentBatch.next();
+    }
+
+    private List<KeyValue> lookUpNextBatch() throws IOException {
+      int start = nextLookUpIndex;
+      int end = start + 1;
+      long startOffset = blockLookUps.get(start).blockIndexEntry.getOffset();
+      long endOffset = getBlockEndOffset(blockLookUps.get(start).blockIndexEntry);
+      if (!blockCache.isPresent()) {
+        // Coalesces the following data blocks that are physically adjacent
+        while (end < blockLookUps.size()) {
+          BlockIndexEntry nextEntry = blockLookUps.get(end).blockIndexEntry;
+          if (nextEntry.getOffset() != endOffset
+              || getBlockEndOffset(nextEntry) - startOffset > MAX_COALESCED_READ_SIZE) {
+            break;
+          }
+          endOffset = getBlockEndOffset(nextEntry);
+          end++;
+        }
+      }
+      nextLookUpIndex = end;
+
+      List<KeyValue> result = new ArrayList<>();
+      if (end - start == 1) {
+        DataBlockLookUp blockLookUp = blockLookUps.get(start);
+        blockLookUp.lookUp(instantiateHFileDataBlock(blockLookUp.blockIndexEntry), result);
+      } else {
+        HFileBlockReader blockReader = new HFileBlockReader(context, stream, startOffset, endOffset);
+        for (int i = start; i < end; i++) {
+          blockLookUps.get(i).lookUp(
+              (HFileDataBlock) blockReader.nextBlock(HFileBlockType.DATA), result);
+        }
+      }
+      return result;
+    }
+
+    private long getBlockEndOffset(BlockIndexEntry blockIndexEntry) {
+      return blockIndexEntry.getOffset() + blockIndexEntry.getSize();
+    }
   }
 
   private boolean isAtFirstKeyOfBlock(BlockIndexEntry indexEntry) {
@@ -357,11 +563,9 @@ public class HFileReaderImpl implements HFileReader {
       // (3) BFS
       while (!queue.isEmpty()) {
         BlockIndexEntry indexEntry = queue.poll();
-        HFileBlockReader blockReader = new HFileBlockReader(
-            context, stream, indexEntry.getOffset(), indexEntry.getOffset() + indexEntry.getSize());
         HFileBlockType blockType = levels > 1
             ? HFileBlockType.INTERMEDIATE_INDEX : HFileBlockType.LEAF_INDEX;
-        HFileBlock tempBlock = blockReader.nextBlock(blockType);
+        HFileBlock tempBlock = readBlock(indexEntry, blockType);
         indexEntryList.addAll(((HFileLeafIndexBlock) tempBlock).readBlockIndex());
       }
 
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io;
+
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.io.hfile.HFileReader;
+import org.apache.hudi.io.hfile.HFileReaderImpl;
+import org.apache.hudi.io.hfile.Key;
+import org.apache.hudi.io.hfile.KeyValue;
+import org.apache.hudi.io.hfile.UTF8StringKey;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.apache.hudi.io.hfile.HFileReader.SEEK_TO_FOUND;
+import static org.apache.hudi.io.hfile.HFileUtils.getValue;
+import static org.apache.hudi.io.hfile.TestHFileReader.KEY_CREATOR;
+import static org.apache.hudi.io.hfile.TestHFileReader.VALUE_CREATOR;
+import static org.apache.hudi.io.hfile.TestHFileReader.readHFileFromResources;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link MappedFileSeekableDataInputStream}.
+ */
+public class TestMappedFileSeekableDataInputStream {
+  @TempDir
+  Path tempDir;
+
+  @Test
+  public void testSeekAndRead() throws IOException {
+    byte[] content = new byte[1000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    File file = writeFile("data", content);
+
+    try (MappedFileSeekableDataInputStream stream = MappedFileSeekableDataInputStream.open(file)) {
+      assertEquals(0, stream.getPos());
+      assertEquals(0, stream.readByte());
+      stream.seek(500);
+      assertEquals(500, stream.getPos());
+      byte[] bytes = new byte[100];
+      stream.readFully(bytes);
+      assertEquals(600, stream.getPos());
+      assertEquals((byte) 500, bytes[0]);
+      assertEquals((byte) 599, bytes[99]);
+
+      // Slicing does not change the position of the stream
+      Option<ByteBuffer> slice = stream.slice(10, 20);
+      assertTrue(slice.isPresent());
+      assertEquals(20, slice.get().remaining());
+      assertEquals((byte) 10, slice.get().get(0));
+      assertEquals(600, stream.getPos());
+      stream.seek(0);
+      assertEquals(0, stream.readByte());
+    }
+
+    assertTrue(MappedFileSeekableDataInputStream.canMap(0L));
+    assertTrue(MappedFileSeekableDataInputStream.canMap(Integer.MAX_VALUE));
+    assertFalse(MappedFileSeekableDataInputStream.canMap(Integer.MAX_VALUE + 1L));
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "/hfile/hudi_1_0_hbase_2_4_9_16KB_GZ_20000.hfile",
+      "/hfile/hudi_1_0_hbase_2_4_9_16KB_NONE_5000.hfile"})
+  public void testReadHFile(String fileName) throws IOException {
+    byte[] content = readHFileFromResources(fileName);
+    File file = writeFile("test.hfile", content);
+    try (MappedFileSeekableDataInputStream stream = MappedFileSeekableDataInputStream.open(file)) {
+      byte[] bytes = new byte[content.length];
+      stream.readFully(bytes);
+      assertArrayEquals(content, bytes);
+    }
+
+    try (HFileReader reader = new HFileReaderImpl(
+        MappedFileSeekableDataInputStream.open(file), content.length)) {
+      reader.initializeMetadata();
+      int numEntries = (int) reader.getNumKeyValueEntries();
+      assertTrue(reader.seekTo());
+      for (int i = 0; i < numEntries; i++) {
+        Option<KeyValue> keyValue = reader.getKeyValue();
+        assertTrue(keyValue.isPresent());
+        assertEquals(new UTF8StringKey(KEY_CREATOR.apply(i)), keyValue.get().getKey());
+        assertEquals(VALUE_CREATOR.apply(i), getValue(keyValue.get()));
+        assertEquals(i < numEntries - 1, reader.next());
+      }
+
+      for (int i = numEntries - 1; i >= 0; i -= 97) {
+        Key key = new UTF8StringKey(KEY_CREATOR.apply(i));
+        assertTrue(reader.seekTo());
+        assertEquals(SEEK_TO_FOUND, reader.seekTo(key));
+        assertEquals(VALUE_CREATOR.apply(i), getValue(reader.getKeyValue().get()));
+      }
+    }
+  }
+
+  private File writeFile(String fileName, byte[] content) throws IOException {
+    Path filePath = tempDir.resolve(fileName);
+    Files.write(filePath, content);
+    return filePath.toFile();
+  }
+}
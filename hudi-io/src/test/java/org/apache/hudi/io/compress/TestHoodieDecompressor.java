@@ -21,6 +21,10 @@ package org.apache.hudi.io.compress;
 
 import org.apache.hudi.io.util.IOUtils;
 
+import io.airlift.compress.hadoop.HadoopStreams;
+import io.airlift.compress.lz4.Lz4HadoopStreams;
+import io.airlift.compress.snappy.SnappyHadoopStreams;
+import io.airlift.compress.zstd.ZstdHadoopStreams;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 
@@ -28,6 +32,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Random;
 import java.util.zip.GZIPOutputStream;
 
@@ -49,6 +54,9 @@ public class TestHoodieDecompressor {
     switch (codec) {
       case NONE:
       case GZIP:
+      case LZ4:
+      case SNAPPY:
+      case ZSTD:
         HoodieDecompressor decompressor = HoodieDecompressorFactory.getDecompressor(codec);
         byte[] actualOutput = new byte[INPUT_LENGTH + 100];
         try (InputStream stream = prepareInputStream(codec)) {
@@ -79,11 +87,25 @@ public class TestHoodieDecompressor {
           gzipOutputStream.write(INPUT_BYTES);
         }
         return new ByteArrayInputStream(stream.toByteArray());
+      case LZ4:
+        return compressWithHadoopStreams(new Lz4HadoopStreams());
+      case SNAPPY:
+        return compressWithHadoopStreams(new SnappyHadoopStreams());
+      case ZSTD:
+        return compressWithHadoopStreams(new ZstdHadoopStreams());
       default:
         throw new IllegalArgumentException("Not supported in tests.");
     }
   }
 
+  private static InputStream compressWithHadoopStreams(HadoopStreams hadoopStreams) throws IOException {
+    ByteArrayOutputStream stream = new ByteArrayOutputStream();
+    try (OutputStream compressedStream = hadoopStreams.createOutputStream(stream)) {
+      compressedStream.write(INPUT_BYTES);
+    }
+    return new ByteArrayInputStream(stream.toByteArray());
+  }
+
   private static byte[] generateRandomBytes(int length) {
     Random random = new Random(0x8e96);
     byte[] result = new byte[length];
@@ -0,0 +1,116 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.hudi.io.hfile;
+
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.io.ByteBufferBackedInputStream;
+import org.apache.hudi.io.ByteArraySeekableDataInputStream;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.apache.hudi.io.hfile.HFileReader.SEEK_TO_FOUND;
+import static org.apache.hudi.io.hfile.HFileUtils.getValue;
+import static org.apache.hudi.io.hfile.TestHFileReader.KEY_CREATOR;
+import static org.apache.hudi.io.hfile.TestHFileReader.VALUE_CREATOR;
+import static org.apache.hudi.io.hfile.TestHFileReader.readHFileFromResources;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link HFileBlockCache}.
+ */
+public class TestHFileBlockCache {
+  private static final String HFILE_NAME = "/hfile/hudi_1_0_hbase_2_4_9_16KB_GZ_20000.hfile";
+  private static final int NUM_ENTRIES = 20000;
+
+  @Test
+  public void testReadersShareCachedBlocks() throws IOException {
+    byte[] content = readHFileFromResources(HFILE_NAME);
+    HFileBlockCache blockCache = new HFileBlockCache(64 * 1024 * 1024L);
+
+    scanAndSeek(content, blockCache);
+    long numBlocks = blockCache.getNumBlocks();
+    assertTrue(numBlocks > 1);
+    assertEquals(numBlocks, blockCache.getMissCount());
+    assertEquals(0, blockCache.getEvictionCount());
+    assertTrue(blockCache.getSizeInBytes() > 0);
+
+    // A second reader of the same file should be served from the cache only
+    long hitCount = blockCache.getHitCount();
+    scanAndSeek(content, blockCache);
+    assertEquals(numBlocks, blockCache.getNumBlocks());
+    assertEquals(numBlocks, blockCache.getMissCount());
+    assertTrue(blockCache.getHitCount() > hitCount);
+
+    blockCache.clear();
+    assertEquals(0, blockCache.getNumBlocks());
+    assertEquals(0, blockCache.getSizeInBytes());
+  }
+
+  @Test
+  public void testEvictionWithinCapacity() throws IOException {
+    byte[] content = readHFileFromResources(HFILE_NAME);
+    long capacity = 64 * 1024L;
+    HFileBlockCache blockCache = new HFileBlockCache(capacity);
+
+    scanAndSeek(content, blockCache);
+    assertTrue(blockCache.getEvictionCount() > 0);
+    assertTrue(blockCache.getSizeInBytes() <= capacity);
+    assertTrue(blockCache.getNumBlocks() > 0);
+  }
+
+  @Test
+  public void testSharedInstance() {
+    HFileBlockCache sharedInstance = HFileBlockCache.getSharedInstance(1024L);
+    assertSame(sharedInstance, HFileBlockCache.getSharedInstance(2048L));
+    assertThrows(IllegalArgumentException.class, () -> new HFileBlockCache(0L));
+  }
+
+  private static void scanAndSeek(byte[] content, HFileBlockCache blockCache) throws IOException {
+    try (HFileReader reader = new HFileReaderImpl(
+        new ByteArraySeekableDataInputStream(new ByteBufferBackedInputStream(content)),
+        content.length, HFILE_NAME, blockCache)) {
+      reader.initializeMetadata();
+      assertTrue(reader.getMetaBlock("bloomFilter").isPresent());
+      assertTrue(reader.seekTo());
+      for (int i = 0; i < NUM_ENTRIES; i++) {
+        Option<KeyValue> keyValue = reader.getKeyValue();
+        assertTrue(keyValue.isPresent());
+        assertEquals(new UTF8StringKey(KEY_CREATOR.apply(i)), keyValue.get().getKey());
+        assertEquals(VALUE_CREATOR.apply(i), getValue(keyValue.get()));
+        assertEquals(i < NUM_ENTRIES - 1, reader.next());
+      }
+      assertFalse(reader.next());
+
+      assertTrue(reader.seekTo());
+      for (int i = 0; i < NUM_ENTRIES; i += 97) {
+        Key key = new UTF8StringKey(KEY_CREATOR.apply(i));
+        assertEquals(SEEK_TO_FOUND, reader.seekTo(key));
+        assertEquals(key, reader.getKeyValue().get().getKey());
+        assertEquals(VALUE_CREATOR.apply(i), getValue(reader.getKeyValue().get()));
+      }
+    }
+  }
+}
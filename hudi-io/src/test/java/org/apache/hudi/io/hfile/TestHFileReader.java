@@ -32,9 +32,16 @@ import org.junit.jupiter.params.provider.ValueSource;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.apache.hudi.common.util.FileIOUtils.readAsByteArray;
@@ -675,6 +682,54 @@ public class TestHFileReader {
     verifyHFileRead(filename, numEntries, keyCreator, VALUE_CREATOR, keyLookUpInfoList);
   }
 
+  @ParameterizedTest
+  @MethodSource("testArgsReadHFilePointAndPrefixLookup")
+  public void testReadHFileMultiKeyLookup(String filename,
+                                          int numEntries,
+                                          Function<Integer, String> keyCreator,
+                                          List<KeyLookUpInfo> keyLookUpInfoList) throws IOException {
+    try (HFileReader reader = getHFileReader(filename)) {
+      // All keys in random order, with duplicates
+      List<Key> lookUpKeys = new ArrayList<>();
+      for (int i = 0; i < numEntries; i++) {
+        lookUpKeys.add(new UTF8StringKey(keyCreator.apply(i)));
+      }
+      lookUpKeys.add(new UTF8StringKey(keyCreator.apply(0)));
+      lookUpKeys.add(new UTF8StringKey(keyCreator.apply(numEntries - 1)));
+      Collections.shuffle(lookUpKeys, new Random(0x5f3d));
+      Iterator<KeyValue> iterator = reader.seekTo(lookUpKeys);
+      for (int i = 0; i < numEntries; i++) {
+        assertTrue(iterator.hasNext());
+        KeyValue keyValue = iterator.next();
+        assertEquals(new UTF8StringKey(keyCreator.apply(i)), keyValue.getKey());
+        assertEquals(VALUE_CREATOR.apply(i), getValue(keyValue));
+      }
+      assertFalse(iterator.hasNext());
+
+      // Existing and non-existing keys, which should not change the position of the reader
+      assertTrue(reader.seekTo());
+      Key firstKey = reader.getKeyValue().get().getKey();
+      lookUpKeys = keyLookUpInfoList.stream()
+          .map(info -> new UTF8StringKey(info.getLookUpKey()))
+          .collect(Collectors.toList());
+      Set<String> existingKeys = IntStream.range(0, numEntries)
+          .mapToObj(keyCreator::apply)
+          .collect(Collectors.toSet());
+      List<String> expectedKeys = keyLookUpInfoList.stream()
+          .map(KeyLookUpInfo::getLookUpKey)
+          .filter(existingKeys::contains)
+          .distinct()
+          .sorted()
+          .collect(Collectors.toList());
+      List<String> actualKeys = new ArrayList<>();
+      reader.seekTo(lookUpKeys).forEachRemaining(kv -> actualKeys.add(kv.getKey().getContentInString()));
+      assertEquals(expectedKeys, actualKeys);
+      assertEquals(firstKey, reader.getKeyValue().get().getKey());
+
+      assertFalse(reader.seekTo(Collections.emptyList()).hasNext());
+    }
+  }
+
   @Test
   public void testReadHFileWithNonUniqueKeys() throws IOException {
     try (HFileReader reader = getHFileReader("/hfile/hudi_1_0_hbase_2_4_9_16KB_GZ_200_20_non_unique.hfile")) {
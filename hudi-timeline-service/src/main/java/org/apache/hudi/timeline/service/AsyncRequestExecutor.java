@@ -0,0 +1,198 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service;
+
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.util.CustomizedThreadFactory;
+import org.apache.hudi.common.util.ValidationUtils;
+import org.apache.hudi.exception.HoodieException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Executes the requests to the timeline server on a pool of worker threads, so that the server
+ * threads are released while the requests wait, e.g., for a view of the table to sync.
+ * <p>
+ * At most {@code maxConcurrentRequestsPerTable} requests of the same table run at the same time,
+ * and the others wait in a queue of the table, so that the requests of a table with an expensive
+ * view sync do not occupy all the workers. The workers are virtual threads if requested and
+ * supported by the JVM, i.e., Java 21 and above, or a fixed pool of platform threads otherwise.
+ * The number of the waiting requests is published as {@link #QUEUED_REQUESTS_METRIC}.
+ * <p>
+ * On close, the submitted requests are given a grace period to finish, after which the workers are
+ * interrupted and the requests that did not finish fail, so that no caller waits forever.
+ */
+public class AsyncRequestExecutor implements AutoCloseable {
+  public static final String QUEUED_REQUESTS_METRIC = "ASYNC_QUEUED_REQUESTS";
+
+  private static final Logger LOG = LoggerFactory.getLogger(AsyncRequestExecutor.class);
+  private static final long SHUTDOWN_TIMEOUT_MS = 10_000L;
+
+  private final ExecutorService executorService;
+  private final int maxConcurrentRequestsPerTable;
+  private final Registry metrics;
+  private final Map<String, TableQueue> tableQueues = new ConcurrentHashMap<>();
+  private final AtomicInteger numQueuedRequests = new AtomicInteger();
+  // Futures of the submitted requests that are not completed yet
+  private final Set<CompletableFuture<?>> pendingFutures = ConcurrentHashMap.newKeySet();
+  private volatile boolean closed = false;
+  // Set once the grace period of the close is over, to stop the workers from running the waiting requests
+  private volatile boolean terminated = false;
+
+  public AsyncRequestExecutor(int numThreads, boolean useVirtualThreads, int maxConcurrentRequestsPerTable,
+                              Registry metrics) {
+    ValidationUtils.checkArgument(numThreads > 0, "The number of request threads must be positive: " + numThreads);
+    ValidationUtils.checkArgument(maxConcurrentRequestsPerTable > 0,
+        "The maximum number of concurrent requests per table must be positive: " + maxConcurrentRequestsPerTable);
+    this.executorService = createExecutorService(numThreads, useVirtualThreads);
+    this.maxConcurrentRequestsPerTable = maxConcurrentRequestsPerTable;
+    this.metrics = metrics;
+  }
+
+  private static ExecutorService createExecutorService(int numThreads, boolean useVirtualThreads) {
+    if (useVirtualThreads) {
+      try {
+        Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+        LOG.info("Serving the timeline server requests on virtual threads");
+        return (ExecutorService) method.invoke(null);
+      } catch (NoSuchMethodException e) {
+        LOG.warn("Virtual threads are not supported by the JVM, serving the timeline server requests on {} threads", numThreads);
+      } catch (ReflectiveOperationException e) {
+        throw new HoodieException("Failed to create the executor of virtual threads", e);
+      }
+    }
+    return Executors.newFixedThreadPool(numThreads, new CustomizedThreadFactory("TimelineService-RequestExecutor", true));
+  }
+
+  /**
+   * Submits a request of the table.
+   *
+   * @param tableKey key of the table, e.g., the base path, to bound the concurrent requests of.
+   * @param request  request to run.
+   * @return the future of the result of the request.
+   */
+  public <T> CompletableFuture<T> submit(String tableKey, Supplier<T> request) {
+    CompletableFuture<T> future = new CompletableFuture<>();
+    if (closed) {
+      future.completeExceptionally(new HoodieException("The request executor of the timeline server is closed"));
+      return future;
+    }
+    pendingFutures.add(future);
+    future.whenComplete((result, error) -> pendingFutures.remove(future));
+    Runnable task = () -> {
+      try {
+        future.complete(request.get());
+      } catch (Throwable t) {
+        future.completeExceptionally(t);
+      }
+    };
+    try {
+      tableQueues.computeIfAbsent(tableKey, k -> new TableQueue()).submit(task);
+    } catch (RejectedExecutionException e) {
+      future.completeExceptionally(e);
+    }
+    return future;
+  }
+
+  public int getNumQueuedRequests() {
+    return numQueuedRequests.get();
+  }
+
+  @Override
+  public void close() {
+    close(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Waits up to the timeout for the submitted requests to finish, then interrupts the running ones and fails
+   * the requests that did not finish.
+   */
+  void close(long timeout, TimeUnit unit) {
+    closed = true;
+    executorService.shutdown();
+    try {
+      if (!executorService.awaitTermination(timeout, unit)) {
+        LOG.warn("The timeline server requests did not finish within {} {}, interrupting them", timeout, unit);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      terminated = true;
+      executorService.shutdownNow();
+      tableQueues.values().forEach(TableQueue::clear);
+      HoodieException error = new HoodieException("The request executor of the timeline server is closed");
+      new ArrayList<>(pendingFutures).forEach(future -> future.completeExceptionally(error));
+    }
+  }
+
+  /**
+   * Requests of one table, running on at most {@code maxConcurrentRequestsPerTable} workers.
+   */
+  private class TableQueue {
+    private final Deque<Runnable> pendingTasks = new ArrayDeque<>();
+    private int numRunningTasks = 0;
+
+    synchronized void submit(Runnable task) {
+      if (numRunningTasks < maxConcurrentRequestsPerTable) {
+        executorService.execute(() -> runAndPollNext(task));
+        numRunningTasks++;
+      } else {
+        pendingTasks.add(task);
+        metrics.set(QUEUED_REQUESTS_METRIC, numQueuedRequests.incrementAndGet());
+      }
+    }
+
+    synchronized void clear() {
+      metrics.set(QUEUED_REQUESTS_METRIC, numQueuedRequests.addAndGet(-pendingTasks.size()));
+      pendingTasks.clear();
+    }
+
+    private void runAndPollNext(Runnable task) {
+      // The worker keeps running the waiting requests of the table, if any, to avoid resubmitting them
+      Runnable next = task;
+      while (next != null) {
+        next.run();
+        synchronized (this) {
+          next = terminated ? null : pendingTasks.poll();
+          if (next == null) {
+            numRunningTasks--;
+          } else {
+            metrics.set(QUEUED_REQUESTS_METRIC, numQueuedRequests.decrementAndGet());
+          }
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service;
+
+import org.apache.hudi.common.metrics.Registry;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Metrics of the requests to one endpoint of the timeline server, published to a {@link Registry}
+ * with the name of the endpoint as the prefix:
+ * <ul>
+ *   <li>{@code numRequests}: number of requests received;</li>
+ *   <li>{@code queueDepth}: number of requests received but not answered yet, including the waiting ones;</li>
+ *   <li>{@code payloadBytes}: total size of the response payloads in bytes;</li>
+ *   <li>{@code p50LatencyMs} and {@code p99LatencyMs}: percentiles of the latency of the recent requests.</li>
+ * </ul>
+ * The percentiles are computed over the latest {@link #NUM_LATENCY_SAMPLES} requests, and published
+ * every {@link #PERCENTILES_PUBLISH_INTERVAL} requests to bound the overhead per request.
+ */
+public class EndpointMetrics {
+  public static final String NUM_REQUESTS_METRIC = "numRequests";
+  public static final String QUEUE_DEPTH_METRIC = "queueDepth";
+  public static final String PAYLOAD_BYTES_METRIC = "payloadBytes";
+  public static final String P50_LATENCY_METRIC = "p50LatencyMs";
+  public static final String P99_LATENCY_METRIC = "p99LatencyMs";
+
+  static final int NUM_LATENCY_SAMPLES = 1024;
+  static final int PERCENTILES_PUBLISH_INTERVAL = 32;
+
+  private final String endpointName;
+  private final Registry registry;
+  private final AtomicInteger queueDepth = new AtomicInteger();
+  // Ring buffer of the latest latencies in milliseconds
+  private final long[] latencySamples = new long[NUM_LATENCY_SAMPLES];
+  private long numSamples = 0L;
+  private long p50LatencyMs = 0L;
+  private long p99LatencyMs = 0L;
+
+  public EndpointMetrics(String endpointName, Registry registry) {
+    this.endpointName = endpointName;
+    this.registry = registry;
+  }
+
+  /**
+   * Converts the path of an endpoint to a metric name, e.g., {@code /v1/hoodie/view/slices/partition/latest/}
+   * to {@code v1.hoodie.view.slices.partition.latest}.
+   */
+  public static String getEndpointName(String path) {
+    StringBuilder name = new StringBuilder();
+    for (String part : path.split("/")) {
+      if (!part.isEmpty()) {
+        if (name.length() > 0) {
+          name.append('.');
+        }
+        name.append(part);
+      }
+    }
+    return name.toString();
+  }
+
+  /**
+   * Records the receipt of a request.
+   */
+  public void onRequestReceived() {
+    registry.increment(getMetricName(NUM_REQUESTS_METRIC));
+    registry.set(getMetricName(QUEUE_DEPTH_METRIC), queueDepth.incrementAndGet());
+  }
+
+  /**
+   * Records the completion of a request received before.
+   *
+   * @param latencyMs    time from the receipt of the request to its completion in milliseconds.
+   * @param payloadBytes size of the response payload in bytes, or a negative value if not known.
+   */
+  public void onRequestCompleted(long latencyMs, long payloadBytes) {
+    registry.set(getMetricName(QUEUE_DEPTH_METRIC), queueDepth.decrementAndGet());
+    if (payloadBytes > 0) {
+      registry.add(getMetricName(PAYLOAD_BYTES_METRIC), payloadBytes);
+    }
+    long[] samples = null;
+    synchronized (this) {
+      latencySamples[(int) (numSamples % NUM_LATENCY_SAMPLES)] = latencyMs;
+      numSamples++;
+      if (numSamples <= PERCENTILES_PUBLISH_INTERVAL || numSamples % PERCENTILES_PUBLISH_INTERVAL == 0) {
+        samples = Arrays.copyOf(latencySamples, (int) Math.min(numSamples, NUM_LATENCY_SAMPLES));
+      }
+    }
+    if (samples != null) {
+      // Sort outside the lock so that the requests completing meanwhile are not blocked
+      Arrays.sort(samples);
+      long p50 = percentile(samples, 50);
+      long p99 = percentile(samples, 99);
+      synchronized (this) {
+        p50LatencyMs = p50;
+        p99LatencyMs = p99;
+      }
+      registry.set(getMetricName(P50_LATENCY_METRIC), p50);
+      registry.set(getMetricName(P99_LATENCY_METRIC), p99);
+    }
+  }
+
+  public int getQueueDepth() {
+    return queueDepth.get();
+  }
+
+  public synchronized long getP50LatencyMs() {
+    return p50LatencyMs;
+  }
+
+  public synchronized long getP99LatencyMs() {
+    return p99LatencyMs;
+  }
+
+  private String getMetricName(String metric) {
+    return endpointName + "." + metric;
+  }
+
+  private static long percentile(long[] sortedSamples, int percentile) {
+    int index = (int) Math.ceil(percentile / 100.0 * sortedSamples.length) - 1;
+    return sortedSamples[Math.max(0, index)];
+  }
+}
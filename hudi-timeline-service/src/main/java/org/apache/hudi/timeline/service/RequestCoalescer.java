@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service;
+
+import org.apache.hudi.common.metrics.Registry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces the duplicate requests to the timeline server that are in flight at the same time,
+ * e.g., the requests of the latest file slices of the same partition as of the same instant from
+ * many tasks of a job, so that only the first request is served and the others share its result.
+ * <p>
+ * A request arriving after the first one completes is served again, so the result is never older
+ * than the request. The number of the coalesced requests is published as {@link #COALESCED_REQUESTS_METRIC}.
+ */
+public class RequestCoalescer {
+  public static final String COALESCED_REQUESTS_METRIC = "COALESCED_REQUESTS";
+
+  private final Map<String, CompletableFuture<?>> inFlightRequests = new ConcurrentHashMap<>();
+  private final Registry metrics;
+
+  public RequestCoalescer(Registry metrics) {
+    this.metrics = metrics;
+  }
+
+  /**
+   * Returns the future of the in-flight request with the same key if any, or starts the request.
+   *
+   * @param key     key identifying the duplicate requests, e.g., the path and the query of the request.
+   * @param request function to start the request and return the future of its result.
+   * @return the future of the result shared by the duplicate requests.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> request) {
+    CompletableFuture<T> result = new CompletableFuture<>();
+    CompletableFuture<T> inFlight = (CompletableFuture<T>) inFlightRequests.putIfAbsent(key, result);
+    if (inFlight != null) {
+      metrics.increment(COALESCED_REQUESTS_METRIC);
+      return inFlight;
+    }
+    try {
+      request.get().whenComplete((value, error) -> {
+        // Remove first so that the requests arriving after the completion are served again
+        inFlightRequests.remove(key, result);
+        if (error != null) {
+          result.completeExceptionally(error);
+        } else {
+          result.complete(value);
+        }
+      });
+    } catch (Throwable t) {
+      inFlightRequests.remove(key, result);
+      result.completeExceptionally(t);
+    }
+    return result;
+  }
+
+  public int getNumInFlightRequests() {
+    return inFlightRequests.size();
+  }
+}
@@ -28,6 +28,8 @@ import org.apache.hudi.common.table.timeline.dto.ClusteringOpDTO;
 import org.apache.hudi.common.table.timeline.dto.CompactionOpDTO;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicePageDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicesDeltaDTO;
 import org.apache.hudi.common.table.timeline.dto.InstantDTO;
 import org.apache.hudi.common.table.timeline.dto.InstantStateDTO;
 import org.apache.hudi.common.table.timeline.dto.TimelineDTO;
@@ -39,6 +41,7 @@ import org.apache.hudi.common.util.Option;
 import org.apache.hudi.exception.HoodieException;
 import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.timeline.TimelineServiceWireFormat;
 import org.apache.hudi.timeline.service.handlers.BaseFileHandler;
 import org.apache.hudi.timeline.service.handlers.FileSliceHandler;
 import org.apache.hudi.timeline.service.handlers.InstantStateHandler;
@@ -65,8 +68,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 /**
  * Main REST Handler class that handles and delegates calls to timeline relevant handlers.
@@ -77,6 +83,7 @@ public class RequestHandler {
   private static final Logger LOG = LoggerFactory.getLogger(RequestHandler.class);
   private static final TypeReference<List<String>> LIST_TYPE_REFERENCE = new TypeReference<List<String>>() {
   };
+  private static final String RESPONSE_PAYLOAD_ATTRIBUTE = "hoodie.timeline.response.payload";
 
   private final TimelineService.Config timelineServiceConfig;
   private final FileSystemViewManager viewManager;
@@ -88,6 +95,9 @@ public class RequestHandler {
   private final InstantStateHandler instantStateHandler;
   private final Registry metricsRegistry = Registry.getRegistry("TimelineService");
   private final ScheduledExecutorService asyncResultService;
+  private final AsyncRequestExecutor asyncRequestExecutor;
+  private final RequestCoalescer requestCoalescer;
+  private final Map<String, EndpointMetrics> endpointMetrics = new ConcurrentHashMap<>();
 
   public RequestHandler(Javalin app, StorageConfiguration<?> conf, TimelineService.Config timelineServiceConfig,
                         HoodieEngineContext hoodieEngineContext,
@@ -114,6 +124,13 @@ public class RequestHandler {
     } else {
       this.asyncResultService = null;
     }
+    if (timelineServiceConfig.asyncRequestHandling) {
+      this.asyncRequestExecutor = new AsyncRequestExecutor(timelineServiceConfig.asyncRequestThreads,
+          timelineServiceConfig.useVirtualThreads, timelineServiceConfig.maxConcurrentRequestsPerTable, metricsRegistry);
+    } else {
+      this.asyncRequestExecutor = null;
+    }
+    this.requestCoalescer = timelineServiceConfig.coalesceRequests ? new RequestCoalescer(metricsRegistry) : null;
   }
 
   /**
@@ -173,6 +190,17 @@ public class RequestHandler {
     return ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.MIN_INSTANT_PARAM, String.class).getOrDefault("");
   }
 
+  private static Option<String> getCursorParam(Context ctx) {
+    return Option.ofNullable(ctx.queryParam(RemoteHoodieTableFileSystemView.CURSOR_PARAM));
+  }
+
+  private static int getPageSizeParam(Context ctx) {
+    int pageSize = ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.PAGE_SIZE_PARAM, Integer.class)
+        .check(size -> size > 0, "PAGE_SIZE_PARAM must be positive")
+        .getOrThrow(e -> new HoodieException("PAGE_SIZE_PARAM is invalid"));
+    return Math.min(pageSize, RemoteHoodieTableFileSystemView.MAX_PAGE_SIZE);
+  }
+
   private static String getMarkerDirParam(Context ctx) {
     return ctx.queryParamAsClass(MarkerOperation.MARKER_DIR_PATH_PARAM, String.class).getOrDefault("");
   }
@@ -206,10 +234,17 @@ public class RequestHandler {
     if (asyncResultService != null) {
       asyncResultService.shutdown();
     }
+    if (asyncRequestExecutor != null) {
+      asyncRequestExecutor.close();
+    }
   }
 
   private void writeValueAsString(Context ctx, Object obj) throws JsonProcessingException {
-    if (timelineServiceConfig.async) {
+    TimelineServiceWireFormat wireFormat = TimelineServiceWireFormat.fromAcceptHeader(ctx.header(TimelineServiceWireFormat.ACCEPT_HEADER));
+    if (wireFormat != TimelineServiceWireFormat.JSON) {
+      writeValueAsBytes(ctx, obj, wireFormat);
+    } else if (timelineServiceConfig.async && asyncRequestExecutor == null && requestCoalescer == null) {
+      // The requests served on the worker threads or coalesced need the result to complete
       writeValueAsStringAsync(ctx, obj);
     } else {
       writeValueAsStringSync(ctx, obj);
@@ -218,7 +253,7 @@ public class RequestHandler {
 
   private void writeValueAsStringSync(Context ctx, Object obj) throws JsonProcessingException {
     String result = jsonifyResult(ctx, obj, metricsRegistry, OBJECT_MAPPER, LOG);
-    ctx.result(result);
+    setResult(ctx, new ResponsePayload(result, null, null));
   }
 
   private void writeValueAsStringAsync(Context ctx, Object obj) {
@@ -231,6 +266,29 @@ public class RequestHandler {
     }, asyncResultService));
   }
 
+  /**
+   * Writes the result in the binary encoding negotiated with the client.
+   */
+  private void writeValueAsBytes(Context ctx, Object obj, TimelineServiceWireFormat wireFormat) {
+    HoodieTimer timer = HoodieTimer.start();
+    TimelineServiceWireFormat.EncodedContent encoded = wireFormat.encode(obj);
+    final long encodeTime = timer.endTimer();
+    metricsRegistry.add("WRITE_VALUE_BINARY_CNT", 1);
+    metricsRegistry.add("WRITE_VALUE_BINARY_TIME", encodeTime);
+    metricsRegistry.add("WRITE_VALUE_BINARY_BYTES", encoded.getBytes().length);
+    setResult(ctx, new ResponsePayload(null, encoded.getBytes(), encoded.getFormat().getContentType()));
+  }
+
+  private static void setResult(Context ctx, ResponsePayload payload) {
+    payload.applyTo(ctx);
+    ctx.attribute(RESPONSE_PAYLOAD_ATTRIBUTE, payload);
+  }
+
+  private EndpointMetrics getEndpointMetrics(Context ctx) {
+    return endpointMetrics.computeIfAbsent(ctx.endpointHandlerPath(),
+        path -> new EndpointMetrics(EndpointMetrics.getEndpointName(path), metricsRegistry));
+  }
+
   /**
    * Register Timeline API calls.
    */
@@ -331,6 +389,28 @@ public class RequestHandler {
       writeValueAsString(ctx, dtos);
     }, true));
 
+    app.get(RemoteHoodieTableFileSystemView.LATEST_PARTITION_SLICES_PAGE_URL, new ViewHandler(ctx -> {
+      metricsRegistry.add("LATEST_PARTITION_SLICES_PAGE", 1);
+      FileSlicePageDTO dto = sliceHandler.getLatestFileSlicesPaginated(
+          getBasePathParam(ctx),
+          getPartitionParam(ctx),
+          getCursorParam(ctx),
+          getPageSizeParam(ctx));
+      writeValueAsString(ctx, dto);
+    }, true));
+
+    app.get(RemoteHoodieTableFileSystemView.LATEST_PARTITION_SLICES_DELTA_URL, new ViewHandler(ctx -> {
+      metricsRegistry.add("LATEST_PARTITION_SLICES_DELTA", 1);
+      FileSlicesDeltaDTO dto = sliceHandler.getLatestFileSlicesDelta(
+          getBasePathParam(ctx),
+          getPartitionParam(ctx),
+          ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.SINCE_TIMELINE_HASH_PARAM, String.class).getOrDefault(""));
+      if (dto.isFullSync()) {
+        metricsRegistry.add("LATEST_PARTITION_SLICES_DELTA_FULL_SYNC", 1);
+      }
+      writeValueAsString(ctx, dto);
+    }, true));
+
     app.get(RemoteHoodieTableFileSystemView.LATEST_PARTITION_SLICES_INFLIGHT_URL, new ViewHandler(ctx -> {
       metricsRegistry.add("LATEST_PARTITION_SLICES_INFLIGHT", 1);
       List<FileSliceDTO> dtos = sliceHandler.getLatestFileSlicesIncludingInflight(
@@ -407,6 +487,16 @@ public class RequestHandler {
       writeValueAsString(ctx, dtos);
     }, true));
 
+    app.get(RemoteHoodieTableFileSystemView.ALL_LATEST_SLICES_BEFORE_ON_INSTANT_PAGE_URL, new ViewHandler(ctx -> {
+      metricsRegistry.add("ALL_LATEST_SLICES_BEFORE_ON_INSTANT_PAGE", 1);
+      FileSlicePageDTO dto = sliceHandler.getAllLatestFileSlicesBeforeOrOnPaginated(
+          getBasePathParam(ctx),
+          getMaxInstantParamMandatory(ctx),
+          getCursorParam(ctx),
+          getPageSizeParam(ctx));
+      writeValueAsString(ctx, dto);
+    }, true));
+
     app.get(RemoteHoodieTableFileSystemView.PENDING_COMPACTION_OPS_URL, new ViewHandler(ctx -> {
       metricsRegistry.add("PEDING_COMPACTION_OPS", 1);
       List<CompactionOpDTO> dtos = sliceHandler.getPendingCompactionOperations(getBasePathParam(ctx));
@@ -536,7 +626,7 @@ public class RequestHandler {
           getMarkerDirParam(ctx),
           ctx.queryParamAsClass(MarkerOperation.MARKER_NAME_PARAM, String.class).getOrDefault(""),
           ctx.queryParamAsClass(MarkerOperation.MARKER_BASEPATH_PARAM, String.class).getOrDefault("")));
-    }, false));
+    }, false, false));
 
     app.post(MarkerOperation.DELETE_MARKER_DIR_URL, new ViewHandler(ctx -> {
       metricsRegistry.add("DELETE_MARKER_DIR", 1);
@@ -566,11 +656,18 @@ public class RequestHandler {
 
     private final Handler handler;
     private final boolean performRefreshCheck;
+    // Whether the handler completes the request synchronously, so that it can be served on the worker threads
+    private final boolean dispatchable;
     private final UserGroupInformation ugi;
 
     ViewHandler(Handler handler, boolean performRefreshCheck) {
+      this(handler, performRefreshCheck, true);
+    }
+
+    ViewHandler(Handler handler, boolean performRefreshCheck, boolean dispatchable) {
       this.handler = handler;
       this.performRefreshCheck = performRefreshCheck;
+      this.dispatchable = dispatchable;
       try {
         ugi = UserGroupInformation.getCurrentUser();
       } catch (Exception e) {
@@ -581,6 +678,79 @@ public class RequestHandler {
 
     @Override
     public void handle(@NotNull Context context) throws Exception {
+      EndpointMetrics metrics = getEndpointMetrics(context);
+      long beginTs = System.currentTimeMillis();
+      metrics.onRequestReceived();
+      Option<String> coalescingKey = getCoalescingKey(context);
+      if (asyncRequestExecutor != null && dispatchable) {
+        Supplier<CompletableFuture<ResponsePayload>> request =
+            () -> asyncRequestExecutor.submit(getTableKey(context), () -> handleAndGetPayloadUnchecked(context));
+        CompletableFuture<ResponsePayload> future = coalescingKey.isPresent()
+            ? requestCoalescer.coalesce(coalescingKey.get(), request) : request.get();
+        context.future(future.whenComplete((payload, error) -> metrics.onRequestCompleted(
+            System.currentTimeMillis() - beginTs, payload == null ? -1L : payload.getSizeInBytes())),
+            payload -> {
+              if (payload != null) {
+                ((ResponsePayload) payload).applyTo(context);
+              }
+            });
+        return;
+      }
+
+      ResponsePayload payload = null;
+      try {
+        if (coalescingKey.isPresent()) {
+          // The first request is served on this thread and the duplicate ones wait for its result
+          CompletableFuture<ResponsePayload> future = requestCoalescer.coalesce(coalescingKey.get(),
+              () -> CompletableFuture.completedFuture(handleAndGetPayloadUnchecked(context)));
+          try {
+            payload = future.join();
+          } catch (CompletionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+          }
+          if (payload != null) {
+            payload.applyTo(context);
+          }
+        } else {
+          payload = handleAndGetPayload(context);
+        }
+      } finally {
+        metrics.onRequestCompleted(System.currentTimeMillis() - beginTs, payload == null ? -1L : payload.getSizeInBytes());
+      }
+    }
+
+    /**
+     * Returns the key identifying the duplicate requests to coalesce, if the request can be coalesced,
+     * i.e., reading the file system view.
+     */
+    private Option<String> getCoalescingKey(Context context) {
+      if (requestCoalescer == null || !performRefreshCheck || !dispatchable || !"GET".equals(context.method())) {
+        return Option.empty();
+      }
+      return Option.of(context.path() + "?" + context.queryString()
+          + "#" + context.header(TimelineServiceWireFormat.ACCEPT_HEADER));
+    }
+
+    private String getTableKey(Context context) {
+      String basePath = context.queryParam(RemoteHoodieTableFileSystemView.BASEPATH_PARAM);
+      if (basePath != null) {
+        return basePath;
+      }
+      String markerDir = context.queryParam(MarkerOperation.MARKER_DIR_PATH_PARAM);
+      return markerDir != null ? markerDir : "";
+    }
+
+    private ResponsePayload handleAndGetPayloadUnchecked(Context context) {
+      try {
+        return handleAndGetPayload(context);
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Exception e) {
+        throw new HoodieException(e);
+      }
+    }
+
+    private ResponsePayload handleAndGetPayload(Context context) throws Exception {
       ugi.doAs((PrivilegedExceptionAction<Void>) () -> {
         boolean success = true;
         long beginTs = System.currentTimeMillis();
@@ -642,6 +812,7 @@ public class RequestHandler {
         }
         return null;
       });
+      return context.attribute(RESPONSE_PAYLOAD_ATTRIBUTE);
     }
 
     /**
@@ -716,4 +887,35 @@ public class RequestHandler {
       return ctx.queryParamAsClass(RemoteHoodieTableFileSystemView.TIMELINE_HASH, String.class).getOrDefault("");
     }
   }
+
+  /**
+   * Response of a request, kept to be sent to the coalesced requests and to measure the payload size.
+   */
+  private static class ResponsePayload {
+    private final String stringContent;
+    private final byte[] bytesContent;
+    private final String contentType;
+
+    ResponsePayload(String stringContent, byte[] bytesContent, String contentType) {
+      this.stringContent = stringContent;
+      this.bytesContent = bytesContent;
+      this.contentType = contentType;
+    }
+
+    void applyTo(Context ctx) {
+      if (contentType != null) {
+        ctx.contentType(contentType);
+      }
+      if (stringContent != null) {
+        ctx.result(stringContent);
+      } else {
+        ctx.result(bytesContent);
+      }
+    }
+
+    long getSizeInBytes() {
+      // The JSON responses are mostly ASCII, so the length approximates the size without encoding again
+      return stringContent != null ? stringContent.length() : bytesContent.length;
+    }
+  }
 }
@@ -27,10 +27,13 @@ import org.apache.hudi.common.table.view.FileSystemViewStorageConfig;
 import org.apache.hudi.common.table.view.FileSystemViewStorageType;
 import org.apache.hudi.hadoop.fs.HadoopFSUtils;
 import org.apache.hudi.storage.StorageConfiguration;
+import org.apache.hudi.timeline.TimelineServiceWireFormat;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
 import io.javalin.Javalin;
+import io.javalin.core.compression.CompressionStrategy;
+import io.javalin.core.compression.Gzip;
 import io.javalin.core.util.JavalinBindException;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.util.thread.QueuedThreadPool;
@@ -40,6 +43,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * A standalone timeline service exposing File-System View interfaces to clients.
@@ -49,6 +54,8 @@ public class TimelineService {
   private static final Logger LOG = LoggerFactory.getLogger(TimelineService.class);
   private static final int START_SERVICE_MAX_RETRIES = 16;
   private static final int DEFAULT_NUM_THREADS = 250;
+  private static final int DEFAULT_ASYNC_REQUEST_THREADS = 64;
+  private static final int DEFAULT_MAX_CONCURRENT_REQUESTS_PER_TABLE = 16;
 
   private int serverPort;
   private final Config timelineServerConf;
@@ -99,12 +106,35 @@ public class TimelineService {
     @Parameter(names = {"--rocksdb-path", "-rp"}, description = "Root directory for RocksDB")
     public String rocksDBPath = FileSystemViewStorageConfig.ROCKSDB_BASE_PATH.defaultValue();
 
+    @Parameter(names = {"--snapshot-path", "-snp"}, description = "Root directory for memory-mapped snapshots of file system views")
+    public String snapshotPath = FileSystemViewStorageConfig.SNAPSHOT_BASE_PATH.defaultValue();
+
     @Parameter(names = {"--threads", "-t"}, description = "Number of threads to use for serving requests. The default number is 250")
     public int numThreads = DEFAULT_NUM_THREADS;
 
     @Parameter(names = {"--async"}, description = "Use asynchronous request processing")
     public boolean async = false;
 
+    @Parameter(names = {"--async-request-handling"}, description = "Serve the requests on a pool of worker threads, "
+        + "with bounded concurrency per table, releasing the server threads while the requests wait")
+    public boolean asyncRequestHandling = false;
+
+    @Parameter(names = {"--async-request-threads"}, description = "Number of worker threads to serve the requests "
+        + "with `--async-request-handling`")
+    public int asyncRequestThreads = DEFAULT_ASYNC_REQUEST_THREADS;
+
+    @Parameter(names = {"--use-virtual-threads"}, description = "Serve the requests on virtual threads with "
+        + "`--async-request-handling`, if supported by the JVM, i.e., Java 21 and above")
+    public boolean useVirtualThreads = false;
+
+    @Parameter(names = {"--max-concurrent-requests-per-table"}, description = "Maximum number of requests of the same "
+        + "table served at the same time with `--async-request-handling`. The other requests of the table wait in a queue")
+    public int maxConcurrentRequestsPerTable = DEFAULT_MAX_CONCURRENT_REQUESTS_PER_TABLE;
+
+    @Parameter(names = {"--coalesce-requests"}, description = "Serve the duplicate view requests in flight at the "
+        + "same time, i.e., with the same path and query, only once and share the response")
+    public boolean coalesceRequests = false;
+
     @Parameter(names = {"--compress"}, description = "Compress output using gzip")
     public boolean compress = true;
 
@@ -179,8 +209,14 @@ public class TimelineService {
       private Double memFractionForCompactionPerTable = 0.001;
       private String baseStorePathForFileGroups = FileSystemViewStorageConfig.SPILLABLE_DIR.defaultValue();
       private String rocksDBPath = FileSystemViewStorageConfig.ROCKSDB_BASE_PATH.defaultValue();
+      private String snapshotPath = FileSystemViewStorageConfig.SNAPSHOT_BASE_PATH.defaultValue();
       private int numThreads = DEFAULT_NUM_THREADS;
       private boolean async = false;
+      private boolean asyncRequestHandling = false;
+      private int asyncRequestThreads = DEFAULT_ASYNC_REQUEST_THREADS;
+      private boolean useVirtualThreads = false;
+      private int maxConcurrentRequestsPerTable = DEFAULT_MAX_CONCURRENT_REQUESTS_PER_TABLE;
+      private boolean coalesceRequests = false;
       private boolean compress = true;
       private boolean enableMarkerRequests = false;
       private boolean enableInstantStateRequests = false;
@@ -229,6 +265,11 @@ public class TimelineService {
         return this;
       }
 
+      public Builder snapshotPath(String snapshotPath) {
+        this.snapshotPath = snapshotPath;
+        return this;
+      }
+
       public Builder numThreads(int numThreads) {
         this.numThreads = numThreads;
         return this;
@@ -239,6 +280,31 @@ public class TimelineService {
         return this;
       }
 
+      public Builder asyncRequestHandling(boolean asyncRequestHandling) {
+        this.asyncRequestHandling = asyncRequestHandling;
+        return this;
+      }
+
+      public Builder asyncRequestThreads(int asyncRequestThreads) {
+        this.asyncRequestThreads = asyncRequestThreads;
+        return this;
+      }
+
+      public Builder useVirtualThreads(boolean useVirtualThreads) {
+        this.useVirtualThreads = useVirtualThreads;
+        return this;
+      }
+
+      public Builder maxConcurrentRequestsPerTable(int maxConcurrentRequestsPerTable) {
+        this.maxConcurrentRequestsPerTable = maxConcurrentRequestsPerTable;
+        return this;
+      }
+
+      public Builder coalesceRequests(boolean coalesceRequests) {
+        this.coalesceRequests = coalesceRequests;
+        return this;
+      }
+
       public Builder compress(boolean compress) {
         this.compress = compress;
         return this;
@@ -312,8 +378,14 @@ public class TimelineService {
         config.memFractionForCompactionPerTable = this.memFractionForCompactionPerTable;
         config.baseStorePathForFileGroups = this.baseStorePathForFileGroups;
         config.rocksDBPath = this.rocksDBPath;
+        config.snapshotPath = this.snapshotPath;
         config.numThreads = this.numThreads;
         config.async = this.async;
+        config.asyncRequestHandling = this.asyncRequestHandling;
+        config.asyncRequestThreads = this.asyncRequestThreads;
+        config.useVirtualThreads = this.useVirtualThreads;
+        config.maxConcurrentRequestsPerTable = this.maxConcurrentRequestsPerTable;
+        config.coalesceRequests = this.coalesceRequests;
         config.compress = this.compress;
         config.enableMarkerRequests = this.enableMarkerRequests;
         config.markerBatchNumThreads = this.markerBatchNumThreads;
@@ -380,7 +452,14 @@ public class TimelineService {
 
     app = Javalin.create(c -> {
       if (!timelineServerConf.compress) {
-        c.compressionStrategy(io.javalin.core.compression.CompressionStrategy.NONE);
+        c.compressionStrategy(CompressionStrategy.NONE);
+      } else {
+        // Responses compressed with ZSTD are not compressed again
+        CompressionStrategy compressionStrategy = new CompressionStrategy(null, new Gzip());
+        List<String> excludedMimeTypes = new ArrayList<>(compressionStrategy.getExcludedMimeTypesFromCompression());
+        excludedMimeTypes.add(TimelineServiceWireFormat.KRYO_ZSTD.getContentType());
+        compressionStrategy.setExcludedMimeTypesFromCompression(excludedMimeTypes);
+        c.compressionStrategy(compressionStrategy);
       }
       c.server(() -> server);
     });
@@ -420,6 +499,12 @@ public class TimelineService {
             .withRocksDBPath(config.rocksDBPath);
         return FileSystemViewManager.createViewManager(localEngineContext, metadataConfig, rocksDBConfBuilder.build(), commonConfig);
       }
+      case MEMORY_MAPPED_SNAPSHOT: {
+        FileSystemViewStorageConfig.Builder snapshotConfBuilder = FileSystemViewStorageConfig.newBuilder();
+        snapshotConfBuilder.withStorageType(FileSystemViewStorageType.MEMORY_MAPPED_SNAPSHOT)
+            .withSnapshotBasePath(config.snapshotPath);
+        return FileSystemViewManager.createViewManager(localEngineContext, metadataConfig, snapshotConfBuilder.build(), commonConfig);
+      }
       default:
         throw new IllegalArgumentException("Invalid view manager storage type :" + config.viewStorageType);
     }
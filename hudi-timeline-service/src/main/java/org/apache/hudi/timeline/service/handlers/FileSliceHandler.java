@@ -18,27 +18,63 @@
 
 package org.apache.hudi.timeline.service.handlers;
 
+import org.apache.hudi.common.model.CompactionOperation;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.model.HoodieReplaceCommitMetadata;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
+import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.dto.ClusteringOpDTO;
 import org.apache.hudi.common.table.timeline.dto.CompactionOpDTO;
 import org.apache.hudi.common.table.timeline.dto.DTOUtils;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
 import org.apache.hudi.common.table.timeline.dto.FileSliceDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicePageDTO;
+import org.apache.hudi.common.table.timeline.dto.FileSlicesDeltaDTO;
 import org.apache.hudi.common.table.view.FileSystemViewManager;
+import org.apache.hudi.common.table.view.SyncableFileSystemView;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.common.util.StringUtils;
+import org.apache.hudi.common.util.collection.Pair;
+import org.apache.hudi.exception.HoodieIOException;
 import org.apache.hudi.storage.StorageConfiguration;
 import org.apache.hudi.timeline.service.TimelineService;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * REST Handler servicing file-slice requests.
  */
 public class FileSliceHandler extends Handler {
 
+  // Number of timelines of each table kept to compute the changes to the latest file slices since
+  private static final int MAX_TIMELINES_PER_TABLE = 32;
+  // Number of completed instants whose changed file IDs per partition are kept
+  private static final int MAX_CACHED_INSTANTS = 256;
+
+  // Base path -> timeline hash -> timeline, in access order
+  private final Map<String, LinkedHashMap<String, HoodieTimeline>> timelinesByHash = new HashMap<>();
+  // (Base path, completed instant) -> partition path -> file IDs written or replaced by the instant
+  private final LinkedHashMap<Pair<String, HoodieInstant>, Map<String, Set<String>>> changedFileIdsByInstant =
+      new LinkedHashMap<Pair<String, HoodieInstant>, Map<String, Set<String>>>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Pair<String, HoodieInstant>, Map<String, Set<String>>> eldest) {
+          return size() > MAX_CACHED_INSTANTS;
+        }
+      };
+
   public FileSliceHandler(StorageConfiguration<?> conf, TimelineService.Config timelineServiceConfig,
                           FileSystemViewManager viewManager) {
     super(conf, timelineServiceConfig, viewManager);
@@ -77,6 +113,12 @@ public class FileSliceHandler extends Handler {
         ));
   }
 
+  public FileSlicePageDTO getAllLatestFileSlicesBeforeOrOnPaginated(String basePath, String maxInstantTime,
+                                                                   Option<String> cursor, int pageSize) {
+    return FileSlicePageDTO.fromFileSlicePage(viewManager.getFileSystemView(basePath)
+        .getAllLatestFileSlicesBeforeOrOnPaginated(maxInstantTime, cursor, pageSize));
+  }
+
   public List<FileSliceDTO> getLatestUnCompactedFileSlices(String basePath, String partitionPath) {
     return viewManager.getFileSystemView(basePath).getLatestUnCompactedFileSlices(partitionPath)
         .map(FileSliceDTO::fromFileSlice).collect(Collectors.toList());
@@ -87,6 +129,50 @@ public class FileSliceHandler extends Handler {
         .collect(Collectors.toList());
   }
 
+  public FileSlicePageDTO getLatestFileSlicesPaginated(String basePath, String partitionPath,
+                                                      Option<String> cursor, int pageSize) {
+    return FileSlicePageDTO.fromFileSlicePage(viewManager.getFileSystemView(basePath)
+        .getLatestFileSlicesPaginated(partitionPath, cursor, pageSize));
+  }
+
+  /**
+   * Gets the changes to the latest file slices of a partition since the timeline with the given hash,
+   * which is the timeline of a previous response of this method.
+   * <p>
+   * The changed file groups are derived by diffing the timelines, in the same way as the incremental
+   * timeline sync of the file system view: the instants completed since the old timeline change the
+   * file groups they wrote or replaced, and newly scheduled compactions change the file groups they
+   * compact. If a completed instant of the old timeline is removed without being archived, e.g., by a
+   * rollback or restore, or a pending compaction is unscheduled, or the old timeline is unknown, all
+   * the latest file slices of the partition are returned.
+   *
+   * @param basePath           base path of the table.
+   * @param partitionPath      partition path.
+   * @param sinceTimelineHash  hash of the timeline of the file slices known to the client, empty if none.
+   * @return the changes to the latest file slices since the timeline.
+   */
+  public FileSlicesDeltaDTO getLatestFileSlicesDelta(String basePath, String partitionPath, String sinceTimelineHash) {
+    SyncableFileSystemView view = viewManager.getFileSystemView(basePath);
+    // Take the timeline before the file slices so that the file slices are never older than the timeline
+    HoodieTimeline timeline = view.getTimeline();
+    String timelineHash = timeline.getTimelineHash();
+    Option<HoodieTimeline> sinceTimeline = StringUtils.isNullOrEmpty(sinceTimelineHash)
+        ? Option.empty() : getTimelineByHash(basePath, sinceTimelineHash);
+    putTimelineByHash(basePath, timelineHash, timeline);
+
+    Option<Set<String>> changedFileIds = sinceTimeline.isPresent()
+        ? getChangedFileIds(basePath, view, partitionPath, sinceTimeline.get(), timeline) : Option.empty();
+    if (!changedFileIds.isPresent()) {
+      return FileSlicesDeltaDTO.fullSync(timelineHash, view.getLatestFileSlices(partitionPath)
+          .map(FileSliceDTO::fromFileSlice).collect(Collectors.toList()));
+    }
+    Set<String> fileIds = changedFileIds.get();
+    List<FileSliceDTO> fileSlices = fileIds.isEmpty() ? Collections.emptyList() : view.getLatestFileSlices(partitionPath)
+        .filter(fileSlice -> fileIds.contains(fileSlice.getFileId()))
+        .map(FileSliceDTO::fromFileSlice).collect(Collectors.toList());
+    return FileSlicesDeltaDTO.delta(timelineHash, new ArrayList<>(fileIds), fileSlices);
+  }
+
   public List<FileSliceDTO> getLatestFileSlicesIncludingInflight(String basePath, String partitionPath) {
     return viewManager.getFileSystemView(basePath).getLatestFileSlicesIncludingInflight(partitionPath).map(FileSliceDTO::fromFileSlice)
         .collect(Collectors.toList());
@@ -170,4 +256,115 @@ public class FileSliceHandler extends Handler {
     viewManager.getFileSystemView(basePath).loadPartitions(partitionPaths);
     return true;
   }
+
+  private synchronized Option<HoodieTimeline> getTimelineByHash(String basePath, String timelineHash) {
+    LinkedHashMap<String, HoodieTimeline> timelines = timelinesByHash.get(basePath);
+    return timelines == null ? Option.empty() : Option.ofNullable(timelines.get(timelineHash));
+  }
+
+  private synchronized void putTimelineByHash(String basePath, String timelineHash, HoodieTimeline timeline) {
+    LinkedHashMap<String, HoodieTimeline> timelines = timelinesByHash.computeIfAbsent(basePath,
+        k -> new LinkedHashMap<String, HoodieTimeline>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<String, HoodieTimeline> eldest) {
+            return size() > MAX_TIMELINES_PER_TABLE;
+          }
+        });
+    timelines.put(timelineHash, timeline);
+  }
+
+  /**
+   * @return the IDs of the file groups in the partition changed between the timelines, or empty if
+   * the changes cannot be derived from the timelines.
+   */
+  private Option<Set<String>> getChangedFileIds(String basePath, SyncableFileSystemView view, String partitionPath,
+                                                HoodieTimeline oldTimeline, HoodieTimeline newTimeline) {
+    String partition = partitionPath.startsWith("/") ? partitionPath.substring(1) : partitionPath;
+    Set<HoodieInstant> oldInstants = oldTimeline.getInstantsAsStream().collect(Collectors.toSet());
+    Set<HoodieInstant> newInstants = newTimeline.getInstantsAsStream().collect(Collectors.toSet());
+    for (HoodieInstant instant : oldInstants) {
+      if (newInstants.contains(instant)) {
+        continue;
+      }
+      if (instant.isCompleted() && !newTimeline.isBeforeTimelineStarts(instant.requestedTime())) {
+        // Rolled back or restored, the file groups before the instant are not known
+        return Option.empty();
+      }
+      if (isCompactionAction(instant.getAction()) && !newTimeline.containsInstant(instant.requestedTime())) {
+        // Unscheduled compaction, the log files could have been moved
+        return Option.empty();
+      }
+    }
+
+    Set<String> changedFileIds = new HashSet<>();
+    Set<String> newPendingCompactionInstants = new HashSet<>();
+    for (HoodieInstant instant : newInstants) {
+      if (oldInstants.contains(instant)) {
+        continue;
+      }
+      if (instant.isCompleted()) {
+        Set<String> fileIds = getChangedFileIdsByInstant(basePath, newTimeline, instant).get(partition);
+        if (fileIds != null) {
+          changedFileIds.addAll(fileIds);
+        }
+      } else if (isCompactionAction(instant.getAction())) {
+        newPendingCompactionInstants.add(instant.requestedTime());
+      }
+    }
+    if (!newPendingCompactionInstants.isEmpty()) {
+      Stream.concat(view.getPendingCompactionOperations(), view.getPendingLogCompactionOperations())
+          .filter(instantOp -> newPendingCompactionInstants.contains(instantOp.getKey()))
+          .map(Pair::getValue)
+          .filter(op -> partition.equals(op.getPartitionPath()))
+          .map(CompactionOperation::getFileId)
+          .forEach(changedFileIds::add);
+    }
+    return Option.of(changedFileIds);
+  }
+
+  private static boolean isCompactionAction(String action) {
+    return HoodieTimeline.COMPACTION_ACTION.equals(action) || HoodieTimeline.LOG_COMPACTION_ACTION.equals(action);
+  }
+
+  private Map<String, Set<String>> getChangedFileIdsByInstant(String basePath, HoodieTimeline timeline, HoodieInstant instant) {
+    Pair<String, HoodieInstant> key = Pair.of(basePath, instant);
+    synchronized (changedFileIdsByInstant) {
+      Map<String, Set<String>> cached = changedFileIdsByInstant.get(key);
+      if (cached != null) {
+        return cached;
+      }
+    }
+    Map<String, Set<String>> fileIdsByPartition = new HashMap<>();
+    try {
+      switch (instant.getAction()) {
+        case HoodieTimeline.COMMIT_ACTION:
+        case HoodieTimeline.DELTA_COMMIT_ACTION:
+          addWrittenFileIds(timeline.readCommitMetadata(instant), fileIdsByPartition);
+          break;
+        case HoodieTimeline.REPLACE_COMMIT_ACTION:
+        case HoodieTimeline.CLUSTERING_ACTION:
+          HoodieReplaceCommitMetadata replaceMetadata = timeline.readReplaceCommitMetadata(instant);
+          addWrittenFileIds(replaceMetadata, fileIdsByPartition);
+          replaceMetadata.getPartitionToReplaceFileIds().forEach((partition, fileIds) ->
+              fileIdsByPartition.computeIfAbsent(partition, k -> new HashSet<>()).addAll(fileIds));
+          break;
+        default:
+          // Other actions, e.g., clean, do not change the latest file slices
+          break;
+      }
+    } catch (IOException e) {
+      throw new HoodieIOException("Failed to read the metadata of instant " + instant, e);
+    }
+    synchronized (changedFileIdsByInstant) {
+      changedFileIdsByInstant.put(key, fileIdsByPartition);
+    }
+    return fileIdsByPartition;
+  }
+
+  private static void addWrittenFileIds(HoodieCommitMetadata metadata, Map<String, Set<String>> fileIdsByPartition) {
+    for (Map.Entry<String, List<HoodieWriteStat>> entry : metadata.getPartitionToWriteStats().entrySet()) {
+      Set<String> fileIds = fileIdsByPartition.computeIfAbsent(entry.getKey(), k -> new HashSet<>());
+      entry.getValue().forEach(stat -> fileIds.add(stat.getFileId()));
+    }
+  }
 }
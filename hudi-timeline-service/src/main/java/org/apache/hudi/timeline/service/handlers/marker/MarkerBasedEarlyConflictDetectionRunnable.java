@@ -83,11 +83,12 @@ public class MarkerBasedEarlyConflictDetectionRunnable implements Runnable {
       }
 
       HoodieTimer timer = HoodieTimer.start();
-      Set<String> currentInstantAllMarkers = new HashSet<>();
       // We need to check both the markers already written to the storage
       // and the markers from the requests pending processing.
-      currentInstantAllMarkers.addAll(markerHandler.getAllMarkers(markerDir));
-      currentInstantAllMarkers.addAll(pendingMarkers);
+      // The markers in memory are scanned in place without copying the marker set.
+      Set<String> currentFileIDs = new HashSet<>();
+      markerHandler.getAllMarkers(markerDir).forEach(marker -> currentFileIDs.add(MarkerUtils.makerToPartitionAndFileID(marker)));
+      pendingMarkers.forEach(marker -> currentFileIDs.add(MarkerUtils.makerToPartitionAndFileID(marker)));
       StoragePath tempPath = new StoragePath(basePath, HoodieTableMetaClient.TEMPFOLDER_NAME);
 
       List<StoragePath> instants = MarkerUtils.getAllMarkerDir(tempPath, storage);
@@ -106,15 +107,13 @@ public class MarkerBasedEarlyConflictDetectionRunnable implements Runnable {
             .values().stream().flatMap(Collection::stream);
       }).collect(Collectors.toSet());
 
-      Set<String> currentFileIDs = currentInstantAllMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
       Set<String> tableFilesIDs = tableMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet());
 
-      currentFileIDs.retainAll(tableFilesIDs);
-      if (!currentFileIDs.isEmpty()
-          || (checkCommitConflict && MarkerUtils.hasCommitConflict(activeTimeline,
-          currentInstantAllMarkers.stream().map(MarkerUtils::makerToPartitionAndFileID).collect(Collectors.toSet()), completedCommits))) {
+      Set<String> conflictFileIDs = currentFileIDs.stream().filter(tableFilesIDs::contains).collect(Collectors.toSet());
+      if (!conflictFileIDs.isEmpty()
+          || (checkCommitConflict && MarkerUtils.hasCommitConflict(activeTimeline, currentFileIDs, completedCommits))) {
         LOG.warn("Conflict writing detected based on markers!\n"
-            + "Conflict markers: " + currentInstantAllMarkers + "\n"
+            + "Conflict file IDs: " + conflictFileIDs + "\n"
             + "Table markers: " + tableMarkers);
         hasConflict.compareAndSet(false, true);
       }
@@ -24,6 +24,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ExecutorService;
@@ -33,6 +34,8 @@ import java.util.concurrent.ExecutorService;
  */
 public class MarkerCreationDispatchingRunnable implements Runnable {
   public static final Logger LOG = LoggerFactory.getLogger(MarkerCreationDispatchingRunnable.class);
+  // Minimum number of marker creation requests in a batch to split across multiple marker files
+  static final int MIN_NUM_REQUESTS_PER_SHARD = 128;
 
   // Marker directory states, {markerDirPath -> MarkerDirState instance}
   private final Map<String, MarkerDirState> markerDirStateMap;
@@ -55,10 +58,11 @@ public class MarkerCreationDispatchingRunnable implements Runnable {
    *   no request, skip this marker directory;
    * (3) put the marker directory, marker dir state, list of requests futures, and the file index
    *   to a {@code MarkerDirRequestContext} instance and add the instance to the request context list.
+   *   If there are many requests, they are split across more available file indexes, so that
+   *   the markers of the same marker directory are written to multiple files in parallel.
    *
-   * If the request context list is not empty, spins up a worker thread, {@code MarkerCreationBatchingRunnable},
-   * and pass all the request context to the thread for batch processing.  The thread is responsible
-   * for responding to the request futures directly.
+   * For each request context, spins up a worker thread, {@code MarkerCreationBatchingRunnable},
+   * for batch processing.  The thread is responsible for responding to the request futures directly.
    */
   @Override
   public void run() {
@@ -80,13 +84,26 @@ public class MarkerCreationDispatchingRunnable implements Runnable {
         markerDirState.markFileAsAvailable(fileIndex.get());
         continue;
       }
-      requestContextList.add(
-          new BatchedMarkerCreationContext(markerDir, markerDirState, futures, fileIndex.get()));
+      List<Integer> fileIndexes = new ArrayList<>();
+      fileIndexes.add(fileIndex.get());
+      while (futures.size() >= (fileIndexes.size() + 1) * MIN_NUM_REQUESTS_PER_SHARD) {
+        Option<Integer> nextFileIndex = markerDirState.getNextFileIndexToUse();
+        if (!nextFileIndex.isPresent()) {
+          break;
+        }
+        fileIndexes.add(nextFileIndex.get());
+      }
+      int numRequestsPerShard = (futures.size() + fileIndexes.size() - 1) / fileIndexes.size();
+      for (int i = 0; i < fileIndexes.size(); i++) {
+        requestContextList.add(new BatchedMarkerCreationContext(markerDir, markerDirState,
+            futures.subList(Math.min(futures.size(), i * numRequestsPerShard), Math.min(futures.size(), (i + 1) * numRequestsPerShard)),
+            fileIndexes.get(i)));
+      }
     }
 
-    if (requestContextList.size() > 0) {
+    for (BatchedMarkerCreationContext requestContext : requestContextList) {
       executorService.execute(
-          new BatchedMarkerCreationRunnable(requestContextList));
+          new BatchedMarkerCreationRunnable(Collections.singletonList(requestContext)));
     }
   }
 }
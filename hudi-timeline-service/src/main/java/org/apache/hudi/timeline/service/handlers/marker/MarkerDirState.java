@@ -35,7 +35,6 @@ import org.apache.hudi.storage.StoragePath;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
-import org.apache.hadoop.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,8 +45,6 @@ import java.io.OutputStreamWriter;
 import java.io.Serializable;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,6 +59,12 @@ import static org.apache.hudi.timeline.service.RequestHandler.jsonifyResult;
  * Stores the state of a marker directory.
  *
  * The operations inside this class is designed to be thread-safe.
+ * <p>
+ * The markers are sharded by the underlying marker files, i.e., "MARKERS0", "MARKERS1", etc.
+ * Each shard has its own lock and in-memory content of the marker file, so that batches of
+ * marker creation requests of the same marker directory are processed and flushed by multiple
+ * threads in parallel, each on a different shard.  Duplicate markers across the shards are
+ * detected by the shared {@link MarkerIndex} without a global lock.
  */
 public class MarkerDirState implements Serializable {
   private static final Logger LOG = LoggerFactory.getLogger(MarkerDirState.class);
@@ -71,11 +74,10 @@ public class MarkerDirState implements Serializable {
   private final HoodieStorage storage;
   private final Registry metricsRegistry;
   // A cached copy of all markers in memory
-  private final Set<String> allMarkers = new HashSet<>();
-  // A cached copy of marker entries in each marker file, stored in StringBuilder
-  // for efficient appending
-  // Mapping: {markerFileIndex -> markers}
-  private final Map<Integer, StringBuilder> fileMarkersMap = new HashMap<>();
+  private final MarkerIndex allMarkers = new MarkerIndex();
+  // Shards of markers, one per underlying marker file.
+  // Index of the list is used for the filename, i.e., "1" -> "MARKERS1"
+  private final List<MarkerFileShard> shards;
   // A list of use status of underlying files storing markers by a thread.
   // {@code true} means the file is in use by a {@code BatchCreateMarkerRunnable}.
   // Index of the list is used for the filename, i.e., "1" -> "MARKERS1"
@@ -83,14 +85,17 @@ public class MarkerDirState implements Serializable {
   // A list of pending futures from async marker creation requests
   private final List<MarkerCreationFuture> markerCreationFutures = new ArrayList<>();
   private final int parallelism;
-  private final Object markerCreationProcessingLock = new Object();
+  // Lock guarding the use status of the underlying files
+  private final Object fileIndexLock = new Object();
+  // Lock guarding the creation of the marker directory and MARKERS.type file
+  private final Object markerTypeLock = new Object();
   // Early conflict detection strategy if enabled
   private final Option<TimelineServerBasedDetectionStrategy> conflictDetectionStrategy;
   private transient HoodieEngineContext hoodieEngineContext;
   // Last underlying file index used, for finding the next file index
   // in a round-robin fashion
   private int lastFileIndexUsed = -1;
-  private boolean isMarkerTypeWritten = false;
+  private volatile boolean isMarkerTypeWritten = false;
 
   public MarkerDirState(String markerDirPath, int markerBatchNumThreads,
                         Option<TimelineServerBasedDetectionStrategy> conflictDetectionStrategy,
@@ -103,6 +108,8 @@ public class MarkerDirState implements Serializable {
     this.parallelism = parallelism;
     this.threadUseStatus =
         Stream.generate(() -> false).limit(markerBatchNumThreads).collect(Collectors.toList());
+    this.shards =
+        Stream.generate(MarkerFileShard::new).limit(markerBatchNumThreads).collect(Collectors.toList());
     this.conflictDetectionStrategy = conflictDetectionStrategy;
     // Lazy initialization of markers by reading MARKERS* files on the file system
     syncMarkersFromFileSystem();
@@ -120,12 +127,19 @@ public class MarkerDirState implements Serializable {
   }
 
   /**
-   * @return all markers in the marker directory.
+   * @return all markers in the marker directory, as a live view which is not copied.
    */
   public Set<String> getAllMarkers() {
     return allMarkers;
   }
 
+  /**
+   * @return the in-memory index of all markers in the marker directory.
+   */
+  public MarkerIndex getMarkerIndex() {
+    return allMarkers;
+  }
+
   /**
    * Adds a {@code MarkerCreationCompletableFuture} instance from a marker
    * creation request to the queue.
@@ -144,7 +158,7 @@ public class MarkerDirState implements Serializable {
    */
   public Option<Integer> getNextFileIndexToUse() {
     int fileIndex = -1;
-    synchronized (markerCreationProcessingLock) {
+    synchronized (fileIndexLock) {
       // Scans for the next free file index to use after {@code lastFileIndexUsed}
       for (int i = 0; i < threadUseStatus.size(); i++) {
         int index = (lastFileIndexUsed + 1 + i) % threadUseStatus.size();
@@ -169,7 +183,7 @@ public class MarkerDirState implements Serializable {
    * @param fileIndex file index
    */
   public void markFileAsAvailable(int fileIndex) {
-    synchronized (markerCreationProcessingLock) {
+    synchronized (fileIndexLock) {
       threadUseStatus.set(fileIndex, false);
     }
   }
@@ -215,8 +229,9 @@ public class MarkerDirState implements Serializable {
     LOG.debug("timeMs={} markerDirPath={} numRequests={} fileIndex={}",
         System.currentTimeMillis(), markerDirPath, pendingMarkerCreationFutures.size(), fileIndex);
     boolean shouldFlushMarkers = false;
-    
-    synchronized (markerCreationProcessingLock) {
+    MarkerFileShard shard = shards.get(fileIndex);
+
+    synchronized (shard) {
       for (MarkerCreationFuture future : pendingMarkerCreationFutures) {
         String markerName = future.getMarkerName();
         boolean exists = allMarkers.contains(markerName);
@@ -233,26 +248,32 @@ public class MarkerDirState implements Serializable {
               LOG.warn("Failed to execute early conflict detection.", e);
               // When early conflict detection fails to execute, we still allow the marker creation
               // to continue
-              addMarkerToMap(fileIndex, markerName);
-              future.setResult(true);
-              shouldFlushMarkers = true;
+              boolean added = addMarkerToShard(shard, markerName);
+              future.setResult(added);
+              shouldFlushMarkers |= added;
               continue;
             }
           }
-          addMarkerToMap(fileIndex, markerName);
-          shouldFlushMarkers = true;
+          // The marker may be added by another shard concurrently, in which case
+          // the marker is not created by this request
+          exists = !addMarkerToShard(shard, markerName);
+          shouldFlushMarkers |= !exists;
         }
         future.setResult(!exists);
       }
 
       if (!isMarkerTypeWritten) {
-        // Create marker directory and write marker type to MARKERS.type
-        writeMarkerTypeToFile();
-        isMarkerTypeWritten = true;
+        synchronized (markerTypeLock) {
+          if (!isMarkerTypeWritten) {
+            // Create marker directory and write marker type to MARKERS.type
+            writeMarkerTypeToFile();
+            isMarkerTypeWritten = true;
+          }
+        }
+      }
+      if (shouldFlushMarkers) {
+        flushMarkersToFile(fileIndex, shard);
       }
-    }
-    if (shouldFlushMarkers) {
-      flushMarkersToFile(fileIndex);
     }
     markFileAsAvailable(fileIndex);
 
@@ -273,8 +294,12 @@ public class MarkerDirState implements Serializable {
    */
   public boolean deleteAllMarkers() {
     boolean result = FSUtils.deleteDir(hoodieEngineContext, storage, new StoragePath(markerDirPath), parallelism);
+    for (MarkerFileShard shard : shards) {
+      synchronized (shard) {
+        shard.content.setLength(0);
+      }
+    }
     allMarkers.clear();
-    fileMarkersMap.clear();
     return result;
   }
 
@@ -289,7 +314,12 @@ public class MarkerDirState implements Serializable {
       if (!fileMarkers.isEmpty()) {
         int index = parseMarkerFileIndex(markersFilePathStr);
         if (index >= 0) {
-          fileMarkersMap.put(index, new StringBuilder(StringUtils.join(",", fileMarkers)));
+          // Marker files beyond the number of shards are kept as is, while
+          // the markers are still tracked in memory
+          if (index < shards.size()) {
+            StringBuilder content = shards.get(index).content;
+            fileMarkers.forEach(marker -> content.append(marker).append('\n'));
+          }
           allMarkers.addAll(fileMarkers);
         }
       }
@@ -305,16 +335,19 @@ public class MarkerDirState implements Serializable {
   }
 
   /**
-   * Adds a new marker to the in-memory map.
+   * Adds a new marker to the in-memory index and the content of the shard.
    *
-   * @param fileIndex  Marker file index number.
+   * @param shard      Shard of the marker file to write the marker.
    * @param markerName Marker name.
+   * @return {@code true} if the marker is added; {@code false} if the marker already exists.
    */
-  private void addMarkerToMap(int fileIndex, String markerName) {
-    allMarkers.add(markerName);
-    StringBuilder stringBuilder = fileMarkersMap.computeIfAbsent(fileIndex, k -> new StringBuilder(16384));
-    stringBuilder.append(markerName);
-    stringBuilder.append('\n');
+  private boolean addMarkerToShard(MarkerFileShard shard, String markerName) {
+    if (!allMarkers.add(markerName)) {
+      return false;
+    }
+    shard.content.append(markerName);
+    shard.content.append('\n');
+    return true;
   }
 
   /**
@@ -360,8 +393,9 @@ public class MarkerDirState implements Serializable {
    * Flushes markers to the underlying file.
    *
    * @param markerFileIndex  file index to use.
+   * @param shard            shard of the marker file, whose lock is held by the caller.
    */
-  private void flushMarkersToFile(int markerFileIndex) {
+  private void flushMarkersToFile(int markerFileIndex, MarkerFileShard shard) {
     LOG.debug("Write to {}/{}{}", markerDirPath, MARKERS_FILENAME_PREFIX, markerFileIndex);
     HoodieTimer timer = HoodieTimer.start();
     StoragePath markersFilePath = new StoragePath(
@@ -371,7 +405,7 @@ public class MarkerDirState implements Serializable {
     try {
       outputStream = storage.create(markersFilePath);
       bufferedWriter = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
-      bufferedWriter.write(fileMarkersMap.get(markerFileIndex).toString());
+      bufferedWriter.write(shard.content.toString());
     } catch (IOException e) {
       throw new HoodieIOException("Failed to overwrite marker file " + markersFilePath, e);
     } finally {
@@ -380,4 +414,13 @@ public class MarkerDirState implements Serializable {
     }
     LOG.debug("{} written in {} ms", markersFilePath, timer.endTimer());
   }
-}
\ No newline at end of file
+
+  /**
+   * A shard of the markers, backed by one underlying marker file.  The monitor of the
+   * instance is used as the lock of the shard.
+   */
+  private static class MarkerFileShard implements Serializable {
+    // Marker entries in the marker file, stored in StringBuilder for efficient appending
+    private final StringBuilder content = new StringBuilder(16384);
+  }
+}
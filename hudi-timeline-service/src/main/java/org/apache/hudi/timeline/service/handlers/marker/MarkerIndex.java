@@ -0,0 +1,155 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service.handlers.marker;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A compact, concurrent in-memory index of the markers in a marker directory.
+ * <p>
+ * The markers are grouped by the partition path, i.e., the part of the marker name before
+ * the last '/', so that the partition path is kept once per partition instead of once per
+ * marker. E.g., "2016/03/15/fileId_1-0-1_001.parquet.marker.CREATE" is stored as the file
+ * marker "fileId_1-0-1_001.parquet.marker.CREATE" under the partition "2016/03/15".
+ * <p>
+ * Adding a marker is atomic and lock-free across partitions, so that the marker creation
+ * requests can be processed by multiple threads without a global lock. The index is a live
+ * {@link Set} view of the full marker names; iterating it does not copy the markers and is
+ * weakly consistent with the concurrent additions.
+ */
+public class MarkerIndex extends AbstractSet<String> implements Serializable {
+  private static final long serialVersionUID = 1L;
+  private static final char PARTITION_SEPARATOR = '/';
+
+  // Mapping: {partitionPath -> file markers in the partition}
+  private final Map<String, Set<String>> partitionToFileMarkers = new ConcurrentHashMap<>();
+  private final AtomicInteger numMarkers = new AtomicInteger(0);
+
+  /**
+   * Adds a marker to the index.
+   *
+   * @param markerName marker name relative to the marker directory.
+   * @return {@code true} if the marker is added; {@code false} if the marker already exists.
+   */
+  @Override
+  public boolean add(String markerName) {
+    int separatorIndex = markerName.lastIndexOf(PARTITION_SEPARATOR);
+    String partitionPath = separatorIndex < 0 ? "" : markerName.substring(0, separatorIndex);
+    Set<String> fileMarkers = partitionToFileMarkers.get(partitionPath);
+    if (fileMarkers == null) {
+      fileMarkers = partitionToFileMarkers.computeIfAbsent(partitionPath, k -> ConcurrentHashMap.newKeySet());
+    }
+    if (fileMarkers.add(markerName.substring(separatorIndex + 1))) {
+      numMarkers.incrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  @Override
+  public boolean contains(Object o) {
+    if (!(o instanceof String)) {
+      return false;
+    }
+    String markerName = (String) o;
+    int separatorIndex = markerName.lastIndexOf(PARTITION_SEPARATOR);
+    Set<String> fileMarkers = partitionToFileMarkers.get(
+        separatorIndex < 0 ? "" : markerName.substring(0, separatorIndex));
+    return fileMarkers != null && fileMarkers.contains(markerName.substring(separatorIndex + 1));
+  }
+
+  @Override
+  public int size() {
+    return numMarkers.get();
+  }
+
+  @Override
+  public void clear() {
+    partitionToFileMarkers.clear();
+    numMarkers.set(0);
+  }
+
+  /**
+   * Scans the markers of each partition without materializing the full marker names.
+   *
+   * @param consumer consumer of the partition path and the file markers in the partition,
+   *                 i.e., the marker names without the partition path.
+   */
+  public void forEachPartition(PartitionMarkersConsumer consumer) {
+    partitionToFileMarkers.forEach((partitionPath, fileMarkers) ->
+        consumer.accept(partitionPath, Collections.unmodifiableSet(fileMarkers)));
+  }
+
+  @Override
+  public void forEach(Consumer<? super String> action) {
+    forEachPartition((partitionPath, fileMarkers) -> {
+      for (String fileMarker : fileMarkers) {
+        action.accept(toMarkerName(partitionPath, fileMarker));
+      }
+    });
+  }
+
+  @Override
+  public Iterator<String> iterator() {
+    Iterator<Map.Entry<String, Set<String>>> partitionIterator = partitionToFileMarkers.entrySet().iterator();
+    return new Iterator<String>() {
+      private String partitionPath;
+      private Iterator<String> fileMarkerIterator = Collections.emptyIterator();
+
+      @Override
+      public boolean hasNext() {
+        while (!fileMarkerIterator.hasNext() && partitionIterator.hasNext()) {
+          Map.Entry<String, Set<String>> entry = partitionIterator.next();
+          partitionPath = entry.getKey();
+          fileMarkerIterator = entry.getValue().iterator();
+        }
+        return fileMarkerIterator.hasNext();
+      }
+
+      @Override
+      public String next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return toMarkerName(partitionPath, fileMarkerIterator.next());
+      }
+    };
+  }
+
+  private static String toMarkerName(String partitionPath, String fileMarker) {
+    return partitionPath.isEmpty() ? fileMarker : partitionPath + PARTITION_SEPARATOR + fileMarker;
+  }
+
+  /**
+   * Consumer of the markers of a partition.
+   */
+  @FunctionalInterface
+  public interface PartitionMarkersConsumer {
+    void accept(String partitionPath, Set<String> fileMarkers);
+  }
+}
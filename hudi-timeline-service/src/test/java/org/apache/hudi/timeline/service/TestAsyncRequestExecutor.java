@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service;
+
+import org.apache.hudi.common.metrics.Registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link AsyncRequestExecutor}.
+ */
+public class TestAsyncRequestExecutor {
+
+  @Test
+  public void testConcurrentRequestsBoundedPerTable() throws Exception {
+    Registry registry = Registry.getRegistry("TestAsyncRequestExecutor");
+    try (AsyncRequestExecutor executor = new AsyncRequestExecutor(8, false, 2, registry)) {
+      CountDownLatch release = new CountDownLatch(1);
+      AtomicInteger numRunning = new AtomicInteger();
+      AtomicInteger maxRunning = new AtomicInteger();
+      List<CompletableFuture<Integer>> futures = new ArrayList<>();
+      for (int i = 0; i < 6; i++) {
+        final int value = i;
+        futures.add(executor.submit("table1", () -> {
+          maxRunning.accumulateAndGet(numRunning.incrementAndGet(), Math::max);
+          try {
+            release.await(10, TimeUnit.SECONDS);
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          numRunning.decrementAndGet();
+          return value;
+        }));
+      }
+      // Requests of another table are not blocked by the ones of table1
+      assertEquals(-1, executor.submit("table2", () -> -1).get(10, TimeUnit.SECONDS));
+      assertEquals(4, executor.getNumQueuedRequests());
+
+      release.countDown();
+      for (int i = 0; i < 6; i++) {
+        assertEquals(i, futures.get(i).get(10, TimeUnit.SECONDS));
+      }
+      assertEquals(2, maxRunning.get());
+      assertEquals(0, executor.getNumQueuedRequests());
+      assertEquals(0L, registry.getAllCounts().get(AsyncRequestExecutor.QUEUED_REQUESTS_METRIC));
+    }
+  }
+
+  @Test
+  public void testFailedRequest() throws Exception {
+    try (AsyncRequestExecutor executor = new AsyncRequestExecutor(1, true, 1, Registry.getRegistry("TestAsyncRequestExecutor"))) {
+      CompletableFuture<Integer> failed = executor.submit("table1", () -> {
+        throw new IllegalStateException("failed");
+      });
+      assertTrue(assertThrows(Exception.class, failed::join).getCause() instanceof IllegalStateException);
+      // The failed request releases its slot of the table
+      assertEquals(1, executor.submit("table1", () -> 1).get(10, TimeUnit.SECONDS));
+    }
+    assertThrows(IllegalArgumentException.class, () -> new AsyncRequestExecutor(1, false, 0, Registry.getRegistry("TestAsyncRequestExecutor")));
+  }
+
+  @Test
+  public void testCloseCompletesPendingRequests() throws Exception {
+    AsyncRequestExecutor executor = new AsyncRequestExecutor(1, false, 1, Registry.getRegistry("TestAsyncRequestExecutor"));
+    CountDownLatch started = new CountDownLatch(1);
+    CompletableFuture<Integer> running = executor.submit("table1", () -> {
+      started.countDown();
+      try {
+        Thread.sleep(60_000L);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return 1;
+    });
+    CompletableFuture<Integer> queued = executor.submit("table1", () -> 2);
+    CompletableFuture<Integer> queuedOnWorker = executor.submit("table2", () -> 3);
+    assertTrue(started.await(10, TimeUnit.SECONDS));
+
+    executor.close(100, TimeUnit.MILLISECONDS);
+    // The running request is interrupted, and all the requests complete instead of waiting forever
+    assertTrue(running.isDone());
+    assertThrows(ExecutionException.class, () -> queued.get(10, TimeUnit.SECONDS));
+    assertThrows(ExecutionException.class, () -> queuedOnWorker.get(10, TimeUnit.SECONDS));
+    assertEquals(0, executor.getNumQueuedRequests());
+    assertThrows(ExecutionException.class, () -> executor.submit("table1", () -> 4).get(10, TimeUnit.SECONDS));
+  }
+
+  @Test
+  public void testCloseWaitsForSubmittedRequests() throws Exception {
+    AsyncRequestExecutor executor = new AsyncRequestExecutor(1, false, 1, Registry.getRegistry("TestAsyncRequestExecutor"));
+    List<CompletableFuture<Integer>> futures = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      final int value = i;
+      futures.add(executor.submit("table1", () -> {
+        try {
+          Thread.sleep(50L);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return value;
+      }));
+    }
+    executor.close();
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i, futures.get(i).getNow(-1));
+    }
+  }
+}
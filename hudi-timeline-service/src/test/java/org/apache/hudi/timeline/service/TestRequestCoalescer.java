@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service;
+
+import org.apache.hudi.common.metrics.Registry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests {@link RequestCoalescer} and {@link EndpointMetrics}.
+ */
+public class TestRequestCoalescer {
+
+  @Test
+  public void testCoalesceInFlightRequests() {
+    Registry registry = Registry.getRegistry("TestRequestCoalescer");
+    RequestCoalescer coalescer = new RequestCoalescer(registry);
+    AtomicInteger numServed = new AtomicInteger();
+    CompletableFuture<String> pending = new CompletableFuture<>();
+
+    CompletableFuture<String> first = coalescer.coalesce("key1", () -> {
+      numServed.incrementAndGet();
+      return pending;
+    });
+    CompletableFuture<String> duplicate = coalescer.coalesce("key1", () -> {
+      numServed.incrementAndGet();
+      return CompletableFuture.completedFuture("duplicate");
+    });
+    CompletableFuture<String> other = coalescer.coalesce("key2", () -> {
+      numServed.incrementAndGet();
+      return CompletableFuture.completedFuture("other");
+    });
+    assertSame(first, duplicate);
+    assertEquals("other", other.join());
+    assertEquals(2, numServed.get());
+    assertEquals(1, coalescer.getNumInFlightRequests());
+    assertEquals(1L, registry.getAllCounts().get(RequestCoalescer.COALESCED_REQUESTS_METRIC));
+
+    pending.complete("first");
+    assertEquals("first", duplicate.join());
+    assertEquals(0, coalescer.getNumInFlightRequests());
+    // A request after the completion is served again
+    assertEquals("again", coalescer.coalesce("key1", () -> CompletableFuture.completedFuture("again")).join());
+
+    CompletableFuture<String> failed = coalescer.coalesce("key1", () -> {
+      throw new IllegalStateException("failed");
+    });
+    assertTrue(assertThrows(Exception.class, failed::join).getCause() instanceof IllegalStateException);
+    assertEquals(0, coalescer.getNumInFlightRequests());
+  }
+
+  @Test
+  public void testEndpointMetrics() {
+    Registry registry = Registry.getRegistry("TestEndpointMetrics");
+    String endpointName = EndpointMetrics.getEndpointName("/v1/hoodie/view/slices/partition/latest/");
+    assertEquals("v1.hoodie.view.slices.partition.latest", endpointName);
+    EndpointMetrics metrics = new EndpointMetrics(endpointName, registry);
+
+    for (int i = 0; i < 100; i++) {
+      metrics.onRequestReceived();
+    }
+    assertEquals(100, metrics.getQueueDepth());
+    for (int i = 1; i <= 100; i++) {
+      metrics.onRequestCompleted(i, 10);
+    }
+    assertEquals(0, metrics.getQueueDepth());
+    // The percentiles are published every 32 requests, i.e., up to the 96th request
+    assertEquals(48L, metrics.getP50LatencyMs());
+    assertEquals(96L, metrics.getP99LatencyMs());
+    assertEquals(100L, registry.getAllCounts().get(endpointName + "." + EndpointMetrics.NUM_REQUESTS_METRIC));
+    assertEquals(1000L, registry.getAllCounts().get(endpointName + "." + EndpointMetrics.PAYLOAD_BYTES_METRIC));
+    assertEquals(48L, registry.getAllCounts().get(endpointName + "." + EndpointMetrics.P50_LATENCY_METRIC));
+    assertFalse(registry.getAllCounts().containsKey(endpointName + ".unknown"));
+  }
+}
@@ -31,6 +31,7 @@ import org.apache.http.util.EntityUtils;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 
 import javax.servlet.http.HttpServlet;
 import javax.servlet.http.HttpServletRequest;
@@ -75,6 +76,9 @@ public class TimelineServiceTestHarness extends TimelineService {
       try {
         int timelineServicePort = super.startService();
         server = Option.of(new Server(serverPort));
+        // Like the timeline service, so that lingering threads of a stopped proxy do not fail
+        // the checks on the daemon threads in the tests run later in the same JVM
+        ((QueuedThreadPool) server.get().getThreadPool()).setDaemon(true);
         ServletContextHandler context = new ServletContextHandler(ServletContextHandler.SESSIONS);
         context.setContextPath("/");
         context.addServlet(new ServletHolder(new FailureInducingHttpServlet(timelineServicePort, numberOfSimulatedConnectionFailures)), PROXY_ALL_URLS);
@@ -21,8 +21,16 @@ package org.apache.hudi.timeline.service.functional;
 import org.apache.hudi.common.config.HoodieCommonConfig;
 import org.apache.hudi.common.config.HoodieMetadataConfig;
 import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.fs.FSUtils;
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.model.FileSlice;
+import org.apache.hudi.common.model.HoodieCommitMetadata;
 import org.apache.hudi.common.model.HoodieFileGroup;
+import org.apache.hudi.common.model.HoodieWriteStat;
+import org.apache.hudi.common.model.WriteOperationType;
 import org.apache.hudi.common.table.HoodieTableMetaClient;
+import org.apache.hudi.common.table.timeline.HoodieActiveTimeline;
+import org.apache.hudi.common.table.timeline.HoodieInstant;
 import org.apache.hudi.common.table.timeline.HoodieTimeline;
 import org.apache.hudi.common.table.timeline.dto.DTOUtils;
 import org.apache.hudi.common.table.timeline.dto.FileGroupDTO;
@@ -32,9 +40,13 @@ import org.apache.hudi.common.table.view.FileSystemViewStorageType;
 import org.apache.hudi.common.table.view.RemoteHoodieTableFileSystemView;
 import org.apache.hudi.common.table.view.SyncableFileSystemView;
 import org.apache.hudi.common.table.view.TestHoodieTableFileSystemView;
+import org.apache.hudi.common.testutils.HoodieTestUtils;
 import org.apache.hudi.common.testutils.MockHoodieTimeline;
+import org.apache.hudi.common.util.CommitUtils;
+import org.apache.hudi.common.util.Option;
 import org.apache.hudi.exception.HoodieRemoteException;
 import org.apache.hudi.hadoop.fs.HadoopFSUtils;
+import org.apache.hudi.timeline.TimelineServiceWireFormat;
 import org.apache.hudi.timeline.service.TimelineService;
 import org.apache.hudi.timeline.service.TimelineServiceTestHarness;
 
@@ -45,12 +57,21 @@ import org.junit.jupiter.api.function.Executable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import static org.apache.hudi.common.testutils.HoodieTestUtils.INSTANT_GENERATOR;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -64,8 +85,8 @@ public class TestRemoteHoodieTableFileSystemView extends TestHoodieTableFileSyst
   private static final Logger LOG = LoggerFactory.getLogger(TestRemoteHoodieTableFileSystemView.class);
   private static int DEFAULT_READ_TIMEOUT_SECS = 60;
 
-  private TimelineService server = null;
-  private RemoteHoodieTableFileSystemView view;
+  protected TimelineService server = null;
+  protected RemoteHoodieTableFileSystemView view;
 
   protected SyncableFileSystemView getFileSystemView(HoodieTimeline timeline) {
     return getFileSystemView(timeline, 0);
@@ -87,7 +108,7 @@ public class TestRemoteHoodieTableFileSystemView extends TestHoodieTableFileSyst
       server = builder.build(
           localEngineContext,
           HadoopFSUtils.getStorageConf().unwrap(),
-          TimelineService.Config.builder().serverPort(0).build(),
+          getTimelineServiceConfig(),
           FileSystemViewManager.createViewManager(localEngineContext, metadataConfig, sConf, commonConfig));
       server.startService();
     } catch (Exception ex) {
@@ -126,6 +147,77 @@ public class TestRemoteHoodieTableFileSystemView extends TestHoodieTableFileSyst
     server.close();
   }
 
+  @Test
+  public void testLatestFileSlicesWithDeltaSync() throws IOException {
+    String partitionPath = "2016/05/01";
+    new File(basePath + "/" + partitionPath).mkdirs();
+    String fileId1 = UUID.randomUUID().toString();
+    String fileId2 = UUID.randomUUID().toString();
+    String fileId3 = UUID.randomUUID().toString();
+    Registry metrics = Registry.getRegistry("TimelineService");
+
+    // commit 1 creates file groups fileId1 and fileId2
+    createCommit("1", HoodieTimeline.COMMIT_ACTION, partitionPath, Arrays.asList(fileId1, fileId2), Collections.emptyList());
+    RemoteHoodieTableFileSystemView deltaView = new RemoteHoodieTableFileSystemView(
+        HoodieTestUtils.createMetaClient(metaClient.getStorageConf(), basePath),
+        FileSystemViewStorageConfig.newBuilder().withRemoteServerHost("localhost")
+            .withRemoteServerPort(server.getServerPort())
+            .withRemoteTimelineClientWireFormat(getWireFormat())
+            .withRemoteDeltaSyncEnabled(true).build());
+    long numFullSyncs = metrics.getAllCounts().getOrDefault("LATEST_PARTITION_SLICES_DELTA_FULL_SYNC", 0L);
+    assertLatestFileSlices(deltaView, partitionPath, fileId1, "1", fileId2, "1");
+    assertEquals(numFullSyncs + 1, metrics.getAllCounts().get("LATEST_PARTITION_SLICES_DELTA_FULL_SYNC"));
+
+    // commit 2 updates fileId1 and creates fileId3
+    createCommit("2", HoodieTimeline.COMMIT_ACTION, partitionPath, Arrays.asList(fileId1, fileId3), Collections.emptyList());
+    deltaView.sync();
+    assertLatestFileSlices(deltaView, partitionPath, fileId1, "2", fileId2, "1", fileId3, "2");
+
+    // replace commit 3 replaces fileId2
+    createCommit("3", HoodieTimeline.REPLACE_COMMIT_ACTION, partitionPath, Collections.emptyList(), Collections.singletonList(fileId2));
+    deltaView.sync();
+    assertLatestFileSlices(deltaView, partitionPath, fileId1, "2", fileId3, "2");
+    // without any new commit, the cached file slices are returned
+    assertLatestFileSlices(deltaView, partitionPath, fileId1, "2", fileId3, "2");
+
+    // only the first call of the partition needs all the file slices
+    assertEquals(numFullSyncs + 1, metrics.getAllCounts().get("LATEST_PARTITION_SLICES_DELTA_FULL_SYNC"));
+    deltaView.close();
+  }
+
+  private void createCommit(String instantTime, String action, String partitionPath, List<String> writtenFileIds,
+                            List<String> replacedFileIds) throws IOException {
+    List<HoodieWriteStat> writeStats = new ArrayList<>();
+    for (String fileId : writtenFileIds) {
+      String fileName = FSUtils.makeBaseFileName(instantTime, "1-0-1", fileId, BASE_FILE_EXTENSION);
+      new File(basePath + "/" + partitionPath + "/" + fileName).createNewFile();
+      HoodieWriteStat writeStat = new HoodieWriteStat();
+      writeStat.setPartitionPath(partitionPath);
+      writeStat.setFileId(fileId);
+      writeStat.setPath(partitionPath + "/" + fileName);
+      writeStats.add(writeStat);
+    }
+    HoodieCommitMetadata metadata = CommitUtils.buildMetadata(writeStats,
+        Collections.singletonMap(partitionPath, replacedFileIds), Option.empty(),
+        replacedFileIds.isEmpty() ? WriteOperationType.UPSERT : WriteOperationType.INSERT_OVERWRITE, "", action);
+    HoodieActiveTimeline timeline = metaClient.reloadActiveTimeline();
+    HoodieInstant requested = INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.REQUESTED, action, instantTime);
+    timeline.createNewInstant(requested);
+    timeline.transitionRequestedToInflight(requested, Option.empty());
+    timeline.saveAsComplete(INSTANT_GENERATOR.createNewInstant(HoodieInstant.State.INFLIGHT, action, instantTime),
+        Option.of(metadata));
+  }
+
+  private static void assertLatestFileSlices(RemoteHoodieTableFileSystemView view, String partitionPath,
+                                             String... fileIdsAndBaseInstants) {
+    Map<String, String> expected = new HashMap<>();
+    for (int i = 0; i < fileIdsAndBaseInstants.length; i += 2) {
+      expected.put(fileIdsAndBaseInstants[i], fileIdsAndBaseInstants[i + 1]);
+    }
+    assertEquals(expected, view.getLatestFileSlices(partitionPath)
+        .collect(Collectors.toMap(FileSlice::getFileId, FileSlice::getBaseInstantTime)));
+  }
+
   @Test
   public void testListFileGroupDTOPayload() throws IOException, NoSuchFieldException, IllegalAccessException {
     ObjectMapper mapper = new ObjectMapper();
@@ -168,12 +260,27 @@ public class TestRemoteHoodieTableFileSystemView extends TestHoodieTableFileSyst
         activeTimeline.getCommitsTimeline().filterCompletedInstants());
   }
 
-  private static RemoteHoodieTableFileSystemView initFsView(HoodieTableMetaClient metaClient,
-                                                            int serverPort,
-                                                            boolean enableRetries) {
+  /**
+   * @return the config of the timeline server serving the remote view.
+   */
+  protected TimelineService.Config getTimelineServiceConfig() {
+    return TimelineService.Config.builder().serverPort(0).build();
+  }
+
+  /**
+   * @return the encoding of the responses requested by the remote view.
+   */
+  protected TimelineServiceWireFormat getWireFormat() {
+    return TimelineServiceWireFormat.JSON;
+  }
+
+  private RemoteHoodieTableFileSystemView initFsView(HoodieTableMetaClient metaClient,
+                                                     int serverPort,
+                                                     boolean enableRetries) {
     FileSystemViewStorageConfig.Builder builder = FileSystemViewStorageConfig.newBuilder().withRemoteServerHost("localhost")
         .withRemoteServerPort(serverPort)
-        .withRemoteTimelineClientTimeoutSecs(DEFAULT_READ_TIMEOUT_SECS);
+        .withRemoteTimelineClientTimeoutSecs(DEFAULT_READ_TIMEOUT_SECS)
+        .withRemoteTimelineClientWireFormat(getWireFormat());
     if (enableRetries) {
       builder.withRemoteTimelineClientTimeoutSecs(300)
           .withRemoteTimelineClientRetry(true)
@@ -0,0 +1,66 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service.functional;
+
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.table.view.RemoteHoodieTableFileSystemView;
+import org.apache.hudi.timeline.service.EndpointMetrics;
+import org.apache.hudi.timeline.service.TimelineService;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs all test-cases of {@link TestRemoteHoodieTableFileSystemView} with the requests served on
+ * the worker threads of the timeline server and the duplicate requests coalesced.
+ */
+public class TestRemoteHoodieTableFileSystemViewWithAsyncRequestHandling extends TestRemoteHoodieTableFileSystemView {
+
+  @Override
+  protected TimelineService.Config getTimelineServiceConfig() {
+    return TimelineService.Config.builder().serverPort(0)
+        .asyncRequestHandling(true)
+        .asyncRequestThreads(4)
+        .maxConcurrentRequestsPerTable(2)
+        .coalesceRequests(true)
+        .build();
+  }
+
+  @Test
+  public void testEndpointMetrics() {
+    String endpointName = EndpointMetrics.getEndpointName(
+        RemoteHoodieTableFileSystemView.LATEST_ALL_DATA_FILES_URL);
+    Registry registry = Registry.getRegistry("TimelineService");
+    long numRequests = registry.getAllCounts().getOrDefault(endpointName + "." + EndpointMetrics.NUM_REQUESTS_METRIC, 0L);
+
+    for (int i = 0; i < 3; i++) {
+      view.getLatestBaseFiles();
+    }
+    Map<String, Long> counts = registry.getAllCounts();
+    assertEquals(numRequests + 3, counts.get(endpointName + "." + EndpointMetrics.NUM_REQUESTS_METRIC));
+    assertEquals(0L, counts.get(endpointName + "." + EndpointMetrics.QUEUE_DEPTH_METRIC));
+    assertTrue(counts.get(endpointName + "." + EndpointMetrics.PAYLOAD_BYTES_METRIC) > 0);
+    assertTrue(counts.containsKey(endpointName + "." + EndpointMetrics.P50_LATENCY_METRIC));
+    assertTrue(counts.containsKey(endpointName + "." + EndpointMetrics.P99_LATENCY_METRIC));
+  }
+}
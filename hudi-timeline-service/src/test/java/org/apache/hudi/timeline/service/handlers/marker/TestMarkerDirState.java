@@ -0,0 +1,158 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.hudi.timeline.service.handlers.marker;
+
+import org.apache.hudi.common.engine.HoodieLocalEngineContext;
+import org.apache.hudi.common.metrics.Registry;
+import org.apache.hudi.common.testutils.HoodieCommonTestHarness;
+import org.apache.hudi.common.util.MarkerUtils;
+import org.apache.hudi.common.util.Option;
+import org.apache.hudi.storage.HoodieStorage;
+import org.apache.hudi.storage.HoodieStorageUtils;
+
+import io.javalin.http.Context;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.apache.hudi.common.testutils.HoodieTestUtils.getDefaultStorageConf;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Tests {@link MarkerDirState} and {@link MarkerIndex}.
+ */
+public class TestMarkerDirState extends HoodieCommonTestHarness {
+  private static final int NUM_SHARDS = 4;
+
+  private HoodieStorage storage;
+  private String markerDir;
+
+  @BeforeEach
+  public void setUp() throws Exception {
+    initPath();
+    storage = HoodieStorageUtils.getStorage(basePath, getDefaultStorageConf());
+    markerDir = basePath + "/.hoodie/.temp/001";
+  }
+
+  @Test
+  public void testMarkerIndex() {
+    MarkerIndex markerIndex = new MarkerIndex();
+    assertTrue(markerIndex.add("2016/03/15/file1_1-0-1_001.parquet.marker.CREATE"));
+    assertTrue(markerIndex.add("2016/03/15/file2_1-0-1_001.parquet.marker.CREATE"));
+    assertTrue(markerIndex.add("2016/03/16/file3_1-0-1_001.parquet.marker.MERGE"));
+    assertTrue(markerIndex.add("file4_1-0-1_001.parquet.marker.CREATE"));
+    assertFalse(markerIndex.add("2016/03/15/file1_1-0-1_001.parquet.marker.CREATE"));
+
+    assertEquals(4, markerIndex.size());
+    assertTrue(markerIndex.contains("2016/03/16/file3_1-0-1_001.parquet.marker.MERGE"));
+    assertFalse(markerIndex.contains("2016/03/16/file1_1-0-1_001.parquet.marker.CREATE"));
+    assertEquals(new HashSet<>(markerIndex), markerIndex.stream().collect(Collectors.toSet()));
+    assertTrue(markerIndex.containsAll(new HashSet<>(markerIndex)));
+
+    Map<String, Integer> numMarkersPerPartition = new HashMap<>();
+    markerIndex.forEachPartition((partitionPath, fileMarkers) -> numMarkersPerPartition.put(partitionPath, fileMarkers.size()));
+    assertEquals(3, numMarkersPerPartition.size());
+    assertEquals(2, numMarkersPerPartition.get("2016/03/15"));
+    assertEquals(1, numMarkersPerPartition.get(""));
+
+    markerIndex.clear();
+    assertTrue(markerIndex.isEmpty());
+    assertFalse(markerIndex.iterator().hasNext());
+  }
+
+  @Test
+  public void testConcurrentMarkerCreationOnShards() throws Exception {
+    MarkerDirState markerDirState = createMarkerDirState();
+    List<String> markers = IntStream.range(0, 2000)
+        .mapToObj(i -> "2016/0" + (i % 3) + "/file" + i + "_1-0-1_001.parquet.marker.CREATE")
+        .collect(Collectors.toList());
+
+    // Each marker is requested twice, by batches processed on different shards in parallel
+    List<MarkerCreationFuture> futures = new ArrayList<>();
+    markers.forEach(marker -> futures.add(new MarkerCreationFuture(mock(Context.class), markerDir, marker)));
+    markers.forEach(marker -> futures.add(new MarkerCreationFuture(mock(Context.class), markerDir, marker)));
+    ExecutorService executorService = Executors.newFixedThreadPool(NUM_SHARDS);
+    int numPerBatch = futures.size() / NUM_SHARDS;
+    for (int i = 0; i < NUM_SHARDS; i++) {
+      Option<Integer> fileIndex = markerDirState.getNextFileIndexToUse();
+      assertTrue(fileIndex.isPresent());
+      List<MarkerCreationFuture> batch = futures.subList(i * numPerBatch, (i + 1) * numPerBatch);
+      executorService.execute(() -> markerDirState.processMarkerCreationRequests(batch, fileIndex.get()));
+    }
+    assertFalse(markerDirState.getNextFileIndexToUse().isPresent());
+    executorService.shutdown();
+    assertTrue(executorService.awaitTermination(60, TimeUnit.SECONDS));
+
+    // Exactly one request of each marker succeeds
+    for (MarkerCreationFuture future : futures) {
+      future.get();
+    }
+    assertEquals(markers.size(), futures.stream().filter(MarkerCreationFuture::isSuccessful).count());
+    assertEquals(new HashSet<>(markers), markerDirState.getAllMarkers());
+    assertTrue(markerDirState.getNextFileIndexToUse().isPresent());
+
+    // Each marker is written to exactly one marker file
+    Map<String, Set<String>> fileMarkersMap = MarkerUtils.readTimelineServerBasedMarkersFromFileSystem(
+        markerDir, storage, new HoodieLocalEngineContext(storage.getConf()), 1);
+    assertEquals(NUM_SHARDS, fileMarkersMap.size());
+    List<String> markersInFiles = fileMarkersMap.values().stream()
+        .flatMap(Collection::stream).collect(Collectors.toList());
+    assertEquals(markers.size(), markersInFiles.size());
+    assertEquals(new HashSet<>(markers), new HashSet<>(markersInFiles));
+
+    // The markers are loaded from the files, and appended to the same files afterwards
+    MarkerDirState reloadedMarkerDirState = createMarkerDirState();
+    assertEquals(new HashSet<>(markers), reloadedMarkerDirState.getAllMarkers());
+    String newMarker = "2016/03/file_new_1-0-1_001.parquet.marker.MERGE";
+    MarkerCreationFuture future = new MarkerCreationFuture(mock(Context.class), markerDir, newMarker);
+    reloadedMarkerDirState.processMarkerCreationRequests(
+        Collections.singletonList(future), reloadedMarkerDirState.getNextFileIndexToUse().get());
+    assertTrue(future.isSuccessful());
+    Set<String> expectedMarkers = new HashSet<>(markers);
+    expectedMarkers.add(newMarker);
+    assertEquals(expectedMarkers, MarkerUtils.readTimelineServerBasedMarkersFromFileSystem(
+            markerDir, storage, new HoodieLocalEngineContext(storage.getConf()), 1)
+        .values().stream().flatMap(Collection::stream).collect(Collectors.toSet()));
+
+    assertTrue(reloadedMarkerDirState.deleteAllMarkers());
+    assertTrue(reloadedMarkerDirState.getAllMarkers().isEmpty());
+    assertFalse(reloadedMarkerDirState.exists());
+  }
+
+  private MarkerDirState createMarkerDirState() {
+    return new MarkerDirState(markerDir, NUM_SHARDS, Option.empty(), storage,
+        Registry.getRegistry("TestMarkerDirState"), new HoodieLocalEngineContext(storage.getConf()), 1);
+  }
+}